@@ -11,7 +11,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpError;
-import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
@@ -99,6 +100,12 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 	 */
 	protected ObjectMapper objectMapper;
 
+	/**
+	 * Codec for inbound and outbound messages and payload binding. Messages are posted as
+	 * UTF-8 bytes without an intermediate string.
+	 */
+	private final McpJsonCodec jsonCodec;
+
 	/**
 	 * Subscription for the SSE connection handling inbound messages. Used for cleanup
 	 * during transport shutdown.
@@ -157,6 +164,11 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 	 */
 	public WebFluxSseClientTransport(WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
 			String sseEndpoint) {
+		this(webClientBuilder, objectMapper, sseEndpoint, null);
+	}
+
+	private WebFluxSseClientTransport(WebClient.Builder webClientBuilder, ObjectMapper objectMapper, String sseEndpoint,
+			McpJsonCodec jsonCodec) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		Assert.notNull(webClientBuilder, "WebClient.Builder must not be null");
 		Assert.hasText(sseEndpoint, "SSE endpoint must not be null or empty");
@@ -164,6 +176,7 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 		this.objectMapper = objectMapper;
 		this.webClient = webClientBuilder.build();
 		this.sseEndpoint = sseEndpoint;
+		this.jsonCodec = (jsonCodec != null) ? jsonCodec : new JacksonMcpJsonCodec(objectMapper);
 	}
 
 	/**
@@ -205,7 +218,7 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 			}
 			else if (MESSAGE_EVENT_TYPE.equals(event.event())) {
 				try {
-					JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, event.data());
+					JSONRPCMessage message = this.jsonCodec.decode(event.data());
 					s.next(message);
 				}
 				catch (IOException ioException) {
@@ -242,11 +255,11 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 				return Mono.empty();
 			}
 			try {
-				String jsonText = this.objectMapper.writeValueAsString(message);
+				byte[] body = this.jsonCodec.encode(message);
 				return webClient.post()
 					.uri(messageEndpointUri)
 					.contentType(MediaType.APPLICATION_JSON)
-					.bodyValue(jsonText)
+					.bodyValue(body)
 					.retrieve()
 					.toBodilessEntity()
 					.doOnSuccess(response -> {
@@ -326,7 +339,7 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 
 	/**
 	 * Unmarshalls data from a generic Object into the specified type using the configured
-	 * ObjectMapper.
+	 * codec.
 	 *
 	 * <p>
 	 * This method is particularly useful when working with JSON-RPC parameters or result
@@ -340,7 +353,7 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 	 */
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return this.jsonCodec.convertValue(data, typeRef);
 	}
 
 	/**
@@ -364,6 +377,10 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 
 		private ObjectMapper objectMapper = new ObjectMapper();
 
+		private boolean deferPayloadBinding = false;
+
+		private McpJsonCodec jsonCodec;
+
 		/**
 		 * Creates a new builder with the specified WebClient.Builder.
 		 * @param webClientBuilder the WebClient.Builder to use
@@ -395,12 +412,38 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 			return this;
 		}
 
+		/**
+		 * Sets whether response results and server request params are kept unparsed until
+		 * they are bound to their target type. Disabled by default.
+		 * @param deferPayloadBinding true to defer payload binding
+		 * @return this builder
+		 */
+		public Builder deferPayloadBinding(boolean deferPayloadBinding) {
+			this.deferPayloadBinding = deferPayloadBinding;
+			return this;
+		}
+
+		/**
+		 * Sets the codec used to decode inbound messages, encode outbound messages and
+		 * bind payloads. When set, it takes precedence over
+		 * {@link #deferPayloadBinding(boolean)}.
+		 * @param jsonCodec the codec
+		 * @return this builder
+		 */
+		public Builder jsonCodec(McpJsonCodec jsonCodec) {
+			Assert.notNull(jsonCodec, "jsonCodec must not be null");
+			this.jsonCodec = jsonCodec;
+			return this;
+		}
+
 		/**
 		 * Builds a new {@link WebFluxSseClientTransport} instance.
 		 * @return a new transport instance
 		 */
 		public WebFluxSseClientTransport build() {
-			return new WebFluxSseClientTransport(webClientBuilder, objectMapper, sseEndpoint);
+			McpJsonCodec codec = (jsonCodec != null) ? jsonCodec
+					: new JacksonMcpJsonCodec(objectMapper, deferPayloadBinding);
+			return new WebFluxSseClientTransport(webClientBuilder, objectMapper, sseEndpoint, codec);
 		}
 
 	}
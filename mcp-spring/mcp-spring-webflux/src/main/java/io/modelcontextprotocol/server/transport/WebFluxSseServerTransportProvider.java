@@ -6,11 +6,14 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.PreEncodedMessage;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,7 +85,12 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 	 */
 	public static final String DEFAULT_SSE_ENDPOINT = "/sse";
 
-	private final ObjectMapper objectMapper;
+	/**
+	 * Maximum number of sessions a broadcast sends to at the same time.
+	 */
+	private static final int BROADCAST_CONCURRENCY = 64;
+
+	private final McpJsonCodec jsonCodec;
 
 	private final String messageEndpoint;
 
@@ -112,11 +120,27 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 	 * @throws IllegalArgumentException if either parameter is null
 	 */
 	public WebFluxSseServerTransportProvider(ObjectMapper objectMapper, String messageEndpoint, String sseEndpoint) {
-		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this(new JacksonMcpJsonCodec(objectMapper), messageEndpoint, sseEndpoint);
+	}
+
+	/**
+	 * Constructs a new WebFlux SSE server transport provider instance with a custom
+	 * codec.
+	 * @param jsonCodec The codec to use for serialization/deserialization of MCP
+	 * messages. Must not be null.
+	 * @param messageEndpoint The endpoint URI where clients should send their JSON-RPC
+	 * messages. This endpoint will be communicated to clients during SSE connection
+	 * setup. Must not be null.
+	 * @param sseEndpoint The endpoint URI where clients establish their SSE connections.
+	 * Must not be null.
+	 * @throws IllegalArgumentException if any parameter is null
+	 */
+	public WebFluxSseServerTransportProvider(McpJsonCodec jsonCodec, String messageEndpoint, String sseEndpoint) {
+		Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
 		Assert.notNull(messageEndpoint, "Message endpoint must not be null");
 		Assert.notNull(sseEndpoint, "SSE endpoint must not be null");
 
-		this.objectMapper = objectMapper;
+		this.jsonCodec = jsonCodec;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
 		this.routerFunction = RouterFunctions.route()
@@ -152,9 +176,10 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 	 * <p>
 	 * The method:
 	 * <ul>
-	 * <li>Serializes the message to JSON</li>
+	 * <li>Serializes the message to JSON once, for all the sessions</li>
 	 * <li>Creates a server-sent event with the message data</li>
-	 * <li>Attempts to send the event to all active sessions</li>
+	 * <li>Attempts to send the event to all active sessions, at most
+	 * {@value #BROADCAST_CONCURRENCY} at a time</li>
 	 * <li>Tracks and reports any delivery failures</li>
 	 * </ul>
 	 * @param method The JSON-RPC method to send to clients
@@ -171,11 +196,13 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
 
+		PreEncodedMessage notification = PreEncodedMessage
+			.of(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, params));
 		return Flux.fromStream(sessions.values().stream())
-			.flatMap(session -> session.sendNotification(method, params)
+			.flatMap(session -> session.sendNotification(notification)
 				.doOnError(e -> logger.error("Failed to " + "send message to session " + "{}: {}", session.getId(),
 						e.getMessage()))
-				.onErrorComplete())
+				.onErrorComplete(), BROADCAST_CONCURRENCY)
 			.then();
 	}
 
@@ -203,6 +230,17 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 			.then();
 	}
 
+	/**
+	 * Removes the session of a client that disconnected.
+	 * @param sessionId The ID of the session
+	 */
+	private void removeSession(String sessionId) {
+		McpServerSession session = this.sessions.remove(sessionId);
+		if (session != null) {
+			session.disconnected();
+		}
+	}
+
 	/**
 	 * Returns the WebFlux router function that defines the transport's HTTP endpoints.
 	 * This router function should be integrated into the application's web configuration.
@@ -249,7 +287,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 					.build());
 				sink.onCancel(() -> {
 					logger.debug("Session {} cancelled", sessionId);
-					sessions.remove(sessionId);
+					removeSession(sessionId);
 				});
 			}), ServerSentEvent.class);
 	}
@@ -280,9 +318,9 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		McpServerSession session = sessions.get(request.queryParam("sessionId").get());
 
-		return request.bodyToMono(String.class).flatMap(body -> {
+		return request.bodyToMono(byte[].class).flatMap(body -> {
 			try {
-				McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, body);
+				McpSchema.JSONRPCMessage message = jsonCodec.decode(body, 0, body.length);
 				return session.handle(message).flatMap(response -> ServerResponse.ok().build()).onErrorResume(error -> {
 					logger.error("Error processing  message: {}", error.getMessage());
 					// TODO: instead of signalling the error, just respond with 200 OK
@@ -309,14 +347,16 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
-			return Mono.fromSupplier(() -> {
-				try {
-					return objectMapper.writeValueAsString(message);
-				}
-				catch (IOException e) {
-					throw Exceptions.propagate(e);
-				}
-			}).doOnNext(jsonText -> {
+			return send(Mono.fromCallable(() -> jsonCodec.encodeToString(message)));
+		}
+
+		@Override
+		public Mono<Void> sendMessage(PreEncodedMessage message) {
+			return send(Mono.fromCallable(() -> message.encodeToString(jsonCodec)));
+		}
+
+		private Mono<Void> send(Mono<String> encoded) {
+			return encoded.doOnNext(jsonText -> {
 				ServerSentEvent<Object> event = ServerSentEvent.builder()
 					.event(MESSAGE_EVENT_TYPE)
 					.data(jsonText)
@@ -331,7 +371,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonCodec.convertValue(data, typeRef);
 		}
 
 		@Override
@@ -364,6 +404,10 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		private String sseEndpoint = DEFAULT_SSE_ENDPOINT;
 
+		private boolean deferPayloadBinding = false;
+
+		private McpJsonCodec jsonCodec;
+
 		/**
 		 * Sets the ObjectMapper to use for JSON serialization/deserialization of MCP
 		 * messages.
@@ -401,6 +445,31 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 			return this;
 		}
 
+		/**
+		 * Sets whether request params and response results are kept unparsed until a
+		 * handler binds them to their target type. Disabled by default.
+		 * @param deferPayloadBinding true to defer payload binding
+		 * @return this builder instance
+		 */
+		public Builder deferPayloadBinding(boolean deferPayloadBinding) {
+			this.deferPayloadBinding = deferPayloadBinding;
+			return this;
+		}
+
+		/**
+		 * Sets the codec to use for message serialization/deserialization. When set, it
+		 * takes precedence over {@link #objectMapper(ObjectMapper)} and
+		 * {@link #deferPayloadBinding(boolean)}.
+		 * @param jsonCodec The codec instance. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if jsonCodec is null
+		 */
+		public Builder jsonCodec(McpJsonCodec jsonCodec) {
+			Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
+			this.jsonCodec = jsonCodec;
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link WebFluxSseServerTransportProvider} with the
 		 * configured settings.
@@ -408,10 +477,14 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 		 * @throws IllegalStateException if required parameters are not set
 		 */
 		public WebFluxSseServerTransportProvider build() {
-			Assert.notNull(objectMapper, "ObjectMapper must be set");
 			Assert.notNull(messageEndpoint, "Message endpoint must be set");
+			if (jsonCodec != null) {
+				return new WebFluxSseServerTransportProvider(jsonCodec, messageEndpoint, sseEndpoint);
+			}
+			Assert.notNull(objectMapper, "ObjectMapper must be set");
 
-			return new WebFluxSseServerTransportProvider(objectMapper, messageEndpoint, sseEndpoint);
+			return new WebFluxSseServerTransportProvider(new JacksonMcpJsonCodec(objectMapper, deferPayloadBinding),
+					messageEndpoint, sseEndpoint);
 		}
 
 	}
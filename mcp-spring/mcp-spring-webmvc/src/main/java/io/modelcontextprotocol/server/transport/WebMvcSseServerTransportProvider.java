@@ -8,20 +8,25 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.PreEncodedMessage;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.function.RouterFunction;
@@ -85,7 +90,12 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 	 */
 	public static final String DEFAULT_SSE_ENDPOINT = "/sse";
 
-	private final ObjectMapper objectMapper;
+	/**
+	 * Maximum number of sessions a broadcast writes to at the same time.
+	 */
+	private static final int BROADCAST_CONCURRENCY = 64;
+
+	private final McpJsonCodec jsonCodec;
 
 	private final String messageEndpoint;
 
@@ -116,11 +126,39 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 	 * @throws IllegalArgumentException if any parameter is null
 	 */
 	public WebMvcSseServerTransportProvider(ObjectMapper objectMapper, String messageEndpoint, String sseEndpoint) {
-		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this(objectMapper, messageEndpoint, sseEndpoint, false);
+	}
+
+	/**
+	 * Constructs a new WebMvcSseServerTransportProvider instance.
+	 * @param objectMapper The ObjectMapper to use for JSON serialization/deserialization
+	 * of messages.
+	 * @param messageEndpoint The endpoint URI where clients should send their JSON-RPC
+	 * messages via HTTP POST.
+	 * @param sseEndpoint The endpoint URI where clients establish their SSE connections.
+	 * @param deferPayloadBinding Whether request params and response results are kept
+	 * unparsed until a handler binds them to their target type.
+	 * @throws IllegalArgumentException if any parameter is null
+	 */
+	public WebMvcSseServerTransportProvider(ObjectMapper objectMapper, String messageEndpoint, String sseEndpoint,
+			boolean deferPayloadBinding) {
+		this(new JacksonMcpJsonCodec(objectMapper, deferPayloadBinding), messageEndpoint, sseEndpoint);
+	}
+
+	/**
+	 * Constructs a new WebMvcSseServerTransportProvider instance with a custom codec.
+	 * @param jsonCodec The codec to use for serialization/deserialization of messages.
+	 * @param messageEndpoint The endpoint URI where clients should send their JSON-RPC
+	 * messages via HTTP POST.
+	 * @param sseEndpoint The endpoint URI where clients establish their SSE connections.
+	 * @throws IllegalArgumentException if any parameter is null
+	 */
+	public WebMvcSseServerTransportProvider(McpJsonCodec jsonCodec, String messageEndpoint, String sseEndpoint) {
+		Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
 		Assert.notNull(messageEndpoint, "Message endpoint must not be null");
 		Assert.notNull(sseEndpoint, "SSE endpoint must not be null");
 
-		this.objectMapper = objectMapper;
+		this.jsonCodec = jsonCodec;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
 		this.routerFunction = RouterFunctions.route()
@@ -150,9 +188,11 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
 	/**
 	 * Broadcasts a notification to all connected clients through their SSE connections.
-	 * The message is serialized to JSON and sent as an SSE event with type "message". If
-	 * any errors occur during sending to a particular client, they are logged but don't
-	 * prevent sending to other clients.
+	 * The message is serialized to JSON once and sent to every client as an SSE event
+	 * with type "message". Writes block on the connection of each client, so they run on
+	 * the bounded elastic scheduler with at most {@value #BROADCAST_CONCURRENCY} clients
+	 * at a time. If any errors occur during sending to a particular client, they are
+	 * logged but don't prevent sending to other clients.
 	 * @param method The method name for the notification
 	 * @param params The parameters for the notification
 	 * @return A Mono that completes when the broadcast attempt is finished
@@ -166,11 +206,14 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
 		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
 
+		PreEncodedMessage notification = PreEncodedMessage
+			.of(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, params));
 		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
+			.flatMap(session -> session.sendNotification(notification)
+				.subscribeOn(Schedulers.boundedElastic())
 				.doOnError(
 						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
+				.onErrorComplete(), BROADCAST_CONCURRENCY)
 			.then();
 	}
 
@@ -194,6 +237,17 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 			.doOnSuccess(v -> logger.debug("Graceful shutdown completed"));
 	}
 
+	/**
+	 * Removes the session of a client that disconnected.
+	 * @param sessionId The ID of the session
+	 */
+	private void removeSession(String sessionId) {
+		McpServerSession session = this.sessions.remove(sessionId);
+		if (session != null) {
+			session.disconnected();
+		}
+	}
+
 	/**
 	 * Returns the RouterFunction that defines the HTTP endpoints for this transport. The
 	 * router function handles two endpoints:
@@ -234,11 +288,11 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 			return ServerResponse.sse(sseBuilder -> {
 				sseBuilder.onComplete(() -> {
 					logger.debug("SSE connection completed for session: {}", sessionId);
-					sessions.remove(sessionId);
+					removeSession(sessionId);
 				});
 				sseBuilder.onTimeout(() -> {
 					logger.debug("SSE connection timed out for session: {}", sessionId);
-					sessions.remove(sessionId);
+					removeSession(sessionId);
 				});
 
 				WebMvcMcpSessionTransport sessionTransport = new WebMvcMcpSessionTransport(sessionId, sseBuilder);
@@ -258,7 +312,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		}
 		catch (Exception e) {
 			logger.error("Failed to send initial endpoint event to session {}: {}", sessionId, e.getMessage());
-			sessions.remove(sessionId);
+			removeSession(sessionId);
 			return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
 		}
 	}
@@ -291,8 +345,8 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		}
 
 		try {
-			String body = request.body(String.class);
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, body);
+			byte[] body = request.body(byte[].class);
+			McpSchema.JSONRPCMessage message = jsonCodec.decode(body, 0, body.length);
 
 			// Process the message through the session's handle method
 			session.handle(message).block(); // Block for WebMVC compatibility
@@ -337,9 +391,23 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		 */
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return send(() -> jsonCodec.encodeToString(message));
+		}
+
+		/**
+		 * Sends a message broadcast to many sessions, reusing its shared encoding.
+		 * @param message The pre-encoded message to send
+		 * @return A Mono that completes when the message has been sent
+		 */
+		@Override
+		public Mono<Void> sendMessage(PreEncodedMessage message) {
+			return send(() -> message.encodeToString(jsonCodec));
+		}
+
+		private Mono<Void> send(Callable<String> encoder) {
 			return Mono.fromRunnable(() -> {
 				try {
-					String jsonText = objectMapper.writeValueAsString(message);
+					String jsonText = encoder.call();
 					sseBuilder.id(sessionId).event(MESSAGE_EVENT_TYPE).data(jsonText);
 					logger.debug("Message sent to session {}", sessionId);
 				}
@@ -351,7 +419,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		}
 
 		/**
-		 * Converts data from one type to another using the configured ObjectMapper.
+		 * Converts data from one type to another using the configured codec.
 		 * @param data The source data object to convert
 		 * @param typeRef The target type reference
 		 * @return The converted object of type T
@@ -359,7 +427,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		 */
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonCodec.convertValue(data, typeRef);
 		}
 
 		/**
@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -31,6 +32,8 @@ import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
 import io.modelcontextprotocol.spec.McpSchema.PaginatedRequest;
 import io.modelcontextprotocol.spec.McpSchema.Root;
 import io.modelcontextprotocol.spec.McpTransport;
+import io.modelcontextprotocol.spec.RequestMeta;
+import io.modelcontextprotocol.spec.RequestTimeouts;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.Utils;
 import org.slf4j.Logger;
@@ -82,6 +85,27 @@ public class McpAsyncClient {
 	private static TypeReference<Void> VOID_TYPE_REFERENCE = new TypeReference<>() {
 	};
 
+	private static final TypeReference<McpSchema.InitializeResult> INITIALIZE_RESULT_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<Object> OBJECT_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.PaginatedRequest> PAGINATED_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.CreateMessageRequest> CREATE_MESSAGE_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.LoggingMessageNotification> LOGGING_MESSAGE_NOTIFICATION_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<String> STRING_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.ProgressNotification> PROGRESS_NOTIFICATION_TYPE_REF = new TypeReference<>() {
+	};
+
 	protected final Sinks.One<McpSchema.InitializeResult> initializedSink = Sinks.one();
 
 	private AtomicBoolean initialized = new AtomicBoolean(false);
@@ -140,6 +164,24 @@ public class McpAsyncClient {
 	 */
 	private final McpTransport transport;
 
+	/**
+	 * Progress of the requests in flight that asked for progress, by progress token.
+	 */
+	private final ConcurrentHashMap<String, Sinks.Many<McpSchema.ProgressNotification>> progressSinks = new ConcurrentHashMap<>();
+
+	private final AtomicLong progressTokenCounter = new AtomicLong();
+
+	/**
+	 * Identical idempotent requests in flight, shared between callers, or {@code null} if
+	 * requests are not coalesced.
+	 */
+	private final SingleFlight coalescedRequests;
+
+	/**
+	 * The catalogs of the server, cached until it reports a change.
+	 */
+	private final McpClientCatalog catalog;
+
 	/**
 	 * Supported protocol versions.
 	 */
@@ -147,24 +189,43 @@ public class McpAsyncClient {
 
 	/**
 	 * Create a new McpAsyncClient with the given transport and session request-response
-	 * timeout.
+	 * timeouts.
 	 * @param transport the transport to use.
-	 * @param requestTimeout the session request-response timeout.
+	 * @param requestTimeouts the session request-response timeouts, by method.
 	 * @param initializationTimeout the max timeout to await for the client-server
 	 * @param features the MCP Client supported features.
 	 */
-	McpAsyncClient(McpClientTransport transport, Duration requestTimeout, Duration initializationTimeout,
+	McpAsyncClient(McpClientTransport transport, RequestTimeouts requestTimeouts, Duration initializationTimeout,
 			McpClientFeatures.Async features) {
+		this(transport, requestTimeouts, initializationTimeout, features, false, Duration.ZERO);
+	}
+
+	/**
+	 * Create a new McpAsyncClient with the given transport and session request-response
+	 * timeouts.
+	 * @param transport the transport to use.
+	 * @param requestTimeouts the session request-response timeouts, by method.
+	 * @param initializationTimeout the max timeout to await for the client-server
+	 * @param features the MCP Client supported features.
+	 * @param coalesceRequests whether identical idempotent requests in flight share one
+	 * response.
+	 * @param catalogRefreshDelay the delay after a list change notification before the
+	 * changed catalog is fetched again.
+	 */
+	McpAsyncClient(McpClientTransport transport, RequestTimeouts requestTimeouts, Duration initializationTimeout,
+			McpClientFeatures.Async features, boolean coalesceRequests, Duration catalogRefreshDelay) {
 
 		Assert.notNull(transport, "Transport must not be null");
-		Assert.notNull(requestTimeout, "Request timeout must not be null");
+		Assert.notNull(requestTimeouts, "Request timeouts must not be null");
 		Assert.notNull(initializationTimeout, "Initialization timeout must not be null");
+		Assert.notNull(catalogRefreshDelay, "Catalog refresh delay must not be null");
 
 		this.clientInfo = features.clientInfo();
 		this.clientCapabilities = features.clientCapabilities();
 		this.transport = transport;
 		this.roots = new ConcurrentHashMap<>(features.roots());
 		this.initializationTimeout = initializationTimeout;
+		this.coalescedRequests = coalesceRequests ? new SingleFlight() : null;
 
 		// Request Handlers
 		Map<String, RequestHandler<?>> requestHandlers = new HashMap<>();
@@ -194,8 +255,6 @@ public class McpAsyncClient {
 		if (!Utils.isEmpty(features.toolsChangeConsumers())) {
 			toolsChangeConsumersFinal.addAll(features.toolsChangeConsumers());
 		}
-		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED,
-				asyncToolsChangeNotificationHandler(toolsChangeConsumersFinal));
 
 		// Resources Change Notification
 		List<Function<List<McpSchema.Resource>, Mono<Void>>> resourcesChangeConsumersFinal = new ArrayList<>();
@@ -206,9 +265,6 @@ public class McpAsyncClient {
 			resourcesChangeConsumersFinal.addAll(features.resourcesChangeConsumers());
 		}
 
-		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED,
-				asyncResourcesChangeNotificationHandler(resourcesChangeConsumersFinal));
-
 		// Prompts Change Notification
 		List<Function<List<McpSchema.Prompt>, Mono<Void>>> promptsChangeConsumersFinal = new ArrayList<>();
 		promptsChangeConsumersFinal
@@ -216,8 +272,19 @@ public class McpAsyncClient {
 		if (!Utils.isEmpty(features.promptsChangeConsumers())) {
 			promptsChangeConsumersFinal.addAll(features.promptsChangeConsumers());
 		}
+
+		// Catalogs, fetched again when the server reports a change
+		this.catalog = new McpClientCatalog(catalogRefreshDelay, () -> listAllTools().collectList(),
+				toolsChangeListener(toolsChangeConsumersFinal), () -> listAllResources().collectList(),
+				resourcesChangeListener(resourcesChangeConsumersFinal), () -> listAllResourceTemplates().collectList(),
+				() -> listAllPrompts().collectList(), promptsChangeListener(promptsChangeConsumersFinal));
+		// TODO: params are not used yet
+		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED,
+				params -> this.catalog.tools().invalidate());
+		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED,
+				params -> this.catalog.resourceTemplates().invalidate().then(this.catalog.resources().invalidate()));
 		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED,
-				asyncPromptsChangeNotificationHandler(promptsChangeConsumersFinal));
+				params -> this.catalog.prompts().invalidate());
 
 		// Utility Logging Notification
 		List<Function<LoggingMessageNotification, Mono<Void>>> loggingConsumersFinal = new ArrayList<>();
@@ -228,7 +295,10 @@ public class McpAsyncClient {
 		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_MESSAGE,
 				asyncLoggingNotificationHandler(loggingConsumersFinal));
 
-		this.mcpSession = new McpClientSession(requestTimeout, transport, requestHandlers, notificationHandlers);
+		// Progress Notification
+		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_PROGRESS, asyncProgressNotificationHandler());
+
+		this.mcpSession = new McpClientSession(transport, requestTimeouts, requestHandlers, notificationHandlers);
 
 	}
 
@@ -272,6 +342,16 @@ public class McpAsyncClient {
 		return this.clientInfo;
 	}
 
+	/**
+	 * Returns the cached catalogs of the server: its tools, resources, resource templates
+	 * and prompts. The catalogs are fetched on first access and fetched again when the
+	 * server reports a change.
+	 * @return The catalog cache
+	 */
+	public McpClientCatalog getCatalog() {
+		return this.catalog;
+	}
+
 	/**
 	 * Closes the client connection immediately.
 	 */
@@ -322,8 +402,7 @@ public class McpAsyncClient {
 				this.clientInfo); // @formatter:on
 
 		Mono<McpSchema.InitializeResult> result = this.mcpSession.sendRequest(McpSchema.METHOD_INITIALIZE,
-				initializeRequest, new TypeReference<McpSchema.InitializeResult>() {
-				});
+				initializeRequest, INITIALIZE_RESULT_TYPE_REF);
 
 		return result.flatMap(initializeResult -> {
 
@@ -363,6 +442,35 @@ public class McpAsyncClient {
 			.flatMap(operation);
 	}
 
+	/**
+	 * Sends an idempotent request. When request coalescing is enabled, a request
+	 * identical to one in flight shares its response instead of being sent again.
+	 */
+	private <T> Mono<T> sendIdempotentRequest(String method, Object params, TypeReference<T> typeRef) {
+		if (this.coalescedRequests == null) {
+			return this.mcpSession.sendRequest(method, params, typeRef);
+		}
+		return this.coalescedRequests.execute(new RequestKey(method, params),
+				() -> this.mcpSession.sendRequest(method, params, typeRef));
+	}
+
+	private record RequestKey(String method, Object params) {
+	}
+
+	/**
+	 * Lists the items of a paginated list, requesting the page after the given cursor
+	 * only once the items before it have been consumed.
+	 */
+	private static <R, T> Flux<T> listPages(String cursor, Function<String, Mono<R>> listPage,
+			Function<R, List<T>> items, Function<R, String> nextCursor) {
+		return listPage.apply(cursor).flatMapMany(page -> {
+			Flux<T> pageItems = Flux.fromIterable((items.apply(page) != null) ? items.apply(page) : List.of());
+			String next = nextCursor.apply(page);
+			return (next == null) ? pageItems
+					: pageItems.concatWith(Flux.defer(() -> listPages(next, listPage, items, nextCursor)));
+		});
+	}
+
 	// --------------------------
 	// Basic Utilites
 	// --------------------------
@@ -372,9 +480,8 @@ public class McpAsyncClient {
 	 * @return A Mono that completes with the server's ping response
 	 */
 	public Mono<Object> ping() {
-		return this.withInitializationCheck("pinging the server", initializedResult -> this.mcpSession
-			.sendRequest(McpSchema.METHOD_PING, null, new TypeReference<Object>() {
-			}));
+		return this.withInitializationCheck("pinging the server",
+				initializedResult -> this.mcpSession.sendRequest(McpSchema.METHOD_PING, null, OBJECT_TYPE_REF));
 	}
 
 	// --------------------------
@@ -461,9 +568,7 @@ public class McpAsyncClient {
 	private RequestHandler<McpSchema.ListRootsResult> rootsListRequestHandler() {
 		return params -> {
 			@SuppressWarnings("unused")
-			McpSchema.PaginatedRequest request = transport.unmarshalFrom(params,
-					new TypeReference<McpSchema.PaginatedRequest>() {
-					});
+			McpSchema.PaginatedRequest request = transport.unmarshalFrom(params, PAGINATED_REQUEST_TYPE_REF);
 
 			List<Root> roots = this.roots.values().stream().toList();
 
@@ -476,9 +581,7 @@ public class McpAsyncClient {
 	// --------------------------
 	private RequestHandler<CreateMessageResult> samplingCreateMessageHandler() {
 		return params -> {
-			McpSchema.CreateMessageRequest request = transport.unmarshalFrom(params,
-					new TypeReference<McpSchema.CreateMessageRequest>() {
-					});
+			McpSchema.CreateMessageRequest request = transport.unmarshalFrom(params, CREATE_MESSAGE_REQUEST_TYPE_REF);
 
 			return this.samplingHandler.apply(request);
 		};
@@ -513,6 +616,51 @@ public class McpAsyncClient {
 		});
 	}
 
+	/**
+	 * Calls a tool provided by the server, waiting at most the given time for the result
+	 * instead of the timeout configured for tool calls.
+	 * @param callToolRequest The request containing the tool name and input parameters.
+	 * @param timeout The duration to wait for the result, or {@code null} to wait
+	 * indefinitely
+	 * @return A Mono that emits the result of the tool call
+	 * @see #callTool(McpSchema.CallToolRequest)
+	 */
+	public Mono<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest callToolRequest, Duration timeout) {
+		return this.withInitializationCheck("calling tools", initializedResult -> {
+			if (this.serverCapabilities.tools() == null) {
+				return Mono.error(new McpError("Server does not provide tools capability"));
+			}
+			return this.mcpSession.sendRequest(McpSchema.METHOD_TOOLS_CALL, callToolRequest, CALL_TOOL_RESULT_TYPE_REF,
+					timeout);
+		});
+	}
+
+	/**
+	 * Calls a tool provided by the server and asks the server to report the progress of
+	 * the call. The tool is called when the result is subscribed to; the progress
+	 * completes when the call ends. Progress replays the latest notification to late
+	 * subscribers.
+	 * @param callToolRequest The request containing the tool name and input parameters.
+	 * @return The result of the tool call together with its progress
+	 * @see #callTool(McpSchema.CallToolRequest)
+	 */
+	public ProgressTracked<McpSchema.CallToolResult> callToolWithProgress(McpSchema.CallToolRequest callToolRequest) {
+		String progressToken = Long.toString(this.progressTokenCounter.incrementAndGet());
+		Sinks.Many<McpSchema.ProgressNotification> progressSink = Sinks.many().replay().latest();
+		Mono<McpSchema.CallToolResult> result = this.withInitializationCheck("calling tools", initializedResult -> {
+			if (this.serverCapabilities.tools() == null) {
+				return Mono.error(new McpError("Server does not provide tools capability"));
+			}
+			this.progressSinks.put(progressToken, progressSink);
+			Object params = RequestMeta.with(callToolRequest, RequestMeta.PROGRESS_TOKEN, progressToken);
+			return this.mcpSession.sendRequest(McpSchema.METHOD_TOOLS_CALL, params, CALL_TOOL_RESULT_TYPE_REF);
+		}).doFinally(signal -> {
+			this.progressSinks.remove(progressToken, progressSink);
+			progressSink.tryEmitComplete();
+		});
+		return new ProgressTracked<>(result, progressSink.asFlux());
+	}
+
 	/**
 	 * Retrieves the list of all tools provided by the server.
 	 * @return A Mono that emits the list of tools result.
@@ -531,22 +679,31 @@ public class McpAsyncClient {
 			if (this.serverCapabilities.tools() == null) {
 				return Mono.error(new McpError("Server does not provide tools capability"));
 			}
-			return this.mcpSession.sendRequest(McpSchema.METHOD_TOOLS_LIST, new McpSchema.PaginatedRequest(cursor),
+			return this.sendIdempotentRequest(McpSchema.METHOD_TOOLS_LIST, new McpSchema.PaginatedRequest(cursor),
 					LIST_TOOLS_RESULT_TYPE_REF);
 		});
 	}
 
-	private NotificationHandler asyncToolsChangeNotificationHandler(
+	/**
+	 * Lists the tools of all pages provided by the server. Pages are requested lazily:
+	 * the next page is only requested once the tools of the previous one have been
+	 * consumed, so a subscriber that cancels early does not fetch the whole list.
+	 * @return A Flux that emits the tools, following the pagination cursors
+	 */
+	public Flux<McpSchema.Tool> listAllTools() {
+		return Flux.defer(() -> listPages(null, this::listTools, McpSchema.ListToolsResult::tools,
+				McpSchema.ListToolsResult::nextCursor));
+	}
+
+	private Function<List<McpSchema.Tool>, Mono<Void>> toolsChangeListener(
 			List<Function<List<McpSchema.Tool>, Mono<Void>>> toolsChangeConsumers) {
-		// TODO: params are not used yet
-		return params -> this.listTools()
-			.flatMap(listToolsResult -> Flux.fromIterable(toolsChangeConsumers)
-				.flatMap(consumer -> consumer.apply(listToolsResult.tools()))
-				.onErrorResume(error -> {
-					logger.error("Error handling tools list change notification", error);
-					return Mono.empty();
-				})
-				.then());
+		return tools -> Flux.fromIterable(toolsChangeConsumers)
+			.flatMap(consumer -> consumer.apply(tools))
+			.onErrorResume(error -> {
+				logger.error("Error handling tools list change notification", error);
+				return Mono.empty();
+			})
+			.then();
 	}
 
 	// --------------------------
@@ -588,11 +745,22 @@ public class McpAsyncClient {
 			if (this.serverCapabilities.resources() == null) {
 				return Mono.error(new McpError("Server does not provide the resources capability"));
 			}
-			return this.mcpSession.sendRequest(McpSchema.METHOD_RESOURCES_LIST, new McpSchema.PaginatedRequest(cursor),
+			return this.sendIdempotentRequest(McpSchema.METHOD_RESOURCES_LIST, new McpSchema.PaginatedRequest(cursor),
 					LIST_RESOURCES_RESULT_TYPE_REF);
 		});
 	}
 
+	/**
+	 * Lists the resources of all pages provided by the server. The next page is only
+	 * requested once the resources of the previous one have been consumed.
+	 * @return A Flux that emits the resources, following the pagination cursors
+	 * @see McpSchema.ListResourcesResult
+	 */
+	public Flux<McpSchema.Resource> listAllResources() {
+		return Flux.defer(() -> listPages(null, this::listResources, McpSchema.ListResourcesResult::resources,
+				McpSchema.ListResourcesResult::nextCursor));
+	}
+
 	/**
 	 * Reads the content of a specific resource identified by the provided Resource
 	 * object. This method fetches the actual data that the resource represents.
@@ -619,11 +787,31 @@ public class McpAsyncClient {
 			if (this.serverCapabilities.resources() == null) {
 				return Mono.error(new McpError("Server does not provide the resources capability"));
 			}
-			return this.mcpSession.sendRequest(McpSchema.METHOD_RESOURCES_READ, readResourceRequest,
+			return this.sendIdempotentRequest(McpSchema.METHOD_RESOURCES_READ, readResourceRequest,
 					READ_RESOURCE_RESULT_TYPE_REF);
 		});
 	}
 
+	/**
+	 * Reads the content of a specific resource, waiting at most the given time for the
+	 * content instead of the timeout configured for resource reads.
+	 * @param readResourceRequest The request containing the URI of the resource to read
+	 * @param timeout The duration to wait for the content, or {@code null} to wait
+	 * indefinitely
+	 * @return A Mono that completes with the resource content.
+	 * @see #readResource(McpSchema.ReadResourceRequest)
+	 */
+	public Mono<McpSchema.ReadResourceResult> readResource(McpSchema.ReadResourceRequest readResourceRequest,
+			Duration timeout) {
+		return this.withInitializationCheck("reading resources", initializedResult -> {
+			if (this.serverCapabilities.resources() == null) {
+				return Mono.error(new McpError("Server does not provide the resources capability"));
+			}
+			return this.mcpSession.sendRequest(McpSchema.METHOD_RESOURCES_READ, readResourceRequest,
+					READ_RESOURCE_RESULT_TYPE_REF, timeout);
+		});
+	}
+
 	/**
 	 * Retrieves the list of all resource templates provided by the server. Resource
 	 * templates allow servers to expose parameterized resources using URI templates,
@@ -648,11 +836,23 @@ public class McpAsyncClient {
 			if (this.serverCapabilities.resources() == null) {
 				return Mono.error(new McpError("Server does not provide the resources capability"));
 			}
-			return this.mcpSession.sendRequest(McpSchema.METHOD_RESOURCES_TEMPLATES_LIST,
+			return this.sendIdempotentRequest(McpSchema.METHOD_RESOURCES_TEMPLATES_LIST,
 					new McpSchema.PaginatedRequest(cursor), LIST_RESOURCE_TEMPLATES_RESULT_TYPE_REF);
 		});
 	}
 
+	/**
+	 * Lists the resource templates of all pages provided by the server. The next page is
+	 * only requested once the templates of the previous one have been consumed.
+	 * @return A Flux that emits the resource templates, following the pagination cursors
+	 * @see McpSchema.ListResourceTemplatesResult
+	 */
+	public Flux<McpSchema.ResourceTemplate> listAllResourceTemplates() {
+		return Flux.defer(() -> listPages(null, this::listResourceTemplates,
+				McpSchema.ListResourceTemplatesResult::resourceTemplates,
+				McpSchema.ListResourceTemplatesResult::nextCursor));
+	}
+
 	/**
 	 * Subscribes to changes in a specific resource. When the resource changes on the
 	 * server, the client will receive notifications through the resources change
@@ -681,15 +881,15 @@ public class McpAsyncClient {
 			.sendRequest(McpSchema.METHOD_RESOURCES_UNSUBSCRIBE, unsubscribeRequest, VOID_TYPE_REFERENCE));
 	}
 
-	private NotificationHandler asyncResourcesChangeNotificationHandler(
+	private Function<List<McpSchema.Resource>, Mono<Void>> resourcesChangeListener(
 			List<Function<List<McpSchema.Resource>, Mono<Void>>> resourcesChangeConsumers) {
-		return params -> listResources().flatMap(listResourcesResult -> Flux.fromIterable(resourcesChangeConsumers)
-			.flatMap(consumer -> consumer.apply(listResourcesResult.resources()))
+		return resources -> Flux.fromIterable(resourcesChangeConsumers)
+			.flatMap(consumer -> consumer.apply(resources))
 			.onErrorResume(error -> {
 				logger.error("Error handling resources list change notification", error);
 				return Mono.empty();
 			})
-			.then());
+			.then();
 	}
 
 	// --------------------------
@@ -719,8 +919,20 @@ public class McpAsyncClient {
 	 * @see #getPrompt(GetPromptRequest)
 	 */
 	public Mono<ListPromptsResult> listPrompts(String cursor) {
-		return this.withInitializationCheck("listing prompts", initializedResult -> this.mcpSession
-			.sendRequest(McpSchema.METHOD_PROMPT_LIST, new PaginatedRequest(cursor), LIST_PROMPTS_RESULT_TYPE_REF));
+		return this.withInitializationCheck("listing prompts",
+				initializedResult -> this.sendIdempotentRequest(McpSchema.METHOD_PROMPT_LIST,
+						new PaginatedRequest(cursor), LIST_PROMPTS_RESULT_TYPE_REF));
+	}
+
+	/**
+	 * Lists the prompts of all pages provided by the server. The next page is only
+	 * requested once the prompts of the previous one have been consumed.
+	 * @return A Flux that emits the prompts, following the pagination cursors
+	 * @see McpSchema.ListPromptsResult
+	 */
+	public Flux<McpSchema.Prompt> listAllPrompts() {
+		return Flux.defer(() -> listPages(null, this::listPrompts, McpSchema.ListPromptsResult::prompts,
+				McpSchema.ListPromptsResult::nextCursor));
 	}
 
 	/**
@@ -737,15 +949,116 @@ public class McpAsyncClient {
 			.sendRequest(McpSchema.METHOD_PROMPT_GET, getPromptRequest, GET_PROMPT_RESULT_TYPE_REF));
 	}
 
-	private NotificationHandler asyncPromptsChangeNotificationHandler(
+	/**
+	 * Retrieves a specific prompt by its ID, waiting at most the given time for the
+	 * prompt instead of the timeout configured for prompt requests.
+	 * @param getPromptRequest The request containing the ID of the prompt to retrieve.
+	 * @param timeout The duration to wait for the prompt, or {@code null} to wait
+	 * indefinitely
+	 * @return A Mono that completes with the prompt result.
+	 * @see #getPrompt(GetPromptRequest)
+	 */
+	public Mono<GetPromptResult> getPrompt(GetPromptRequest getPromptRequest, Duration timeout) {
+		return this.withInitializationCheck("getting prompts", initializedResult -> this.mcpSession
+			.sendRequest(McpSchema.METHOD_PROMPT_GET, getPromptRequest, GET_PROMPT_RESULT_TYPE_REF, timeout));
+	}
+
+	private Function<List<McpSchema.Prompt>, Mono<Void>> promptsChangeListener(
 			List<Function<List<McpSchema.Prompt>, Mono<Void>>> promptsChangeConsumers) {
-		return params -> listPrompts().flatMap(listPromptsResult -> Flux.fromIterable(promptsChangeConsumers)
-			.flatMap(consumer -> consumer.apply(listPromptsResult.prompts()))
+		return prompts -> Flux.fromIterable(promptsChangeConsumers)
+			.flatMap(consumer -> consumer.apply(prompts))
 			.onErrorResume(error -> {
 				logger.error("Error handling prompts list change notification", error);
 				return Mono.empty();
 			})
-			.then());
+			.then();
+	}
+
+	// --------------------------
+	// Batching
+	// --------------------------
+
+	/**
+	 * Creates a batch of requests that are sent to the server as a single JSON-RPC batch,
+	 * in one transport frame instead of one per request. The server handles the requests
+	 * concurrently and answers them in a single batch as well.
+	 *
+	 * <pre>{@code
+	 * McpAsyncClient.Batch batch = client.batch();
+	 * Mono<CallToolResult> weather = batch.callTool(new CallToolRequest("weather", args));
+	 * Mono<ReadResourceResult> readme = batch.readResource(new ReadResourceRequest("file:///README.md"));
+	 * batch.send().then(Mono.zip(weather, readme));
+	 * }</pre>
+	 * @return A new, empty batch
+	 */
+	public Batch batch() {
+		return new Batch(this.mcpSession.batch());
+	}
+
+	/**
+	 * Requests collected to be sent to the server as a single JSON-RPC batch. The Mono
+	 * returned for each request emits its result once the batch is sent and answered. A
+	 * batch can be sent once.
+	 */
+	public final class Batch {
+
+		private final McpClientSession.Batch requests;
+
+		private Batch(McpClientSession.Batch requests) {
+			this.requests = requests;
+		}
+
+		/**
+		 * Adds a tool call to the batch.
+		 * @param callToolRequest The request containing the tool name and input
+		 * parameters.
+		 * @return A Mono that emits the result of the tool call once the batch is
+		 * answered.
+		 */
+		public Mono<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest callToolRequest) {
+			return this.requests.add(McpSchema.METHOD_TOOLS_CALL, callToolRequest, CALL_TOOL_RESULT_TYPE_REF);
+		}
+
+		/**
+		 * Adds a resource read to the batch.
+		 * @param readResourceRequest The request containing the URI of the resource to
+		 * read
+		 * @return A Mono that emits the resource content once the batch is answered.
+		 */
+		public Mono<McpSchema.ReadResourceResult> readResource(McpSchema.ReadResourceRequest readResourceRequest) {
+			return this.requests.add(McpSchema.METHOD_RESOURCES_READ, readResourceRequest,
+					READ_RESOURCE_RESULT_TYPE_REF);
+		}
+
+		/**
+		 * Adds a prompt retrieval to the batch.
+		 * @param getPromptRequest The request containing the ID of the prompt to
+		 * retrieve.
+		 * @return A Mono that emits the prompt once the batch is answered.
+		 */
+		public Mono<GetPromptResult> getPrompt(GetPromptRequest getPromptRequest) {
+			return this.requests.add(McpSchema.METHOD_PROMPT_GET, getPromptRequest, GET_PROMPT_RESULT_TYPE_REF);
+		}
+
+		/**
+		 * Returns the number of requests in the batch.
+		 * @return The number of requests
+		 */
+		public int size() {
+			return this.requests.size();
+		}
+
+		/**
+		 * Sends the requests of the batch to the server in one message, once the client
+		 * is initialized. If the batch can not be sent, its requests fail with the same
+		 * error.
+		 * @return A Mono that completes once the batch is sent
+		 */
+		public Mono<Void> send() {
+			return withInitializationCheck("sending a batch", initializedResult -> this.requests.send())
+				.doOnError(this.requests::abort);
+		}
+
 	}
 
 	// --------------------------
@@ -756,8 +1069,7 @@ public class McpAsyncClient {
 
 		return params -> {
 			McpSchema.LoggingMessageNotification loggingMessageNotification = transport.unmarshalFrom(params,
-					new TypeReference<McpSchema.LoggingMessageNotification>() {
-					});
+					LOGGING_MESSAGE_NOTIFICATION_TYPE_REF);
 
 			return Flux.fromIterable(loggingConsumers)
 				.flatMap(consumer -> consumer.apply(loggingMessageNotification))
@@ -765,6 +1077,34 @@ public class McpAsyncClient {
 		};
 	}
 
+	// --------------------------
+	// Progress
+	// --------------------------
+
+	/**
+	 * The result of a request together with the progress the server reports for it.
+	 *
+	 * @param <T> The type of the result
+	 * @param result The result, subscribing to it sends the request
+	 * @param progress The progress notifications for the request
+	 */
+	public record ProgressTracked<T>(Mono<T> result, Flux<McpSchema.ProgressNotification> progress) {
+	}
+
+	private NotificationHandler asyncProgressNotificationHandler() {
+		return params -> Mono.fromRunnable(() -> {
+			McpSchema.ProgressNotification progressNotification = transport.unmarshalFrom(params,
+					PROGRESS_NOTIFICATION_TYPE_REF);
+			Sinks.Many<McpSchema.ProgressNotification> progressSink = this.progressSinks
+				.get(progressNotification.progressToken());
+			if (progressSink == null) {
+				logger.debug("Progress for unknown token {}", progressNotification.progressToken());
+				return;
+			}
+			progressSink.tryEmitNext(progressNotification);
+		});
+	}
+
 	/**
 	 * Sets the minimum logging level for messages received from the server. The client
 	 * will only receive log messages at or above the specified severity level.
@@ -778,8 +1118,7 @@ public class McpAsyncClient {
 		}
 
 		return this.withInitializationCheck("setting logging level", initializedResult -> {
-			String levelName = this.transport.unmarshalFrom(loggingLevel, new TypeReference<String>() {
-			});
+			String levelName = this.transport.unmarshalFrom(loggingLevel, STRING_TYPE_REF);
 			Map<String, Object> params = Map.of("level", levelName);
 			return this.mcpSession.sendNotification(McpSchema.METHOD_LOGGING_SET_LEVEL, params);
 		});
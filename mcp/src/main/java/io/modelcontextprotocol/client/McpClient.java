@@ -15,6 +15,7 @@ import java.util.function.Function;
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpTransport;
+import io.modelcontextprotocol.spec.RequestTimeouts;
 import io.modelcontextprotocol.spec.McpSchema.ClientCapabilities;
 import io.modelcontextprotocol.spec.McpSchema.CreateMessageRequest;
 import io.modelcontextprotocol.spec.McpSchema.CreateMessageResult;
@@ -157,6 +158,12 @@ public interface McpClient {
 
 		private Duration requestTimeout = Duration.ofSeconds(20); // Default timeout
 
+		private final Map<String, Duration> methodTimeouts = new HashMap<>();
+
+		private boolean coalesceRequests;
+
+		private Duration catalogRefreshDelay = Duration.ZERO;
+
 		private Duration initializationTimeout = Duration.ofSeconds(20);
 
 		private ClientCapabilities capabilities;
@@ -195,6 +202,24 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Sets the duration to wait for server responses to requests of one method,
+		 * overriding {@link #requestTimeout(Duration)}. A {@code ping}, for example,
+		 * should fail quickly, while a tool call may take a while.
+		 * @param method The request method, such as {@link McpSchema#METHOD_PING}. Must
+		 * not be empty.
+		 * @param requestTimeout The duration to wait before timing out requests. Must not
+		 * be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if method is empty or requestTimeout is null
+		 */
+		public SyncSpec requestTimeout(String method, Duration requestTimeout) {
+			Assert.hasText(method, "Method must not be empty");
+			Assert.notNull(requestTimeout, "Request timeout must not be null");
+			this.methodTimeouts.put(method, requestTimeout);
+			return this;
+		}
+
 		/**
 		 * @param initializationTimeout The duration to wait for the initializaiton
 		 * lifecycle step to complete.
@@ -207,6 +232,36 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Enables coalescing of identical idempotent requests: a list request or resource
+		 * read that is identical to one in flight shares its response instead of being
+		 * sent again. This avoids a burst of duplicate requests when many callers share a
+		 * client, for example when they all refresh the tool list after a list change.
+		 * Disabled by default.
+		 * @param coalesceRequests Whether identical requests in flight share one response
+		 * @return This builder instance for method chaining
+		 */
+		public SyncSpec requestCoalescing(boolean coalesceRequests) {
+			this.coalesceRequests = coalesceRequests;
+			return this;
+		}
+
+		/**
+		 * Sets how long the client waits after the server reports a change of its tools,
+		 * resources or prompts before fetching the changed catalog again. Further changes
+		 * reported in the meantime restart the wait, so a burst of notifications causes a
+		 * single fetch. Defaults to no delay.
+		 * @param catalogRefreshDelay The delay. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if catalogRefreshDelay is null
+		 * @see McpAsyncClient#getCatalog()
+		 */
+		public SyncSpec catalogRefreshDelay(Duration catalogRefreshDelay) {
+			Assert.notNull(catalogRefreshDelay, "Catalog refresh delay must not be null");
+			this.catalogRefreshDelay = catalogRefreshDelay;
+			return this;
+		}
+
 		/**
 		 * Sets the client capabilities that will be advertised to the server during
 		 * connection initialization. Capabilities define what features the client
@@ -368,8 +423,9 @@ public interface McpClient {
 
 			McpClientFeatures.Async asyncFeatures = McpClientFeatures.Async.fromSync(syncFeatures);
 
-			return new McpSyncClient(
-					new McpAsyncClient(transport, this.requestTimeout, this.initializationTimeout, asyncFeatures));
+			return new McpSyncClient(new McpAsyncClient(transport,
+					new RequestTimeouts(this.requestTimeout, this.methodTimeouts), this.initializationTimeout,
+					asyncFeatures, this.coalesceRequests, this.catalogRefreshDelay));
 		}
 
 	}
@@ -396,6 +452,12 @@ public interface McpClient {
 
 		private Duration requestTimeout = Duration.ofSeconds(20); // Default timeout
 
+		private final Map<String, Duration> methodTimeouts = new HashMap<>();
+
+		private boolean coalesceRequests;
+
+		private Duration catalogRefreshDelay = Duration.ZERO;
+
 		private Duration initializationTimeout = Duration.ofSeconds(20);
 
 		private ClientCapabilities capabilities;
@@ -434,6 +496,24 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Sets the duration to wait for server responses to requests of one method,
+		 * overriding {@link #requestTimeout(Duration)}. A {@code ping}, for example,
+		 * should fail quickly, while a tool call may take a while.
+		 * @param method The request method, such as {@link McpSchema#METHOD_PING}. Must
+		 * not be empty.
+		 * @param requestTimeout The duration to wait before timing out requests. Must not
+		 * be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if method is empty or requestTimeout is null
+		 */
+		public AsyncSpec requestTimeout(String method, Duration requestTimeout) {
+			Assert.hasText(method, "Method must not be empty");
+			Assert.notNull(requestTimeout, "Request timeout must not be null");
+			this.methodTimeouts.put(method, requestTimeout);
+			return this;
+		}
+
 		/**
 		 * @param initializationTimeout The duration to wait for the initializaiton
 		 * lifecycle step to complete.
@@ -446,6 +526,36 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Enables coalescing of identical idempotent requests: a list request or resource
+		 * read that is identical to one in flight shares its response instead of being
+		 * sent again. This avoids a burst of duplicate requests when many callers share a
+		 * client, for example when they all refresh the tool list after a list change.
+		 * Disabled by default.
+		 * @param coalesceRequests Whether identical requests in flight share one response
+		 * @return This builder instance for method chaining
+		 */
+		public AsyncSpec requestCoalescing(boolean coalesceRequests) {
+			this.coalesceRequests = coalesceRequests;
+			return this;
+		}
+
+		/**
+		 * Sets how long the client waits after the server reports a change of its tools,
+		 * resources or prompts before fetching the changed catalog again. Further changes
+		 * reported in the meantime restart the wait, so a burst of notifications causes a
+		 * single fetch. Defaults to no delay.
+		 * @param catalogRefreshDelay The delay. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if catalogRefreshDelay is null
+		 * @see McpAsyncClient#getCatalog()
+		 */
+		public AsyncSpec catalogRefreshDelay(Duration catalogRefreshDelay) {
+			Assert.notNull(catalogRefreshDelay, "Catalog refresh delay must not be null");
+			this.catalogRefreshDelay = catalogRefreshDelay;
+			return this;
+		}
+
 		/**
 		 * Sets the client capabilities that will be advertised to the server during
 		 * connection initialization. Capabilities define what features the client
@@ -603,10 +713,12 @@ public interface McpClient {
 		 * @return a new instance of {@link McpAsyncClient}.
 		 */
 		public McpAsyncClient build() {
-			return new McpAsyncClient(this.transport, this.requestTimeout, this.initializationTimeout,
+			return new McpAsyncClient(this.transport, new RequestTimeouts(this.requestTimeout, this.methodTimeouts),
+					this.initializationTimeout,
 					new McpClientFeatures.Async(this.clientInfo, this.capabilities, this.roots,
 							this.toolsChangeConsumers, this.resourcesChangeConsumers, this.promptsChangeConsumers,
-							this.loggingConsumers, this.samplingHandler));
+							this.loggingConsumers, this.samplingHandler),
+					this.coalesceRequests, this.catalogRefreshDelay);
 		}
 
 	}
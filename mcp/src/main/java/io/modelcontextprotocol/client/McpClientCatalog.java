@@ -0,0 +1,282 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * A cache of the catalogs a server offers: its tools, resources, resource templates and
+ * prompts.
+ * <p>
+ * Each catalog is fetched, across all pages, the first time it is asked for and kept as
+ * an immutable, versioned {@link Snapshot} indexed by name or URI. A
+ * {@code notifications/.../list_changed} notification marks the catalog stale. The tool,
+ * resource and prompt catalogs are then fetched again after the configured refresh delay,
+ * so a burst of notifications causes a single fetch, and the change consumers of the
+ * client receive the new catalog. Other stale catalogs are fetched again lazily, the next
+ * time they are asked for. Concurrent fetches of a catalog share one request.
+ * <p>
+ * {@link Entry#current()} returns the snapshot at hand without any I/O, which suits hot
+ * paths such as looking up a tool before calling it.
+ */
+public final class McpClientCatalog {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpClientCatalog.class);
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder refreshes = new LongAdder();
+
+	private final Entry<McpSchema.Tool> tools;
+
+	private final Entry<McpSchema.Resource> resources;
+
+	private final Entry<McpSchema.ResourceTemplate> resourceTemplates;
+
+	private final Entry<McpSchema.Prompt> prompts;
+
+	McpClientCatalog(Duration refreshDelay, Supplier<Mono<List<McpSchema.Tool>>> toolsFetcher,
+			Function<List<McpSchema.Tool>, Mono<Void>> toolsListener,
+			Supplier<Mono<List<McpSchema.Resource>>> resourcesFetcher,
+			Function<List<McpSchema.Resource>, Mono<Void>> resourcesListener,
+			Supplier<Mono<List<McpSchema.ResourceTemplate>>> resourceTemplatesFetcher,
+			Supplier<Mono<List<McpSchema.Prompt>>> promptsFetcher,
+			Function<List<McpSchema.Prompt>, Mono<Void>> promptsListener) {
+		this.tools = new Entry<>("tools", McpSchema.Tool::name, toolsFetcher, toolsListener, refreshDelay);
+		this.resources = new Entry<>("resources", McpSchema.Resource::uri, resourcesFetcher, resourcesListener,
+				refreshDelay);
+		this.resourceTemplates = new Entry<>("resource templates", McpSchema.ResourceTemplate::uriTemplate,
+				resourceTemplatesFetcher, null, refreshDelay);
+		this.prompts = new Entry<>("prompts", McpSchema.Prompt::name, promptsFetcher, promptsListener, refreshDelay);
+	}
+
+	/**
+	 * Returns the tool catalog, indexed by tool name.
+	 * @return The tool catalog
+	 */
+	public Entry<McpSchema.Tool> tools() {
+		return this.tools;
+	}
+
+	/**
+	 * Returns the resource catalog, indexed by resource URI.
+	 * @return The resource catalog
+	 */
+	public Entry<McpSchema.Resource> resources() {
+		return this.resources;
+	}
+
+	/**
+	 * Returns the resource template catalog, indexed by URI template.
+	 * @return The resource template catalog
+	 */
+	public Entry<McpSchema.ResourceTemplate> resourceTemplates() {
+		return this.resourceTemplates;
+	}
+
+	/**
+	 * Returns the prompt catalog, indexed by prompt name.
+	 * @return The prompt catalog
+	 */
+	public Entry<McpSchema.Prompt> prompts() {
+		return this.prompts;
+	}
+
+	/**
+	 * Returns the cache metrics, summed over all catalogs.
+	 * @return The metrics
+	 */
+	public Metrics metrics() {
+		return new Metrics(this.hits.sum(), this.misses.sum(), this.refreshes.sum());
+	}
+
+	/**
+	 * Cache metrics.
+	 *
+	 * @param hits The number of times a catalog was asked for and was up to date
+	 * @param misses The number of times a catalog was asked for and was stale
+	 * @param refreshes The number of times a catalog was fetched from the server
+	 */
+	public record Metrics(long hits, long misses, long refreshes) {
+	}
+
+	/**
+	 * An immutable version of a catalog.
+	 *
+	 * @param <T> The type of the catalog items
+	 * @param items The items, in the order the server listed them
+	 * @param index The items by name or URI
+	 * @param version The version of the catalog, incremented each time it is fetched,
+	 * {@code 0} if it was never fetched
+	 * @param stale Whether the server reported a change since the catalog was fetched
+	 */
+	public record Snapshot<T>(List<T> items, Map<String, T> index, long version, boolean stale) {
+
+		/**
+		 * Returns the item with the given name or URI.
+		 * @param key The name or URI of the item
+		 * @return The item, or {@code null} if the catalog has no such item
+		 */
+		public T get(String key) {
+			return this.index.get(key);
+		}
+
+		private Snapshot<T> markStale() {
+			return this.stale ? this : new Snapshot<>(this.items, this.index, this.version, true);
+		}
+
+	}
+
+	/**
+	 * A catalog of the server, kept as a snapshot that is refreshed when the server
+	 * reports a change.
+	 *
+	 * @param <T> The type of the catalog items
+	 */
+	public final class Entry<T> {
+
+		private final String name;
+
+		private final Function<T, String> key;
+
+		private final Supplier<Mono<List<T>>> fetcher;
+
+		private final Function<List<T>, Mono<Void>> changeListener;
+
+		private final Duration refreshDelay;
+
+		private final SingleFlight fetches = new SingleFlight();
+
+		private volatile Snapshot<T> snapshot = new Snapshot<>(List.of(), Map.of(), 0, true);
+
+		private long invalidations;
+
+		private Disposable scheduledRefresh;
+
+		private Entry(String name, Function<T, String> key, Supplier<Mono<List<T>>> fetcher,
+				Function<List<T>, Mono<Void>> changeListener, Duration refreshDelay) {
+			this.name = name;
+			this.key = key;
+			this.fetcher = fetcher;
+			this.changeListener = changeListener;
+			this.refreshDelay = refreshDelay;
+		}
+
+		/**
+		 * Returns the snapshot at hand, without any I/O. The snapshot is empty and stale
+		 * if the catalog was never fetched.
+		 * @return The current snapshot
+		 */
+		public Snapshot<T> current() {
+			Snapshot<T> current = this.snapshot;
+			(current.stale() ? misses : hits).increment();
+			return current;
+		}
+
+		/**
+		 * Returns the catalog, fetching it first if it is stale.
+		 * @return A Mono emitting an up to date snapshot
+		 */
+		public Mono<Snapshot<T>> get() {
+			return Mono.defer(() -> {
+				Snapshot<T> current = this.snapshot;
+				if (!current.stale()) {
+					hits.increment();
+					return Mono.just(current);
+				}
+				misses.increment();
+				return refresh();
+			});
+		}
+
+		/**
+		 * Fetches the catalog from the server, sharing a fetch already in flight.
+		 * @return A Mono emitting the new snapshot
+		 */
+		public Mono<Snapshot<T>> refresh() {
+			return this.fetches.execute(this, () -> Mono.defer(() -> {
+				long startedAt;
+				synchronized (this) {
+					startedAt = this.invalidations;
+				}
+				return this.fetcher.get().map(items -> install(items, startedAt));
+			}));
+		}
+
+		/**
+		 * Marks the catalog stale after the server reported a change. Catalogs with a
+		 * change listener are fetched again once the refresh delay passed without further
+		 * changes, and the listener is called with the new catalog.
+		 * @return A Mono that completes once the catalog is fetched again, or right away
+		 * if the fetch is delayed or deferred to the next access
+		 */
+		Mono<Void> invalidate() {
+			return Mono.defer(() -> {
+				synchronized (this) {
+					this.invalidations++;
+					this.snapshot = this.snapshot.markStale();
+					if (this.scheduledRefresh != null) {
+						this.scheduledRefresh.dispose();
+						this.scheduledRefresh = null;
+					}
+					if (this.changeListener == null) {
+						return Mono.empty();
+					}
+					if (!this.refreshDelay.isZero()) {
+						this.scheduledRefresh = Schedulers.parallel()
+							.schedule(() -> refreshAndNotify().subscribe(), this.refreshDelay.toNanos(),
+									TimeUnit.NANOSECONDS);
+						return Mono.empty();
+					}
+				}
+				return refreshAndNotify();
+			});
+		}
+
+		private Mono<Void> refreshAndNotify() {
+			// A fetch already in flight may predate the change, in which case it
+			// installs a stale snapshot and one more fetch is needed
+			return refresh().flatMap(fetched -> fetched.stale() ? refresh() : Mono.just(fetched))
+				.flatMap(fetched -> this.changeListener.apply(fetched.items()))
+				.onErrorResume(error -> {
+					logger.error("Error refreshing the {} catalog", this.name, error);
+					return Mono.empty();
+				});
+		}
+
+		private Snapshot<T> install(List<T> items, long startedAt) {
+			Map<String, T> index = new LinkedHashMap<>(items.size() * 2);
+			for (T item : items) {
+				index.putIfAbsent(this.key.apply(item), item);
+			}
+			synchronized (this) {
+				Snapshot<T> fetched = new Snapshot<>(List.copyOf(items), Collections.unmodifiableMap(index),
+						this.snapshot.version() + 1, this.invalidations != startedAt);
+				this.snapshot = fetched;
+				refreshes.increment();
+				return fetched;
+			}
+		}
+
+	}
+
+}
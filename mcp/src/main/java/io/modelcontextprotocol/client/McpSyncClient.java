@@ -5,6 +5,8 @@
 package io.modelcontextprotocol.client;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
 
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -15,6 +17,7 @@ import io.modelcontextprotocol.spec.McpSchema.ListPromptsResult;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 
 /**
  * A synchronous client implementation for the Model Context Protocol (MCP) that wraps an
@@ -104,6 +107,16 @@ public class McpSyncClient implements AutoCloseable {
 		return this.delegate.getClientInfo();
 	}
 
+	/**
+	 * Returns the cached catalogs of the server. {@link McpClientCatalog.Entry#current()}
+	 * returns a catalog without blocking.
+	 * @return The catalog cache
+	 * @see McpAsyncClient#getCatalog()
+	 */
+	public McpClientCatalog getCatalog() {
+		return this.delegate.getCatalog();
+	}
+
 	@Override
 	public void close() {
 		this.delegate.close();
@@ -201,6 +214,39 @@ public class McpSyncClient implements AutoCloseable {
 		return this.delegate.callTool(callToolRequest).block();
 	}
 
+	/**
+	 * Calls a tool provided by the server, waiting at most the given time for the result
+	 * instead of the timeout configured for tool calls.
+	 * @param callToolRequest The request containing the tool name and input parameters
+	 * @param timeout The duration to wait for the result, or {@code null} to wait
+	 * indefinitely
+	 * @return The result of the tool call
+	 */
+	public McpSchema.CallToolResult callTool(McpSchema.CallToolRequest callToolRequest, Duration timeout) {
+		return this.delegate.callTool(callToolRequest, timeout).block();
+	}
+
+	/**
+	 * Calls a tool provided by the server and asks the server to report the progress of
+	 * the call.
+	 * @param callToolRequest The request containing the tool name and input parameters
+	 * @param progressConsumer Called with each progress notification for the call, on the
+	 * transport's thread
+	 * @return The result of the tool call
+	 */
+	public McpSchema.CallToolResult callTool(McpSchema.CallToolRequest callToolRequest,
+			Consumer<McpSchema.ProgressNotification> progressConsumer) {
+		McpAsyncClient.ProgressTracked<McpSchema.CallToolResult> call = this.delegate
+			.callToolWithProgress(callToolRequest);
+		Disposable progress = call.progress().subscribe(progressConsumer);
+		try {
+			return call.result().block();
+		}
+		finally {
+			progress.dispose();
+		}
+	}
+
 	/**
 	 * Retrieves the list of all tools provided by the server.
 	 * @return The list of tools result containing: - tools: List of available tools, each
@@ -222,6 +268,14 @@ public class McpSyncClient implements AutoCloseable {
 		return this.delegate.listTools(cursor).block();
 	}
 
+	/**
+	 * Retrieves the tools of all pages provided by the server.
+	 * @return The tools, following the pagination cursors
+	 */
+	public List<McpSchema.Tool> listAllTools() {
+		return this.delegate.listAllTools().collectList().block();
+	}
+
 	// --------------------------
 	// Resources
 	// --------------------------
@@ -243,6 +297,14 @@ public class McpSyncClient implements AutoCloseable {
 		return this.delegate.listResources().block();
 	}
 
+	/**
+	 * Retrieves the resources of all pages provided by the server.
+	 * @return The resources, following the pagination cursors
+	 */
+	public List<McpSchema.Resource> listAllResources() {
+		return this.delegate.listAllResources().collectList().block();
+	}
+
 	/**
 	 * Send a resources/read request.
 	 * @param resource the resource to read
@@ -261,6 +323,19 @@ public class McpSyncClient implements AutoCloseable {
 		return this.delegate.readResource(readResourceRequest).block();
 	}
 
+	/**
+	 * Reads the content of a specific resource, waiting at most the given time for the
+	 * content instead of the timeout configured for resource reads.
+	 * @param readResourceRequest the read resource request
+	 * @param timeout The duration to wait for the content, or {@code null} to wait
+	 * indefinitely
+	 * @return the resource content
+	 */
+	public McpSchema.ReadResourceResult readResource(McpSchema.ReadResourceRequest readResourceRequest,
+			Duration timeout) {
+		return this.delegate.readResource(readResourceRequest, timeout).block();
+	}
+
 	/**
 	 * Resource templates allow servers to expose parameterized resources using URI
 	 * templates. Arguments may be auto-completed through the completion API.
@@ -281,6 +356,14 @@ public class McpSyncClient implements AutoCloseable {
 		return this.delegate.listResourceTemplates().block();
 	}
 
+	/**
+	 * Retrieves the resource templates of all pages provided by the server.
+	 * @return The resource templates, following the pagination cursors
+	 */
+	public List<McpSchema.ResourceTemplate> listAllResourceTemplates() {
+		return this.delegate.listAllResourceTemplates().collectList().block();
+	}
+
 	/**
 	 * Subscriptions. The protocol supports optional subscriptions to resource changes.
 	 * Clients can subscribe to specific resources and receive notifications when they
@@ -314,10 +397,30 @@ public class McpSyncClient implements AutoCloseable {
 		return this.delegate.listPrompts().block();
 	}
 
+	/**
+	 * Retrieves the prompts of all pages provided by the server.
+	 * @return The prompts, following the pagination cursors
+	 */
+	public List<McpSchema.Prompt> listAllPrompts() {
+		return this.delegate.listAllPrompts().collectList().block();
+	}
+
 	public GetPromptResult getPrompt(GetPromptRequest getPromptRequest) {
 		return this.delegate.getPrompt(getPromptRequest).block();
 	}
 
+	/**
+	 * Retrieves a specific prompt, waiting at most the given time for the prompt instead
+	 * of the timeout configured for prompt requests.
+	 * @param getPromptRequest The request containing the ID of the prompt to retrieve
+	 * @param timeout The duration to wait for the prompt, or {@code null} to wait
+	 * indefinitely
+	 * @return The prompt result
+	 */
+	public GetPromptResult getPrompt(GetPromptRequest getPromptRequest, Duration timeout) {
+		return this.delegate.getPrompt(getPromptRequest, timeout).block();
+	}
+
 	/**
 	 * Client can set the minimum logging level it wants to receive from the server.
 	 * @param loggingLevel the min logging level
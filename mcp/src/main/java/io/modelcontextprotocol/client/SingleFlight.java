@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces identical requests that are in flight at the same time: the first caller
+ * sends the request and every caller that asks for the same key before the response
+ * arrives shares that response instead of sending a request of its own.
+ * <p>
+ * Only the request in flight is shared. Once it completes, the next caller sends a new
+ * request, so callers never see a response older than their call.
+ */
+final class SingleFlight {
+
+	private final ConcurrentHashMap<Object, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the response to a request, sharing it with identical requests in flight.
+	 * @param <T> The type of the response
+	 * @param key The key identifying identical requests, such as the method and params
+	 * @param request Supplies the request to send if none is in flight for the key
+	 * @return A Mono emitting the shared response
+	 */
+	@SuppressWarnings("unchecked")
+	<T> Mono<T> execute(Object key, Supplier<Mono<T>> request) {
+		return Mono.defer(() -> {
+			Mono<T> existing = (Mono<T>) this.inFlight.get(key);
+			if (existing != null) {
+				return existing;
+			}
+			AtomicReference<Mono<T>> self = new AtomicReference<>();
+			Mono<T> shared = request.get().doFinally(signal -> this.inFlight.remove(key, self.get())).share();
+			self.set(shared);
+			Mono<T> raced = (Mono<T>) this.inFlight.putIfAbsent(key, shared);
+			return (raced != null) ? raced : shared;
+		});
+	}
+
+	/**
+	 * Returns the number of distinct requests in flight.
+	 * @return The number of requests
+	 */
+	int size() {
+		return this.inFlight.size();
+	}
+
+}
@@ -20,7 +20,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.modelcontextprotocol.client.transport.FlowSseClient.SseEvent;
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpError;
-import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
@@ -85,6 +86,9 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 	/** JSON object mapper for message serialization/deserialization */
 	protected ObjectMapper objectMapper;
 
+	/** Codec for message serialization/deserialization and payload binding */
+	private final McpJsonCodec jsonCodec;
+
 	/** Flag indicating if the transport is in closing state */
 	private volatile boolean isClosing = false;
 
@@ -126,6 +130,11 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 	 */
 	public HttpClientSseClientTransport(HttpClient.Builder clientBuilder, String baseUri, String sseEndpoint,
 			ObjectMapper objectMapper) {
+		this(clientBuilder, baseUri, sseEndpoint, objectMapper, null);
+	}
+
+	private HttpClientSseClientTransport(HttpClient.Builder clientBuilder, String baseUri, String sseEndpoint,
+			ObjectMapper objectMapper, McpJsonCodec jsonCodec) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		Assert.hasText(baseUri, "baseUri must not be empty");
 		Assert.hasText(sseEndpoint, "sseEndpoint must not be empty");
@@ -133,6 +142,7 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 		this.baseUri = baseUri;
 		this.sseEndpoint = sseEndpoint;
 		this.objectMapper = objectMapper;
+		this.jsonCodec = (jsonCodec != null) ? jsonCodec : new JacksonMcpJsonCodec(objectMapper);
 		this.httpClient = clientBuilder.connectTimeout(Duration.ofSeconds(10)).build();
 		this.sseClient = new FlowSseClient(this.httpClient);
 	}
@@ -159,6 +169,10 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 
 		private ObjectMapper objectMapper = new ObjectMapper();
 
+		private boolean deferPayloadBinding = false;
+
+		private McpJsonCodec jsonCodec;
+
 		/**
 		 * Creates a new builder with the specified base URI.
 		 * @param baseUri the base URI of the MCP server
@@ -201,12 +215,38 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 			return this;
 		}
 
+		/**
+		 * Sets whether response results and server request params are kept unparsed until
+		 * they are bound to their target type. Disabled by default.
+		 * @param deferPayloadBinding true to defer payload binding
+		 * @return this builder
+		 */
+		public Builder deferPayloadBinding(boolean deferPayloadBinding) {
+			this.deferPayloadBinding = deferPayloadBinding;
+			return this;
+		}
+
+		/**
+		 * Sets the codec used to decode inbound messages, encode outbound messages and
+		 * bind payloads. When set, it takes precedence over
+		 * {@link #deferPayloadBinding(boolean)}.
+		 * @param jsonCodec the codec
+		 * @return this builder
+		 */
+		public Builder jsonCodec(McpJsonCodec jsonCodec) {
+			Assert.notNull(jsonCodec, "jsonCodec must not be null");
+			this.jsonCodec = jsonCodec;
+			return this;
+		}
+
 		/**
 		 * Builds a new {@link HttpClientSseClientTransport} instance.
 		 * @return a new transport instance
 		 */
 		public HttpClientSseClientTransport build() {
-			return new HttpClientSseClientTransport(clientBuilder, baseUri, sseEndpoint, objectMapper);
+			McpJsonCodec codec = (jsonCodec != null) ? jsonCodec
+					: new JacksonMcpJsonCodec(objectMapper, deferPayloadBinding);
+			return new HttpClientSseClientTransport(clientBuilder, baseUri, sseEndpoint, objectMapper, codec);
 		}
 
 	}
@@ -244,7 +284,7 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 						future.complete(null);
 					}
 					else if (MESSAGE_EVENT_TYPE.equals(event.type())) {
-						JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, event.data());
+						JSONRPCMessage message = jsonCodec.decode(event.data());
 						handler.apply(Mono.just(message)).subscribe();
 					}
 					else {
@@ -300,11 +340,11 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 		}
 
 		try {
-			String jsonText = this.objectMapper.writeValueAsString(message);
+			byte[] body = this.jsonCodec.encode(message);
 			HttpRequest request = HttpRequest.newBuilder()
 				.uri(URI.create(this.baseUri + endpoint))
 				.header("Content-Type", "application/json")
-				.POST(HttpRequest.BodyPublishers.ofString(jsonText))
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body))
 				.build();
 
 			return Mono.fromFuture(
@@ -351,7 +391,7 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 	 */
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return this.jsonCodec.convertValue(data, typeRef);
 	}
 
 }
@@ -7,6 +7,7 @@ package io.modelcontextprotocol.client.transport;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -17,9 +18,13 @@ import java.util.function.Function;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
+import io.modelcontextprotocol.spec.McpBinaryEncoding;
 import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
+import io.modelcontextprotocol.spec.StdioFraming;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +38,15 @@ import reactor.core.scheduler.Schedulers;
  * Implementation of the MCP Stdio transport that communicates with a server process using
  * standard input/output streams. Messages are exchanged as newline-delimited JSON-RPC
  * messages over stdin/stdout, with errors and debug information sent to stderr.
+ * <p>
+ * When a binary codec is configured, the transport offers the {@link McpBinaryEncoding
+ * binary encoding} in the initialize request and switches to binary frames once the
+ * server accepted it.
+ * <p>
+ * Inbound frames are limited to a maximum size,
+ * {@link StdioFraming#DEFAULT_MAX_FRAME_SIZE} by default. Larger frames are discarded
+ * without being buffered and reported to the {@link #setExceptionHandler(Consumer)
+ * exception handler}, which logs them by default.
  *
  * @author Christian Tzolov
  * @author Dariusz Jędrzejczyk
@@ -48,7 +62,20 @@ public class StdioClientTransport implements McpClientTransport {
 	/** The server process being communicated with */
 	private Process process;
 
-	private ObjectMapper objectMapper;
+	/** Codec for reading and writing newline-delimited messages */
+	private final McpJsonCodec jsonCodec;
+
+	/** Codec for binary frames, or null if the binary encoding is not offered */
+	private final McpJsonCodec binaryCodec;
+
+	/** Maximum size of an inbound frame in bytes */
+	private final int maxFrameSize;
+
+	/** Id of the initialize request that offered the binary encoding */
+	private volatile Object binaryOfferId;
+
+	/** Whether outbound messages are written as binary frames */
+	private volatile boolean binaryOutbound;
 
 	/** Scheduler for handling inbound messages from the server process */
 	private Scheduler inboundScheduler;
@@ -69,6 +96,9 @@ public class StdioClientTransport implements McpClientTransport {
 	// visible for tests
 	private Consumer<String> stdErrorHandler = error -> logger.info("STDERR Message received: {}", error);
 
+	private volatile Consumer<Throwable> exceptionHandler = error -> logger.error("Discarded inbound message: {}",
+			error.getMessage());
+
 	/**
 	 * Creates a new StdioClientTransport with the specified parameters and default
 	 * ObjectMapper.
@@ -84,15 +114,44 @@ public class StdioClientTransport implements McpClientTransport {
 	 * @param objectMapper The ObjectMapper to use for JSON serialization/deserialization
 	 */
 	public StdioClientTransport(ServerParameters params, ObjectMapper objectMapper) {
+		this(params, new JacksonMcpJsonCodec(objectMapper));
+	}
+
+	/**
+	 * Creates a new StdioClientTransport with the specified parameters and codec.
+	 * @param params The parameters for configuring the server process
+	 * @param jsonCodec The codec to use for message serialization/deserialization
+	 */
+	public StdioClientTransport(ServerParameters params, McpJsonCodec jsonCodec) {
+		this(params, jsonCodec, null);
+	}
+
+	/**
+	 * Creates a new StdioClientTransport that offers a binary encoding to the server.
+	 * @param params The parameters for configuring the server process
+	 * @param jsonCodec The codec to use for text message serialization/deserialization
+	 * @param binaryCodec The Smile codec to use once the server accepted the binary
+	 * encoding, e.g. {@link io.modelcontextprotocol.spec.SmileMcpJsonCodec}, or
+	 * {@code null} to always use text
+	 */
+	public StdioClientTransport(ServerParameters params, McpJsonCodec jsonCodec, McpJsonCodec binaryCodec) {
+		this(params, jsonCodec, binaryCodec, StdioFraming.DEFAULT_MAX_FRAME_SIZE);
+	}
+
+	private StdioClientTransport(ServerParameters params, McpJsonCodec jsonCodec, McpJsonCodec binaryCodec,
+			int maxFrameSize) {
 		Assert.notNull(params, "The params can not be null");
-		Assert.notNull(objectMapper, "The ObjectMapper can not be null");
+		Assert.notNull(jsonCodec, "The McpJsonCodec can not be null");
+		Assert.isTrue(maxFrameSize > 0, "The maximum frame size must be positive");
 
 		this.inboundSink = Sinks.many().unicast().onBackpressureBuffer();
 		this.outboundSink = Sinks.many().unicast().onBackpressureBuffer();
 
 		this.params = params;
 
-		this.objectMapper = objectMapper;
+		this.jsonCodec = jsonCodec;
+		this.binaryCodec = binaryCodec;
+		this.maxFrameSize = maxFrameSize;
 
 		this.errorSink = Sinks.many().unicast().onBackpressureBuffer();
 
@@ -167,6 +226,19 @@ public class StdioClientTransport implements McpClientTransport {
 		this.stdErrorHandler = errorHandler;
 	}
 
+	/**
+	 * Sets the handler for inbound messages that were discarded without closing the
+	 * transport, such as a {@link StdioFraming.FrameTooLargeException} for a message
+	 * above the maximum frame size. Since the id of a discarded message is unknown, a
+	 * request whose response was discarded only ends by its timeout; the handler can
+	 * close the client instead.
+	 * @param exceptionHandler a consumer that processes the errors
+	 */
+	public void setExceptionHandler(Consumer<Throwable> exceptionHandler) {
+		Assert.notNull(exceptionHandler, "The exception handler can not be null");
+		this.exceptionHandler = exceptionHandler;
+	}
+
 	/**
 	 * Waits for the server process to exit.
 	 * @throws RuntimeException if the process is interrupted while waiting
@@ -253,11 +325,21 @@ public class StdioClientTransport implements McpClientTransport {
 	 */
 	private void startInboundProcessing() {
 		this.inboundScheduler.schedule(() -> {
-			try (BufferedReader processReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-				String line;
-				while (!isClosing && (line = processReader.readLine()) != null) {
+			try (var processInput = process.getInputStream()) {
+				StdioFraming.FrameReader reader = new StdioFraming.FrameReader(processInput, this.maxFrameSize);
+				while (!isClosing) {
 					try {
-						JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, line);
+						if (!reader.next()) {
+							break;
+						}
+					}
+					catch (StdioFraming.FrameTooLargeException e) {
+						// The frame was skipped, so the next one can be read
+						this.exceptionHandler.accept(e);
+						continue;
+					}
+					try {
+						JSONRPCMessage message = decode(reader);
 						if (!this.inboundSink.tryEmitNext(message).isSuccess()) {
 							if (!isClosing) {
 								logger.error("Failed to enqueue inbound message: {}", message);
@@ -267,7 +349,11 @@ public class StdioClientTransport implements McpClientTransport {
 					}
 					catch (Exception e) {
 						if (!isClosing) {
-							logger.error("Error processing inbound message for line: " + line, e);
+							logger.error(
+									"Error processing inbound message for line: " + (reader.isBinary()
+											? "<binary frame>"
+											: new String(reader.frame(), 0, reader.length(), StandardCharsets.UTF_8)),
+									e);
 						}
 						break;
 					}
@@ -285,6 +371,61 @@ public class StdioClientTransport implements McpClientTransport {
 		});
 	}
 
+	private JSONRPCMessage decode(StdioFraming.FrameReader reader) throws IOException {
+		JSONRPCMessage message;
+		if (reader.isBinary()) {
+			if (this.binaryCodec == null) {
+				throw new IllegalArgumentException("Received a binary frame but no binary codec is configured");
+			}
+			message = this.binaryCodec.decode(reader.frame(), 0, reader.length());
+		}
+		else {
+			message = this.jsonCodec.decode(reader.frame(), 0, reader.length());
+		}
+		handleBinaryAnswer(message);
+		return message;
+	}
+
+	/**
+	 * Switches outbound messages to binary frames if the message is the server's answer
+	 * to the binary encoding offer and accepts it.
+	 */
+	private void handleBinaryAnswer(JSONRPCMessage message) {
+		if (this.binaryOfferId != null && message instanceof McpSchema.JSONRPCResponse response
+				&& this.binaryOfferId.equals(response.id())) {
+			this.binaryOfferId = null;
+			this.binaryOutbound = response.result() != null && McpBinaryEncoding
+				.isAccepted(this.jsonCodec.convertValue(response.result(), McpSchema.InitializeResult.class));
+			logger.debug("Server {} the binary encoding", this.binaryOutbound ? "accepted" : "declined");
+		}
+	}
+
+	/**
+	 * Writes a message as a text line, or as a binary frame once the server accepted the
+	 * binary encoding. The initialize request carries the binary encoding offer.
+	 */
+	private void write(JSONRPCMessage message, OutputStream os) throws IOException {
+		if (this.binaryCodec != null && message instanceof McpSchema.JSONRPCRequest request
+				&& McpSchema.METHOD_INITIALIZE.equals(request.method())) {
+			McpSchema.InitializeRequest initializeRequest = this.jsonCodec.convertValue(request.params(),
+					McpSchema.InitializeRequest.class);
+			message = new McpSchema.JSONRPCRequest(request.jsonrpc(), request.method(), request.id(),
+					McpBinaryEncoding.withOffer(initializeRequest));
+			this.binaryOfferId = request.id();
+		}
+		if (this.binaryOutbound) {
+			StdioFraming.writeBinaryFrame(os, this.binaryCodec.encode(message));
+		}
+		else {
+			// Messages are delimited by newlines, and MUST NOT contain
+			// embedded newlines, see:
+			// https://spec.modelcontextprotocol.io/specification/basic/transports/#stdio
+			// The encoder writes single-line JSON straight into the stream.
+			this.jsonCodec.encode(message, os);
+			os.write('\n');
+		}
+	}
+
 	/**
 	 * Starts the outbound processing thread that writes JSON-RPC messages to the
 	 * process's output stream. Messages are serialized to JSON and written with a newline
@@ -298,17 +439,9 @@ public class StdioClientTransport implements McpClientTransport {
 			.handle((message, s) -> {
 				if (message != null && !isClosing) {
 					try {
-						String jsonMessage = objectMapper.writeValueAsString(message);
-						// Escape any embedded newlines in the JSON message as per spec:
-						// https://spec.modelcontextprotocol.io/specification/basic/transports/#stdio
-						// - Messages are delimited by newlines, and MUST NOT contain
-						// embedded newlines.
-						jsonMessage = jsonMessage.replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
-
 						var os = this.process.getOutputStream();
 						synchronized (os) {
-							os.write(jsonMessage.getBytes(StandardCharsets.UTF_8));
-							os.write("\n".getBytes(StandardCharsets.UTF_8));
+							write(message, os);
 							os.flush();
 						}
 						s.next(message);
@@ -388,7 +521,100 @@ public class StdioClientTransport implements McpClientTransport {
 
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return this.jsonCodec.convertValue(data, typeRef);
+	}
+
+	/**
+	 * Creates a new builder for {@link StdioClientTransport}.
+	 * @param params The parameters for configuring the server process
+	 * @return A new builder instance
+	 */
+	public static Builder builder(ServerParameters params) {
+		return new Builder(params);
+	}
+
+	/**
+	 * Builder for {@link StdioClientTransport}.
+	 */
+	public static class Builder {
+
+		private final ServerParameters params;
+
+		private ObjectMapper objectMapper = new ObjectMapper();
+
+		private McpJsonCodec jsonCodec;
+
+		private McpJsonCodec binaryCodec;
+
+		private int maxFrameSize = StdioFraming.DEFAULT_MAX_FRAME_SIZE;
+
+		/**
+		 * Creates a new builder with the specified server parameters.
+		 * @param params The parameters for configuring the server process
+		 */
+		public Builder(ServerParameters params) {
+			Assert.notNull(params, "The params can not be null");
+			this.params = params;
+		}
+
+		/**
+		 * Sets the JSON object mapper to use for message serialization/deserialization.
+		 * @param objectMapper The object mapper to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder objectMapper(ObjectMapper objectMapper) {
+			Assert.notNull(objectMapper, "ObjectMapper must not be null");
+			this.objectMapper = objectMapper;
+			return this;
+		}
+
+		/**
+		 * Sets the codec to use for text message serialization/deserialization. When set,
+		 * it takes precedence over {@link #objectMapper(ObjectMapper)}.
+		 * @param jsonCodec The codec to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder jsonCodec(McpJsonCodec jsonCodec) {
+			Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
+			this.jsonCodec = jsonCodec;
+			return this;
+		}
+
+		/**
+		 * Sets the codec to offer to the server as binary encoding, e.g.
+		 * {@link io.modelcontextprotocol.spec.SmileMcpJsonCodec}. If not set, the
+		 * transport always uses text.
+		 * @param binaryCodec The binary codec to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder binaryCodec(McpJsonCodec binaryCodec) {
+			Assert.notNull(binaryCodec, "Binary McpJsonCodec must not be null");
+			this.binaryCodec = binaryCodec;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum size of an inbound message in bytes. Larger messages are
+		 * discarded. Defaults to {@link StdioFraming#DEFAULT_MAX_FRAME_SIZE}.
+		 * @param maxFrameSize The maximum message size in bytes
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxFrameSize(int maxFrameSize) {
+			Assert.isTrue(maxFrameSize > 0, "Maximum frame size must be positive");
+			this.maxFrameSize = maxFrameSize;
+			return this;
+		}
+
+		/**
+		 * Builds a new instance of {@link StdioClientTransport} with the configured
+		 * settings.
+		 * @return A new StdioClientTransport instance
+		 */
+		public StdioClientTransport build() {
+			McpJsonCodec codec = (jsonCodec != null) ? jsonCodec : new JacksonMcpJsonCodec(objectMapper);
+			return new StdioClientTransport(params, codec, binaryCodec, maxFrameSize);
+		}
+
 	}
 
 }
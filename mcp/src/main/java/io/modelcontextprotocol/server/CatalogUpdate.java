@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of changes to the tools, resources and prompts of a server, applied together by
+ * {@link McpAsyncServer#updateCatalog} or {@link McpSyncServer#updateCatalog}.
+ * <p>
+ * Changes are applied in the order they are added, and only if all of them are valid:
+ * adding a tool that already exists or removing one that does not rejects the whole
+ * update. Clients are notified once for each list that changed, however many changes the
+ * update holds. An update is not thread-safe and is meant to be filled by a single
+ * caller.
+ */
+public final class CatalogUpdate {
+
+	enum ListType {
+
+		TOOLS, RESOURCES, PROMPTS
+
+	}
+
+	/**
+	 * A change of one list: adds the specification, or removes the item with the key.
+	 */
+	record Change(ListType type, String key, Object specification, boolean removal) {
+	}
+
+	private final List<Change> changes = new ArrayList<>();
+
+	CatalogUpdate() {
+	}
+
+	/**
+	 * Adds a tool.
+	 * @param toolSpecification The tool specification to add
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate addTool(McpServerFeatures.AsyncToolSpecification toolSpecification) {
+		String name = (toolSpecification != null && toolSpecification.tool() != null) ? toolSpecification.tool().name()
+				: null;
+		return add(ListType.TOOLS, name, toolSpecification, false);
+	}
+
+	/**
+	 * Adds a tool.
+	 * @param toolSpecification The tool specification to add
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate addTool(McpServerFeatures.SyncToolSpecification toolSpecification) {
+		return addTool(McpServerFeatures.AsyncToolSpecification.fromSync(toolSpecification));
+	}
+
+	/**
+	 * Removes a tool.
+	 * @param toolName The name of the tool to remove
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate removeTool(String toolName) {
+		return add(ListType.TOOLS, toolName, null, true);
+	}
+
+	/**
+	 * Adds a resource.
+	 * @param resourceSpecification The resource specification to add
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate addResource(McpServerFeatures.AsyncResourceSpecification resourceSpecification) {
+		String uri = (resourceSpecification != null && resourceSpecification.resource() != null)
+				? resourceSpecification.resource().uri() : null;
+		return add(ListType.RESOURCES, uri, resourceSpecification, false);
+	}
+
+	/**
+	 * Adds a resource.
+	 * @param resourceSpecification The resource specification to add
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate addResource(McpServerFeatures.SyncResourceSpecification resourceSpecification) {
+		return addResource(McpServerFeatures.AsyncResourceSpecification.fromSync(resourceSpecification));
+	}
+
+	/**
+	 * Removes a resource.
+	 * @param resourceUri The URI of the resource to remove
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate removeResource(String resourceUri) {
+		return add(ListType.RESOURCES, resourceUri, null, true);
+	}
+
+	/**
+	 * Adds a prompt.
+	 * @param promptSpecification The prompt specification to add
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate addPrompt(McpServerFeatures.AsyncPromptSpecification promptSpecification) {
+		String name = (promptSpecification != null && promptSpecification.prompt() != null)
+				? promptSpecification.prompt().name() : null;
+		return add(ListType.PROMPTS, name, promptSpecification, false);
+	}
+
+	/**
+	 * Adds a prompt.
+	 * @param promptSpecification The prompt specification to add
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate addPrompt(McpServerFeatures.SyncPromptSpecification promptSpecification) {
+		return addPrompt(McpServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification));
+	}
+
+	/**
+	 * Removes a prompt.
+	 * @param promptName The name of the prompt to remove
+	 * @return This update for method chaining
+	 */
+	public CatalogUpdate removePrompt(String promptName) {
+		return add(ListType.PROMPTS, promptName, null, true);
+	}
+
+	List<Change> changes() {
+		return this.changes;
+	}
+
+	private CatalogUpdate add(ListType type, String key, Object specification, boolean removal) {
+		this.changes.add(new Change(type, key, specification, removal));
+		return this;
+	}
+
+}
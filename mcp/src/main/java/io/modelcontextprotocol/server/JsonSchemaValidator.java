@@ -0,0 +1,497 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Validates tool arguments against the tool's input schema.
+ * <p>
+ * The schema is compiled once into a tree of checks with its keywords already resolved,
+ * patterns compiled and property names hashed, so validating a call only walks the
+ * arguments. Nothing is allocated unless a violation is found.
+ * <p>
+ * The supported keywords are {@code type}, {@code enum}, {@code const},
+ * {@code properties}, {@code required}, {@code additionalProperties}, {@code items},
+ * {@code minItems}, {@code maxItems}, {@code minLength}, {@code maxLength},
+ * {@code pattern}, {@code minimum}, {@code maximum}, {@code exclusiveMinimum},
+ * {@code exclusiveMaximum}, {@code allOf}, {@code anyOf} and {@code oneOf}. Other
+ * keywords, such as {@code $ref} or {@code format}, are ignored and accept any value.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+final class JsonSchemaValidator {
+
+	private static final JsonSchemaValidator ACCEPT_ALL = new JsonSchemaValidator(null);
+
+	private static final int TYPE_NULL = 1;
+
+	private static final int TYPE_BOOLEAN = 1 << 1;
+
+	private static final int TYPE_INTEGER = 1 << 2;
+
+	private static final int TYPE_NUMBER = 1 << 3;
+
+	private static final int TYPE_STRING = 1 << 4;
+
+	private static final int TYPE_ARRAY = 1 << 5;
+
+	private static final int TYPE_OBJECT = 1 << 6;
+
+	private final Node root;
+
+	private JsonSchemaValidator(Node root) {
+		this.root = root;
+	}
+
+	/**
+	 * Returns a validator that accepts any arguments.
+	 * @return The validator
+	 */
+	static JsonSchemaValidator acceptAll() {
+		return ACCEPT_ALL;
+	}
+
+	/**
+	 * Compiles the given tool input schema.
+	 * @param schema The schema, or {@code null} to accept any arguments
+	 * @return The compiled validator
+	 * @throws IllegalArgumentException If the schema is malformed
+	 */
+	static JsonSchemaValidator compile(McpSchema.JsonSchema schema) {
+		if (schema == null) {
+			return ACCEPT_ALL;
+		}
+		Map<String, Object> definition = new HashMap<>();
+		if (schema.type() != null) {
+			definition.put("type", schema.type());
+		}
+		if (schema.properties() != null) {
+			definition.put("properties", schema.properties());
+		}
+		if (schema.required() != null) {
+			definition.put("required", schema.required());
+		}
+		if (schema.additionalProperties() != null) {
+			definition.put("additionalProperties", schema.additionalProperties());
+		}
+		return new JsonSchemaValidator(compileNode(definition, "$"));
+	}
+
+	/**
+	 * Validates the arguments of a tool call. Missing arguments are validated as an empty
+	 * object.
+	 * @param arguments The arguments
+	 * @return {@code null} if the arguments are valid, otherwise a description of the
+	 * first violation
+	 */
+	String validate(Map<String, Object> arguments) {
+		if (this.root == null) {
+			return null;
+		}
+		String violation = this.root.validate(arguments != null ? arguments : Map.of());
+		return (violation != null) ? "$" + violation : null;
+	}
+
+	// ---------------------------------------
+	// Compilation
+	// ---------------------------------------
+
+	private static Node compileNode(Object definition, String location) {
+		if (definition instanceof Boolean allowed) {
+			return allowed ? Node.ANY : Node.NONE;
+		}
+		if (!(definition instanceof Map<?, ?> schema)) {
+			throw new IllegalArgumentException("Schema at " + location + " must be an object or a boolean");
+		}
+		Node node = new Node();
+		node.types = compileTypes(schema.get("type"), location);
+		if (schema.get("enum") instanceof Collection<?> values) {
+			node.enumValues = values.toArray();
+		}
+		if (schema.containsKey("const")) {
+			node.enumValues = new Object[] { schema.get("const") };
+		}
+		if (schema.get("properties") instanceof Map<?, ?> properties) {
+			Map<String, Node> compiled = new LinkedHashMap<>();
+			properties.forEach((name, property) -> compiled.put(String.valueOf(name),
+					compileNode(property, location + ".properties." + name)));
+			node.properties = compiled;
+		}
+		if (schema.get("required") instanceof Collection<?> required) {
+			node.required = required.stream().map(String::valueOf).toArray(String[]::new);
+		}
+		Object additional = schema.get("additionalProperties");
+		if (additional != null) {
+			node.additionalProperties = compileNode(additional, location + ".additionalProperties");
+		}
+		Object items = schema.get("items");
+		if (items != null) {
+			node.items = compileNode(items, location + ".items");
+		}
+		node.minItems = integer(schema, "minItems", -1, location);
+		node.maxItems = integer(schema, "maxItems", -1, location);
+		node.minLength = integer(schema, "minLength", -1, location);
+		node.maxLength = integer(schema, "maxLength", -1, location);
+		if (schema.get("pattern") instanceof String pattern) {
+			try {
+				node.pattern = Pattern.compile(pattern);
+			}
+			catch (PatternSyntaxException e) {
+				throw new IllegalArgumentException("Invalid pattern at " + location + ": " + pattern, e);
+			}
+		}
+		node.minimum = number(schema, "minimum", location);
+		node.maximum = number(schema, "maximum", location);
+		node.exclusiveMinimum = number(schema, "exclusiveMinimum", location);
+		node.exclusiveMaximum = number(schema, "exclusiveMaximum", location);
+		node.allOf = compileAll(schema.get("allOf"), location + ".allOf");
+		node.anyOf = compileAll(schema.get("anyOf"), location + ".anyOf");
+		node.oneOf = compileAll(schema.get("oneOf"), location + ".oneOf");
+		return node;
+	}
+
+	private static Node[] compileAll(Object definitions, String location) {
+		if (!(definitions instanceof List<?> schemas)) {
+			return null;
+		}
+		Node[] nodes = new Node[schemas.size()];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = compileNode(schemas.get(i), location + "[" + i + "]");
+		}
+		return nodes;
+	}
+
+	private static int compileTypes(Object type, String location) {
+		if (type == null) {
+			return 0;
+		}
+		if (type instanceof Collection<?> types) {
+			int mask = 0;
+			for (Object t : types) {
+				mask |= compileType(t, location);
+			}
+			return mask;
+		}
+		return compileType(type, location);
+	}
+
+	private static int compileType(Object type, String location) {
+		return switch (String.valueOf(type)) {
+			case "null" -> TYPE_NULL;
+			case "boolean" -> TYPE_BOOLEAN;
+			case "integer" -> TYPE_INTEGER;
+			// Every integer is also a number
+			case "number" -> TYPE_NUMBER | TYPE_INTEGER;
+			case "string" -> TYPE_STRING;
+			case "array" -> TYPE_ARRAY;
+			case "object" -> TYPE_OBJECT;
+			default -> throw new IllegalArgumentException("Unknown type at " + location + ": " + type);
+		};
+	}
+
+	private static int integer(Map<?, ?> schema, String keyword, int defaultValue, String location) {
+		Object value = schema.get(keyword);
+		if (value == null) {
+			return defaultValue;
+		}
+		if (!(value instanceof Number number)) {
+			throw new IllegalArgumentException(keyword + " at " + location + " must be a number");
+		}
+		return number.intValue();
+	}
+
+	private static double number(Map<?, ?> schema, String keyword, String location) {
+		Object value = schema.get(keyword);
+		if (value == null || value instanceof Boolean) {
+			// Boolean exclusive bounds are draft-04 modifiers, not bounds
+			return Double.NaN;
+		}
+		if (!(value instanceof Number number)) {
+			throw new IllegalArgumentException(keyword + " at " + location + " must be a number");
+		}
+		return number.doubleValue();
+	}
+
+	// ---------------------------------------
+	// Validation
+	// ---------------------------------------
+
+	private static int typeOf(Object value) {
+		if (value == null) {
+			return TYPE_NULL;
+		}
+		if (value instanceof String) {
+			return TYPE_STRING;
+		}
+		if (value instanceof Boolean) {
+			return TYPE_BOOLEAN;
+		}
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+				|| value instanceof BigInteger) {
+			return TYPE_INTEGER;
+		}
+		if (value instanceof Number number) {
+			return isIntegral(number) ? TYPE_INTEGER : TYPE_NUMBER;
+		}
+		if (value instanceof Map) {
+			return TYPE_OBJECT;
+		}
+		if (value instanceof List || value instanceof Object[]) {
+			return TYPE_ARRAY;
+		}
+		return 0;
+	}
+
+	private static boolean isIntegral(Number number) {
+		if (number instanceof BigDecimal decimal) {
+			return decimal.stripTrailingZeros().scale() <= 0;
+		}
+		double d = number.doubleValue();
+		return !Double.isInfinite(d) && d == Math.rint(d);
+	}
+
+	private static String typeName(int type) {
+		return switch (type) {
+			case TYPE_NULL -> "null";
+			case TYPE_BOOLEAN -> "boolean";
+			case TYPE_INTEGER -> "integer";
+			case TYPE_NUMBER -> "number";
+			case TYPE_STRING -> "string";
+			case TYPE_ARRAY -> "array";
+			case TYPE_OBJECT -> "object";
+			default -> "unsupported value";
+		};
+	}
+
+	private static String typeNames(int mask) {
+		List<String> names = new ArrayList<>();
+		for (int type = TYPE_NULL; type <= TYPE_OBJECT; type <<= 1) {
+			// "number" already covers "integer"
+			if ((mask & type) != 0 && !(type == TYPE_INTEGER && (mask & TYPE_NUMBER) != 0)) {
+				names.add(typeName(type));
+			}
+		}
+		return String.join(" or ", names);
+	}
+
+	private static boolean sameValue(Object a, Object b) {
+		if (a instanceof Number x && b instanceof Number y) {
+			return x.doubleValue() == y.doubleValue();
+		}
+		return (a == null) ? b == null : a.equals(b);
+	}
+
+	/**
+	 * A compiled schema. Violations are returned as a message that starts with the
+	 * location of the offending value relative to this node, so paths are only built
+	 * while unwinding from a failed check.
+	 */
+	private static final class Node {
+
+		static final Node ANY = new Node();
+
+		static final Node NONE = new Node();
+
+		int types;
+
+		Object[] enumValues;
+
+		Map<String, Node> properties;
+
+		String[] required;
+
+		Node additionalProperties;
+
+		Node items;
+
+		int minItems = -1;
+
+		int maxItems = -1;
+
+		int minLength = -1;
+
+		int maxLength = -1;
+
+		Pattern pattern;
+
+		double minimum = Double.NaN;
+
+		double maximum = Double.NaN;
+
+		double exclusiveMinimum = Double.NaN;
+
+		double exclusiveMaximum = Double.NaN;
+
+		Node[] allOf;
+
+		Node[] anyOf;
+
+		Node[] oneOf;
+
+		String validate(Object value) {
+			if (this == NONE) {
+				return ": no value is allowed here";
+			}
+			int type = typeOf(value);
+			if (this.types != 0 && (this.types & type) == 0) {
+				return ": expected " + typeNames(this.types) + " but was " + typeName(type);
+			}
+			if (this.enumValues != null && !isEnumValue(value)) {
+				return ": value is not one of the allowed values";
+			}
+			String violation = switch (type) {
+				case TYPE_OBJECT -> validateObject((Map<?, ?>) value);
+				case TYPE_ARRAY -> validateArray(value);
+				case TYPE_STRING -> validateString((String) value);
+				case TYPE_INTEGER, TYPE_NUMBER -> validateNumber(((Number) value).doubleValue());
+				default -> null;
+			};
+			if (violation != null) {
+				return violation;
+			}
+			return validateCombinators(value);
+		}
+
+		private boolean isEnumValue(Object value) {
+			for (Object allowed : this.enumValues) {
+				if (sameValue(allowed, value)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private String validateObject(Map<?, ?> object) {
+			if (this.required != null) {
+				for (String name : this.required) {
+					if (!object.containsKey(name)) {
+						return ": missing required property '" + name + "'";
+					}
+				}
+			}
+			if (this.properties == null && this.additionalProperties == null) {
+				return null;
+			}
+			for (Map.Entry<?, ?> entry : object.entrySet()) {
+				String name = String.valueOf(entry.getKey());
+				Node property = (this.properties != null) ? this.properties.get(name) : null;
+				if (property == null) {
+					property = this.additionalProperties;
+					if (property == NONE) {
+						return ": unexpected property '" + name + "'";
+					}
+				}
+				if (property != null) {
+					String violation = property.validate(entry.getValue());
+					if (violation != null) {
+						return "." + name + violation;
+					}
+				}
+			}
+			return null;
+		}
+
+		private String validateArray(Object value) {
+			List<?> array = (value instanceof Object[] elements) ? List.of(elements) : (List<?>) value;
+			int size = array.size();
+			if (this.minItems >= 0 && size < this.minItems) {
+				return ": expected at least " + this.minItems + " items but was " + size;
+			}
+			if (this.maxItems >= 0 && size > this.maxItems) {
+				return ": expected at most " + this.maxItems + " items but was " + size;
+			}
+			if (this.items != null) {
+				for (int i = 0; i < size; i++) {
+					String violation = this.items.validate(array.get(i));
+					if (violation != null) {
+						return "[" + i + "]" + violation;
+					}
+				}
+			}
+			return null;
+		}
+
+		private String validateString(String value) {
+			if (this.minLength >= 0 || this.maxLength >= 0) {
+				int length = value.codePointCount(0, value.length());
+				if (this.minLength >= 0 && length < this.minLength) {
+					return ": expected at least " + this.minLength + " characters but was " + length;
+				}
+				if (this.maxLength >= 0 && length > this.maxLength) {
+					return ": expected at most " + this.maxLength + " characters but was " + length;
+				}
+			}
+			if (this.pattern != null && !this.pattern.matcher(value).find()) {
+				return ": does not match pattern '" + this.pattern.pattern() + "'";
+			}
+			return null;
+		}
+
+		private String validateNumber(double value) {
+			if (value < this.minimum) {
+				return ": must be at least " + this.minimum;
+			}
+			if (value > this.maximum) {
+				return ": must be at most " + this.maximum;
+			}
+			if (value <= this.exclusiveMinimum) {
+				return ": must be greater than " + this.exclusiveMinimum;
+			}
+			if (value >= this.exclusiveMaximum) {
+				return ": must be less than " + this.exclusiveMaximum;
+			}
+			return null;
+		}
+
+		private String validateCombinators(Object value) {
+			if (this.allOf != null) {
+				for (Node node : this.allOf) {
+					String violation = node.validate(value);
+					if (violation != null) {
+						return violation;
+					}
+				}
+			}
+			if (this.anyOf != null) {
+				boolean matched = false;
+				for (Node node : this.anyOf) {
+					if (node.validate(value) == null) {
+						matched = true;
+						break;
+					}
+				}
+				if (!matched) {
+					return ": does not match any of the allowed schemas";
+				}
+			}
+			if (this.oneOf != null) {
+				int matches = 0;
+				for (Node node : this.oneOf) {
+					if (node.validate(value) == null) {
+						matches++;
+					}
+				}
+				if (matches != 1) {
+					return ": must match exactly one of the allowed schemas but matched " + matches;
+				}
+			}
+			return null;
+		}
+
+	}
+
+}
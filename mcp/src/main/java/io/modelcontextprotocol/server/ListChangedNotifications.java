@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Sends the {@code list_changed} notifications of a server to all clients.
+ * <p>
+ * With a debounce window, the first change of a list schedules its notification at the
+ * end of the window and further changes within the window are folded into it, so a burst
+ * of changes reaches the clients as a single notification. Without a window every change
+ * is notified right away.
+ */
+final class ListChangedNotifications {
+
+	private static final Logger logger = LoggerFactory.getLogger(ListChangedNotifications.class);
+
+	private final McpServerTransportProvider transportProvider;
+
+	private final Duration debounce;
+
+	private final ConcurrentHashMap<String, Disposable> scheduled = new ConcurrentHashMap<>();
+
+	ListChangedNotifications(McpServerTransportProvider transportProvider, Duration debounce) {
+		this.transportProvider = transportProvider;
+		this.debounce = debounce;
+	}
+
+	/**
+	 * Notifies all clients that a list changed.
+	 * @param method The method of the notification
+	 * @return A Mono that completes once the clients are notified, or right away if the
+	 * notification is scheduled for the end of the debounce window
+	 */
+	Mono<Void> changed(String method) {
+		if (this.debounce.isZero()) {
+			return this.transportProvider.notifyClients(method, null);
+		}
+		return Mono.fromRunnable(() -> this.scheduled.computeIfAbsent(method,
+				key -> Schedulers.parallel().schedule(() -> send(key), this.debounce.toNanos(), TimeUnit.NANOSECONDS)));
+	}
+
+	/**
+	 * Drops the notifications still scheduled, when the server closes.
+	 */
+	void dispose() {
+		this.scheduled.values().forEach(Disposable::dispose);
+		this.scheduled.clear();
+	}
+
+	private void send(String method) {
+		// Changes from here on schedule a new notification, which may repeat this one
+		// but never misses a change
+		this.scheduled.remove(method);
+		this.transportProvider.notifyClients(method, null)
+			.subscribe(null, error -> logger.error("Failed to notify clients of {}", method, error));
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpJsonCodec;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.PreEncodedResult;
+
+/**
+ * Caches the pre-encoded result of a list request, such as {@code tools/list}, until the
+ * underlying registry changes.
+ * <p>
+ * Every change to the registry bumps the version with {@link #invalidate()}. The snapshot
+ * is rebuilt lazily by the next list request, so a burst of changes costs a single
+ * rebuild. Since the version is read before the registry is, a snapshot that raced with a
+ * change is tagged with the old version and is rebuilt on the following request.
+ * <p>
+ * With a page size, the snapshot is split into pages that are encoded on first request.
+ * The cursor of the next page is opaque to clients and names the snapshot version, so a
+ * client paging through the list while the registry changes keeps reading the snapshot it
+ * started with, as long as that snapshot is among the last few retained.
+ *
+ * @param <T> The type of the list result
+ */
+final class ListResultCache<T> {
+
+	/**
+	 * How to split a list result into pages.
+	 *
+	 * @param <T> The type of the list result
+	 */
+	interface Pages<T> {
+
+		/**
+		 * Returns the number of items of a result.
+		 */
+		int size(T result);
+
+		/**
+		 * Returns a page of a result.
+		 */
+		T page(T result, int from, int to, String nextCursor);
+
+		/**
+		 * Returns the pages of a result type that holds a list of items and the cursor of
+		 * the next page.
+		 * @param <T> The type of the list result
+		 * @param <I> The type of the items
+		 * @param items Returns the items of a result
+		 * @param factory Creates a result from items and the cursor of the next page
+		 * @return The pages
+		 */
+		static <T, I> Pages<T> of(Function<T, List<I>> items, BiFunction<List<I>, String, T> factory) {
+			return new Pages<>() {
+
+				@Override
+				public int size(T result) {
+					return items.apply(result).size();
+				}
+
+				@Override
+				public T page(T result, int from, int to, String nextCursor) {
+					return factory.apply(items.apply(result).subList(from, to), nextCursor);
+				}
+
+			};
+		}
+
+	}
+
+	/**
+	 * The number of past snapshots that cursors can still refer to.
+	 */
+	static final int RETAINED_SNAPSHOTS = 8;
+
+	private final McpJsonCodec jsonCodec;
+
+	private final Supplier<T> resultSupplier;
+
+	private final int pageSize;
+
+	private final Pages<T> pages;
+
+	private final AtomicLong version = new AtomicLong();
+
+	private volatile Snapshot<T> snapshot;
+
+	private final Map<Long, Snapshot<T>> retained = new LinkedHashMap<>() {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Snapshot<T>> eldest) {
+			return size() > RETAINED_SNAPSHOTS;
+		}
+
+	};
+
+	ListResultCache(McpJsonCodec jsonCodec, Supplier<T> resultSupplier) {
+		this(jsonCodec, resultSupplier, Integer.MAX_VALUE, null);
+	}
+
+	ListResultCache(McpJsonCodec jsonCodec, Supplier<T> resultSupplier, int pageSize, Pages<T> pages) {
+		this.jsonCodec = jsonCodec;
+		this.resultSupplier = resultSupplier;
+		this.pageSize = pageSize;
+		this.pages = pages;
+	}
+
+	/**
+	 * Returns the first page of the current registry contents, building the snapshot if
+	 * the registry changed since the last call.
+	 * @return The first page of the current snapshot
+	 */
+	PreEncodedResult<T> get() {
+		return page(current(), 0);
+	}
+
+	/**
+	 * Returns the page a cursor points to.
+	 * @param cursor The cursor from a previous page, or {@code null} for the first page
+	 * of the current snapshot
+	 * @return The page
+	 * @throws McpError if the cursor is malformed or its snapshot is no longer retained
+	 */
+	PreEncodedResult<T> get(String cursor) {
+		if (cursor == null) {
+			return get();
+		}
+		long cursorVersion;
+		int index;
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = decoded.indexOf(':');
+			cursorVersion = Long.parseLong(decoded.substring(0, separator));
+			index = Integer.parseInt(decoded.substring(separator + 1));
+		}
+		catch (RuntimeException e) {
+			throw invalidCursor(cursor);
+		}
+		Snapshot<T> cursorSnapshot;
+		synchronized (this.retained) {
+			cursorSnapshot = this.retained.get(cursorVersion);
+		}
+		if (cursorSnapshot == null || index <= 0 || index >= cursorSnapshot.pages().length()) {
+			throw invalidCursor(cursor);
+		}
+		return page(cursorSnapshot, index);
+	}
+
+	/**
+	 * Marks the cached snapshot as stale.
+	 */
+	void invalidate() {
+		this.version.incrementAndGet();
+	}
+
+	/**
+	 * Returns the current version of the registry.
+	 * @return The version
+	 */
+	long version() {
+		return this.version.get();
+	}
+
+	private Snapshot<T> current() {
+		long current = this.version.get();
+		Snapshot<T> cached = this.snapshot;
+		if (cached != null && cached.version() == current) {
+			return cached;
+		}
+		T result = this.resultSupplier.get();
+		int size = (this.pages != null) ? this.pages.size(result) : 0;
+		int pageCount = (this.pages != null && size > this.pageSize) ? (size + this.pageSize - 1) / this.pageSize : 1;
+		Snapshot<T> rebuilt = new Snapshot<>(current, result, size, new AtomicReferenceArray<>(pageCount));
+		synchronized (this.retained) {
+			// A snapshot rebuilt while the registry changes is tagged with the old
+			// version,
+			// so it must not replace the one that cursors of that version page through
+			Snapshot<T> existing = this.retained.putIfAbsent(current, rebuilt);
+			if (existing != null) {
+				rebuilt = existing;
+			}
+		}
+		this.snapshot = rebuilt;
+		return rebuilt;
+	}
+
+	private PreEncodedResult<T> page(Snapshot<T> snapshot, int index) {
+		PreEncodedResult<T> cached = snapshot.pages().get(index);
+		if (cached != null) {
+			return cached;
+		}
+		T value = snapshot.result();
+		if (snapshot.pages().length() > 1) {
+			int from = index * this.pageSize;
+			int to = Math.min(from + this.pageSize, snapshot.size());
+			String nextCursor = (index + 1 < snapshot.pages().length()) ? cursor(snapshot.version(), index + 1) : null;
+			value = this.pages.page(value, from, to, nextCursor);
+		}
+		PreEncodedResult<T> encoded = PreEncodedResult.of(value, snapshot.version(), this.jsonCodec);
+		return snapshot.pages().compareAndSet(index, null, encoded) ? encoded : snapshot.pages().get(index);
+	}
+
+	private static String cursor(long version, int index) {
+		return Base64.getUrlEncoder()
+			.withoutPadding()
+			.encodeToString((version + ":" + index).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static McpError invalidCursor(String cursor) {
+		return new McpError(new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INVALID_PARAMS,
+				"Invalid cursor: " + cursor, null));
+	}
+
+	private record Snapshot<T>(long version, T result, int size, AtomicReferenceArray<PreEncodedResult<T>> pages) {
+	}
+
+}
@@ -4,26 +4,38 @@
 
 package io.modelcontextprotocol.server;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.modelcontextprotocol.spec.McpClientSession;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
-import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
 import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
-import io.modelcontextprotocol.spec.McpSchema.Tool;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.PreEncodedMessage;
+import io.modelcontextprotocol.spec.PreEncodedResult;
+import io.modelcontextprotocol.spec.RequestMeta;
+import io.modelcontextprotocol.util.UriTemplateMatcher;
 import io.modelcontextprotocol.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +87,30 @@ public class McpAsyncServer {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpAsyncServer.class);
 
+	private static final TypeReference<McpSchema.CallToolRequest> CALL_TOOL_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.ReadResourceRequest> READ_RESOURCE_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.SubscribeRequest> SUBSCRIBE_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.UnsubscribeRequest> UNSUBSCRIBE_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.GetPromptRequest> GET_PROMPT_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.SetLevelRequest> SET_LEVEL_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.PaginatedRequest> PAGINATED_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<Map<String, Object>> MAP_TYPE_REF = new TypeReference<>() {
+	};
+
 	private final McpAsyncServer delegate;
 
 	McpAsyncServer() {
@@ -82,15 +118,17 @@ public class McpAsyncServer {
 	}
 
 	/**
-	 * Create a new McpAsyncServer with the given transport provider and capabilities.
+	 * Create a new McpAsyncServer with the given transport provider, capabilities and
+	 * settings.
 	 * @param mcpTransportProvider The transport layer implementation for MCP
 	 * communication.
+	 * @param jsonCodec The codec used to bind request params to their schema types.
 	 * @param features The MCP server supported features.
-	 * @param objectMapper The ObjectMapper to use for JSON serialization/deserialization
+	 * @param settings The tuning settings of the server.
 	 */
-	McpAsyncServer(McpServerTransportProvider mcpTransportProvider, ObjectMapper objectMapper,
-			McpServerFeatures.Async features) {
-		this.delegate = new AsyncServerImpl(mcpTransportProvider, objectMapper, features);
+	McpAsyncServer(McpServerTransportProvider mcpTransportProvider, McpJsonCodec jsonCodec,
+			McpServerFeatures.Async features, McpServerSettings settings) {
+		this.delegate = new AsyncServerImpl(mcpTransportProvider, jsonCodec, features, settings);
 	}
 
 	/**
@@ -124,6 +162,24 @@ public class McpAsyncServer {
 		this.delegate.close();
 	}
 
+	// ---------------------------------------
+	// Catalog Management
+	// ---------------------------------------
+	/**
+	 * Applies a set of changes to the tools, resources and prompts at runtime. The
+	 * changes are applied together, or not at all if any of them is invalid, and clients
+	 * are notified once for each list that changed.
+	 * <p>
+	 * Example: <pre>{@code
+	 * server.updateCatalog(update -> update.removeTool("old-tool").addTool(newTool));
+	 * }</pre>
+	 * @param changes A callback adding the changes to an update
+	 * @return Mono that completes when clients have been notified of the changes
+	 */
+	public Mono<Void> updateCatalog(Consumer<CatalogUpdate> changes) {
+		return this.delegate.updateCatalog(changes);
+	}
+
 	// ---------------------------------------
 	// Tool Management
 	// ---------------------------------------
@@ -145,6 +201,18 @@ public class McpAsyncServer {
 		return this.delegate.removeTool(toolName);
 	}
 
+	/**
+	 * Returns the cache of the results of a tool, for monitoring or to invalidate it when
+	 * the data the tool reads has changed. The cache is dropped when the tool is removed.
+	 * @param toolName The name of the tool
+	 * @return The cache, or {@code null} if the tool does not exist or its results are
+	 * not cached
+	 * @see McpServerFeatures.ToolResultCaching
+	 */
+	public ToolResultCache getToolResultCache(String toolName) {
+		return this.delegate.getToolResultCache(toolName);
+	}
+
 	/**
 	 * Notifies clients that the list of available tools has changed.
 	 * @return A Mono that completes when all clients have been notified
@@ -182,6 +250,16 @@ public class McpAsyncServer {
 		return this.delegate.notifyResourcesListChanged();
 	}
 
+	/**
+	 * Notifies the clients subscribed to a resource that it has been updated. Clients
+	 * that did not subscribe to the resource are not notified.
+	 * @param uri The URI of the updated resource
+	 * @return A Mono that completes when the subscribed clients have been notified
+	 */
+	public Mono<Void> notifyResourceUpdated(String uri) {
+		return this.delegate.notifyResourceUpdated(uri);
+	}
+
 	// ---------------------------------------
 	// Prompt Management
 	// ---------------------------------------
@@ -216,8 +294,9 @@ public class McpAsyncServer {
 	// ---------------------------------------
 
 	/**
-	 * Send a logging message notification to all connected clients. Messages below the
-	 * current minimum logging level will be filtered out.
+	 * Send a logging message notification to all connected clients. Each client only
+	 * receives the message if it is at or above the minimum level the client set with
+	 * {@code logging/setLevel} and within the logging limits of its session.
 	 * @param loggingMessageNotification The logging message to send
 	 * @return A Mono that completes when the notification has been sent
 	 */
@@ -241,7 +320,7 @@ public class McpAsyncServer {
 
 		private final McpServerTransportProvider mcpTransportProvider;
 
-		private final ObjectMapper objectMapper;
+		private final McpJsonCodec jsonCodec;
 
 		private final McpSchema.ServerCapabilities serverCapabilities;
 
@@ -249,30 +328,97 @@ public class McpAsyncServer {
 
 		private final String instructions;
 
-		private final CopyOnWriteArrayList<McpServerFeatures.AsyncToolSpecification> tools = new CopyOnWriteArrayList<>();
+		private final ToolRegistry tools = new ToolRegistry();
+
+		private final ConcurrentHashMap<String, JsonSchemaValidator> toolValidators = new ConcurrentHashMap<>();
+
+		private final ConcurrentHashMap<String, ToolResultCache> toolResultCaches = new ConcurrentHashMap<>();
 
 		private final CopyOnWriteArrayList<McpSchema.ResourceTemplate> resourceTemplates = new CopyOnWriteArrayList<>();
 
 		private final ConcurrentHashMap<String, McpServerFeatures.AsyncResourceSpecification> resources = new ConcurrentHashMap<>();
 
+		private final UriTemplateMatcher<McpServerFeatures.AsyncResourceTemplateSpecification> resourceTemplateHandlers = new UriTemplateMatcher<>();
+
 		private final ConcurrentHashMap<String, McpServerFeatures.AsyncPromptSpecification> prompts = new ConcurrentHashMap<>();
 
-		private LoggingLevel minLoggingLevel = LoggingLevel.DEBUG;
+		private final ResourceSubscriptions resourceSubscriptions = new ResourceSubscriptions();
+
+		/**
+		 * The open sessions, each with the logging level its client set.
+		 */
+		private final Set<McpServerSession> sessions = ConcurrentHashMap.newKeySet();
 
 		private List<String> protocolVersions = List.of(McpSchema.LATEST_PROTOCOL_VERSION);
 
-		AsyncServerImpl(McpServerTransportProvider mcpTransportProvider, ObjectMapper objectMapper,
-				McpServerFeatures.Async features) {
+		private final ListResultCache<McpSchema.ListToolsResult> toolsListCache;
+
+		private final ListResultCache<McpSchema.ListResourcesResult> resourcesListCache;
+
+		private final ListResultCache<McpSchema.ListResourceTemplatesResult> resourceTemplatesListCache;
+
+		private final ListResultCache<McpSchema.ListPromptsResult> promptsListCache;
+
+		private final Duration progressInterval;
+
+		private final ListChangedNotifications listChangedNotifications;
+
+		/**
+		 * Serializes catalog updates, so that each is validated against the catalog it is
+		 * applied to.
+		 */
+		private final Object catalogLock = new Object();
+
+		AsyncServerImpl(McpServerTransportProvider mcpTransportProvider, McpJsonCodec jsonCodec,
+				McpServerFeatures.Async features, McpServerSettings settings) {
 			this.mcpTransportProvider = mcpTransportProvider;
-			this.objectMapper = objectMapper;
+			this.listChangedNotifications = new ListChangedNotifications(mcpTransportProvider,
+					settings.listChangedDebounce());
+			this.progressInterval = settings.progressInterval();
+			int pageSize = settings.pageSize();
+			this.jsonCodec = jsonCodec;
 			this.serverInfo = features.serverInfo();
 			this.serverCapabilities = features.serverCapabilities();
 			this.instructions = features.instructions();
-			this.tools.addAll(features.tools());
+			for (McpServerFeatures.AsyncToolSpecification tool : features.tools()) {
+				this.tools.put(tool);
+				this.toolValidators.put(tool.tool().name(), compileBuiltInputSchema(tool.tool()));
+				if (tool.resultCaching() != null) {
+					this.toolResultCaches.put(tool.tool().name(), new ToolResultCache(tool.resultCaching()));
+				}
+			}
 			this.resources.putAll(features.resources());
 			this.resourceTemplates.addAll(features.resourceTemplates());
+			for (McpServerFeatures.AsyncResourceTemplateSpecification handler : features.resourceTemplateHandlers()) {
+				this.resourceTemplates.add(handler.resourceTemplate());
+				this.resourceTemplateHandlers.add(handler.resourceTemplate().uriTemplate(), handler);
+			}
 			this.prompts.putAll(features.prompts());
 
+			// List results are encoded once per registry version and shared by all
+			// sessions
+			this.toolsListCache = new ListResultCache<>(jsonCodec,
+					() -> new McpSchema.ListToolsResult(
+							this.tools.list().stream().map(McpServerFeatures.AsyncToolSpecification::tool).toList(),
+							null),
+					pageSize,
+					ListResultCache.Pages.of(McpSchema.ListToolsResult::tools, McpSchema.ListToolsResult::new));
+			this.resourcesListCache = new ListResultCache<>(jsonCodec,
+					() -> new McpSchema.ListResourcesResult(this.resources.values()
+						.stream()
+						.map(McpServerFeatures.AsyncResourceSpecification::resource)
+						.toList(), null),
+					pageSize, ListResultCache.Pages.of(McpSchema.ListResourcesResult::resources,
+							McpSchema.ListResourcesResult::new));
+			this.resourceTemplatesListCache = new ListResultCache<>(jsonCodec,
+					() -> new McpSchema.ListResourceTemplatesResult(List.copyOf(this.resourceTemplates), null),
+					pageSize, ListResultCache.Pages.of(McpSchema.ListResourceTemplatesResult::resourceTemplates,
+							McpSchema.ListResourceTemplatesResult::new));
+			this.promptsListCache = new ListResultCache<>(jsonCodec, () -> new McpSchema.ListPromptsResult(
+					this.prompts.values().stream().map(McpServerFeatures.AsyncPromptSpecification::prompt).toList(),
+					null), pageSize,
+					ListResultCache.Pages.of(McpSchema.ListPromptsResult::prompts, McpSchema.ListPromptsResult::new));
+
 			Map<String, McpServerSession.RequestHandler<?>> requestHandlers = new HashMap<>();
 
 			// Initialize request handlers for standard MCP methods
@@ -291,6 +437,10 @@ public class McpAsyncServer {
 				requestHandlers.put(McpSchema.METHOD_RESOURCES_LIST, resourcesListRequestHandler());
 				requestHandlers.put(McpSchema.METHOD_RESOURCES_READ, resourcesReadRequestHandler());
 				requestHandlers.put(McpSchema.METHOD_RESOURCES_TEMPLATES_LIST, resourceTemplateListRequestHandler());
+				if (Boolean.TRUE.equals(this.serverCapabilities.resources().subscribe())) {
+					requestHandlers.put(McpSchema.METHOD_RESOURCES_SUBSCRIBE, resourcesSubscribeRequestHandler());
+					requestHandlers.put(McpSchema.METHOD_RESOURCES_UNSUBSCRIBE, resourcesUnsubscribeRequestHandler());
+				}
 			}
 
 			// Add prompts API handlers if provider exists
@@ -308,6 +458,12 @@ public class McpAsyncServer {
 
 			notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_INITIALIZED, (exchange, params) -> Mono.empty());
 
+			// Clients of this SDK send logging/setLevel as a notification
+			if (this.serverCapabilities.logging() != null) {
+				notificationHandlers.put(McpSchema.METHOD_LOGGING_SET_LEVEL,
+						(exchange, params) -> setLoggerRequestHandler().handle(exchange, params).then());
+			}
+
 			List<BiFunction<McpAsyncServerExchange, List<McpSchema.Root>, Mono<Void>>> rootsChangeConsumers = features
 				.rootsChangeConsumers();
 
@@ -321,9 +477,15 @@ public class McpAsyncServer {
 			notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_ROOTS_LIST_CHANGED,
 					asyncRootsListChangedNotificationHandler(rootsChangeConsumers));
 
-			mcpTransportProvider
-				.setSessionFactory(transport -> new McpServerSession(UUID.randomUUID().toString(), transport,
-						this::asyncInitializeRequestHandler, Mono::empty, requestHandlers, notificationHandlers));
+			mcpTransportProvider.setSessionFactory(transport -> {
+				McpServerSession session = new McpServerSession(UUID.randomUUID().toString(), transport,
+						this::asyncInitializeRequestHandler, Mono::empty, requestHandlers, notificationHandlers,
+						settings);
+				this.sessions.add(session);
+				session.onClose()
+					.subscribe(null, error -> this.sessions.remove(session), () -> this.sessions.remove(session));
+				return session;
+			});
 		}
 
 		// ---------------------------------------
@@ -368,11 +530,13 @@ public class McpAsyncServer {
 
 		@Override
 		public Mono<Void> closeGracefully() {
-			return this.mcpTransportProvider.closeGracefully();
+			return Mono.fromRunnable(this.listChangedNotifications::dispose)
+				.then(this.mcpTransportProvider.closeGracefully());
 		}
 
 		@Override
 		public void close() {
+			this.listChangedNotifications.dispose();
 			this.mcpTransportProvider.close();
 		}
 
@@ -389,62 +553,312 @@ public class McpAsyncServer {
 		}
 
 		// ---------------------------------------
-		// Tool Management
+		// Catalog Management
 		// ---------------------------------------
 
 		@Override
-		public Mono<Void> addTool(McpServerFeatures.AsyncToolSpecification toolSpecification) {
+		public Mono<Void> updateCatalog(Consumer<CatalogUpdate> changes) {
+			if (changes == null) {
+				return Mono.error(new McpError("Catalog changes must not be null"));
+			}
+
+			return Mono.defer(() -> {
+				CatalogUpdate update = new CatalogUpdate();
+				changes.accept(update);
+				Set<CatalogUpdate.ListType> changed;
+				synchronized (this.catalogLock) {
+					Map<CatalogUpdate.Change, JsonSchemaValidator> validators = validate(update.changes());
+					changed = apply(update.changes(), validators);
+				}
+				return notifyListsChanged(changed);
+			});
+		}
+
+		/**
+		 * Checks the changes against the catalog as the preceding changes leave it,
+		 * before any of them is applied.
+		 * @return The validators of the input schemas of the tools added
+		 * @throws McpError if a change is invalid
+		 */
+		private Map<CatalogUpdate.Change, JsonSchemaValidator> validate(List<CatalogUpdate.Change> changes) {
+			Map<CatalogUpdate.ListType, PendingKeys> keys = new EnumMap<>(CatalogUpdate.ListType.class);
+			Map<CatalogUpdate.Change, JsonSchemaValidator> validators = new IdentityHashMap<>();
+			for (CatalogUpdate.Change change : changes) {
+				PendingKeys listKeys = keys.computeIfAbsent(change.type(), this::pendingKeys);
+				switch (change.type()) {
+					case TOOLS -> validateToolChange(change, listKeys, validators);
+					case RESOURCES -> validateResourceChange(change, listKeys);
+					case PROMPTS -> validatePromptChange(change, listKeys);
+				}
+			}
+			return validators;
+		}
+
+		private PendingKeys pendingKeys(CatalogUpdate.ListType type) {
+			return switch (type) {
+				case TOOLS -> new PendingKeys(this.tools::contains);
+				case RESOURCES -> new PendingKeys(this.resources::containsKey);
+				case PROMPTS -> new PendingKeys(this.prompts::containsKey);
+			};
+		}
+
+		private void validateToolChange(CatalogUpdate.Change change, PendingKeys toolNames,
+				Map<CatalogUpdate.Change, JsonSchemaValidator> validators) {
+			if (change.removal()) {
+				if (change.key() == null) {
+					throw new McpError("Tool name must not be null");
+				}
+				if (this.serverCapabilities.tools() == null) {
+					throw new McpError("Server must be configured with tool capabilities");
+				}
+				if (!toolNames.remove(change.key())) {
+					throw new McpError("Tool with name '" + change.key() + "' not found");
+				}
+				return;
+			}
+			McpServerFeatures.AsyncToolSpecification toolSpecification = (McpServerFeatures.AsyncToolSpecification) change
+				.specification();
 			if (toolSpecification == null) {
-				return Mono.error(new McpError("Tool specification must not be null"));
+				throw new McpError("Tool specification must not be null");
 			}
 			if (toolSpecification.tool() == null) {
-				return Mono.error(new McpError("Tool must not be null"));
+				throw new McpError("Tool must not be null");
 			}
 			if (toolSpecification.call() == null) {
-				return Mono.error(new McpError("Tool call handler must not be null"));
+				throw new McpError("Tool call handler must not be null");
 			}
 			if (this.serverCapabilities.tools() == null) {
-				return Mono.error(new McpError("Server must be configured with tool capabilities"));
+				throw new McpError("Server must be configured with tool capabilities");
+			}
+			if (!toolNames.add(change.key())) {
+				throw new McpError("Tool with name '" + change.key() + "' already exists");
+			}
+			try {
+				validators.put(change, JsonSchemaValidator.compile(toolSpecification.tool().inputSchema()));
 			}
+			catch (IllegalArgumentException e) {
+				throw new McpError("Invalid input schema for tool '" + change.key() + "': " + e.getMessage());
+			}
+		}
 
-			return Mono.defer(() -> {
-				// Check for duplicate tool names
-				if (this.tools.stream().anyMatch(th -> th.tool().name().equals(toolSpecification.tool().name()))) {
-					return Mono
-						.error(new McpError("Tool with name '" + toolSpecification.tool().name() + "' already exists"));
-				}
+		/**
+		 * Compiles the input schema of a tool the server was built with. Servers were
+		 * built with any schema before arguments were validated, so a schema that cannot
+		 * be compiled leaves the arguments of its tool unvalidated rather than failing
+		 * the build. Tools added later are rejected instead, see
+		 * {@link #validateToolChange}.
+		 */
+		private static JsonSchemaValidator compileBuiltInputSchema(McpSchema.Tool tool) {
+			try {
+				return JsonSchemaValidator.compile(tool.inputSchema());
+			}
+			catch (IllegalArgumentException e) {
+				logger.warn("Arguments of tool '{}' are not validated, its input schema is invalid: {}", tool.name(),
+						e.getMessage());
+				return JsonSchemaValidator.acceptAll();
+			}
+		}
 
-				this.tools.add(toolSpecification);
-				logger.debug("Added tool handler: {}", toolSpecification.tool().name());
+		private void validateResourceChange(CatalogUpdate.Change change, PendingKeys resourceUris) {
+			if (change.removal()) {
+				if (change.key() == null) {
+					throw new McpError("Resource URI must not be null");
+				}
+				if (this.serverCapabilities.resources() == null) {
+					throw new McpError("Server must be configured with resource capabilities");
+				}
+				if (!resourceUris.remove(change.key())) {
+					throw new McpError("Resource with URI '" + change.key() + "' not found");
+				}
+				return;
+			}
+			if (change.key() == null) {
+				throw new McpError("Resource must not be null");
+			}
+			if (this.serverCapabilities.resources() == null) {
+				throw new McpError("Server must be configured with resource capabilities");
+			}
+			if (!resourceUris.add(change.key())) {
+				throw new McpError("Resource with URI '" + change.key() + "' already exists");
+			}
+		}
 
-				if (this.serverCapabilities.tools().listChanged()) {
-					return notifyToolsListChanged();
+		private void validatePromptChange(CatalogUpdate.Change change, PendingKeys promptNames) {
+			if (change.removal()) {
+				if (change.key() == null) {
+					throw new McpError("Prompt name must not be null");
 				}
-				return Mono.empty();
-			});
+				if (this.serverCapabilities.prompts() == null) {
+					throw new McpError("Server must be configured with prompt capabilities");
+				}
+				if (!promptNames.remove(change.key())) {
+					throw new McpError("Prompt with name '" + change.key() + "' not found");
+				}
+				return;
+			}
+			if (change.specification() == null) {
+				throw new McpError("Prompt specification must not be null");
+			}
+			if (change.key() == null) {
+				throw new McpError("Prompt must not be null");
+			}
+			if (this.serverCapabilities.prompts() == null) {
+				throw new McpError("Server must be configured with prompt capabilities");
+			}
+			if (!promptNames.add(change.key())) {
+				throw new McpError("Prompt with name '" + change.key() + "' already exists");
+			}
 		}
 
-		@Override
-		public Mono<Void> removeTool(String toolName) {
-			if (toolName == null) {
-				return Mono.error(new McpError("Tool name must not be null"));
+		/**
+		 * The keys of a list as the changes validated so far leave it, tracked as a
+		 * difference to the list so that validating a change does not copy the list.
+		 */
+		private static final class PendingKeys {
+
+			private final Predicate<String> current;
+
+			private final Set<String> added = new HashSet<>();
+
+			private final Set<String> removed = new HashSet<>();
+
+			PendingKeys(Predicate<String> current) {
+				this.current = current;
 			}
-			if (this.serverCapabilities.tools() == null) {
-				return Mono.error(new McpError("Server must be configured with tool capabilities"));
+
+			boolean add(String key) {
+				if (contains(key)) {
+					return false;
+				}
+				this.removed.remove(key);
+				this.added.add(key);
+				return true;
 			}
 
-			return Mono.defer(() -> {
-				boolean removed = this.tools
-					.removeIf(toolSpecification -> toolSpecification.tool().name().equals(toolName));
-				if (removed) {
-					logger.debug("Removed tool handler: {}", toolName);
-					if (this.serverCapabilities.tools().listChanged()) {
-						return notifyToolsListChanged();
+			boolean remove(String key) {
+				if (!contains(key)) {
+					return false;
+				}
+				this.added.remove(key);
+				this.removed.add(key);
+				return true;
+			}
+
+			private boolean contains(String key) {
+				return this.added.contains(key) || (!this.removed.contains(key) && this.current.test(key));
+			}
+
+		}
+
+		/**
+		 * Applies validated changes.
+		 * @return The lists that changed
+		 */
+		private Set<CatalogUpdate.ListType> apply(List<CatalogUpdate.Change> changes,
+				Map<CatalogUpdate.Change, JsonSchemaValidator> validators) {
+			Set<CatalogUpdate.ListType> changed = EnumSet.noneOf(CatalogUpdate.ListType.class);
+			for (CatalogUpdate.Change change : changes) {
+				switch (change.type()) {
+					case TOOLS -> {
+						if (change.removal()) {
+							this.tools.remove(change.key());
+							this.toolValidators.remove(change.key());
+							ToolResultCache resultCache = this.toolResultCaches.remove(change.key());
+							if (resultCache != null) {
+								resultCache.invalidateAll();
+							}
+							logger.debug("Removed tool handler: {}", change.key());
+						}
+						else {
+							McpServerFeatures.AsyncToolSpecification toolSpecification = (McpServerFeatures.AsyncToolSpecification) change
+								.specification();
+							this.toolValidators.put(change.key(), validators.get(change));
+							if (toolSpecification.resultCaching() != null) {
+								this.toolResultCaches.put(change.key(),
+										new ToolResultCache(toolSpecification.resultCaching()));
+							}
+							this.tools.put(toolSpecification);
+							logger.debug("Added tool handler: {}", change.key());
+						}
+					}
+					case RESOURCES -> {
+						if (change.removal()) {
+							this.resources.remove(change.key());
+							logger.debug("Removed resource handler: {}", change.key());
+						}
+						else {
+							this.resources.put(change.key(),
+									(McpServerFeatures.AsyncResourceSpecification) change.specification());
+							logger.debug("Added resource handler: {}", change.key());
+						}
+					}
+					case PROMPTS -> {
+						if (change.removal()) {
+							this.prompts.remove(change.key());
+							logger.debug("Removed prompt handler: {}", change.key());
+						}
+						else {
+							this.prompts.put(change.key(),
+									(McpServerFeatures.AsyncPromptSpecification) change.specification());
+							logger.debug("Added prompt handler: {}", change.key());
+						}
 					}
-					return Mono.empty();
 				}
-				return Mono.error(new McpError("Tool with name '" + toolName + "' not found"));
-			});
+				changed.add(change.type());
+			}
+			if (changed.contains(CatalogUpdate.ListType.TOOLS)) {
+				this.toolsListCache.invalidate();
+			}
+			if (changed.contains(CatalogUpdate.ListType.RESOURCES)) {
+				this.resourcesListCache.invalidate();
+			}
+			if (changed.contains(CatalogUpdate.ListType.PROMPTS)) {
+				this.promptsListCache.invalidate();
+			}
+			return changed;
+		}
+
+		/**
+		 * Notifies clients once for each list that changed, if the server declared the
+		 * listChanged capability for it.
+		 */
+		private Mono<Void> notifyListsChanged(Set<CatalogUpdate.ListType> changed) {
+			List<Mono<Void>> notifications = new ArrayList<>(changed.size());
+			if (changed.contains(CatalogUpdate.ListType.TOOLS)
+					&& Boolean.TRUE.equals(this.serverCapabilities.tools().listChanged())) {
+				notifications
+					.add(this.listChangedNotifications.changed(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED));
+			}
+			if (changed.contains(CatalogUpdate.ListType.RESOURCES)
+					&& Boolean.TRUE.equals(this.serverCapabilities.resources().listChanged())) {
+				notifications
+					.add(this.listChangedNotifications.changed(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED));
+			}
+			if (changed.contains(CatalogUpdate.ListType.PROMPTS)
+					&& Boolean.TRUE.equals(this.serverCapabilities.prompts().listChanged())) {
+				notifications
+					.add(this.listChangedNotifications.changed(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED));
+			}
+			return Mono.when(notifications);
+		}
+
+		// ---------------------------------------
+		// Tool Management
+		// ---------------------------------------
+
+		@Override
+		public Mono<Void> addTool(McpServerFeatures.AsyncToolSpecification toolSpecification) {
+			return updateCatalog(update -> update.addTool(toolSpecification));
+		}
+
+		@Override
+		public Mono<Void> removeTool(String toolName) {
+			return updateCatalog(update -> update.removeTool(toolName));
+		}
+
+		@Override
+		public ToolResultCache getToolResultCache(String toolName) {
+			return (toolName != null) ? this.toolResultCaches.get(toolName) : null;
 		}
 
 		@Override
@@ -452,30 +866,41 @@ public class McpAsyncServer {
 			return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null);
 		}
 
-		private McpServerSession.RequestHandler<McpSchema.ListToolsResult> toolsListRequestHandler() {
-			return (exchange, params) -> {
-				List<Tool> tools = this.tools.stream().map(McpServerFeatures.AsyncToolSpecification::tool).toList();
-
-				return Mono.just(new McpSchema.ListToolsResult(tools, null));
-			};
+		private McpServerSession.RequestHandler<PreEncodedResult<McpSchema.ListToolsResult>> toolsListRequestHandler() {
+			return (exchange, params) -> Mono.fromSupplier(() -> this.toolsListCache.get(cursor(params)));
 		}
 
 		private McpServerSession.RequestHandler<CallToolResult> toolsCallRequestHandler() {
 			return (exchange, params) -> {
-				McpSchema.CallToolRequest callToolRequest = objectMapper.convertValue(params,
-						new TypeReference<McpSchema.CallToolRequest>() {
-						});
+				McpSchema.CallToolRequest callToolRequest = jsonCodec.convertValue(params, CALL_TOOL_REQUEST_TYPE_REF);
 
-				Optional<McpServerFeatures.AsyncToolSpecification> toolSpecification = this.tools.stream()
-					.filter(tr -> callToolRequest.name().equals(tr.tool().name()))
-					.findAny();
+				McpServerFeatures.AsyncToolSpecification toolSpecification = this.tools.get(callToolRequest.name());
 
-				if (toolSpecification.isEmpty()) {
+				if (toolSpecification == null) {
 					return Mono.error(new McpError("Tool not found: " + callToolRequest.name()));
 				}
 
-				return toolSpecification.map(tool -> tool.call().apply(exchange, callToolRequest.arguments()))
-					.orElse(Mono.error(new McpError("Tool not found: " + callToolRequest.name())));
+				// Reject invalid arguments before the handler, or its scheduler, is
+				// involved
+				JsonSchemaValidator validator = this.toolValidators.get(callToolRequest.name());
+				String violation = (validator != null) ? validator.validate(callToolRequest.arguments()) : null;
+				if (violation != null) {
+					return Mono.error(new McpError(new McpSchema.JSONRPCResponse.JSONRPCError(
+							McpSchema.ErrorCodes.INVALID_PARAMS,
+							"Invalid arguments for tool '" + callToolRequest.name() + "': " + violation, null)));
+				}
+
+				ToolResultCache resultCache = this.toolResultCaches.get(callToolRequest.name());
+				if (resultCache != null) {
+					// The tool runs with the exchange of this call, and concurrent calls
+					// with the same arguments wait for its result
+					return resultCache.get(callToolRequest.arguments(),
+							() -> withProgress(exchange, params, requestExchange -> toolSpecification.call()
+								.apply(requestExchange, callToolRequest.arguments())));
+				}
+
+				return withProgress(exchange, params, requestExchange -> toolSpecification.call()
+					.apply(requestExchange, callToolRequest.arguments()));
 			};
 		}
 
@@ -485,79 +910,95 @@ public class McpAsyncServer {
 
 		@Override
 		public Mono<Void> addResource(McpServerFeatures.AsyncResourceSpecification resourceSpecification) {
-			if (resourceSpecification == null || resourceSpecification.resource() == null) {
-				return Mono.error(new McpError("Resource must not be null"));
-			}
+			return updateCatalog(update -> update.addResource(resourceSpecification));
+		}
 
-			if (this.serverCapabilities.resources() == null) {
-				return Mono.error(new McpError("Server must be configured with resource capabilities"));
-			}
+		@Override
+		public Mono<Void> removeResource(String resourceUri) {
+			return updateCatalog(update -> update.removeResource(resourceUri));
+		}
 
-			return Mono.defer(() -> {
-				if (this.resources.putIfAbsent(resourceSpecification.resource().uri(), resourceSpecification) != null) {
-					return Mono.error(new McpError(
-							"Resource with URI '" + resourceSpecification.resource().uri() + "' already exists"));
-				}
-				logger.debug("Added resource handler: {}", resourceSpecification.resource().uri());
-				if (this.serverCapabilities.resources().listChanged()) {
-					return notifyResourcesListChanged();
-				}
-				return Mono.empty();
-			});
+		@Override
+		public Mono<Void> notifyResourcesListChanged() {
+			return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED, null);
 		}
 
 		@Override
-		public Mono<Void> removeResource(String resourceUri) {
-			if (resourceUri == null) {
+		public Mono<Void> notifyResourceUpdated(String uri) {
+			if (uri == null) {
 				return Mono.error(new McpError("Resource URI must not be null"));
 			}
-			if (this.serverCapabilities.resources() == null) {
-				return Mono.error(new McpError("Server must be configured with resource capabilities"));
+			Set<McpServerSession> subscribers = this.resourceSubscriptions.subscribers(uri);
+			if (subscribers.isEmpty()) {
+				return Mono.empty();
 			}
+			return sendNotification(subscribers, McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED, Map.of("uri", uri));
+		}
 
-			return Mono.defer(() -> {
-				McpServerFeatures.AsyncResourceSpecification removed = this.resources.remove(resourceUri);
-				if (removed != null) {
-					logger.debug("Removed resource handler: {}", resourceUri);
-					if (this.serverCapabilities.resources().listChanged()) {
-						return notifyResourcesListChanged();
-					}
+		/**
+		 * Sends a notification to the given sessions. The notification is encoded once
+		 * for all of them, and a session that fails to receive it does not fail the
+		 * others.
+		 */
+		private Mono<Void> sendNotification(Collection<McpServerSession> targets, String method,
+				Map<String, Object> params) {
+			PreEncodedMessage notification = PreEncodedMessage
+				.of(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, params));
+			return Flux.fromIterable(targets)
+				.flatMap(session -> session.sendNotification(notification).onErrorResume(error -> {
+					logger.warn("Failed to send {} to session {}", method, session.getId(), error);
 					return Mono.empty();
-				}
-				return Mono.error(new McpError("Resource with URI '" + resourceUri + "' not found"));
-			});
+				}))
+				.then();
 		}
 
-		@Override
-		public Mono<Void> notifyResourcesListChanged() {
-			return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED, null);
+		private McpServerSession.RequestHandler<Object> resourcesSubscribeRequestHandler() {
+			return (exchange, params) -> {
+				McpSchema.SubscribeRequest request = jsonCodec.convertValue(params, SUBSCRIBE_REQUEST_TYPE_REF);
+				if (request.uri() == null) {
+					return Mono.error(new McpError("Resource URI must not be null"));
+				}
+				this.resourceSubscriptions.subscribe(exchange.getSession(), request.uri());
+				return Mono.just(Map.of());
+			};
 		}
 
-		private McpServerSession.RequestHandler<McpSchema.ListResourcesResult> resourcesListRequestHandler() {
+		private McpServerSession.RequestHandler<Object> resourcesUnsubscribeRequestHandler() {
 			return (exchange, params) -> {
-				var resourceList = this.resources.values()
-					.stream()
-					.map(McpServerFeatures.AsyncResourceSpecification::resource)
-					.toList();
-				return Mono.just(new McpSchema.ListResourcesResult(resourceList, null));
+				McpSchema.UnsubscribeRequest request = jsonCodec.convertValue(params, UNSUBSCRIBE_REQUEST_TYPE_REF);
+				if (request.uri() == null) {
+					return Mono.error(new McpError("Resource URI must not be null"));
+				}
+				this.resourceSubscriptions.unsubscribe(exchange.getSession(), request.uri());
+				return Mono.just(Map.of());
 			};
 		}
 
-		private McpServerSession.RequestHandler<McpSchema.ListResourceTemplatesResult> resourceTemplateListRequestHandler() {
-			return (exchange, params) -> Mono
-				.just(new McpSchema.ListResourceTemplatesResult(this.resourceTemplates, null));
+		private McpServerSession.RequestHandler<PreEncodedResult<McpSchema.ListResourcesResult>> resourcesListRequestHandler() {
+			return (exchange, params) -> Mono.fromSupplier(() -> this.resourcesListCache.get(cursor(params)));
+		}
 
+		private McpServerSession.RequestHandler<PreEncodedResult<McpSchema.ListResourceTemplatesResult>> resourceTemplateListRequestHandler() {
+			return (exchange, params) -> Mono.fromSupplier(() -> this.resourceTemplatesListCache.get(cursor(params)));
 		}
 
 		private McpServerSession.RequestHandler<McpSchema.ReadResourceResult> resourcesReadRequestHandler() {
 			return (exchange, params) -> {
-				McpSchema.ReadResourceRequest resourceRequest = objectMapper.convertValue(params,
-						new TypeReference<McpSchema.ReadResourceRequest>() {
-						});
+				McpSchema.ReadResourceRequest resourceRequest = jsonCodec.convertValue(params,
+						READ_RESOURCE_REQUEST_TYPE_REF);
 				var resourceUri = resourceRequest.uri();
 				McpServerFeatures.AsyncResourceSpecification specification = this.resources.get(resourceUri);
 				if (specification != null) {
-					return specification.readHandler().apply(exchange, resourceRequest);
+					return withProgress(exchange, params,
+							requestExchange -> specification.readHandler().apply(requestExchange, resourceRequest));
+				}
+				UriTemplateMatcher.Match<McpServerFeatures.AsyncResourceTemplateSpecification> match = this.resourceTemplateHandlers
+					.match(resourceUri);
+				if (match != null) {
+					McpServerFeatures.ResourceTemplateRequest templateRequest = new McpServerFeatures.ResourceTemplateRequest(
+							resourceRequest, match.variables());
+					return withProgress(exchange, params,
+							requestExchange -> match.value().readHandler().apply(requestExchange, templateRequest));
 				}
 				return Mono.error(new McpError("Resource not found: " + resourceUri));
 			};
@@ -569,56 +1010,12 @@ public class McpAsyncServer {
 
 		@Override
 		public Mono<Void> addPrompt(McpServerFeatures.AsyncPromptSpecification promptSpecification) {
-			if (promptSpecification == null) {
-				return Mono.error(new McpError("Prompt specification must not be null"));
-			}
-			if (this.serverCapabilities.prompts() == null) {
-				return Mono.error(new McpError("Server must be configured with prompt capabilities"));
-			}
-
-			return Mono.defer(() -> {
-				McpServerFeatures.AsyncPromptSpecification specification = this.prompts
-					.putIfAbsent(promptSpecification.prompt().name(), promptSpecification);
-				if (specification != null) {
-					return Mono.error(new McpError(
-							"Prompt with name '" + promptSpecification.prompt().name() + "' already exists"));
-				}
-
-				logger.debug("Added prompt handler: {}", promptSpecification.prompt().name());
-
-				// Servers that declared the listChanged capability SHOULD send a
-				// notification,
-				// when the list of available prompts changes
-				if (this.serverCapabilities.prompts().listChanged()) {
-					return notifyPromptsListChanged();
-				}
-				return Mono.empty();
-			});
+			return updateCatalog(update -> update.addPrompt(promptSpecification));
 		}
 
 		@Override
 		public Mono<Void> removePrompt(String promptName) {
-			if (promptName == null) {
-				return Mono.error(new McpError("Prompt name must not be null"));
-			}
-			if (this.serverCapabilities.prompts() == null) {
-				return Mono.error(new McpError("Server must be configured with prompt capabilities"));
-			}
-
-			return Mono.defer(() -> {
-				McpServerFeatures.AsyncPromptSpecification removed = this.prompts.remove(promptName);
-
-				if (removed != null) {
-					logger.debug("Removed prompt handler: {}", promptName);
-					// Servers that declared the listChanged capability SHOULD send a
-					// notification, when the list of available prompts changes
-					if (this.serverCapabilities.prompts().listChanged()) {
-						return this.notifyPromptsListChanged();
-					}
-					return Mono.empty();
-				}
-				return Mono.error(new McpError("Prompt with name '" + promptName + "' not found"));
-			});
+			return updateCatalog(update -> update.removePrompt(promptName));
 		}
 
 		@Override
@@ -626,27 +1023,13 @@ public class McpAsyncServer {
 			return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, null);
 		}
 
-		private McpServerSession.RequestHandler<McpSchema.ListPromptsResult> promptsListRequestHandler() {
-			return (exchange, params) -> {
-				// TODO: Implement pagination
-				// McpSchema.PaginatedRequest request = objectMapper.convertValue(params,
-				// new TypeReference<McpSchema.PaginatedRequest>() {
-				// });
-
-				var promptList = this.prompts.values()
-					.stream()
-					.map(McpServerFeatures.AsyncPromptSpecification::prompt)
-					.toList();
-
-				return Mono.just(new McpSchema.ListPromptsResult(promptList, null));
-			};
+		private McpServerSession.RequestHandler<PreEncodedResult<McpSchema.ListPromptsResult>> promptsListRequestHandler() {
+			return (exchange, params) -> Mono.fromSupplier(() -> this.promptsListCache.get(cursor(params)));
 		}
 
 		private McpServerSession.RequestHandler<McpSchema.GetPromptResult> promptsGetRequestHandler() {
 			return (exchange, params) -> {
-				McpSchema.GetPromptRequest promptRequest = objectMapper.convertValue(params,
-						new TypeReference<McpSchema.GetPromptRequest>() {
-						});
+				McpSchema.GetPromptRequest promptRequest = jsonCodec.convertValue(params, GET_PROMPT_REQUEST_TYPE_REF);
 
 				// Implement prompt retrieval logic here
 				McpServerFeatures.AsyncPromptSpecification specification = this.prompts.get(promptRequest.name());
@@ -654,10 +1037,39 @@ public class McpAsyncServer {
 					return Mono.error(new McpError("Prompt not found: " + promptRequest.name()));
 				}
 
-				return specification.promptHandler().apply(exchange, promptRequest);
+				return withProgress(exchange, params,
+						requestExchange -> specification.promptHandler().apply(requestExchange, promptRequest));
 			};
 		}
 
+		/**
+		 * Runs a request handler with an exchange that reports progress against the
+		 * progress token of the request, if the client sent one. Progress that is still
+		 * coalesced is sent before the response.
+		 */
+		private <T> Mono<T> withProgress(McpAsyncServerExchange exchange, Object params,
+				Function<McpAsyncServerExchange, Mono<T>> handler) {
+			Object progressToken = RequestMeta.get(params, RequestMeta.PROGRESS_TOKEN);
+			if (progressToken == null) {
+				return handler.apply(exchange);
+			}
+			ProgressReporter progressReporter = new ProgressReporter(exchange.getSession(), progressToken,
+					this.progressInterval);
+			return handler.apply(new McpAsyncServerExchange(exchange, progressReporter))
+				.flatMap(result -> progressReporter.flush().thenReturn(result))
+				.doFinally(signal -> progressReporter.close());
+		}
+
+		/**
+		 * Returns the cursor of a list request, or {@code null} for the first page.
+		 */
+		private String cursor(Object params) {
+			if (params == null) {
+				return null;
+			}
+			return this.jsonCodec.convertValue(params, PAGINATED_REQUEST_TYPE_REF).cursor();
+		}
+
 		// ---------------------------------------
 		// Logging Management
 		// ---------------------------------------
@@ -669,23 +1081,34 @@ public class McpAsyncServer {
 				return Mono.error(new McpError("Logging message must not be null"));
 			}
 
-			Map<String, Object> params = this.objectMapper.convertValue(loggingMessageNotification,
-					new TypeReference<Map<String, Object>>() {
-					});
+			if (loggingMessageNotification.level() == null) {
+				return Mono.error(new McpError("Logging level must not be null"));
+			}
 
-			if (loggingMessageNotification.level().level() < minLoggingLevel.level()) {
+			// Filtered per session before the message is converted, so that messages no
+			// client wants cost nothing more than the level checks
+			List<McpServerSession> targets = new ArrayList<>();
+			for (McpServerSession session : this.sessions) {
+				if (session.acceptsLogMessage(loggingMessageNotification.level())) {
+					targets.add(session);
+				}
+			}
+			if (targets.isEmpty()) {
 				return Mono.empty();
 			}
 
-			return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_MESSAGE, params);
+			Map<String, Object> params = this.jsonCodec.convertValue(loggingMessageNotification, MAP_TYPE_REF);
+			return sendNotification(targets, McpSchema.METHOD_NOTIFICATION_MESSAGE, params);
 		}
 
-		private McpServerSession.RequestHandler<Void> setLoggerRequestHandler() {
+		private McpServerSession.RequestHandler<Object> setLoggerRequestHandler() {
 			return (exchange, params) -> {
-				this.minLoggingLevel = objectMapper.convertValue(params, new TypeReference<LoggingLevel>() {
-				});
-
-				return Mono.empty();
+				McpSchema.SetLevelRequest request = jsonCodec.convertValue(params, SET_LEVEL_REQUEST_TYPE_REF);
+				if (request == null || request.level() == null) {
+					return Mono.error(new McpError("Logging level must not be null"));
+				}
+				exchange.getSession().setMinLoggingLevel(request.level());
+				return Mono.just(Map.of());
 			};
 		}
 
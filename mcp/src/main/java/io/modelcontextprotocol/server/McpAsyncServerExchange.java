@@ -1,5 +1,7 @@
 package io.modelcontextprotocol.server;
 
+import java.time.Duration;
+
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -20,6 +22,8 @@ public class McpAsyncServerExchange {
 
 	private final McpSchema.Implementation clientInfo;
 
+	private final ProgressReporter progressReporter;
+
 	private static final TypeReference<McpSchema.CreateMessageResult> CREATE_MESSAGE_RESULT_TYPE_REF = new TypeReference<>() {
 	};
 
@@ -38,6 +42,24 @@ public class McpAsyncServerExchange {
 		this.session = session;
 		this.clientCapabilities = clientCapabilities;
 		this.clientInfo = clientInfo;
+		this.progressReporter = null;
+	}
+
+	/**
+	 * Create an exchange for a single request the client asked progress to be reported
+	 * for.
+	 * @param exchange The exchange with the client
+	 * @param progressReporter The reporter sending progress against the request's token
+	 */
+	McpAsyncServerExchange(McpAsyncServerExchange exchange, ProgressReporter progressReporter) {
+		this.session = exchange.session;
+		this.clientCapabilities = exchange.clientCapabilities;
+		this.clientInfo = exchange.clientInfo;
+		this.progressReporter = progressReporter;
+	}
+
+	McpServerSession getSession() {
+		return this.session;
 	}
 
 	/**
@@ -73,14 +95,42 @@ public class McpAsyncServerExchange {
 	 * Specification</a>
 	 */
 	public Mono<McpSchema.CreateMessageResult> createMessage(McpSchema.CreateMessageRequest createMessageRequest) {
+		McpError error = checkSamplingSupported();
+		if (error != null) {
+			return Mono.error(error);
+		}
+		return this.session.sendRequest(McpSchema.METHOD_SAMPLING_CREATE_MESSAGE, createMessageRequest,
+				CREATE_MESSAGE_RESULT_TYPE_REF);
+	}
+
+	/**
+	 * Create a new message using the sampling capabilities of the client, waiting at most
+	 * the given time for the result instead of the timeout configured for sampling
+	 * requests.
+	 * @param createMessageRequest The request to create a new message
+	 * @param timeout The duration to wait for the result, or {@code null} to wait
+	 * indefinitely
+	 * @return A Mono that completes when the message has been created
+	 * @see #createMessage(McpSchema.CreateMessageRequest)
+	 */
+	public Mono<McpSchema.CreateMessageResult> createMessage(McpSchema.CreateMessageRequest createMessageRequest,
+			Duration timeout) {
+		McpError error = checkSamplingSupported();
+		if (error != null) {
+			return Mono.error(error);
+		}
+		return this.session.sendRequest(McpSchema.METHOD_SAMPLING_CREATE_MESSAGE, createMessageRequest,
+				CREATE_MESSAGE_RESULT_TYPE_REF, timeout);
+	}
+
+	private McpError checkSamplingSupported() {
 		if (this.clientCapabilities == null) {
-			return Mono.error(new McpError("Client must be initialized. Call the initialize method first!"));
+			return new McpError("Client must be initialized. Call the initialize method first!");
 		}
 		if (this.clientCapabilities.sampling() == null) {
-			return Mono.error(new McpError("Client must be configured with sampling capabilities"));
+			return new McpError("Client must be configured with sampling capabilities");
 		}
-		return this.session.sendRequest(McpSchema.METHOD_SAMPLING_CREATE_MESSAGE, createMessageRequest,
-				CREATE_MESSAGE_RESULT_TYPE_REF);
+		return null;
 	}
 
 	/**
@@ -101,4 +151,44 @@ public class McpAsyncServerExchange {
 				LIST_ROOTS_RESULT_TYPE_REF);
 	}
 
+	/**
+	 * Retrieves a paginated list of roots provided by the client, waiting at most the
+	 * given time for the result instead of the timeout configured for roots requests.
+	 * @param cursor Optional pagination cursor from a previous list request
+	 * @param timeout The duration to wait for the result, or {@code null} to wait
+	 * indefinitely
+	 * @return A Mono that emits the list of roots result
+	 */
+	public Mono<McpSchema.ListRootsResult> listRoots(String cursor, Duration timeout) {
+		return this.session.sendRequest(McpSchema.METHOD_ROOTS_LIST, new McpSchema.PaginatedRequest(cursor),
+				LIST_ROOTS_RESULT_TYPE_REF, timeout);
+	}
+
+	/**
+	 * Returns the token the client sent with the request being handled, to receive
+	 * progress notifications for it.
+	 * @return The progress token, or {@code null} if the client did not ask for progress
+	 */
+	public Object getProgressToken() {
+		return (this.progressReporter != null) ? this.progressReporter.progressToken() : null;
+	}
+
+	/**
+	 * Reports the progress of the request being handled to the client. Reports are
+	 * coalesced, so the client receives the latest progress at the rate the server is
+	 * configured with, however often progress is reported. Does nothing if the client did
+	 * not ask for progress.
+	 * @param progress The progress so far, which should increase with each report
+	 * @param total The total progress, or {@code null} if unknown
+	 * @return A Mono that completes once the progress is recorded
+	 * @see McpServer.AsyncSpecification#progressNotificationRate(int)
+	 */
+	public Mono<Void> progress(double progress, Double total) {
+		return Mono.fromRunnable(() -> {
+			if (this.progressReporter != null) {
+				this.progressReporter.report(progress, total);
+			}
+		});
+	}
+
 }
@@ -4,6 +4,7 @@
 
 package io.modelcontextprotocol.server;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -13,10 +14,14 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import io.modelcontextprotocol.spec.McpSchema.ResourceTemplate;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.RequestLimits;
+import io.modelcontextprotocol.spec.RequestTimeouts;
 import io.modelcontextprotocol.util.Assert;
 import reactor.core.publisher.Mono;
 
@@ -156,6 +161,10 @@ public interface McpServer {
 
 		private ObjectMapper objectMapper;
 
+		private McpJsonCodec jsonCodec;
+
+		private McpServerSettings settings = McpServerSettings.DEFAULT;
+
 		private McpSchema.Implementation serverInfo = DEFAULT_SERVER_INFO;
 
 		private McpSchema.ServerCapabilities serverCapabilities;
@@ -182,6 +191,8 @@ public interface McpServer {
 
 		private final List<ResourceTemplate> resourceTemplates = new ArrayList<>();
 
+		private final List<McpServerFeatures.AsyncResourceTemplateSpecification> resourceTemplateHandlers = new ArrayList<>();
+
 		/**
 		 * The Model Context Protocol (MCP) provides a standardized way for servers to
 		 * expose prompt templates to clients. Prompts allow servers to provide structured
@@ -433,6 +444,46 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Registers resource templates with read handlers. The templates are listed along
+		 * with the other resource templates, and reads of URIs that match no resource are
+		 * answered by the handler of the matching template, which receives the values of
+		 * the template variables.
+		 *
+		 * <p>
+		 * Example usage: <pre>{@code
+		 * .resourceTemplateHandlers(List.of(new McpServerFeatures.AsyncResourceTemplateSpecification(
+		 *     new ResourceTemplate("db://{table}/{id}", "record", "A database record", null, null),
+		 *     (exchange, request) -> Mono.fromSupplier(() -> readRecord(request.variables())))))
+		 * }</pre>
+		 * @param resourceTemplateSpecifications List of resource template specifications.
+		 * Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if resourceTemplateSpecifications is null
+		 * @see #resourceTemplateHandlers(McpServerFeatures.AsyncResourceTemplateSpecification...)
+		 */
+		public AsyncSpecification resourceTemplateHandlers(
+				List<McpServerFeatures.AsyncResourceTemplateSpecification> resourceTemplateSpecifications) {
+			Assert.notNull(resourceTemplateSpecifications, "Resource template handlers list must not be null");
+			this.resourceTemplateHandlers.addAll(resourceTemplateSpecifications);
+			return this;
+		}
+
+		/**
+		 * Registers resource templates with read handlers using varargs. This is an
+		 * alternative to {@link #resourceTemplateHandlers(List)}.
+		 * @param resourceTemplateSpecifications The resource template specifications to
+		 * add. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if resourceTemplateSpecifications is null
+		 * @see #resourceTemplateHandlers(List)
+		 */
+		public AsyncSpecification resourceTemplateHandlers(
+				McpServerFeatures.AsyncResourceTemplateSpecification... resourceTemplateSpecifications) {
+			Assert.notNull(resourceTemplateSpecifications, "Resource template handlers list must not be null");
+			return resourceTemplateHandlers(List.of(resourceTemplateSpecifications));
+		}
+
 		/**
 		 * Registers multiple prompts with their handlers using a Map. This method is
 		 * useful when prompts are dynamically generated or loaded from a configuration
@@ -556,6 +607,156 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the codec used to bind request params to their schema types. Takes
+		 * precedence over {@link #objectMapper(ObjectMapper)}. Sharing one codec with the
+		 * transport provider lets both reuse the same cached readers.
+		 * @param jsonCodec the instance to use. Must not be null.
+		 * @return This builder instance for method chaining.
+		 * @throws IllegalArgumentException if jsonCodec is null
+		 */
+		public AsyncSpecification jsonCodec(McpJsonCodec jsonCodec) {
+			Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
+			this.jsonCodec = jsonCodec;
+			return this;
+		}
+
+		/**
+		 * Sets the duration to wait for the client to answer a request, such as a
+		 * sampling or roots request, before timing out. Applies to all methods without a
+		 * timeout of their own. Defaults to 10 seconds.
+		 * @param requestTimeout The duration to wait. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if requestTimeout is null
+		 * @see #requestTimeout(String, Duration)
+		 */
+		public AsyncSpecification requestTimeout(Duration requestTimeout) {
+			Assert.notNull(requestTimeout, "Request timeout must not be null");
+			this.settings = this.settings.withRequestTimeouts(
+					new RequestTimeouts(requestTimeout, this.settings.requestTimeouts().methodTimeouts()));
+			return this;
+		}
+
+		/**
+		 * Sets the duration to wait for the client to answer requests of one method,
+		 * overriding {@link #requestTimeout(Duration)}. Sampling requests, for example,
+		 * may take minutes.
+		 * @param method The request method, such as
+		 * {@link McpSchema#METHOD_SAMPLING_CREATE_MESSAGE}. Must not be empty.
+		 * @param requestTimeout The duration to wait. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if method is empty or requestTimeout is null
+		 */
+		public AsyncSpecification requestTimeout(String method, Duration requestTimeout) {
+			Assert.hasText(method, "Method must not be empty");
+			Assert.notNull(requestTimeout, "Request timeout must not be null");
+			this.settings = this.settings
+				.withRequestTimeouts(this.settings.requestTimeouts().withTimeout(method, requestTimeout));
+			return this;
+		}
+
+		/**
+		 * Sets how many progress notifications are sent per second, at most, for a single
+		 * request. Progress reported faster is coalesced, so the client receives the
+		 * latest progress at this rate. Defaults to 10.
+		 * @param notificationsPerSecond The maximum rate. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if notificationsPerSecond is not positive
+		 * @see McpAsyncServerExchange#progress(double, Double)
+		 */
+		public AsyncSpecification progressNotificationRate(int notificationsPerSecond) {
+			Assert.isTrue(notificationsPerSecond > 0, "Progress notification rate must be positive");
+			this.settings = this.settings.withProgressInterval(Duration.ofSeconds(1).dividedBy(notificationsPerSecond));
+			return this;
+		}
+
+		/**
+		 * Limits the requests handled at the same time for each client. Requests beyond
+		 * the limit wait in a queue of the given size, and requests arriving while the
+		 * queue is full are rejected with a
+		 * {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error. By default, requests are
+		 * not limited.
+		 * @param maxConcurrentRequests The number of requests of a client handled at the
+		 * same time. Must be positive.
+		 * @param maxQueuedRequests The number of requests of a client waiting to be
+		 * handled. Must not be negative.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxConcurrentRequests is not positive or
+		 * maxQueuedRequests is negative
+		 */
+		public AsyncSpecification requestLimits(int maxConcurrentRequests, int maxQueuedRequests) {
+			this.settings = this.settings
+				.withRequestLimits(new RequestLimits(maxConcurrentRequests, maxQueuedRequests));
+			return this;
+		}
+
+		/**
+		 * Sets a window within which the changes of a list of tools, resources or prompts
+		 * are notified to clients as one. The first change of a list schedules a
+		 * {@code list_changed} notification at the end of the window, and the methods
+		 * changing the list complete without waiting for it. By default, every change is
+		 * notified right away; {@link McpAsyncServer#updateCatalog} notifies a set of
+		 * changes as one without a window.
+		 * @param listChangedDebounce The debounce window. Must not be null or negative.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if listChangedDebounce is null or negative
+		 */
+		public AsyncSpecification listChangedDebounce(Duration listChangedDebounce) {
+			Assert.notNull(listChangedDebounce, "List changed debounce must not be null");
+			Assert.isTrue(!listChangedDebounce.isNegative(), "List changed debounce must not be negative");
+			this.settings = this.settings.withListChangedDebounce(listChangedDebounce);
+			return this;
+		}
+
+		/**
+		 * Sets the number of items returned per page by {@code tools/list},
+		 * {@code resources/list}, {@code resources/templates/list} and
+		 * {@code prompts/list}. Longer lists are returned in pages, with a cursor to the
+		 * next page that stays valid while the lists change. By default, lists are
+		 * returned whole.
+		 * @param pageSize The page size. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public AsyncSpecification pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be positive");
+			this.settings = this.settings.withPageSize(pageSize);
+			return this;
+		}
+
+		/**
+		 * Limits the rate of log message notifications sent to each client with a token
+		 * bucket: a client receives up to {@code burst} messages at once, and then
+		 * {@code messagesPerSecond} messages per second, while further messages are
+		 * dropped. Each client has its own bucket, and messages at
+		 * {@link McpSchema.LoggingLevel#ERROR} and above are never dropped. By default,
+		 * log messages are not limited.
+		 * @param messagesPerSecond The number of messages per second. Must be positive.
+		 * @param burst The number of messages sent at once. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if messagesPerSecond or burst is not positive
+		 */
+		public AsyncSpecification loggingRateLimit(int messagesPerSecond, int burst) {
+			this.settings = this.settings
+				.withLoggingLimits(this.settings.loggingLimits().withRateLimit(messagesPerSecond, burst));
+			return this;
+		}
+
+		/**
+		 * Samples the log message notifications at or below the given level, so that each
+		 * client only receives one in every {@code oneIn} of them. Sampling applies
+		 * before the {@link #loggingRateLimit rate limit}. By default, log messages are
+		 * not sampled.
+		 * @param level The highest level of the sampled messages. Must not be null.
+		 * @param oneIn The number of messages out of which one is sent. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if level is null or oneIn is not positive
+		 */
+		public AsyncSpecification loggingSampling(McpSchema.LoggingLevel level, int oneIn) {
+			this.settings = this.settings.withLoggingLimits(this.settings.loggingLimits().withSampling(level, oneIn));
+			return this;
+		}
+
 		/**
 		 * Builds an asynchronous MCP server that provides non-blocking operations.
 		 * @return A new instance of {@link McpAsyncServer} configured with this builder's
@@ -563,9 +764,16 @@ public interface McpServer {
 		 */
 		public McpAsyncServer build() {
 			var features = new McpServerFeatures.Async(this.serverInfo, this.serverCapabilities, this.tools,
-					this.resources, this.resourceTemplates, this.prompts, this.rootsChangeHandlers, this.instructions);
-			var mapper = this.objectMapper != null ? this.objectMapper : new ObjectMapper();
-			return new McpAsyncServer(this.transportProvider, mapper, features);
+					this.resources, this.resourceTemplates, this.resourceTemplateHandlers, this.prompts,
+					this.rootsChangeHandlers, this.instructions);
+			return new McpAsyncServer(this.transportProvider, resolveJsonCodec(), features, this.settings);
+		}
+
+		private McpJsonCodec resolveJsonCodec() {
+			if (this.jsonCodec != null) {
+				return this.jsonCodec;
+			}
+			return new JacksonMcpJsonCodec(this.objectMapper != null ? this.objectMapper : new ObjectMapper());
 		}
 
 	}
@@ -582,6 +790,10 @@ public interface McpServer {
 
 		private ObjectMapper objectMapper;
 
+		private McpJsonCodec jsonCodec;
+
+		private McpServerSettings settings = McpServerSettings.DEFAULT;
+
 		private McpSchema.Implementation serverInfo = DEFAULT_SERVER_INFO;
 
 		private McpSchema.ServerCapabilities serverCapabilities;
@@ -608,6 +820,8 @@ public interface McpServer {
 
 		private final List<ResourceTemplate> resourceTemplates = new ArrayList<>();
 
+		private final List<McpServerFeatures.SyncResourceTemplateSpecification> resourceTemplateHandlers = new ArrayList<>();
+
 		/**
 		 * The Model Context Protocol (MCP) provides a standardized way for servers to
 		 * expose prompt templates to clients. Prompts allow servers to provide structured
@@ -858,6 +1072,46 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Registers resource templates with read handlers. The templates are listed along
+		 * with the other resource templates, and reads of URIs that match no resource are
+		 * answered by the handler of the matching template, which receives the values of
+		 * the template variables.
+		 *
+		 * <p>
+		 * Example usage: <pre>{@code
+		 * .resourceTemplateHandlers(List.of(new McpServerFeatures.SyncResourceTemplateSpecification(
+		 *     new ResourceTemplate("db://{table}/{id}", "record", "A database record", null, null),
+		 *     (exchange, request) -> readRecord(request.variables()))))
+		 * }</pre>
+		 * @param resourceTemplateSpecifications List of resource template specifications.
+		 * Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if resourceTemplateSpecifications is null
+		 * @see #resourceTemplateHandlers(McpServerFeatures.SyncResourceTemplateSpecification...)
+		 */
+		public SyncSpecification resourceTemplateHandlers(
+				List<McpServerFeatures.SyncResourceTemplateSpecification> resourceTemplateSpecifications) {
+			Assert.notNull(resourceTemplateSpecifications, "Resource template handlers list must not be null");
+			this.resourceTemplateHandlers.addAll(resourceTemplateSpecifications);
+			return this;
+		}
+
+		/**
+		 * Registers resource templates with read handlers using varargs. This is an
+		 * alternative to {@link #resourceTemplateHandlers(List)}.
+		 * @param resourceTemplateSpecifications The resource template specifications to
+		 * add. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if resourceTemplateSpecifications is null
+		 * @see #resourceTemplateHandlers(List)
+		 */
+		public SyncSpecification resourceTemplateHandlers(
+				McpServerFeatures.SyncResourceTemplateSpecification... resourceTemplateSpecifications) {
+			Assert.notNull(resourceTemplateSpecifications, "Resource template handlers list must not be null");
+			return resourceTemplateHandlers(List.of(resourceTemplateSpecifications));
+		}
+
 		/**
 		 * Registers multiple prompts with their handlers using a Map. This method is
 		 * useful when prompts are dynamically generated or loaded from a configuration
@@ -981,6 +1235,156 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the codec used to bind request params to their schema types. Takes
+		 * precedence over {@link #objectMapper(ObjectMapper)}. Sharing one codec with the
+		 * transport provider lets both reuse the same cached readers.
+		 * @param jsonCodec the instance to use. Must not be null.
+		 * @return This builder instance for method chaining.
+		 * @throws IllegalArgumentException if jsonCodec is null
+		 */
+		public SyncSpecification jsonCodec(McpJsonCodec jsonCodec) {
+			Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
+			this.jsonCodec = jsonCodec;
+			return this;
+		}
+
+		/**
+		 * Sets the duration to wait for the client to answer a request, such as a
+		 * sampling or roots request, before timing out. Applies to all methods without a
+		 * timeout of their own. Defaults to 10 seconds.
+		 * @param requestTimeout The duration to wait. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if requestTimeout is null
+		 * @see #requestTimeout(String, Duration)
+		 */
+		public SyncSpecification requestTimeout(Duration requestTimeout) {
+			Assert.notNull(requestTimeout, "Request timeout must not be null");
+			this.settings = this.settings.withRequestTimeouts(
+					new RequestTimeouts(requestTimeout, this.settings.requestTimeouts().methodTimeouts()));
+			return this;
+		}
+
+		/**
+		 * Sets the duration to wait for the client to answer requests of one method,
+		 * overriding {@link #requestTimeout(Duration)}. Sampling requests, for example,
+		 * may take minutes.
+		 * @param method The request method, such as
+		 * {@link McpSchema#METHOD_SAMPLING_CREATE_MESSAGE}. Must not be empty.
+		 * @param requestTimeout The duration to wait. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if method is empty or requestTimeout is null
+		 */
+		public SyncSpecification requestTimeout(String method, Duration requestTimeout) {
+			Assert.hasText(method, "Method must not be empty");
+			Assert.notNull(requestTimeout, "Request timeout must not be null");
+			this.settings = this.settings
+				.withRequestTimeouts(this.settings.requestTimeouts().withTimeout(method, requestTimeout));
+			return this;
+		}
+
+		/**
+		 * Sets how many progress notifications are sent per second, at most, for a single
+		 * request. Progress reported faster is coalesced, so the client receives the
+		 * latest progress at this rate. Defaults to 10.
+		 * @param notificationsPerSecond The maximum rate. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if notificationsPerSecond is not positive
+		 * @see McpAsyncServerExchange#progress(double, Double)
+		 */
+		public SyncSpecification progressNotificationRate(int notificationsPerSecond) {
+			Assert.isTrue(notificationsPerSecond > 0, "Progress notification rate must be positive");
+			this.settings = this.settings.withProgressInterval(Duration.ofSeconds(1).dividedBy(notificationsPerSecond));
+			return this;
+		}
+
+		/**
+		 * Limits the requests handled at the same time for each client. Requests beyond
+		 * the limit wait in a queue of the given size, and requests arriving while the
+		 * queue is full are rejected with a
+		 * {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error. By default, requests are
+		 * not limited.
+		 * @param maxConcurrentRequests The number of requests of a client handled at the
+		 * same time. Must be positive.
+		 * @param maxQueuedRequests The number of requests of a client waiting to be
+		 * handled. Must not be negative.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxConcurrentRequests is not positive or
+		 * maxQueuedRequests is negative
+		 */
+		public SyncSpecification requestLimits(int maxConcurrentRequests, int maxQueuedRequests) {
+			this.settings = this.settings
+				.withRequestLimits(new RequestLimits(maxConcurrentRequests, maxQueuedRequests));
+			return this;
+		}
+
+		/**
+		 * Sets a window within which the changes of a list of tools, resources or prompts
+		 * are notified to clients as one. The first change of a list schedules a
+		 * {@code list_changed} notification at the end of the window, and the methods
+		 * changing the list complete without waiting for it. By default, every change is
+		 * notified right away; {@link McpAsyncServer#updateCatalog} notifies a set of
+		 * changes as one without a window.
+		 * @param listChangedDebounce The debounce window. Must not be null or negative.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if listChangedDebounce is null or negative
+		 */
+		public SyncSpecification listChangedDebounce(Duration listChangedDebounce) {
+			Assert.notNull(listChangedDebounce, "List changed debounce must not be null");
+			Assert.isTrue(!listChangedDebounce.isNegative(), "List changed debounce must not be negative");
+			this.settings = this.settings.withListChangedDebounce(listChangedDebounce);
+			return this;
+		}
+
+		/**
+		 * Sets the number of items returned per page by {@code tools/list},
+		 * {@code resources/list}, {@code resources/templates/list} and
+		 * {@code prompts/list}. Longer lists are returned in pages, with a cursor to the
+		 * next page that stays valid while the lists change. By default, lists are
+		 * returned whole.
+		 * @param pageSize The page size. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public SyncSpecification pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be positive");
+			this.settings = this.settings.withPageSize(pageSize);
+			return this;
+		}
+
+		/**
+		 * Limits the rate of log message notifications sent to each client with a token
+		 * bucket: a client receives up to {@code burst} messages at once, and then
+		 * {@code messagesPerSecond} messages per second, while further messages are
+		 * dropped. Each client has its own bucket, and messages at
+		 * {@link McpSchema.LoggingLevel#ERROR} and above are never dropped. By default,
+		 * log messages are not limited.
+		 * @param messagesPerSecond The number of messages per second. Must be positive.
+		 * @param burst The number of messages sent at once. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if messagesPerSecond or burst is not positive
+		 */
+		public SyncSpecification loggingRateLimit(int messagesPerSecond, int burst) {
+			this.settings = this.settings
+				.withLoggingLimits(this.settings.loggingLimits().withRateLimit(messagesPerSecond, burst));
+			return this;
+		}
+
+		/**
+		 * Samples the log message notifications at or below the given level, so that each
+		 * client only receives one in every {@code oneIn} of them. Sampling applies
+		 * before the {@link #loggingRateLimit rate limit}. By default, log messages are
+		 * not sampled.
+		 * @param level The highest level of the sampled messages. Must not be null.
+		 * @param oneIn The number of messages out of which one is sent. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if level is null or oneIn is not positive
+		 */
+		public SyncSpecification loggingSampling(McpSchema.LoggingLevel level, int oneIn) {
+			this.settings = this.settings.withLoggingLimits(this.settings.loggingLimits().withSampling(level, oneIn));
+			return this;
+		}
+
 		/**
 		 * Builds a synchronous MCP server that provides blocking operations.
 		 * @return A new instance of {@link McpSyncServer} configured with this builder's
@@ -988,15 +1392,22 @@ public interface McpServer {
 		 */
 		public McpSyncServer build() {
 			McpServerFeatures.Sync syncFeatures = new McpServerFeatures.Sync(this.serverInfo, this.serverCapabilities,
-					this.tools, this.resources, this.resourceTemplates, this.prompts, this.rootsChangeHandlers,
-					this.instructions);
+					this.tools, this.resources, this.resourceTemplates, this.resourceTemplateHandlers, this.prompts,
+					this.rootsChangeHandlers, this.instructions);
 			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures);
-			var mapper = this.objectMapper != null ? this.objectMapper : new ObjectMapper();
-			var asyncServer = new McpAsyncServer(this.transportProvider, mapper, asyncFeatures);
+			var asyncServer = new McpAsyncServer(this.transportProvider, resolveJsonCodec(), asyncFeatures,
+					this.settings);
 
 			return new McpSyncServer(asyncServer);
 		}
 
+		private McpJsonCodec resolveJsonCodec() {
+			if (this.jsonCodec != null) {
+				return this.jsonCodec;
+			}
+			return new JacksonMcpJsonCodec(this.objectMapper != null ? this.objectMapper : new ObjectMapper());
+		}
+
 	}
 
 }
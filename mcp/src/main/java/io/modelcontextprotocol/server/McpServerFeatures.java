@@ -4,12 +4,14 @@
 
 package io.modelcontextprotocol.server;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
 
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.util.Assert;
@@ -32,6 +34,7 @@ public class McpServerFeatures {
 	 * @param tools The list of tool specifications
 	 * @param resources The map of resource specifications
 	 * @param resourceTemplates The list of resource templates
+	 * @param resourceTemplateHandlers The list of resource template specifications
 	 * @param prompts The map of prompt specifications
 	 * @param rootsChangeConsumers The list of consumers that will be notified when the
 	 * roots list changes
@@ -40,6 +43,7 @@ public class McpServerFeatures {
 	record Async(McpSchema.Implementation serverInfo, McpSchema.ServerCapabilities serverCapabilities,
 			List<McpServerFeatures.AsyncToolSpecification> tools, Map<String, AsyncResourceSpecification> resources,
 			List<McpSchema.ResourceTemplate> resourceTemplates,
+			List<AsyncResourceTemplateSpecification> resourceTemplateHandlers,
 			Map<String, McpServerFeatures.AsyncPromptSpecification> prompts,
 			List<BiFunction<McpAsyncServerExchange, List<McpSchema.Root>, Mono<Void>>> rootsChangeConsumers,
 			String instructions) {
@@ -51,6 +55,7 @@ public class McpServerFeatures {
 		 * @param tools The list of tool specifications
 		 * @param resources The map of resource specifications
 		 * @param resourceTemplates The list of resource templates
+		 * @param resourceTemplateHandlers The list of resource template specifications
 		 * @param prompts The map of prompt specifications
 		 * @param rootsChangeConsumers The list of consumers that will be notified when
 		 * the roots list changes
@@ -59,6 +64,7 @@ public class McpServerFeatures {
 		Async(McpSchema.Implementation serverInfo, McpSchema.ServerCapabilities serverCapabilities,
 				List<McpServerFeatures.AsyncToolSpecification> tools, Map<String, AsyncResourceSpecification> resources,
 				List<McpSchema.ResourceTemplate> resourceTemplates,
+				List<AsyncResourceTemplateSpecification> resourceTemplateHandlers,
 				Map<String, McpServerFeatures.AsyncPromptSpecification> prompts,
 				List<BiFunction<McpAsyncServerExchange, List<McpSchema.Root>, Mono<Void>>> rootsChangeConsumers,
 				String instructions) {
@@ -73,13 +79,14 @@ public class McpServerFeatures {
 																					// by
 																					// default
 							!Utils.isEmpty(prompts) ? new McpSchema.ServerCapabilities.PromptCapabilities(false) : null,
-							!Utils.isEmpty(resources)
+							!Utils.isEmpty(resources) || !Utils.isEmpty(resourceTemplateHandlers)
 									? new McpSchema.ServerCapabilities.ResourceCapabilities(false, false) : null,
 							!Utils.isEmpty(tools) ? new McpSchema.ServerCapabilities.ToolCapabilities(false) : null);
 
 			this.tools = (tools != null) ? tools : List.of();
 			this.resources = (resources != null) ? resources : Map.of();
 			this.resourceTemplates = (resourceTemplates != null) ? resourceTemplates : List.of();
+			this.resourceTemplateHandlers = (resourceTemplateHandlers != null) ? resourceTemplateHandlers : List.of();
 			this.prompts = (prompts != null) ? prompts : Map.of();
 			this.rootsChangeConsumers = (rootsChangeConsumers != null) ? rootsChangeConsumers : List.of();
 			this.instructions = instructions;
@@ -109,6 +116,11 @@ public class McpServerFeatures {
 				prompts.put(key, AsyncPromptSpecification.fromSync(prompt));
 			});
 
+			List<AsyncResourceTemplateSpecification> resourceTemplateHandlers = new ArrayList<>();
+			for (var resourceTemplateHandler : syncSpec.resourceTemplateHandlers()) {
+				resourceTemplateHandlers.add(AsyncResourceTemplateSpecification.fromSync(resourceTemplateHandler));
+			}
+
 			List<BiFunction<McpAsyncServerExchange, List<McpSchema.Root>, Mono<Void>>> rootChangeConsumers = new ArrayList<>();
 
 			for (var rootChangeConsumer : syncSpec.rootsChangeConsumers()) {
@@ -118,7 +130,8 @@ public class McpServerFeatures {
 			}
 
 			return new Async(syncSpec.serverInfo(), syncSpec.serverCapabilities(), tools, resources,
-					syncSpec.resourceTemplates(), prompts, rootChangeConsumers, syncSpec.instructions());
+					syncSpec.resourceTemplates(), resourceTemplateHandlers, prompts, rootChangeConsumers,
+					syncSpec.instructions());
 		}
 	}
 
@@ -130,6 +143,7 @@ public class McpServerFeatures {
 	 * @param tools The list of tool specifications
 	 * @param resources The map of resource specifications
 	 * @param resourceTemplates The list of resource templates
+	 * @param resourceTemplateHandlers The list of resource template specifications
 	 * @param prompts The map of prompt specifications
 	 * @param rootsChangeConsumers The list of consumers that will be notified when the
 	 * roots list changes
@@ -139,6 +153,7 @@ public class McpServerFeatures {
 			List<McpServerFeatures.SyncToolSpecification> tools,
 			Map<String, McpServerFeatures.SyncResourceSpecification> resources,
 			List<McpSchema.ResourceTemplate> resourceTemplates,
+			List<SyncResourceTemplateSpecification> resourceTemplateHandlers,
 			Map<String, McpServerFeatures.SyncPromptSpecification> prompts,
 			List<BiConsumer<McpSyncServerExchange, List<McpSchema.Root>>> rootsChangeConsumers, String instructions) {
 
@@ -149,6 +164,7 @@ public class McpServerFeatures {
 		 * @param tools The list of tool specifications
 		 * @param resources The map of resource specifications
 		 * @param resourceTemplates The list of resource templates
+		 * @param resourceTemplateHandlers The list of resource template specifications
 		 * @param prompts The map of prompt specifications
 		 * @param rootsChangeConsumers The list of consumers that will be notified when
 		 * the roots list changes
@@ -158,6 +174,7 @@ public class McpServerFeatures {
 				List<McpServerFeatures.SyncToolSpecification> tools,
 				Map<String, McpServerFeatures.SyncResourceSpecification> resources,
 				List<McpSchema.ResourceTemplate> resourceTemplates,
+				List<SyncResourceTemplateSpecification> resourceTemplateHandlers,
 				Map<String, McpServerFeatures.SyncPromptSpecification> prompts,
 				List<BiConsumer<McpSyncServerExchange, List<McpSchema.Root>>> rootsChangeConsumers,
 				String instructions) {
@@ -172,13 +189,15 @@ public class McpServerFeatures {
 																					// by
 																					// default
 							!Utils.isEmpty(prompts) ? new McpSchema.ServerCapabilities.PromptCapabilities(false) : null,
-							!Utils.isEmpty(resources)
+							!Utils.isEmpty(resources) || !Utils.isEmpty(resourceTemplateHandlers)
 									? new McpSchema.ServerCapabilities.ResourceCapabilities(false, false) : null,
 							!Utils.isEmpty(tools) ? new McpSchema.ServerCapabilities.ToolCapabilities(false) : null);
 
 			this.tools = (tools != null) ? tools : new ArrayList<>();
 			this.resources = (resources != null) ? resources : new HashMap<>();
 			this.resourceTemplates = (resourceTemplates != null) ? resourceTemplates : new ArrayList<>();
+			this.resourceTemplateHandlers = (resourceTemplateHandlers != null) ? resourceTemplateHandlers
+					: new ArrayList<>();
 			this.prompts = (prompts != null) ? prompts : new HashMap<>();
 			this.rootsChangeConsumers = (rootsChangeConsumers != null) ? rootsChangeConsumers : new ArrayList<>();
 			this.instructions = instructions;
@@ -221,9 +240,31 @@ public class McpServerFeatures {
 	 * returning results. The function's first argument is an
 	 * {@link McpAsyncServerExchange} upon which the server can interact with the
 	 * connected client. The second arguments is a map of tool arguments.
+	 * @param resultCaching The caching of the results of the tool, or {@code null} if
+	 * every call runs the tool
 	 */
 	public record AsyncToolSpecification(McpSchema.Tool tool,
-			BiFunction<McpAsyncServerExchange, Map<String, Object>, Mono<McpSchema.CallToolResult>> call) {
+			BiFunction<McpAsyncServerExchange, Map<String, Object>, Mono<McpSchema.CallToolResult>> call,
+			ToolResultCaching resultCaching) {
+
+		/**
+		 * Creates a specification of a tool whose results are not cached.
+		 * @param tool The tool definition
+		 * @param call The function that implements the tool's logic
+		 */
+		public AsyncToolSpecification(McpSchema.Tool tool,
+				BiFunction<McpAsyncServerExchange, Map<String, Object>, Mono<McpSchema.CallToolResult>> call) {
+			this(tool, call, null);
+		}
+
+		/**
+		 * Returns this specification with the results of the tool cached.
+		 * @param resultCaching The caching of the results
+		 * @return A new specification
+		 */
+		public AsyncToolSpecification withResultCaching(ToolResultCaching resultCaching) {
+			return new AsyncToolSpecification(this.tool, this.call, resultCaching);
+		}
 
 		static AsyncToolSpecification fromSync(SyncToolSpecification tool) {
 			// FIXME: This is temporary, proper validation should be implemented
@@ -233,10 +274,74 @@ public class McpServerFeatures {
 			return new AsyncToolSpecification(tool.tool(),
 					(exchange, map) -> Mono
 						.fromCallable(() -> tool.call().apply(new McpSyncServerExchange(exchange), map))
-						.subscribeOn(Schedulers.boundedElastic()));
+						.subscribeOn(Schedulers.boundedElastic()),
+					tool.resultCaching());
 		}
 	}
 
+	/**
+	 * Caching of the results of a tool that is a pure function of its arguments, such as
+	 * a schema lookup or a documentation fetch. A call is answered from the cache when a
+	 * call with the same arguments, compared as JSON values whatever the order of their
+	 * keys, succeeded within the time to live. Concurrent calls with the same arguments
+	 * run the tool once and share its result. Results with {@code isError} set and calls
+	 * that fail are not cached.
+	 * <p>
+	 * A cached result is written once for every call it answers, so it must be safe to
+	 * serialize more than once. Results whose content streams from a
+	 * {@link io.modelcontextprotocol.spec.BlobSource} that can only be read once, such as
+	 * one created from an {@code InputStream}, are returned to their call but not cached.
+	 * <p>
+	 * Results are shared by all clients, so caching only suits tools whose result does
+	 * not depend on the client or on the exchange. The tool runs with the exchange of the
+	 * call that started it: only that call receives its progress notifications, and the
+	 * calls waiting for its result, possibly from other clients, receive none. If that
+	 * call is cancelled, for example because its deadline passed, the tool is stopped and
+	 * the waiting calls run it again. The cache holds results up to the maximum weight,
+	 * evicting the least recently used ones first, and is dropped when the tool is
+	 * removed. Each result weighs 1 unless a weigher is set.
+	 *
+	 * <p>
+	 * Example: <pre>{@code
+	 * new McpServerFeatures.AsyncToolSpecification(schemaTool, lookupSchema)
+	 *     .withResultCaching(ToolResultCaching.of(Duration.ofMinutes(5), 1000));
+	 * }</pre>
+	 *
+	 * @param ttl The time a result is kept after the call that produced it completed
+	 * @param maxWeight The total weight of the results kept
+	 * @param weigher The weight of a result
+	 */
+	public record ToolResultCaching(Duration ttl, long maxWeight, ToLongFunction<McpSchema.CallToolResult> weigher) {
+
+		public ToolResultCaching {
+			Assert.notNull(ttl, "Time to live must not be null");
+			Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "Time to live must be positive");
+			Assert.isTrue(maxWeight > 0, "Maximum weight must be positive");
+			Assert.notNull(weigher, "Weigher must not be null");
+		}
+
+		/**
+		 * Creates a caching that keeps up to the given number of results.
+		 * @param ttl The time a result is kept
+		 * @param maxResults The number of results kept
+		 * @return The caching
+		 */
+		public static ToolResultCaching of(Duration ttl, long maxResults) {
+			return new ToolResultCaching(ttl, maxResults, result -> 1);
+		}
+
+		/**
+		 * Returns this caching with another weigher, so that the maximum weight bounds
+		 * something else than the number of results, such as their size.
+		 * @param weigher The weight of a result. Must not be negative.
+		 * @return The new caching
+		 */
+		public ToolResultCaching withWeigher(ToLongFunction<McpSchema.CallToolResult> weigher) {
+			return new ToolResultCaching(this.ttl, this.maxWeight, weigher);
+		}
+
+	}
+
 	/**
 	 * Specification of a resource with its asynchronous handler function. Resources
 	 * provide context to AI models by exposing data such as:
@@ -258,6 +363,14 @@ public class McpServerFeatures {
 	 * )
 	 * }</pre>
 	 *
+	 * <p>
+	 * Large binary resources can be returned as
+	 * {@link io.modelcontextprotocol.spec.McpSchema.StreamingBlobResourceContents}, which
+	 * reads the content only while the response is written: <pre>{@code
+	 * new ReadResourceResult(List.of(new StreamingBlobResourceContents(
+	 *     request.uri(), "application/pdf", BlobSource.of(path))))
+	 * }</pre>
+	 *
 	 * @param resource The resource definition including name, description, and MIME type
 	 * @param readHandler The function that handles resource read requests. The function's
 	 * first argument is an {@link McpAsyncServerExchange} upon which the server can
@@ -279,6 +392,61 @@ public class McpServerFeatures {
 		}
 	}
 
+	/**
+	 * Specification of a resource template with its asynchronous read handler. The server
+	 * lists the template and answers reads of any URI that matches it, so resources that
+	 * are addressed by parameters do not need to be registered one by one. Templates are
+	 * <a href="https://www.rfc-editor.org/rfc/rfc6570">RFC 6570</a> level 1 templates;
+	 * see {@link io.modelcontextprotocol.util.UriTemplateMatcher} for how URIs are
+	 * matched.
+	 *
+	 * <p>
+	 * Example resource template specification: <pre>{@code
+	 * new McpServerFeatures.AsyncResourceTemplateSpecification(
+	 *     new ResourceTemplate("db://{table}/{id}", "record", "A database record", "application/json", null),
+	 *     (exchange, request) -> Mono.fromSupplier(() -> readRecord(
+	 *         request.variables().get("table"), request.variables().get("id")))
+	 * )
+	 * }</pre>
+	 *
+	 * @param resourceTemplate The resource template definition
+	 * @param readHandler The function that handles reads of matching URIs. The function's
+	 * first argument is an {@link McpAsyncServerExchange} upon which the server can
+	 * interact with the connected client. The second argument holds the read request and
+	 * the values of the template variables.
+	 */
+	public record AsyncResourceTemplateSpecification(McpSchema.ResourceTemplate resourceTemplate,
+			BiFunction<McpAsyncServerExchange, ResourceTemplateRequest, Mono<McpSchema.ReadResourceResult>> readHandler) {
+
+		static AsyncResourceTemplateSpecification fromSync(SyncResourceTemplateSpecification resourceTemplate) {
+			if (resourceTemplate == null) {
+				return null;
+			}
+			return new AsyncResourceTemplateSpecification(resourceTemplate.resourceTemplate(),
+					(exchange, req) -> Mono
+						.fromCallable(
+								() -> resourceTemplate.readHandler().apply(new McpSyncServerExchange(exchange), req))
+						.subscribeOn(Schedulers.boundedElastic()));
+		}
+	}
+
+	/**
+	 * A read of a URI that matches a resource template.
+	 *
+	 * @param request The read request
+	 * @param variables The values of the template variables, percent-decoded
+	 */
+	public record ResourceTemplateRequest(McpSchema.ReadResourceRequest request, Map<String, String> variables) {
+
+		/**
+		 * Returns the URI being read.
+		 * @return The URI
+		 */
+		public String uri() {
+			return this.request.uri();
+		}
+	}
+
 	/**
 	 * Specification of a prompt template with its asynchronous handler function. Prompts
 	 * provide structured templates for AI model interactions, supporting:
@@ -359,9 +527,31 @@ public class McpServerFeatures {
 	 * returning results. The function's first argument is an
 	 * {@link McpSyncServerExchange} upon which the server can interact with the connected
 	 * client. The second arguments is a map of arguments passed to the tool.
+	 * @param resultCaching The caching of the results of the tool, or {@code null} if
+	 * every call runs the tool
 	 */
 	public record SyncToolSpecification(McpSchema.Tool tool,
-			BiFunction<McpSyncServerExchange, Map<String, Object>, McpSchema.CallToolResult> call) {
+			BiFunction<McpSyncServerExchange, Map<String, Object>, McpSchema.CallToolResult> call,
+			ToolResultCaching resultCaching) {
+
+		/**
+		 * Creates a specification of a tool whose results are not cached.
+		 * @param tool The tool definition
+		 * @param call The function that implements the tool's logic
+		 */
+		public SyncToolSpecification(McpSchema.Tool tool,
+				BiFunction<McpSyncServerExchange, Map<String, Object>, McpSchema.CallToolResult> call) {
+			this(tool, call, null);
+		}
+
+		/**
+		 * Returns this specification with the results of the tool cached.
+		 * @param resultCaching The caching of the results
+		 * @return A new specification
+		 */
+		public SyncToolSpecification withResultCaching(ToolResultCaching resultCaching) {
+			return new SyncToolSpecification(this.tool, this.call, resultCaching);
+		}
 	}
 
 	/**
@@ -396,6 +586,21 @@ public class McpServerFeatures {
 			BiFunction<McpSyncServerExchange, McpSchema.ReadResourceRequest, McpSchema.ReadResourceResult> readHandler) {
 	}
 
+	/**
+	 * Specification of a resource template with its synchronous read handler. The server
+	 * lists the template and answers reads of any URI that matches it.
+	 *
+	 * @param resourceTemplate The resource template definition
+	 * @param readHandler The function that handles reads of matching URIs. The function's
+	 * first argument is an {@link McpSyncServerExchange} upon which the server can
+	 * interact with the connected client. The second argument holds the read request and
+	 * the values of the template variables.
+	 * @see AsyncResourceTemplateSpecification
+	 */
+	public record SyncResourceTemplateSpecification(McpSchema.ResourceTemplate resourceTemplate,
+			BiFunction<McpSyncServerExchange, ResourceTemplateRequest, McpSchema.ReadResourceResult> readHandler) {
+	}
+
 	/**
 	 * Specification of a prompt template with its synchronous handler function. Prompts
 	 * provide structured templates for AI model interactions, supporting:
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+
+import io.modelcontextprotocol.spec.LoggingLimits;
+import io.modelcontextprotocol.spec.RequestLimits;
+import io.modelcontextprotocol.spec.RequestTimeouts;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * The tuning settings of an MCP server and of the sessions it opens, as set on the
+ * {@link McpServer} builders.
+ *
+ * @param requestTimeouts The timeouts of requests sent to clients, by method
+ * @param progressInterval The minimum interval between progress notifications for a
+ * request
+ * @param requestLimits The limits of requests handled concurrently for each client
+ * @param listChangedDebounce The window within which changes of a list are notified to
+ * clients as one
+ * @param pageSize The number of items of a page of a list result
+ * @param loggingLimits The limits of log messages sent to each client
+ */
+public record McpServerSettings(RequestTimeouts requestTimeouts, Duration progressInterval, RequestLimits requestLimits,
+		Duration listChangedDebounce, int pageSize, LoggingLimits loggingLimits) {
+
+	/**
+	 * The settings of a server whose builder sets none: requests to clients time out
+	 * after 10 seconds, progress is notified up to 10 times per second, lists are
+	 * returned whole and notified right away when they change, and neither requests nor
+	 * log messages are limited.
+	 */
+	public static final McpServerSettings DEFAULT = new McpServerSettings(RequestTimeouts.of(Duration.ofSeconds(10)),
+			Duration.ofMillis(100), RequestLimits.UNLIMITED, Duration.ZERO, Integer.MAX_VALUE, LoggingLimits.UNLIMITED);
+
+	public McpServerSettings {
+		Assert.notNull(requestTimeouts, "The request timeouts can not be null");
+		Assert.notNull(progressInterval, "The progress interval can not be null");
+		Assert.notNull(requestLimits, "The request limits can not be null");
+		Assert.notNull(listChangedDebounce, "The list changed debounce can not be null");
+		Assert.isTrue(!listChangedDebounce.isNegative(), "The list changed debounce must not be negative");
+		Assert.isTrue(pageSize > 0, "The page size must be positive");
+		Assert.notNull(loggingLimits, "The logging limits can not be null");
+	}
+
+	/**
+	 * Returns these settings with other request timeouts.
+	 * @param requestTimeouts The timeouts of requests sent to clients
+	 * @return The new settings
+	 */
+	public McpServerSettings withRequestTimeouts(RequestTimeouts requestTimeouts) {
+		return new McpServerSettings(requestTimeouts, this.progressInterval, this.requestLimits,
+				this.listChangedDebounce, this.pageSize, this.loggingLimits);
+	}
+
+	/**
+	 * Returns these settings with another progress interval.
+	 * @param progressInterval The minimum interval between progress notifications
+	 * @return The new settings
+	 */
+	public McpServerSettings withProgressInterval(Duration progressInterval) {
+		return new McpServerSettings(this.requestTimeouts, progressInterval, this.requestLimits,
+				this.listChangedDebounce, this.pageSize, this.loggingLimits);
+	}
+
+	/**
+	 * Returns these settings with other request limits.
+	 * @param requestLimits The limits of requests handled concurrently for each client
+	 * @return The new settings
+	 */
+	public McpServerSettings withRequestLimits(RequestLimits requestLimits) {
+		return new McpServerSettings(this.requestTimeouts, this.progressInterval, requestLimits,
+				this.listChangedDebounce, this.pageSize, this.loggingLimits);
+	}
+
+	/**
+	 * Returns these settings with another list changed debounce window.
+	 * @param listChangedDebounce The debounce window
+	 * @return The new settings
+	 */
+	public McpServerSettings withListChangedDebounce(Duration listChangedDebounce) {
+		return new McpServerSettings(this.requestTimeouts, this.progressInterval, this.requestLimits,
+				listChangedDebounce, this.pageSize, this.loggingLimits);
+	}
+
+	/**
+	 * Returns these settings with another page size.
+	 * @param pageSize The number of items of a page of a list result
+	 * @return The new settings
+	 */
+	public McpServerSettings withPageSize(int pageSize) {
+		return new McpServerSettings(this.requestTimeouts, this.progressInterval, this.requestLimits,
+				this.listChangedDebounce, pageSize, this.loggingLimits);
+	}
+
+	/**
+	 * Returns these settings with other logging limits.
+	 * @param loggingLimits The limits of log messages sent to each client
+	 * @return The new settings
+	 */
+	public McpServerSettings withLoggingLimits(LoggingLimits loggingLimits) {
+		return new McpServerSettings(this.requestTimeouts, this.progressInterval, this.requestLimits,
+				this.listChangedDebounce, this.pageSize, loggingLimits);
+	}
+
+}
@@ -4,6 +4,8 @@
 
 package io.modelcontextprotocol.server;
 
+import java.util.function.Consumer;
+
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.ClientCapabilities;
@@ -65,6 +67,17 @@ public class McpSyncServer {
 		this.asyncServer = asyncServer;
 	}
 
+	/**
+	 * Apply a set of changes to the tools, resources and prompts. The changes are applied
+	 * together, or not at all if any of them is invalid, and clients are notified once
+	 * for each list that changed.
+	 * @param changes A callback adding the changes to an update
+	 * @see McpAsyncServer#updateCatalog(Consumer)
+	 */
+	public void updateCatalog(Consumer<CatalogUpdate> changes) {
+		this.asyncServer.updateCatalog(changes).block();
+	}
+
 	/**
 	 * Add a new tool handler.
 	 * @param toolHandler The tool handler to add
@@ -81,6 +94,18 @@ public class McpSyncServer {
 		this.asyncServer.removeTool(toolName).block();
 	}
 
+	/**
+	 * Returns the cache of the results of a tool, for monitoring or to invalidate it when
+	 * the data the tool reads has changed.
+	 * @param toolName The name of the tool
+	 * @return The cache, or {@code null} if the tool does not exist or its results are
+	 * not cached
+	 * @see McpServerFeatures.ToolResultCaching
+	 */
+	public ToolResultCache getToolResultCache(String toolName) {
+		return this.asyncServer.getToolResultCache(toolName);
+	}
+
 	/**
 	 * Add a new resource handler.
 	 * @param resourceHandler The resource handler to add
@@ -143,6 +168,14 @@ public class McpSyncServer {
 		this.asyncServer.notifyResourcesListChanged().block();
 	}
 
+	/**
+	 * Notify the clients subscribed to a resource that it has been updated.
+	 * @param uri The URI of the updated resource
+	 */
+	public void notifyResourceUpdated(String uri) {
+		this.asyncServer.notifyResourceUpdated(uri).block();
+	}
+
 	/**
 	 * Notify clients that the list of available prompts has changed.
 	 */
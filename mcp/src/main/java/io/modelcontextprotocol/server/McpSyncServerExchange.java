@@ -1,5 +1,7 @@
 package io.modelcontextprotocol.server;
 
+import java.time.Duration;
+
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.spec.McpSchema;
 
@@ -58,6 +60,21 @@ public class McpSyncServerExchange {
 		return this.exchange.createMessage(createMessageRequest).block();
 	}
 
+	/**
+	 * Create a new message using the sampling capabilities of the client, waiting at most
+	 * the given time for the result instead of the timeout configured for sampling
+	 * requests.
+	 * @param createMessageRequest The request to create a new message
+	 * @param timeout The duration to wait for the result, or {@code null} to wait
+	 * indefinitely
+	 * @return A result containing the details of the sampling response
+	 * @see #createMessage(McpSchema.CreateMessageRequest)
+	 */
+	public McpSchema.CreateMessageResult createMessage(McpSchema.CreateMessageRequest createMessageRequest,
+			Duration timeout) {
+		return this.exchange.createMessage(createMessageRequest, timeout).block();
+	}
+
 	/**
 	 * Retrieves the list of all roots provided by the client.
 	 * @return The list of roots result.
@@ -75,4 +92,35 @@ public class McpSyncServerExchange {
 		return this.exchange.listRoots(cursor).block();
 	}
 
+	/**
+	 * Retrieves a paginated list of roots provided by the client, waiting at most the
+	 * given time for the result instead of the timeout configured for roots requests.
+	 * @param cursor Optional pagination cursor from a previous list request
+	 * @param timeout The duration to wait for the result, or {@code null} to wait
+	 * indefinitely
+	 * @return The list of roots result
+	 */
+	public McpSchema.ListRootsResult listRoots(String cursor, Duration timeout) {
+		return this.exchange.listRoots(cursor, timeout).block();
+	}
+
+	/**
+	 * Returns the token the client sent with the request being handled, to receive
+	 * progress notifications for it.
+	 * @return The progress token, or {@code null} if the client did not ask for progress
+	 */
+	public Object getProgressToken() {
+		return this.exchange.getProgressToken();
+	}
+
+	/**
+	 * Reports the progress of the request being handled to the client. Reports are
+	 * coalesced and never block. Does nothing if the client did not ask for progress.
+	 * @param progress The progress so far, which should increase with each report
+	 * @param total The total progress, or {@code null} if unknown
+	 */
+	public void progress(double progress, Double total) {
+		this.exchange.progress(progress, total).block();
+	}
+
 }
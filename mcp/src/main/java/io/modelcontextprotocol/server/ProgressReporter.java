@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Sends the progress of a request to the client, against the progress token the client
+ * sent with the request.
+ * <p>
+ * Progress is coalesced: at most one notification is sent per interval, carrying the
+ * latest progress reported. Progress reported within an interval after a notification is
+ * sent once the interval ends, so a handler can report as often as it likes without
+ * flooding the transport, and the client still sees the final value. Instances are
+ * thread-safe.
+ */
+final class ProgressReporter {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProgressReporter.class);
+
+	private final McpServerSession session;
+
+	private final Object progressToken;
+
+	private final long intervalNanos;
+
+	private final Scheduler scheduler;
+
+	private double progress;
+
+	private Double total;
+
+	private boolean pending;
+
+	private boolean sent;
+
+	private long lastSentNanos;
+
+	private Disposable scheduledFlush;
+
+	private boolean closed;
+
+	ProgressReporter(McpServerSession session, Object progressToken, Duration interval) {
+		this(session, progressToken, interval, Schedulers.parallel());
+	}
+
+	ProgressReporter(McpServerSession session, Object progressToken, Duration interval, Scheduler scheduler) {
+		this.session = session;
+		this.progressToken = progressToken;
+		this.intervalNanos = interval.toNanos();
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Returns the progress token of the request.
+	 * @return The progress token
+	 */
+	Object progressToken() {
+		return this.progressToken;
+	}
+
+	/**
+	 * Reports the progress of the request. The notification is sent right away if none
+	 * was sent within the interval, and at the end of the interval otherwise.
+	 * @param progress The progress so far, which should increase with each report
+	 * @param total The total progress, or {@code null} if unknown
+	 */
+	void report(double progress, Double total) {
+		synchronized (this) {
+			if (this.closed) {
+				return;
+			}
+			this.progress = progress;
+			this.total = total;
+			this.pending = true;
+			long wait = this.sent ? this.lastSentNanos + this.intervalNanos - System.nanoTime() : 0;
+			if (wait > 0) {
+				if (this.scheduledFlush == null) {
+					this.scheduledFlush = this.scheduler.schedule(this::scheduledFlush, wait, TimeUnit.NANOSECONDS);
+				}
+				return;
+			}
+		}
+		takePending().subscribe(null,
+				error -> logger.debug("Failed to send progress for {}: {}", this.progressToken, error.getMessage()));
+	}
+
+	/**
+	 * Sends the latest progress if it was not sent yet, without waiting for the end of
+	 * the interval. Called before the response to the request is sent.
+	 * @return A Mono that completes once the notification is sent
+	 */
+	Mono<Void> flush() {
+		return Mono.defer(this::takePending);
+	}
+
+	/**
+	 * Stops sending progress, once the request is answered.
+	 */
+	synchronized void close() {
+		this.closed = true;
+		if (this.scheduledFlush != null) {
+			this.scheduledFlush.dispose();
+			this.scheduledFlush = null;
+		}
+	}
+
+	private void scheduledFlush() {
+		synchronized (this) {
+			this.scheduledFlush = null;
+			if (this.closed) {
+				return;
+			}
+		}
+		takePending().subscribe(null,
+				error -> logger.debug("Failed to send progress for {}: {}", this.progressToken, error.getMessage()));
+	}
+
+	private Mono<Void> takePending() {
+		Map<String, Object> params;
+		synchronized (this) {
+			if (!this.pending) {
+				return Mono.empty();
+			}
+			if (this.scheduledFlush != null) {
+				this.scheduledFlush.dispose();
+				this.scheduledFlush = null;
+			}
+			this.pending = false;
+			this.sent = true;
+			this.lastSentNanos = System.nanoTime();
+			params = new HashMap<>(4);
+			params.put("progressToken", this.progressToken);
+			params.put("progress", this.progress);
+			if (this.total != null) {
+				params.put("total", this.total);
+			}
+		}
+		return this.session.sendNotification(McpSchema.METHOD_NOTIFICATION_PROGRESS, params);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.modelcontextprotocol.spec.McpServerSession;
+
+/**
+ * Indexes the sessions subscribed to each resource URI, so that a resource update is only
+ * sent to the sessions that asked for it.
+ * <p>
+ * Each session also keeps the URIs it subscribed to, and is removed from the index when
+ * it closes, so closed sessions do not accumulate in the index.
+ */
+final class ResourceSubscriptions {
+
+	private final ConcurrentHashMap<String, Set<McpServerSession>> subscribers = new ConcurrentHashMap<>();
+
+	private final ConcurrentHashMap<McpServerSession, Set<String>> subscriptions = new ConcurrentHashMap<>();
+
+	/**
+	 * Subscribes a session to a resource.
+	 * @param session The session
+	 * @param uri The URI of the resource
+	 * @return {@code true} if the session was not subscribed to the resource yet
+	 */
+	boolean subscribe(McpServerSession session, String uri) {
+		boolean[] first = new boolean[1];
+		Set<String> uris = this.subscriptions.computeIfAbsent(session, key -> {
+			first[0] = true;
+			return ConcurrentHashMap.newKeySet();
+		});
+		boolean added = uris.add(uri);
+		if (added) {
+			this.subscribers.compute(uri, (key, sessions) -> {
+				Set<McpServerSession> updated = (sessions != null) ? sessions : ConcurrentHashMap.newKeySet();
+				updated.add(session);
+				return updated;
+			});
+			if (this.subscriptions.get(session) != uris) {
+				// The session closed and its subscriptions were removed while this one
+				// was added, so the removal may have missed it
+				removeSubscriber(uri, session);
+				return false;
+			}
+		}
+		if (first[0]) {
+			// Completes right away if the session is already closed
+			session.onClose().subscribe(null, error -> remove(session), () -> remove(session));
+		}
+		return added;
+	}
+
+	/**
+	 * Unsubscribes a session from a resource.
+	 * @param session The session
+	 * @param uri The URI of the resource
+	 * @return {@code true} if the session was subscribed to the resource
+	 */
+	boolean unsubscribe(McpServerSession session, String uri) {
+		Set<String> uris = this.subscriptions.get(session);
+		if (uris == null || !uris.remove(uri)) {
+			return false;
+		}
+		removeSubscriber(uri, session);
+		return true;
+	}
+
+	/**
+	 * Returns the sessions subscribed to a resource.
+	 * @param uri The URI of the resource
+	 * @return The subscribed sessions, which may be empty
+	 */
+	Set<McpServerSession> subscribers(String uri) {
+		Set<McpServerSession> sessions = this.subscribers.get(uri);
+		return (sessions != null) ? sessions : Set.of();
+	}
+
+	/**
+	 * Returns the number of resources with at least one subscriber.
+	 * @return The number of subscribed resources
+	 */
+	int size() {
+		return this.subscribers.size();
+	}
+
+	/**
+	 * Removes all the subscriptions of a session.
+	 * @param session The session
+	 */
+	void remove(McpServerSession session) {
+		Set<String> uris = this.subscriptions.remove(session);
+		if (uris != null) {
+			uris.forEach(uri -> removeSubscriber(uri, session));
+		}
+	}
+
+	private void removeSubscriber(String uri, McpServerSession session) {
+		this.subscribers.computeIfPresent(uri, (key, sessions) -> {
+			sessions.remove(session);
+			return sessions.isEmpty() ? null : sessions;
+		});
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The tools of a server, indexed by name.
+ * <p>
+ * Calls look tools up in a concurrent map, without locking and in constant time whatever
+ * the number of tools. Listing returns an immutable snapshot in registration order, which
+ * is built on the first listing after a change, so adding or removing tools costs
+ * constant time as well, and a bulk change copies the tools at most once.
+ */
+final class ToolRegistry {
+
+	private final ConcurrentHashMap<String, McpServerFeatures.AsyncToolSpecification> index = new ConcurrentHashMap<>();
+
+	/**
+	 * The tools in registration order, guarded by this registry.
+	 */
+	private final LinkedHashMap<String, McpServerFeatures.AsyncToolSpecification> ordered = new LinkedHashMap<>();
+
+	/**
+	 * The tools in registration order, or {@code null} after a change.
+	 */
+	private volatile List<McpServerFeatures.AsyncToolSpecification> snapshot = List.of();
+
+	/**
+	 * Returns the tool with the given name.
+	 * @param name The name of the tool
+	 * @return The tool specification, or {@code null} if there is no such tool
+	 */
+	McpServerFeatures.AsyncToolSpecification get(String name) {
+		return this.index.get(name);
+	}
+
+	/**
+	 * Returns whether a tool with the given name is registered.
+	 * @param name The name of the tool
+	 * @return {@code true} if the tool is registered
+	 */
+	boolean contains(String name) {
+		return this.index.containsKey(name);
+	}
+
+	/**
+	 * Registers a tool, replacing any tool with the same name.
+	 * @param toolSpecification The tool specification
+	 */
+	synchronized void put(McpServerFeatures.AsyncToolSpecification toolSpecification) {
+		String name = toolSpecification.tool().name();
+		this.ordered.put(name, toolSpecification);
+		this.index.put(name, toolSpecification);
+		this.snapshot = null;
+	}
+
+	/**
+	 * Removes a tool.
+	 * @param name The name of the tool
+	 * @return {@code true} if the tool was registered
+	 */
+	synchronized boolean remove(String name) {
+		if (this.ordered.remove(name) == null) {
+			return false;
+		}
+		this.index.remove(name);
+		this.snapshot = null;
+		return true;
+	}
+
+	/**
+	 * Returns the tools in registration order.
+	 * @return An immutable snapshot of the tools
+	 */
+	List<McpServerFeatures.AsyncToolSpecification> list() {
+		List<McpServerFeatures.AsyncToolSpecification> current = this.snapshot;
+		if (current != null) {
+			return current;
+		}
+		synchronized (this) {
+			if (this.snapshot == null) {
+				this.snapshot = List.copyOf(this.ordered.values());
+			}
+			return this.snapshot;
+		}
+	}
+
+	/**
+	 * Returns the number of tools.
+	 * @return The number of tools
+	 */
+	int size() {
+		return this.index.size();
+	}
+
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * The cached results of a tool, kept as its {@link McpServerFeatures.ToolResultCaching}
+ * specifies.
+ * <p>
+ * Results are keyed on the canonical JSON form of the arguments, with the keys of objects
+ * sorted, so calls that only differ in the order of their keys share a result. The first
+ * call with some arguments runs the tool, and the calls with the same arguments that
+ * arrive while it runs wait for its result instead of running the tool again. If the
+ * first call is cancelled, the waiting calls run the tool themselves. Results are kept in
+ * least recently used order; an expired result is dropped when it is next looked up or
+ * when a result is added and it is among the least recently used, and the least recently
+ * used results are evicted when the total weight exceeds the maximum.
+ * <p>
+ * Results are not cached when they have {@code isError} set or when their content streams
+ * from a {@link io.modelcontextprotocol.spec.BlobSource} that can only be read once,
+ * since a cached result is written to every call it answers.
+ * <p>
+ * The hit, miss and eviction counts are exposed for monitoring. Instances are
+ * thread-safe.
+ */
+public final class ToolResultCache {
+
+	private final McpServerFeatures.ToolResultCaching caching;
+
+	private final long ttlNanos;
+
+	private final LongSupplier nanoTime;
+
+	/**
+	 * The entries in least recently used order, guarded by this cache.
+	 */
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The total weight of the loaded entries, guarded by this cache.
+	 */
+	private long weight;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	ToolResultCache(McpServerFeatures.ToolResultCaching caching) {
+		this(caching, System::nanoTime);
+	}
+
+	ToolResultCache(McpServerFeatures.ToolResultCaching caching, LongSupplier nanoTime) {
+		this.caching = caching;
+		this.ttlNanos = caching.ttl().toNanos();
+		this.nanoTime = nanoTime;
+	}
+
+	/**
+	 * Returns the result of a call, from the cache or by running the tool.
+	 * @param arguments The arguments of the call
+	 * @param call Runs the tool, on a miss
+	 * @return The result
+	 */
+	Mono<McpSchema.CallToolResult> get(Map<String, Object> arguments, Supplier<Mono<McpSchema.CallToolResult>> call) {
+		return Mono.defer(() -> {
+			String key = key(arguments);
+			Entry entry;
+			boolean loading = false;
+			synchronized (this) {
+				entry = this.entries.get(key);
+				if (entry != null && entry.loaded && this.nanoTime.getAsLong() - entry.expiresAt >= 0) {
+					remove(key, entry);
+					this.evictions.increment();
+					entry = null;
+				}
+				if (entry == null) {
+					entry = new Entry();
+					this.entries.put(key, entry);
+					loading = true;
+				}
+			}
+			if (!loading) {
+				// Empty if the call that runs the tool is cancelled, in which case this
+				// call runs it and counts as a miss instead
+				return entry.result.asMono()
+					.doOnNext(result -> this.hits.increment())
+					.switchIfEmpty(Mono.defer(() -> get(arguments, call)));
+			}
+			this.misses.increment();
+			Entry loadingEntry = entry;
+			return call.get()
+				.doOnSuccess(result -> loaded(key, loadingEntry, result))
+				.doOnError(error -> failed(key, loadingEntry, error))
+				.doOnCancel(() -> abandoned(key, loadingEntry));
+		});
+	}
+
+	private void loaded(String key, Entry entry, McpSchema.CallToolResult result) {
+		if (result == null) {
+			abandoned(key, entry);
+			return;
+		}
+		boolean cacheable = !Boolean.TRUE.equals(result.isError()) && isRepeatable(result);
+		long resultWeight = cacheable ? Math.max(0, this.caching.weigher().applyAsLong(result)) : 0;
+		synchronized (this) {
+			if (this.entries.get(key) == entry) {
+				if (cacheable && resultWeight <= this.caching.maxWeight()) {
+					entry.loaded = true;
+					entry.weight = resultWeight;
+					entry.expiresAt = this.nanoTime.getAsLong() + this.ttlNanos;
+					this.weight += resultWeight;
+					evict();
+				}
+				else {
+					this.entries.remove(key);
+				}
+			}
+		}
+		entry.result.tryEmitValue(result);
+	}
+
+	private void failed(String key, Entry entry, Throwable error) {
+		forget(key, entry);
+		entry.result.tryEmitError(error);
+	}
+
+	private void abandoned(String key, Entry entry) {
+		forget(key, entry);
+		entry.result.tryEmitEmpty();
+	}
+
+	/**
+	 * Removes an entry that is still loading, unless it was replaced or invalidated.
+	 */
+	private synchronized void forget(String key, Entry entry) {
+		if (this.entries.get(key) == entry) {
+			this.entries.remove(key);
+		}
+	}
+
+	/**
+	 * Returns whether a result can be written more than once, which is not the case when
+	 * its content streams from a source that can only be read once.
+	 */
+	private static boolean isRepeatable(McpSchema.CallToolResult result) {
+		if (result.content() == null) {
+			return true;
+		}
+		for (McpSchema.Content content : result.content()) {
+			if (content instanceof McpSchema.StreamingImageContent image && !image.data().isRepeatable()) {
+				return false;
+			}
+			if (content instanceof McpSchema.EmbeddedResource embedded
+					&& embedded.resource() instanceof McpSchema.StreamingBlobResourceContents blob
+					&& !blob.blob().isRepeatable()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Evicts the least recently used results while the total weight exceeds the maximum,
+	 * and the expired results up to the least recently used one that has not expired.
+	 * Must be called while holding the lock.
+	 */
+	private void evict() {
+		long now = this.nanoTime.getAsLong();
+		Iterator<Entry> iterator = this.entries.values().iterator();
+		while (iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (!entry.loaded) {
+				continue;
+			}
+			if (this.weight <= this.caching.maxWeight() && now - entry.expiresAt < 0) {
+				break;
+			}
+			iterator.remove();
+			this.weight -= entry.weight;
+			this.evictions.increment();
+		}
+	}
+
+	/**
+	 * Removes an entry. Must be called while holding the lock.
+	 */
+	private void remove(String key, Entry entry) {
+		this.entries.remove(key);
+		this.weight -= entry.weight;
+	}
+
+	/**
+	 * Drops all the cached results, such as when the data the tool reads has changed.
+	 * Calls that are running complete, but their results are not cached.
+	 */
+	public synchronized void invalidateAll() {
+		this.entries.clear();
+		this.weight = 0;
+	}
+
+	/**
+	 * Returns the number of calls answered from the cache, including the calls that
+	 * waited for a running call with the same arguments and received its result.
+	 * @return The number of hits
+	 */
+	public long hits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Returns the number of calls that ran the tool.
+	 * @return The number of misses
+	 */
+	public long misses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Returns the number of results dropped because they expired or to keep the total
+	 * weight under the maximum.
+	 * @return The number of evictions
+	 */
+	public long evictions() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * Returns the number of results cached or being computed.
+	 * @return The number of entries
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Returns the total weight of the cached results.
+	 * @return The weight
+	 */
+	public synchronized long weight() {
+		return this.weight;
+	}
+
+	/**
+	 * Returns the canonical JSON form of a value: objects with their keys sorted, so that
+	 * equal JSON values have equal keys.
+	 */
+	static String key(Object value) {
+		StringBuilder key = new StringBuilder();
+		append(key, value);
+		return key.toString();
+	}
+
+	private static void append(StringBuilder key, Object value) {
+		if (value instanceof Map<?, ?> map) {
+			TreeMap<String, Object> sorted = new TreeMap<>();
+			map.forEach((name, item) -> sorted.put(String.valueOf(name), item));
+			key.append('{');
+			boolean first = true;
+			for (Map.Entry<String, Object> item : sorted.entrySet()) {
+				if (!first) {
+					key.append(',');
+				}
+				first = false;
+				appendString(key, item.getKey());
+				key.append(':');
+				append(key, item.getValue());
+			}
+			key.append('}');
+		}
+		else if (value instanceof Collection<?> collection) {
+			key.append('[');
+			boolean first = true;
+			for (Object item : collection) {
+				if (!first) {
+					key.append(',');
+				}
+				first = false;
+				append(key, item);
+			}
+			key.append(']');
+		}
+		else if (value == null || value instanceof Number || value instanceof Boolean) {
+			key.append(value);
+		}
+		else {
+			appendString(key, value.toString());
+		}
+	}
+
+	private static void appendString(StringBuilder key, String value) {
+		key.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				key.append('\\');
+			}
+			key.append(c);
+		}
+		key.append('"');
+	}
+
+	private static final class Entry {
+
+		private final Sinks.One<McpSchema.CallToolResult> result = Sinks.one();
+
+		/**
+		 * Whether the result is cached, guarded by the cache.
+		 */
+		private boolean loaded;
+
+		private long weight;
+
+		private long expiresAt;
+
+	}
+
+}
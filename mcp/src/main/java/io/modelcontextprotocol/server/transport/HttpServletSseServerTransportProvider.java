@@ -3,9 +3,10 @@
  */
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,11 +14,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.PreEncodedMessage;
 import io.modelcontextprotocol.util.Assert;
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletException;
@@ -29,6 +33,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * A Servlet-based implementation of the MCP HTTP with Server-Sent Events (SSE) transport
@@ -80,8 +85,18 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	/** Event type for endpoint information */
 	public static final String ENDPOINT_EVENT_TYPE = "endpoint";
 
-	/** JSON object mapper for serialization/deserialization */
-	private final ObjectMapper objectMapper;
+	/** Bytes preceding the JSON payload of a message event */
+	private static final byte[] MESSAGE_EVENT_PREFIX = ("event: " + MESSAGE_EVENT_TYPE + "\ndata: ")
+		.getBytes(StandardCharsets.UTF_8);
+
+	/** Bytes terminating an SSE event */
+	private static final byte[] EVENT_DELIMITER = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+	/** Maximum number of sessions a broadcast writes to at the same time */
+	private static final int BROADCAST_CONCURRENCY = 64;
+
+	/** Codec for message serialization/deserialization */
+	private final McpJsonCodec jsonCodec;
 
 	/** The endpoint path for handling client messages */
 	private final String messageEndpoint;
@@ -108,7 +123,19 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	 */
 	public HttpServletSseServerTransportProvider(ObjectMapper objectMapper, String messageEndpoint,
 			String sseEndpoint) {
-		this.objectMapper = objectMapper;
+		this(new JacksonMcpJsonCodec(objectMapper), messageEndpoint, sseEndpoint);
+	}
+
+	/**
+	 * Creates a new HttpServletSseServerTransportProvider instance with a custom codec
+	 * and SSE endpoint.
+	 * @param jsonCodec The codec to use for message serialization/deserialization
+	 * @param messageEndpoint The endpoint path where clients will send their messages
+	 * @param sseEndpoint The endpoint path where clients will establish SSE connections
+	 */
+	public HttpServletSseServerTransportProvider(McpJsonCodec jsonCodec, String messageEndpoint, String sseEndpoint) {
+		Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
+		this.jsonCodec = jsonCodec;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
 	}
@@ -135,6 +162,11 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 	/**
 	 * Broadcasts a notification to all connected clients.
+	 * <p>
+	 * The notification is encoded once and the same frame is written to every session.
+	 * Writes block on the connection of each client, so they run on the bounded elastic
+	 * scheduler with at most {@value #BROADCAST_CONCURRENCY} sessions at a time, and a
+	 * slow client only holds up its own write.
 	 * @param method The method name for the notification
 	 * @param params The parameters for the notification
 	 * @return A Mono that completes when the broadcast attempt is finished
@@ -148,11 +180,14 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
 
+		PreEncodedMessage notification = PreEncodedMessage
+			.of(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, params));
 		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
+			.flatMap(session -> session.sendNotification(notification)
+				.subscribeOn(Schedulers.boundedElastic())
 				.doOnError(
 						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
+				.onErrorComplete(), BROADCAST_CONCURRENCY)
 			.then();
 	}
 
@@ -192,18 +227,18 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		AsyncContext asyncContext = request.startAsync();
 		asyncContext.setTimeout(0);
 
-		PrintWriter writer = response.getWriter();
+		OutputStream outputStream = response.getOutputStream();
 
 		// Create a new session transport
 		HttpServletMcpSessionTransport sessionTransport = new HttpServletMcpSessionTransport(sessionId, asyncContext,
-				writer);
+				outputStream);
 
 		// Create a new session using the session factory
 		McpServerSession session = sessionFactory.create(sessionTransport);
 		this.sessions.put(sessionId, session);
 
 		// Send initial endpoint event
-		this.sendEvent(writer, ENDPOINT_EVENT_TYPE, messageEndpoint + "?sessionId=" + sessionId);
+		this.sendEvent(outputStream, ENDPOINT_EVENT_TYPE, messageEndpoint + "?sessionId=" + sessionId);
 	}
 
 	/**
@@ -238,7 +273,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			response.setContentType(APPLICATION_JSON);
 			response.setCharacterEncoding(UTF_8);
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-			String jsonError = objectMapper.writeValueAsString(new McpError("Session ID missing in message endpoint"));
+			String jsonError = jsonCodec.encodeToString(new McpError("Session ID missing in message endpoint"));
 			PrintWriter writer = response.getWriter();
 			writer.write(jsonError);
 			writer.flush();
@@ -251,7 +286,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			response.setContentType(APPLICATION_JSON);
 			response.setCharacterEncoding(UTF_8);
 			response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-			String jsonError = objectMapper.writeValueAsString(new McpError("Session not found: " + sessionId));
+			String jsonError = jsonCodec.encodeToString(new McpError("Session not found: " + sessionId));
 			PrintWriter writer = response.getWriter();
 			writer.write(jsonError);
 			writer.flush();
@@ -259,14 +294,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		}
 
 		try {
-			BufferedReader reader = request.getReader();
-			StringBuilder body = new StringBuilder();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				body.append(line);
-			}
-
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, body.toString());
+			McpSchema.JSONRPCMessage message = jsonCodec.decode(request.getInputStream());
 
 			// Process the message through the session's handle method
 			session.handle(message).block(); // Block for Servlet compatibility
@@ -280,7 +308,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 				response.setContentType(APPLICATION_JSON);
 				response.setCharacterEncoding(UTF_8);
 				response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-				String jsonError = objectMapper.writeValueAsString(mcpError);
+				String jsonError = jsonCodec.encodeToString(mcpError);
 				PrintWriter writer = response.getWriter();
 				writer.write(jsonError);
 				writer.flush();
@@ -307,20 +335,62 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		return Flux.fromIterable(sessions.values()).flatMap(McpServerSession::closeGracefully).then();
 	}
 
+	/**
+	 * Removes the session of a client that disconnected.
+	 * @param sessionId The ID of the session
+	 */
+	private void removeSession(String sessionId) {
+		McpServerSession session = this.sessions.remove(sessionId);
+		if (session != null) {
+			session.disconnected();
+		}
+	}
+
 	/**
 	 * Sends an SSE event to a client.
-	 * @param writer The writer to send the event through
+	 * @param outputStream The stream to send the event through
 	 * @param eventType The type of event (message or endpoint)
 	 * @param data The event data
 	 * @throws IOException If an error occurs while writing the event
 	 */
-	private void sendEvent(PrintWriter writer, String eventType, String data) throws IOException {
-		writer.write("event: " + eventType + "\n");
-		writer.write("data: " + data + "\n\n");
-		writer.flush();
+	private void sendEvent(OutputStream outputStream, String eventType, String data) throws IOException {
+		byte[] event = ("event: " + eventType + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+		synchronized (outputStream) {
+			outputStream.write(event);
+			outputStream.flush();
+		}
+	}
+
+	/**
+	 * Sends a JSON-RPC message as an SSE message event. The message is encoded directly
+	 * into the response stream on a single {@code data:} line.
+	 * @param outputStream The stream to send the event through
+	 * @param message The message to send
+	 * @throws IOException If an error occurs while writing the event, for example because
+	 * the client disconnected
+	 */
+	private void sendMessageEvent(OutputStream outputStream, McpSchema.JSONRPCMessage message) throws IOException {
+		synchronized (outputStream) {
+			outputStream.write(MESSAGE_EVENT_PREFIX);
+			this.jsonCodec.encode(message, outputStream);
+			outputStream.write(EVENT_DELIMITER);
+			outputStream.flush();
+		}
+	}
 
-		if (writer.checkError()) {
-			throw new IOException("Client disconnected");
+	/**
+	 * Sends a pre-encoded JSON-RPC message as an SSE message event.
+	 * @param outputStream The stream to send the event through
+	 * @param message The message to send
+	 * @throws IOException If an error occurs while writing the event, for example because
+	 * the client disconnected
+	 */
+	private void sendMessageEvent(OutputStream outputStream, PreEncodedMessage message) throws IOException {
+		synchronized (outputStream) {
+			outputStream.write(MESSAGE_EVENT_PREFIX);
+			message.writeTo(this.jsonCodec, outputStream);
+			outputStream.write(EVENT_DELIMITER);
+			outputStream.flush();
 		}
 	}
 
@@ -346,19 +416,19 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		private final AsyncContext asyncContext;
 
-		private final PrintWriter writer;
+		private final OutputStream outputStream;
 
 		/**
-		 * Creates a new session transport with the specified ID and SSE writer.
+		 * Creates a new session transport with the specified ID and SSE output stream.
 		 * @param sessionId The unique identifier for this session
 		 * @param asyncContext The async context for the session
-		 * @param writer The writer for sending server events to the client
+		 * @param outputStream The stream for sending server events to the client
 		 */
-		HttpServletMcpSessionTransport(String sessionId, AsyncContext asyncContext, PrintWriter writer) {
+		HttpServletMcpSessionTransport(String sessionId, AsyncContext asyncContext, OutputStream outputStream) {
 			this.sessionId = sessionId;
 			this.asyncContext = asyncContext;
-			this.writer = writer;
-			logger.debug("Session transport {} initialized with SSE writer", sessionId);
+			this.outputStream = outputStream;
+			logger.debug("Session transport {} initialized with SSE output stream", sessionId);
 		}
 
 		/**
@@ -368,22 +438,35 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		 */
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return send(() -> sendMessageEvent(outputStream, message));
+		}
+
+		/**
+		 * Sends a message broadcast to many sessions, writing its shared encoded frame.
+		 * @param message The pre-encoded message to send
+		 * @return A Mono that completes when the message has been sent
+		 */
+		@Override
+		public Mono<Void> sendMessage(PreEncodedMessage message) {
+			return send(() -> sendMessageEvent(outputStream, message));
+		}
+
+		private Mono<Void> send(EventWriter writer) {
 			return Mono.fromRunnable(() -> {
 				try {
-					String jsonText = objectMapper.writeValueAsString(message);
-					sendEvent(writer, MESSAGE_EVENT_TYPE, jsonText);
+					writer.write();
 					logger.debug("Message sent to session {}", sessionId);
 				}
 				catch (Exception e) {
 					logger.error("Failed to send message to session {}: {}", sessionId, e.getMessage());
-					sessions.remove(sessionId);
+					removeSession(sessionId);
 					asyncContext.complete();
 				}
 			});
 		}
 
 		/**
-		 * Converts data from one type to another using the configured ObjectMapper.
+		 * Converts data from one type to another using the configured codec.
 		 * @param data The source data object to convert
 		 * @param typeRef The target type reference
 		 * @return The converted object of type T
@@ -391,7 +474,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		 */
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonCodec.convertValue(data, typeRef);
 		}
 
 		/**
@@ -430,6 +513,16 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 	}
 
+	/**
+	 * Writes an event to the SSE stream of a session.
+	 */
+	@FunctionalInterface
+	private interface EventWriter {
+
+		void write() throws IOException;
+
+	}
+
 	/**
 	 * Creates a new Builder instance for configuring and creating instances of
 	 * HttpServletSseServerTransportProvider.
@@ -453,6 +546,10 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		private String sseEndpoint = DEFAULT_SSE_ENDPOINT;
 
+		private boolean deferPayloadBinding = false;
+
+		private McpJsonCodec jsonCodec;
+
 		/**
 		 * Sets the JSON object mapper to use for message serialization/deserialization.
 		 * @param objectMapper The object mapper to use
@@ -489,6 +586,33 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			return this;
 		}
 
+		/**
+		 * Sets whether request params and response results are kept unparsed until a
+		 * handler binds them to their target type. This avoids materializing large tool
+		 * arguments as a generic map before they are converted.
+		 * <p>
+		 * Disabled by default.
+		 * @param deferPayloadBinding true to defer payload binding
+		 * @return This builder instance for method chaining
+		 */
+		public Builder deferPayloadBinding(boolean deferPayloadBinding) {
+			this.deferPayloadBinding = deferPayloadBinding;
+			return this;
+		}
+
+		/**
+		 * Sets the codec to use for message serialization/deserialization. When set, it
+		 * takes precedence over {@link #objectMapper(ObjectMapper)} and
+		 * {@link #deferPayloadBinding(boolean)}.
+		 * @param jsonCodec The codec to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder jsonCodec(McpJsonCodec jsonCodec) {
+			Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
+			this.jsonCodec = jsonCodec;
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of HttpServletSseServerTransportProvider with the
 		 * configured settings.
@@ -502,7 +626,9 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			if (messageEndpoint == null) {
 				throw new IllegalStateException("MessageEndpoint must be set");
 			}
-			return new HttpServletSseServerTransportProvider(objectMapper, messageEndpoint, sseEndpoint);
+			McpJsonCodec codec = (jsonCodec != null) ? jsonCodec
+					: new JacksonMcpJsonCodec(objectMapper, deferPayloadBinding);
+			return new HttpServletSseServerTransportProvider(codec, messageEndpoint, sseEndpoint);
 		}
 
 	}
@@ -4,12 +4,9 @@
 
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.Executors;
@@ -18,12 +15,16 @@ import java.util.function.Function;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
+import io.modelcontextprotocol.spec.McpBinaryEncoding;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpJsonCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.StdioFraming;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,16 @@ import reactor.core.scheduler.Schedulers;
  * Implementation of the MCP Stdio transport provider for servers that communicates using
  * standard input/output streams. Messages are exchanged as newline-delimited JSON-RPC
  * messages over stdin/stdout, with errors and debug information sent to stderr.
+ * <p>
+ * When a binary codec is configured and the client offers the {@link McpBinaryEncoding
+ * binary encoding}, the provider accepts it in its initialize response and sends all
+ * subsequent messages as binary frames.
+ * <p>
+ * Inbound frames are limited to a maximum size,
+ * {@link StdioFraming#DEFAULT_MAX_FRAME_SIZE} by default. Larger frames are discarded
+ * without being buffered and answered with an {@code INVALID_REQUEST} error response
+ * whose id is {@code null}, since the id of the discarded message is unknown; the session
+ * stays open.
  *
  * @author Christian Tzolov
  */
@@ -44,12 +55,16 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 	private static final Logger logger = LoggerFactory.getLogger(StdioServerTransportProvider.class);
 
-	private final ObjectMapper objectMapper;
+	private final McpJsonCodec jsonCodec;
+
+	private final McpJsonCodec binaryCodec;
 
 	private final InputStream inputStream;
 
 	private final OutputStream outputStream;
 
+	private final int maxFrameSize;
+
 	private McpServerSession session;
 
 	private final AtomicBoolean isClosing = new AtomicBoolean(false);
@@ -81,13 +96,45 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 	 * @param outputStream The output stream to write to
 	 */
 	public StdioServerTransportProvider(ObjectMapper objectMapper, InputStream inputStream, OutputStream outputStream) {
-		Assert.notNull(objectMapper, "The ObjectMapper can not be null");
+		this(new JacksonMcpJsonCodec(objectMapper), inputStream, outputStream);
+	}
+
+	/**
+	 * Creates a new StdioServerTransportProvider with the specified codec and streams.
+	 * @param jsonCodec The codec to use for message serialization/deserialization
+	 * @param inputStream The input stream to read from
+	 * @param outputStream The output stream to write to
+	 */
+	public StdioServerTransportProvider(McpJsonCodec jsonCodec, InputStream inputStream, OutputStream outputStream) {
+		this(jsonCodec, null, inputStream, outputStream);
+	}
+
+	/**
+	 * Creates a new StdioServerTransportProvider that can switch to a binary encoding.
+	 * @param jsonCodec The codec to use for text message serialization/deserialization
+	 * @param binaryCodec The Smile codec to use once the binary encoding has been
+	 * negotiated, e.g. {@link io.modelcontextprotocol.spec.SmileMcpJsonCodec}, or
+	 * {@code null} to always use text
+	 * @param inputStream The input stream to read from
+	 * @param outputStream The output stream to write to
+	 */
+	public StdioServerTransportProvider(McpJsonCodec jsonCodec, McpJsonCodec binaryCodec, InputStream inputStream,
+			OutputStream outputStream) {
+		this(jsonCodec, binaryCodec, inputStream, outputStream, StdioFraming.DEFAULT_MAX_FRAME_SIZE);
+	}
+
+	private StdioServerTransportProvider(McpJsonCodec jsonCodec, McpJsonCodec binaryCodec, InputStream inputStream,
+			OutputStream outputStream, int maxFrameSize) {
+		Assert.notNull(jsonCodec, "The McpJsonCodec can not be null");
 		Assert.notNull(inputStream, "The InputStream can not be null");
 		Assert.notNull(outputStream, "The OutputStream can not be null");
+		Assert.isTrue(maxFrameSize > 0, "The maximum frame size must be positive");
 
-		this.objectMapper = objectMapper;
+		this.jsonCodec = jsonCodec;
+		this.binaryCodec = binaryCodec;
 		this.inputStream = inputStream;
 		this.outputStream = outputStream;
+		this.maxFrameSize = maxFrameSize;
 	}
 
 	@Override
@@ -134,6 +181,12 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 		private final Sinks.One<Void> outboundReady = Sinks.one();
 
+		/** Id of the initialize request that offered the binary encoding */
+		private volatile Object binaryOfferId;
+
+		/** Whether outbound messages are written as binary frames */
+		private volatile boolean binaryOutbound;
+
 		public StdioMcpSessionTransport() {
 
 			this.inboundSink = Sinks.many().unicast().onBackpressureBuffer();
@@ -161,7 +214,7 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonCodec.convertValue(data, typeRef);
 		}
 
 		@Override
@@ -201,21 +254,16 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 			if (isStarted.compareAndSet(false, true)) {
 				this.inboundScheduler.schedule(() -> {
 					inboundReady.tryEmitValue(null);
-					BufferedReader reader = null;
 					try {
-						reader = new BufferedReader(new InputStreamReader(inputStream));
+						StdioFraming.FrameReader reader = new StdioFraming.FrameReader(inputStream, maxFrameSize);
 						while (!isClosing.get()) {
 							try {
-								String line = reader.readLine();
-								if (line == null || isClosing.get()) {
+								if (!reader.next() || isClosing.get()) {
 									break;
 								}
 
-								logger.debug("Received JSON message: {}", line);
-
 								try {
-									McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper,
-											line);
+									McpSchema.JSONRPCMessage message = decode(reader);
 									if (!this.inboundSink.tryEmitNext(message).isSuccess()) {
 										// logIfNotClosing("Failed to enqueue message");
 										break;
@@ -227,6 +275,15 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 									break;
 								}
 							}
+							catch (StdioFraming.FrameTooLargeException e) {
+								// The frame was skipped, so the next one can be read
+								logger.error("Discarded inbound message: {}", e.getMessage());
+								sendMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, null, null,
+										new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INVALID_REQUEST,
+												e.getMessage(), null)))
+									.subscribe(null,
+											error -> logIfNotClosing("Error reporting a discarded message", error));
+							}
 							catch (IOException e) {
 								logIfNotClosing("Error reading from stdin", e);
 								break;
@@ -247,6 +304,59 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 			}
 		}
 
+		private McpSchema.JSONRPCMessage decode(StdioFraming.FrameReader reader) throws IOException {
+			McpSchema.JSONRPCMessage message;
+			if (reader.isBinary()) {
+				if (binaryCodec == null) {
+					throw new IllegalArgumentException("Received a binary frame but no binary codec is configured");
+				}
+				logger.debug("Received binary message of {} bytes", reader.length());
+				message = binaryCodec.decode(reader.frame(), 0, reader.length());
+			}
+			else {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Received JSON message: {}",
+							new String(reader.frame(), 0, reader.length(), StandardCharsets.UTF_8));
+				}
+				message = jsonCodec.decode(reader.frame(), 0, reader.length());
+			}
+			if (binaryCodec != null && message instanceof McpSchema.JSONRPCRequest request
+					&& McpSchema.METHOD_INITIALIZE.equals(request.method()) && McpBinaryEncoding
+						.isOffered(jsonCodec.convertValue(request.params(), McpSchema.InitializeRequest.class))) {
+				this.binaryOfferId = request.id();
+			}
+			return message;
+		}
+
+		/**
+		 * Writes a message as a text line, or as a binary frame once the binary encoding
+		 * is in use. The initialize response to a binary offer accepts it and switches
+		 * the following messages to binary frames.
+		 */
+		private void write(McpSchema.JSONRPCMessage message) throws IOException {
+			boolean accepting = false;
+			if (this.binaryOfferId != null && message instanceof McpSchema.JSONRPCResponse response
+					&& response.result() != null && this.binaryOfferId.equals(response.id())) {
+				McpSchema.InitializeResult result = jsonCodec.convertValue(response.result(),
+						McpSchema.InitializeResult.class);
+				message = new McpSchema.JSONRPCResponse(response.jsonrpc(), response.id(),
+						McpBinaryEncoding.withAcceptance(result), null);
+				accepting = true;
+			}
+			if (this.binaryOutbound) {
+				StdioFraming.writeBinaryFrame(outputStream, binaryCodec.encode(message));
+			}
+			else {
+				// The encoder writes single-line JSON, as required by the spec
+				jsonCodec.encode(message, outputStream);
+				outputStream.write('\n');
+			}
+			if (accepting) {
+				this.binaryOfferId = null;
+				this.binaryOutbound = true;
+			}
+		}
+
 		/**
 		 * Starts the outbound processing thread that writes JSON-RPC messages to stdout.
 		 * Messages are serialized to JSON and written with a newline delimiter.
@@ -258,13 +368,8 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 				 .handle((message, sink) -> {
 					 if (message != null && !isClosing.get()) {
 						 try {
-							 String jsonMessage = objectMapper.writeValueAsString(message);
-							 // Escape any embedded newlines in the JSON message as per spec
-							 jsonMessage = jsonMessage.replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
-	
 							 synchronized (outputStream) {
-								 outputStream.write(jsonMessage.getBytes(StandardCharsets.UTF_8));
-								 outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
+								 write(message);
 								 outputStream.flush();
 							 }
 							 sink.next(message);
@@ -299,7 +404,7 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 				 outboundConsumer.apply(outboundSink.asFlux()).subscribe();
 		 } // @formatter:on
 
-		private void logIfNotClosing(String message, Exception e) {
+		private void logIfNotClosing(String message, Throwable e) {
 			if (!isClosing.get()) {
 				logger.error(message, e);
 			}
@@ -307,4 +412,111 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 	}
 
+	/**
+	 * Creates a new builder for {@link StdioServerTransportProvider}.
+	 * @return A new builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for {@link StdioServerTransportProvider}.
+	 */
+	public static class Builder {
+
+		private ObjectMapper objectMapper = new ObjectMapper();
+
+		private McpJsonCodec jsonCodec;
+
+		private McpJsonCodec binaryCodec;
+
+		private InputStream inputStream = System.in;
+
+		private OutputStream outputStream = System.out;
+
+		private int maxFrameSize = StdioFraming.DEFAULT_MAX_FRAME_SIZE;
+
+		/**
+		 * Sets the JSON object mapper to use for message serialization/deserialization.
+		 * @param objectMapper The object mapper to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder objectMapper(ObjectMapper objectMapper) {
+			Assert.notNull(objectMapper, "ObjectMapper must not be null");
+			this.objectMapper = objectMapper;
+			return this;
+		}
+
+		/**
+		 * Sets the codec to use for text message serialization/deserialization. When set,
+		 * it takes precedence over {@link #objectMapper(ObjectMapper)}.
+		 * @param jsonCodec The codec to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder jsonCodec(McpJsonCodec jsonCodec) {
+			Assert.notNull(jsonCodec, "McpJsonCodec must not be null");
+			this.jsonCodec = jsonCodec;
+			return this;
+		}
+
+		/**
+		 * Sets the codec to use once a client negotiated the binary encoding, e.g.
+		 * {@link io.modelcontextprotocol.spec.SmileMcpJsonCodec}. If not set, the
+		 * provider always uses text.
+		 * @param binaryCodec The binary codec to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder binaryCodec(McpJsonCodec binaryCodec) {
+			Assert.notNull(binaryCodec, "Binary McpJsonCodec must not be null");
+			this.binaryCodec = binaryCodec;
+			return this;
+		}
+
+		/**
+		 * Sets the input stream to read messages from. Defaults to {@link System#in}.
+		 * @param inputStream The input stream
+		 * @return This builder instance for method chaining
+		 */
+		public Builder inputStream(InputStream inputStream) {
+			Assert.notNull(inputStream, "InputStream must not be null");
+			this.inputStream = inputStream;
+			return this;
+		}
+
+		/**
+		 * Sets the output stream to write messages to. Defaults to {@link System#out}.
+		 * @param outputStream The output stream
+		 * @return This builder instance for method chaining
+		 */
+		public Builder outputStream(OutputStream outputStream) {
+			Assert.notNull(outputStream, "OutputStream must not be null");
+			this.outputStream = outputStream;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum size of an inbound message in bytes. Larger messages are
+		 * discarded. Defaults to {@link StdioFraming#DEFAULT_MAX_FRAME_SIZE}.
+		 * @param maxFrameSize The maximum message size in bytes
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxFrameSize(int maxFrameSize) {
+			Assert.isTrue(maxFrameSize > 0, "Maximum frame size must be positive");
+			this.maxFrameSize = maxFrameSize;
+			return this;
+		}
+
+		/**
+		 * Builds a new instance of {@link StdioServerTransportProvider} with the
+		 * configured settings.
+		 * @return A new StdioServerTransportProvider instance
+		 */
+		public StdioServerTransportProvider build() {
+			McpJsonCodec codec = (jsonCodec != null) ? jsonCodec : new JacksonMcpJsonCodec(objectMapper);
+			return new StdioServerTransportProvider(codec, binaryCodec, inputStream, outputStream, maxFrameSize);
+		}
+
+	}
+
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * A lazily read source of binary content, such as a file, that is base64 encoded while
+ * the message holding it is written.
+ * <p>
+ * The bytes are only read when the message is serialized and are streamed through the
+ * encoder in small chunks, so neither the raw content nor its base64 form has to be held
+ * in memory. Binary wire formats, see {@link SmileMcpJsonCodec}, write the raw bytes
+ * instead.
+ *
+ * @see McpSchema.StreamingBlobResourceContents
+ * @see McpSchema.StreamingImageContent
+ */
+@JsonSerialize(using = BlobSourceSerializer.class)
+public interface BlobSource {
+
+	/**
+	 * Returns the number of bytes of the content, if known up front.
+	 * @return The content length, or {@code -1} if unknown
+	 */
+	long length();
+
+	/**
+	 * Opens a stream over the content. The caller closes the stream.
+	 * @return A stream over the content
+	 * @throws IOException If the content cannot be opened
+	 */
+	InputStream openStream() throws IOException;
+
+	/**
+	 * Returns whether the content can be opened more than once, so that the message
+	 * holding this source can be written more than once.
+	 * @return {@code true} unless the content can only be read once
+	 */
+	default boolean isRepeatable() {
+		return true;
+	}
+
+	/**
+	 * Creates a source that reads the given file each time the content is written.
+	 * @param path The file to read
+	 * @return A new blob source
+	 */
+	static BlobSource of(Path path) {
+		Assert.notNull(path, "Path must not be null");
+		return new BlobSource() {
+
+			@Override
+			public long length() {
+				try {
+					return Files.size(path);
+				}
+				catch (IOException e) {
+					return -1;
+				}
+			}
+
+			@Override
+			public InputStream openStream() throws IOException {
+				return Files.newInputStream(path);
+			}
+
+		};
+	}
+
+	/**
+	 * Creates a source over the remaining bytes of the given buffer. The buffer's
+	 * position is not changed, so the content can be written more than once.
+	 * @param buffer The buffer to read
+	 * @return A new blob source
+	 */
+	static BlobSource of(ByteBuffer buffer) {
+		Assert.notNull(buffer, "ByteBuffer must not be null");
+		ByteBuffer content = buffer.slice().asReadOnlyBuffer();
+		return new BlobSource() {
+
+			@Override
+			public long length() {
+				return content.remaining();
+			}
+
+			@Override
+			public InputStream openStream() {
+				ByteBuffer remaining = content.duplicate();
+				return new InputStream() {
+
+					@Override
+					public int read() {
+						return remaining.hasRemaining() ? (remaining.get() & 0xFF) : -1;
+					}
+
+					@Override
+					public int read(byte[] b, int off, int len) {
+						if (len == 0) {
+							return 0;
+						}
+						if (!remaining.hasRemaining()) {
+							return -1;
+						}
+						int n = Math.min(len, remaining.remaining());
+						remaining.get(b, off, n);
+						return n;
+					}
+
+					@Override
+					public int available() {
+						return remaining.remaining();
+					}
+
+				};
+			}
+
+		};
+	}
+
+	/**
+	 * Creates a source over the given byte array. The array is not copied.
+	 * @param bytes The content
+	 * @return A new blob source
+	 */
+	static BlobSource of(byte[] bytes) {
+		Assert.notNull(bytes, "Bytes must not be null");
+		return of(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Creates a source that reads the given stream. The stream can only be consumed once,
+	 * so the message holding this source can only be written once. The stream is closed
+	 * after it has been written.
+	 * @param inputStream The stream to read
+	 * @param length The number of bytes in the stream, or {@code -1} if unknown
+	 * @return A new blob source
+	 */
+	static BlobSource of(InputStream inputStream, long length) {
+		Assert.notNull(inputStream, "InputStream must not be null");
+		AtomicBoolean consumed = new AtomicBoolean();
+		return new BlobSource() {
+
+			@Override
+			public long length() {
+				return length;
+			}
+
+			@Override
+			public InputStream openStream() {
+				if (!consumed.compareAndSet(false, true)) {
+					throw new IllegalStateException("The InputStream of this blob source has already been consumed");
+				}
+				return inputStream;
+			}
+
+			@Override
+			public boolean isRepeatable() {
+				return false;
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes a {@link BlobSource} as a base64 string, or as raw bytes for binary formats. The
+ * content is streamed through the generator, which encodes it chunk by chunk.
+ */
+@SuppressWarnings("serial")
+class BlobSourceSerializer extends StdSerializer<BlobSource> {
+
+	BlobSourceSerializer() {
+		super(BlobSource.class);
+	}
+
+	@Override
+	public void serialize(BlobSource source, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		long length = source.length();
+		try (InputStream in = source.openStream()) {
+			gen.writeBinary(provider.getConfig().getBase64Variant(), in,
+					(length >= 0 && length <= Integer.MAX_VALUE) ? (int) length : -1);
+		}
+	}
+
+}
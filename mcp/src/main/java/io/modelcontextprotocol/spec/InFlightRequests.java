@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * The requests a session received and is still handling, so that the peer can cancel them
+ * with a {@link McpSchema#METHOD_NOTIFICATION_CANCELLED} notification.
+ * <p>
+ * Cancelling a request cancels the subscription to its handler, which disposes any work
+ * the handler scheduled, and completes the handling without a response, since the peer no
+ * longer waits for it.
+ */
+final class InFlightRequests {
+
+	private final ConcurrentHashMap<Object, Sinks.One<String>> requests = new ConcurrentHashMap<>();
+
+	/**
+	 * Tracks the handling of a request until it ends.
+	 * @param <T> The type of the response
+	 * @param id The request id
+	 * @param handling The handling of the request, emitting the response
+	 * @return The handling, completing empty if the request is cancelled
+	 */
+	<T> Mono<T> track(Object id, Mono<T> handling) {
+		return Mono.defer(() -> {
+			Object key = key(id);
+			Sinks.One<String> cancellation = Sinks.one();
+			if (key == null || this.requests.putIfAbsent(key, cancellation) != null) {
+				// Without a unique id the request can not be told apart from others
+				return handling;
+			}
+			return handling.takeUntilOther(cancellation.asMono())
+				.doFinally(signal -> this.requests.remove(key, cancellation));
+		});
+	}
+
+	/**
+	 * Cancels the handling of a request.
+	 * @param id The request id as received in the cancellation notification
+	 * @param reason The reason given for the cancellation, may be {@code null}
+	 * @return {@code true} if the request was being handled
+	 */
+	boolean cancel(Object id, String reason) {
+		Object key = key(id);
+		Sinks.One<String> cancellation = (key != null) ? this.requests.remove(key) : null;
+		if (cancellation == null) {
+			return false;
+		}
+		cancellation.tryEmitValue(reason != null ? reason : "");
+		return true;
+	}
+
+	/**
+	 * Cancels the handling of all requests, when the session closes.
+	 */
+	void cancelAll() {
+		this.requests.keySet().forEach(key -> cancel(key, "Session closed"));
+	}
+
+	/**
+	 * Returns the number of requests being handled.
+	 * @return The number of requests
+	 */
+	int size() {
+		return this.requests.size();
+	}
+
+	/**
+	 * Numeric ids may be decoded as different number types, depending on their value and
+	 * the codec, so they are compared by their long value.
+	 */
+	private static Object key(Object id) {
+		if (id instanceof Number number) {
+			return number.longValue();
+		}
+		return id;
+	}
+
+}
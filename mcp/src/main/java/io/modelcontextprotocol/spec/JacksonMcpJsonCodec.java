@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * {@link McpJsonCodec} backed by a Jackson {@link ObjectMapper}.
+ * <p>
+ * An {@link ObjectReader} is compiled the first time a target type is bound and then
+ * reused for every payload of that type, deferred or not, so the per-call cost of
+ * resolving the type and looking up its deserializer disappears from the request path.
+ * Outbound messages are written with a single cached {@link McpMessageEncoder}.
+ * <p>
+ * When payload deferral is enabled, decoded request params and response results are kept
+ * as an unparsed token buffer that is read straight into the target type the first time
+ * it is bound, see
+ * {@link McpSchema#deserializeJsonRpcMessage(ObjectMapper, String, boolean)}.
+ */
+public class JacksonMcpJsonCodec implements McpJsonCodec {
+
+	private final ObjectMapper objectMapper;
+
+	private final boolean deferPayloads;
+
+	private final McpMessageEncoder messageEncoder;
+
+	private final ConcurrentHashMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a codec backed by a default {@link ObjectMapper}.
+	 */
+	public JacksonMcpJsonCodec() {
+		this(new ObjectMapper());
+	}
+
+	/**
+	 * Creates a codec backed by the given {@link ObjectMapper} that binds payloads
+	 * eagerly.
+	 * @param objectMapper The ObjectMapper to use for serialization and binding
+	 */
+	public JacksonMcpJsonCodec(ObjectMapper objectMapper) {
+		this(objectMapper, false);
+	}
+
+	/**
+	 * Creates a codec backed by the given {@link ObjectMapper}.
+	 * @param objectMapper The ObjectMapper to use for serialization and binding
+	 * @param deferPayloads Whether request params and response results are kept unparsed
+	 * until they are bound to their target type
+	 */
+	public JacksonMcpJsonCodec(ObjectMapper objectMapper, boolean deferPayloads) {
+		Assert.notNull(objectMapper, "The ObjectMapper can not be null");
+		this.objectMapper = objectMapper;
+		this.deferPayloads = deferPayloads;
+		this.messageEncoder = new McpMessageEncoder(objectMapper);
+	}
+
+	/**
+	 * Returns the ObjectMapper backing this codec.
+	 * @return The ObjectMapper
+	 */
+	public ObjectMapper getObjectMapper() {
+		return this.objectMapper;
+	}
+
+	@Override
+	public McpSchema.JSONRPCMessage decode(String json) throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.objectMapper, json, this.deferPayloads);
+	}
+
+	@Override
+	public McpSchema.JSONRPCMessage decode(byte[] json, int offset, int length) throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.objectMapper, json, offset, length, this.deferPayloads);
+	}
+
+	@Override
+	public McpSchema.JSONRPCMessage decode(InputStream json) throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.objectMapper, json, this.deferPayloads);
+	}
+
+	@Override
+	public void encode(Object value, OutputStream out) throws IOException {
+		this.messageEncoder.encode(value, out);
+	}
+
+	@Override
+	public byte[] encode(Object value) throws IOException {
+		return this.messageEncoder.encode(value);
+	}
+
+	@Override
+	public String encodeToString(Object value) throws IOException {
+		return this.messageEncoder.encodeToString(value);
+	}
+
+	@Override
+	public <T> T convertValue(Object data, TypeReference<T> typeRef) {
+		return bind(data, typeRef.getType());
+	}
+
+	@Override
+	public <T> T convertValue(Object data, Class<T> type) {
+		return bind(data, type);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T bind(Object data, Type type) {
+		if (data == null) {
+			return null;
+		}
+		ObjectReader reader = this.readers.computeIfAbsent(type,
+				t -> this.objectMapper.readerFor(this.objectMapper.constructType(t)));
+		JavaType valueType = reader.getValueType();
+		// Like ObjectMapper.convertValue, a value that already has the target type is
+		// returned as is
+		if (valueType.getRawClass() != Object.class && !valueType.hasGenericTypes()
+				&& valueType.getRawClass().isInstance(data)) {
+			return (T) data;
+		}
+		try {
+			TokenBuffer buffer;
+			if (data instanceof TokenBuffer deferred) {
+				buffer = deferred;
+			}
+			else {
+				// Eagerly decoded payloads are written to tokens that the cached reader
+				// binds, rather than converted through a reader resolved per call
+				buffer = new TokenBuffer(this.objectMapper, false).forceUseOfBigDecimal(
+						this.objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+				this.objectMapper.writeValue(buffer, data);
+			}
+			try (JsonParser parser = buffer.asParser(this.objectMapper)) {
+				return reader.readValue(parser);
+			}
+		}
+		catch (IOException e) {
+			throw new IllegalArgumentException("Cannot bind payload to " + type.getTypeName(), e);
+		}
+	}
+
+}
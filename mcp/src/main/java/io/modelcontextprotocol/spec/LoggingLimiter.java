@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Enforces the {@link LoggingLimits} of a session: samples low level messages, then takes
+ * a token per message from a bucket refilled over time.
+ */
+final class LoggingLimiter {
+
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final LoggingLimits limits;
+
+	private final boolean unlimited;
+
+	private final LongSupplier nanoTime;
+
+	private long sampled;
+
+	private double tokens;
+
+	private long refilledAt;
+
+	LoggingLimiter(LoggingLimits limits) {
+		this(limits, System::nanoTime);
+	}
+
+	LoggingLimiter(LoggingLimits limits, LongSupplier nanoTime) {
+		this.limits = limits;
+		this.unlimited = limits.equals(LoggingLimits.UNLIMITED);
+		this.nanoTime = nanoTime;
+		this.tokens = limits.burst();
+		this.refilledAt = nanoTime.getAsLong();
+	}
+
+	/**
+	 * Decides whether a message is sent, counting it against the limits if so.
+	 * @param level The level of the message
+	 * @return {@code true} if the message is to be sent
+	 */
+	boolean tryAcquire(McpSchema.LoggingLevel level) {
+		if (this.unlimited || level.level() >= McpSchema.LoggingLevel.ERROR.level()) {
+			return true;
+		}
+		synchronized (this) {
+			if (level.level() <= this.limits.sampledLevel().level() && this.limits.sampleOneIn() > 1
+					&& this.sampled++ % this.limits.sampleOneIn() != 0) {
+				return false;
+			}
+			long now = this.nanoTime.getAsLong();
+			this.tokens = Math.min(this.limits.burst(), this.tokens
+					+ (double) (now - this.refilledAt) * this.limits.messagesPerSecond() / NANOS_PER_SECOND);
+			this.refilledAt = now;
+			if (this.tokens < 1) {
+				return false;
+			}
+			this.tokens--;
+			return true;
+		}
+	}
+
+}
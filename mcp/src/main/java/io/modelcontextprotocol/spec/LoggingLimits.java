@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * The limits a server session applies to the log message notifications it sends to its
+ * client, on top of the minimum level the client set.
+ * <p>
+ * Messages at or below the sampled level are sampled first: one in every
+ * {@code sampleOneIn} of them is kept. The kept messages then draw from a token bucket
+ * that holds up to {@code burst} tokens and is refilled at {@code messagesPerSecond}, and
+ * are dropped while it is empty. Each session has its own bucket, so a client that
+ * receives a flood of messages does not take the budget of the others. Messages at
+ * {@link McpSchema.LoggingLevel#ERROR} and above are never dropped.
+ *
+ * @param messagesPerSecond The rate the bucket is refilled at
+ * @param burst The number of messages that can be sent at once after a quiet period
+ * @param sampledLevel The highest level of the messages that are sampled
+ * @param sampleOneIn The number of sampled messages out of which one is kept
+ */
+public record LoggingLimits(int messagesPerSecond, int burst, McpSchema.LoggingLevel sampledLevel, int sampleOneIn) {
+
+	/**
+	 * Limits that send every message at or above the level the client set.
+	 */
+	public static final LoggingLimits UNLIMITED = new LoggingLimits(Integer.MAX_VALUE, Integer.MAX_VALUE,
+			McpSchema.LoggingLevel.DEBUG, 1);
+
+	public LoggingLimits {
+		Assert.isTrue(messagesPerSecond > 0, "The messages per second must be positive");
+		Assert.isTrue(burst > 0, "The burst must be positive");
+		Assert.notNull(sampledLevel, "The sampled level can not be null");
+		Assert.isTrue(sampleOneIn > 0, "The sample rate must be positive");
+	}
+
+	/**
+	 * Returns these limits with another rate limit.
+	 * @param messagesPerSecond The rate the bucket is refilled at
+	 * @param burst The number of messages that can be sent at once
+	 * @return The new limits
+	 */
+	public LoggingLimits withRateLimit(int messagesPerSecond, int burst) {
+		return new LoggingLimits(messagesPerSecond, burst, this.sampledLevel, this.sampleOneIn);
+	}
+
+	/**
+	 * Returns these limits with another sampling policy.
+	 * @param sampledLevel The highest level of the messages that are sampled
+	 * @param sampleOneIn The number of sampled messages out of which one is kept
+	 * @return The new limits
+	 */
+	public LoggingLimits withSampling(McpSchema.LoggingLevel sampledLevel, int sampleOneIn) {
+		return new LoggingLimits(this.messagesPerSecond, this.burst, sampledLevel, sampleOneIn);
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Negotiation of a binary wire encoding between two peers of this SDK.
+ * <p>
+ * The encoding is an experimental capability. The client offers it during
+ * {@code initialize} with {@code "experimental":
+ * {"io.modelcontextprotocol/binary-encoding": {"formats": ["smile"]}}} and a server that
+ * supports it answers with {@code "experimental":
+ * {"io.modelcontextprotocol/binary-encoding": {"format": "smile"}}}. Each peer keeps
+ * sending text frames until it knows that the other side can read binary frames: the
+ * server after it answered the offer, the client after it received the answer. Peers that
+ * do not know the capability ignore it and the session stays on text JSON. The framing is
+ * described in {@link StdioFraming}.
+ *
+ * @see SmileMcpJsonCodec
+ */
+public final class McpBinaryEncoding {
+
+	/**
+	 * Name of the experimental capability.
+	 */
+	public static final String CAPABILITY_NAME = "io.modelcontextprotocol/binary-encoding";
+
+	/**
+	 * The Smile binary format.
+	 */
+	public static final String SMILE = "smile";
+
+	private McpBinaryEncoding() {
+	}
+
+	/**
+	 * Returns a copy of the initialize request that offers the Smile encoding.
+	 * @param request The initialize request
+	 * @return The request with the offer added to its experimental client capabilities
+	 */
+	public static McpSchema.InitializeRequest withOffer(McpSchema.InitializeRequest request) {
+		McpSchema.ClientCapabilities capabilities = request.capabilities();
+		Map<String, Object> experimental = with(capabilities != null ? capabilities.experimental() : null,
+				Map.of("formats", List.of(SMILE)));
+		McpSchema.ClientCapabilities offered = (capabilities != null)
+				? new McpSchema.ClientCapabilities(experimental, capabilities.roots(), capabilities.sampling())
+				: new McpSchema.ClientCapabilities(experimental, null, null);
+		return new McpSchema.InitializeRequest(request.protocolVersion(), offered, request.clientInfo());
+	}
+
+	/**
+	 * Returns whether the initialize request offers the Smile encoding.
+	 * @param request The initialize request, may be {@code null}
+	 * @return {@code true} if the client can read Smile frames
+	 */
+	public static boolean isOffered(McpSchema.InitializeRequest request) {
+		if (request == null || request.capabilities() == null) {
+			return false;
+		}
+		return capability(request.capabilities().experimental()) instanceof Map<?, ?> offer
+				&& offer.get("formats") instanceof Collection<?> formats && formats.contains(SMILE);
+	}
+
+	/**
+	 * Returns a copy of the initialize result that accepts the Smile encoding.
+	 * @param result The initialize result
+	 * @return The result with the acceptance added to its experimental server
+	 * capabilities
+	 */
+	public static McpSchema.InitializeResult withAcceptance(McpSchema.InitializeResult result) {
+		McpSchema.ServerCapabilities capabilities = result.capabilities();
+		Map<String, Object> experimental = with(capabilities != null ? capabilities.experimental() : null,
+				Map.of("format", SMILE));
+		McpSchema.ServerCapabilities accepted = (capabilities != null)
+				? new McpSchema.ServerCapabilities(experimental, capabilities.logging(), capabilities.prompts(),
+						capabilities.resources(), capabilities.tools())
+				: new McpSchema.ServerCapabilities(experimental, null, null, null, null);
+		return new McpSchema.InitializeResult(result.protocolVersion(), accepted, result.serverInfo(),
+				result.instructions());
+	}
+
+	/**
+	 * Returns whether the initialize result accepts the Smile encoding.
+	 * @param result The initialize result, may be {@code null}
+	 * @return {@code true} if the server can read Smile frames
+	 */
+	public static boolean isAccepted(McpSchema.InitializeResult result) {
+		if (result == null || result.capabilities() == null) {
+			return false;
+		}
+		return capability(result.capabilities().experimental()) instanceof Map<?, ?> answer
+				&& SMILE.equals(answer.get("format"));
+	}
+
+	private static Object capability(Map<String, Object> experimental) {
+		return (experimental != null) ? experimental.get(CAPABILITY_NAME) : null;
+	}
+
+	private static Map<String, Object> with(Map<String, Object> experimental, Object value) {
+		Map<String, Object> copy = (experimental != null) ? new HashMap<>(experimental) : new HashMap<>();
+		copy.put(CAPABILITY_NAME, value);
+		return copy;
+	}
+
+}
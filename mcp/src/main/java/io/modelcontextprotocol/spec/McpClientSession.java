@@ -5,18 +5,22 @@
 package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeoutException;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SynchronousSink;
 
 /**
  * Default implementation of the MCP (Model Context Protocol) session that manages
@@ -40,14 +44,20 @@ public class McpClientSession implements McpSession {
 	/** Logger for this class */
 	private static final Logger logger = LoggerFactory.getLogger(McpClientSession.class);
 
-	/** Duration to wait for request responses before timing out */
-	private final Duration requestTimeout;
+	private static final TypeReference<McpSchema.CancelledNotification> CANCELLED_NOTIFICATION_TYPE_REF = new TypeReference<>() {
+	};
+
+	/** Durations to wait for request responses before timing out, by method */
+	private final RequestTimeouts requestTimeouts;
 
 	/** Transport layer implementation for message exchange */
 	private final McpClientTransport transport;
 
-	/** Map of pending responses keyed by request ID */
-	private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+	/** Requests waiting for a response */
+	private final PendingRequests pendingRequests = new PendingRequests();
+
+	/** Requests received from the server that are being handled */
+	private final InFlightRequests inFlightRequests = new InFlightRequests();
 
 	/** Map of request handlers keyed by method name */
 	private final ConcurrentHashMap<String, RequestHandler<?>> requestHandlers = new ConcurrentHashMap<>();
@@ -55,12 +65,6 @@ public class McpClientSession implements McpSession {
 	/** Map of notification handlers keyed by method name */
 	private final ConcurrentHashMap<String, NotificationHandler> notificationHandlers = new ConcurrentHashMap<>();
 
-	/** Session-specific prefix for request IDs */
-	private final String sessionPrefix = UUID.randomUUID().toString().substring(0, 8);
-
-	/** Atomic counter for generating unique request IDs */
-	private final AtomicLong requestCounter = new AtomicLong(0);
-
 	private final Disposable connection;
 
 	/**
@@ -106,13 +110,25 @@ public class McpClientSession implements McpSession {
 	 */
 	public McpClientSession(Duration requestTimeout, McpClientTransport transport,
 			Map<String, RequestHandler<?>> requestHandlers, Map<String, NotificationHandler> notificationHandlers) {
+		this(transport, timeoutsOf(requestTimeout), requestHandlers, notificationHandlers);
+	}
 
-		Assert.notNull(requestTimeout, "The requstTimeout can not be null");
+	/**
+	 * Creates a new McpClientSession with per-method request timeouts.
+	 * @param transport Transport implementation for message exchange
+	 * @param requestTimeouts Durations to wait for responses, by method
+	 * @param requestHandlers Map of method names to request handlers
+	 * @param notificationHandlers Map of method names to notification handlers
+	 */
+	public McpClientSession(McpClientTransport transport, RequestTimeouts requestTimeouts,
+			Map<String, RequestHandler<?>> requestHandlers, Map<String, NotificationHandler> notificationHandlers) {
+
+		Assert.notNull(requestTimeouts, "The requestTimeouts can not be null");
 		Assert.notNull(transport, "The transport can not be null");
 		Assert.notNull(requestHandlers, "The requestHandlers can not be null");
 		Assert.notNull(notificationHandlers, "The notificationHandlers can not be null");
 
-		this.requestTimeout = requestTimeout;
+		this.requestTimeouts = requestTimeouts;
 		this.transport = transport;
 		this.requestHandlers.putAll(requestHandlers);
 		this.notificationHandlers.putAll(notificationHandlers);
@@ -123,34 +139,65 @@ public class McpClientSession implements McpSession {
 		// create child Observation and emit it together with the message to the
 		// consumer
 		this.connection = this.transport.connect(mono -> mono.doOnNext(message -> {
-			if (message instanceof McpSchema.JSONRPCResponse response) {
-				logger.debug("Received Response: {}", response);
-				var sink = pendingResponses.remove(response.id());
-				if (sink == null) {
-					logger.warn("Unexpected response for unkown id {}", response.id());
-				}
-				else {
-					sink.success(response);
-				}
+			if (message instanceof McpSchema.JSONRPCBatch batch) {
+				logger.debug("Received batch of {} messages", batch.messages().size());
+				Flux.fromIterable(batch.messages())
+					.flatMap(this::dispatch).<McpSchema
+							.JSONRPCMessage>cast(McpSchema.JSONRPCMessage.class)
+					.collectList()
+					.filter(responses -> !responses.isEmpty())
+					.subscribe(responses -> transport.sendMessage(new McpSchema.JSONRPCBatch(responses)).subscribe());
 			}
-			else if (message instanceof McpSchema.JSONRPCRequest request) {
-				logger.debug("Received request: {}", request);
-				handleIncomingRequest(request).subscribe(response -> transport.sendMessage(response).subscribe(),
-						error -> {
-							var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
-									null, new McpSchema.JSONRPCResponse.JSONRPCError(
-											McpSchema.ErrorCodes.INTERNAL_ERROR, error.getMessage(), null));
-							transport.sendMessage(errorResponse).subscribe();
-						});
-			}
-			else if (message instanceof McpSchema.JSONRPCNotification notification) {
-				logger.debug("Received notification: {}", notification);
-				handleIncomingNotification(notification).subscribe(null,
-						error -> logger.error("Error handling notification: {}", error.getMessage()));
+			else {
+				dispatch(message).subscribe(response -> transport.sendMessage(response).subscribe());
 			}
 		})).subscribe();
 	}
 
+	/**
+	 * Dispatches a single message to its handler. Responses complete the pending request
+	 * they answer right away.
+	 * @param message The incoming message, which is not a batch
+	 * @return A Mono emitting the response to send if the message is a request
+	 */
+	private Mono<McpSchema.JSONRPCResponse> dispatch(McpSchema.JSONRPCMessage message) {
+		if (message instanceof McpSchema.JSONRPCResponse response) {
+			logger.debug("Received Response: {}", response);
+			var sink = pendingRequests.remove(response.id());
+			if (sink == null && response.id() == null && response.error() != null) {
+				// The server could not read the id of a message, e.g. one above its size
+				// limit
+				logger.error("Server reported an error for an unidentified message: {}", response.error().message());
+			}
+			else if (sink == null) {
+				logger.warn("Unexpected response for unkown id {}", response.id());
+			}
+			else {
+				sink.success(response);
+			}
+		}
+		else if (message instanceof McpSchema.JSONRPCRequest request) {
+			logger.debug("Received request: {}", request);
+			return this.inFlightRequests.track(request.id(), handleIncomingRequest(request))
+				.onErrorResume(error -> Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
+						null, new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
+								error.getMessage(), null))));
+		}
+		else if (message instanceof McpSchema.JSONRPCNotification notification) {
+			logger.debug("Received notification: {}", notification);
+			return handleIncomingNotification(notification).onErrorResume(error -> {
+				logger.error("Error handling notification: {}", error.getMessage());
+				return Mono.empty();
+			}).then(Mono.empty());
+		}
+		return Mono.empty();
+	}
+
+	private static RequestTimeouts timeoutsOf(Duration requestTimeout) {
+		Assert.notNull(requestTimeout, "The requstTimeout can not be null");
+		return RequestTimeouts.of(requestTimeout);
+	}
+
 	/**
 	 * Handles an incoming JSON-RPC request by routing it to the appropriate handler.
 	 * @param request The incoming JSON-RPC request
@@ -166,7 +213,8 @@ public class McpClientSession implements McpSession {
 								error.message(), error.data())));
 			}
 
-			return handler.handle(request.params())
+			return RequestDeadlines
+				.bound(request.method(), request.params(), handler.handle(request.params()), this.pendingRequests)
 				.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null))
 				.onErrorResume(error -> Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
 						null, new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
@@ -195,6 +243,10 @@ public class McpClientSession implements McpSession {
 	 */
 	private Mono<Void> handleIncomingNotification(McpSchema.JSONRPCNotification notification) {
 		return Mono.defer(() -> {
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				cancelIncomingRequest(notification.params());
+				return Mono.empty();
+			}
 			var handler = notificationHandlers.get(notification.method());
 			if (handler == null) {
 				logger.error("No handler registered for notification method: {}", notification.method());
@@ -205,16 +257,17 @@ public class McpClientSession implements McpSession {
 	}
 
 	/**
-	 * Generates a unique request ID in a non-blocking way. Combines a session-specific
-	 * prefix with an atomic counter to ensure uniqueness.
-	 * @return A unique request ID string
+	 * Returns the requests of this session that are waiting for a response, for
+	 * monitoring.
+	 * @return The pending requests
 	 */
-	private String generateRequestId() {
-		return this.sessionPrefix + "-" + this.requestCounter.getAndIncrement();
+	public PendingRequests getPendingRequests() {
+		return this.pendingRequests;
 	}
 
 	/**
-	 * Sends a JSON-RPC request and returns the response.
+	 * Sends a JSON-RPC request and returns the response, applying the timeout configured
+	 * for the method.
 	 * @param <T> The expected response type
 	 * @param method The method name to call
 	 * @param requestParams The request parameters
@@ -223,34 +276,229 @@ public class McpClientSession implements McpSession {
 	 */
 	@Override
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
-		String requestId = this.generateRequestId();
-
-		return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
-			this.pendingResponses.put(requestId, sink);
-			McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
-					requestId, requestParams);
-			this.transport.sendMessage(jsonrpcRequest)
-				// TODO: It's most efficient to create a dedicated Subscriber here
-				.subscribe(v -> {
-				}, error -> {
-					this.pendingResponses.remove(requestId);
-					sink.error(error);
+		return sendRequest(method, requestParams, typeRef, this.requestTimeouts.timeoutFor(method));
+	}
+
+	/**
+	 * Sends a JSON-RPC request and returns the response. The deadline of the request is
+	 * sent along in the {@code _meta} of the params, see {@link RequestDeadlines}.
+	 * @param <T> The expected response type
+	 * @param method The method name to call
+	 * @param requestParams The request parameters
+	 * @param typeRef Type reference for response deserialization
+	 * @param timeout Duration to wait for the response, or {@code null} to wait
+	 * indefinitely
+	 * @return A Mono containing the response
+	 */
+	@Override
+	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef, Duration timeout) {
+		return Mono.defer(() -> {
+			long requestId = this.pendingRequests.nextId();
+			return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
+				this.pendingRequests.register(requestId, method, sink, timeout);
+				sink.onCancel(() -> {
+					if (this.pendingRequests.remove(requestId) != null) {
+						sendCancellation(method, requestId, "The request was cancelled by the caller");
+					}
 				});
-		}).timeout(this.requestTimeout).handle((jsonRpcResponse, sink) -> {
-			if (jsonRpcResponse.error() != null) {
-				sink.error(new McpError(jsonRpcResponse.error()));
+				Object params = RequestDeadlines.propagate(method, requestParams, timeout);
+				McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+						method, requestId, params);
+				this.transport.sendMessage(jsonrpcRequest)
+					// TODO: It's most efficient to create a dedicated Subscriber here
+					.subscribe(v -> {
+					}, error -> {
+						if (this.pendingRequests.remove(requestId) != null) {
+							sink.error(error);
+						}
+					});
+			}).doOnError(TimeoutException.class, error -> sendCancellation(method, requestId, error.getMessage()));
+		}).handle((jsonRpcResponse, sink) -> handleResponse(jsonRpcResponse, typeRef, sink));
+	}
+
+	/**
+	 * Emits the result of a response bound to the expected type, or its error.
+	 */
+	private <T> void handleResponse(McpSchema.JSONRPCResponse jsonRpcResponse, TypeReference<T> typeRef,
+			SynchronousSink<T> sink) {
+		if (jsonRpcResponse.error() != null) {
+			sink.error(new McpError(jsonRpcResponse.error()));
+		}
+		else {
+			if (typeRef.getType().equals(Void.class)) {
+				sink.complete();
 			}
 			else {
-				if (typeRef.getType().equals(Void.class)) {
-					sink.complete();
+				sink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+			}
+		}
+	}
+
+	/**
+	 * Creates a batch of requests that are sent to the server as a single JSON-RPC batch,
+	 * in one transport frame. Each request applies the timeout configured for its method.
+	 * @return A new, empty batch
+	 */
+	public Batch batch() {
+		return new Batch();
+	}
+
+	/**
+	 * Requests collected to be sent as a single JSON-RPC batch. The server handles the
+	 * requests of a batch concurrently and answers them in a single batch as well.
+	 * <p>
+	 * The result of each request is emitted by the Mono returned when the request is
+	 * added, once the batch is sent and the server answered it. A batch can be sent once.
+	 */
+	public final class Batch {
+
+		private final List<BatchRequest<?>> requests = new ArrayList<>();
+
+		private boolean sent;
+
+		private Batch() {
+		}
+
+		/**
+		 * Adds a request to the batch.
+		 * @param <T> The expected response type
+		 * @param method The method name to call
+		 * @param requestParams The request parameters
+		 * @param typeRef Type reference for response deserialization
+		 * @return A Mono emitting the response once the batch is sent and answered
+		 * @throws IllegalArgumentException if the batch was already sent
+		 */
+		public synchronized <T> Mono<T> add(String method, Object requestParams, TypeReference<T> typeRef) {
+			Assert.isTrue(!this.sent, "The batch was already sent");
+			BatchRequest<T> request = new BatchRequest<>(method, requestParams, typeRef);
+			this.requests.add(request);
+			return request.result.asMono();
+		}
+
+		/**
+		 * Returns the number of requests in the batch.
+		 * @return The number of requests
+		 */
+		public synchronized int size() {
+			return this.requests.size();
+		}
+
+		/**
+		 * Discards the batch without sending it, failing its requests with the given
+		 * error. Does nothing if the batch was already sent.
+		 * @param error The error the requests fail with
+		 */
+		public void abort(Throwable error) {
+			List<BatchRequest<?>> toFail;
+			synchronized (this) {
+				if (this.sent) {
+					return;
 				}
-				else {
-					sink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+				this.sent = true;
+				toFail = List.copyOf(this.requests);
+			}
+			toFail.forEach(request -> request.result().tryEmitError(error));
+		}
+
+		/**
+		 * Sends the requests of the batch to the server in one message. Sending an empty
+		 * batch does nothing.
+		 * @return A Mono that completes once the batch is sent
+		 */
+		public Mono<Void> send() {
+			return Mono.defer(() -> {
+				List<BatchRequest<?>> toSend;
+				synchronized (this) {
+					if (this.sent) {
+						return Mono.error(new McpError("The batch was already sent"));
+					}
+					this.sent = true;
+					toSend = List.copyOf(this.requests);
+				}
+				return sendBatch(toSend);
+			});
+		}
+
+	}
+
+	private record BatchRequest<T>(String method, Object params, TypeReference<T> typeRef, Sinks.One<T> result) {
+
+		BatchRequest(String method, Object params, TypeReference<T> typeRef) {
+			this(method, params, typeRef, Sinks.one());
+		}
+
+	}
+
+	/**
+	 * Registers the requests of a batch as pending and sends them in one message. The
+	 * results of the requests are emitted to their sinks as the responses arrive.
+	 */
+	private Mono<Void> sendBatch(List<BatchRequest<?>> requests) {
+		if (requests.isEmpty()) {
+			return Mono.empty();
+		}
+		List<McpSchema.JSONRPCMessage> messages = new ArrayList<>(requests.size());
+		List<Long> requestIds = new ArrayList<>(requests.size());
+		for (BatchRequest<?> request : requests) {
+			long requestId = this.pendingRequests.nextId();
+			Duration timeout = this.requestTimeouts.timeoutFor(request.method());
+			await(request, requestId, timeout);
+			Object params = RequestDeadlines.propagate(request.method(), request.params(), timeout);
+			messages.add(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, request.method(), requestId, params));
+			requestIds.add(requestId);
+		}
+		return this.transport.sendMessage(new McpSchema.JSONRPCBatch(messages)).doOnError(error -> {
+			for (long requestId : requestIds) {
+				var sink = this.pendingRequests.remove(requestId);
+				if (sink != null) {
+					sink.error(error);
 				}
 			}
 		});
 	}
 
+	/**
+	 * Registers a request of a batch as pending, emitting its result to the request sink
+	 * once the response arrives.
+	 */
+	private <T> void await(BatchRequest<T> request, long requestId, Duration timeout) {
+		Mono.<McpSchema.JSONRPCResponse>create(
+				sink -> this.pendingRequests.register(requestId, request.method(), sink, timeout))
+			.doOnError(TimeoutException.class,
+					error -> sendCancellation(request.method(), requestId, error.getMessage()))
+			.<T>handle((jsonRpcResponse, sink) -> handleResponse(jsonRpcResponse, request.typeRef(), sink))
+			.subscribe(request.result()::tryEmitValue, request.result()::tryEmitError, request.result()::tryEmitEmpty);
+	}
+
+	/**
+	 * Tells the server that the response to a request is no longer needed. The
+	 * {@code initialize} request is never cancelled, as the protocol requires.
+	 */
+	private void sendCancellation(String method, long requestId, String reason) {
+		if (McpSchema.METHOD_INITIALIZE.equals(method)) {
+			return;
+		}
+		Map<String, Object> params = new HashMap<>(4);
+		params.put("requestId", requestId);
+		if (reason != null) {
+			params.put("reason", reason);
+		}
+		sendNotification(McpSchema.METHOD_NOTIFICATION_CANCELLED, params).subscribe(null,
+				error -> logger.debug("Failed to cancel request {}: {}", requestId, error.getMessage()));
+	}
+
+	/**
+	 * Stops handling a request the server cancelled. Cancellations of requests that
+	 * already completed are ignored.
+	 */
+	private void cancelIncomingRequest(Object params) {
+		McpSchema.CancelledNotification cancelled = this.transport.unmarshalFrom(params,
+				CANCELLED_NOTIFICATION_TYPE_REF);
+		if (cancelled != null && this.inFlightRequests.cancel(cancelled.requestId(), cancelled.reason())) {
+			logger.debug("Request {} cancelled by the server: {}", cancelled.requestId(), cancelled.reason());
+		}
+	}
+
 	/**
 	 * Sends a JSON-RPC notification.
 	 * @param method The method name for the notification
@@ -273,6 +521,9 @@ public class McpClientSession implements McpSession {
 		return Mono.defer(() -> {
 			this.connection.dispose();
 			return transport.closeGracefully();
+		}).doFinally(signal -> {
+			this.pendingRequests.close(new McpError("Session closed"));
+			this.inFlightRequests.cancelAll();
 		});
 	}
 
@@ -283,6 +534,8 @@ public class McpClientSession implements McpSession {
 	public void close() {
 		this.connection.dispose();
 		transport.close();
+		this.pendingRequests.close(new McpError("Session closed"));
+		this.inFlightRequests.cancelAll();
 	}
 
 }
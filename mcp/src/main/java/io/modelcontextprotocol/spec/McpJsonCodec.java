@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Encodes and decodes MCP messages and binds their payloads to schema types.
+ * <p>
+ * A codec is shared by a server or client and its transports, so there is a single place
+ * that owns type binding and serialization. Implementations are expected to cache
+ * whatever they need per target type, so binding on the request path does not repeat type
+ * resolution.
+ *
+ * @see JacksonMcpJsonCodec
+ */
+public interface McpJsonCodec {
+
+	/**
+	 * Decodes a JSON-RPC message, or a batch of messages.
+	 * @param json The JSON text
+	 * @return The decoded message
+	 * @throws IOException If the text is not valid JSON
+	 * @throws IllegalArgumentException If the JSON is not a JSON-RPC message
+	 */
+	McpSchema.JSONRPCMessage decode(String json) throws IOException;
+
+	/**
+	 * Decodes a JSON-RPC message, or a batch of messages, from a slice of UTF-8 encoded
+	 * bytes.
+	 * @param json The buffer holding the message
+	 * @param offset The offset of the first byte of the message
+	 * @param length The number of bytes of the message
+	 * @return The decoded message
+	 * @throws IOException If the bytes are not valid JSON
+	 * @throws IllegalArgumentException If the JSON is not a JSON-RPC message
+	 */
+	McpSchema.JSONRPCMessage decode(byte[] json, int offset, int length) throws IOException;
+
+	/**
+	 * Decodes a JSON-RPC message, or a batch of messages, read from the given stream. The
+	 * stream is not closed.
+	 * @param json The stream to read from
+	 * @return The decoded message
+	 * @throws IOException If the stream cannot be read or is not valid JSON
+	 * @throws IllegalArgumentException If the JSON is not a JSON-RPC message
+	 */
+	McpSchema.JSONRPCMessage decode(InputStream json) throws IOException;
+
+	/**
+	 * Writes the value as single-line UTF-8 JSON to the given stream. The stream is
+	 * neither flushed nor closed.
+	 * @param value The value to encode
+	 * @param out The stream to write to
+	 * @throws IOException If the value cannot be serialized or written
+	 */
+	void encode(Object value, OutputStream out) throws IOException;
+
+	/**
+	 * Encodes the value as single-line UTF-8 JSON.
+	 * @param value The value to encode
+	 * @return The encoded bytes
+	 * @throws IOException If the value cannot be serialized
+	 */
+	byte[] encode(Object value) throws IOException;
+
+	/**
+	 * Encodes the value as single-line JSON text.
+	 * @param value The value to encode
+	 * @return The encoded text
+	 * @throws IOException If the value cannot be serialized
+	 */
+	String encodeToString(Object value) throws IOException;
+
+	/**
+	 * Binds a decoded payload, such as request params or a response result, to the given
+	 * type.
+	 * @param <T> The target type
+	 * @param data The payload
+	 * @param typeRef The target type reference
+	 * @return The bound value, or {@code null} if the payload is {@code null}
+	 * @throws IllegalArgumentException If the payload cannot be bound to the type
+	 */
+	<T> T convertValue(Object data, TypeReference<T> typeRef);
+
+	/**
+	 * Binds a decoded payload, such as request params or a response result, to the given
+	 * type.
+	 * @param <T> The target type
+	 * @param data The payload
+	 * @param type The target type
+	 * @return The bound value, or {@code null} if the payload is {@code null}
+	 * @throws IllegalArgumentException If the payload cannot be bound to the type
+	 */
+	<T> T convertValue(Object data, Class<T> type);
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Serializes outbound JSON-RPC messages as compact, single-line UTF-8 JSON.
+ * <p>
+ * Messages are written straight into the target {@link OutputStream} or into a byte
+ * array, without building an intermediate {@link String}. The encoded form never contains
+ * a carriage return or line feed, so it can be framed by a trailing newline (stdio) or
+ * placed on a single SSE {@code data:} line. Indentation is always disabled and any CR/LF
+ * emitted by a custom serializer is replaced with a space. Because valid JSON can only
+ * contain raw CR/LF as insignificant whitespace, this never changes the meaning of the
+ * message.
+ * <p>
+ * Binary data formats, such as Smile, are written unchanged since their framing is length
+ * based.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class McpMessageEncoder {
+
+	private static final byte CR = '\r';
+
+	private static final byte LF = '\n';
+
+	private static final byte SPACE = ' ';
+
+	private final ObjectWriter writer;
+
+	private final boolean singleLine;
+
+	/**
+	 * Creates a new encoder that uses the serialization settings of the given object
+	 * mapper, except that indentation is disabled.
+	 * @param objectMapper The ObjectMapper to use for serialization
+	 */
+	public McpMessageEncoder(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "The ObjectMapper can not be null");
+		this.writer = objectMapper.writer()
+			.without(SerializationFeature.INDENT_OUTPUT)
+			.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+		this.singleLine = !objectMapper.getFactory().canHandleBinaryNatively();
+	}
+
+	/**
+	 * Writes the message to the given stream. The stream is neither flushed nor closed.
+	 * @param message The message to encode
+	 * @param out The stream to write to
+	 * @throws IOException If the message cannot be serialized or written
+	 */
+	public void encode(Object message, OutputStream out) throws IOException {
+		this.writer.writeValue(this.singleLine ? new SingleLineOutputStream(out) : out, message);
+	}
+
+	/**
+	 * Writes the message followed by a newline delimiter to the given stream. The stream
+	 * is neither flushed nor closed.
+	 * @param message The message to encode
+	 * @param out The stream to write to
+	 * @throws IOException If the message cannot be serialized or written
+	 */
+	public void encodeLine(Object message, OutputStream out) throws IOException {
+		encode(message, out);
+		out.write(LF);
+	}
+
+	/**
+	 * Encodes the message into a new byte array.
+	 * @param message The message to encode
+	 * @return The UTF-8 encoded, single-line JSON message
+	 * @throws IOException If the message cannot be serialized
+	 */
+	public byte[] encode(Object message) throws IOException {
+		byte[] json = this.writer.writeValueAsBytes(message);
+		if (this.singleLine) {
+			for (int i = 0; i < json.length; i++) {
+				if (json[i] == CR || json[i] == LF) {
+					json[i] = SPACE;
+				}
+			}
+		}
+		return json;
+	}
+
+	/**
+	 * Encodes the message into a string. Intended for APIs that only accept text, such as
+	 * framework SSE event builders.
+	 * @param message The message to encode
+	 * @return The single-line JSON message
+	 * @throws IOException If the message cannot be serialized
+	 */
+	public String encodeToString(Object message) throws IOException {
+		String json = this.writer.writeValueAsString(message);
+		if (json.indexOf(CR) >= 0 || json.indexOf(LF) >= 0) {
+			return json.replace('\r', ' ').replace('\n', ' ');
+		}
+		return json;
+	}
+
+	/**
+	 * Replaces CR/LF with spaces while passing through contiguous runs of other bytes
+	 * unchanged. UTF-8 multi-byte sequences never contain these byte values.
+	 */
+	private static final class SingleLineOutputStream extends FilterOutputStream {
+
+		SingleLineOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write((b == CR || b == LF) ? SPACE : b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			int start = off;
+			int end = off + len;
+			for (int i = off; i < end; i++) {
+				if (b[i] == CR || b[i] == LF) {
+					if (i > start) {
+						this.out.write(b, start, i - start);
+					}
+					this.out.write(SPACE);
+					start = i + 1;
+				}
+			}
+			if (end > start) {
+				this.out.write(b, start, end - start);
+			}
+		}
+
+		@Override
+		public void flush() {
+			// Flushing is left to the owner of the underlying stream
+		}
+
+		@Override
+		public void close() {
+			// The underlying stream is owned by the transport
+		}
+
+	}
+
+}
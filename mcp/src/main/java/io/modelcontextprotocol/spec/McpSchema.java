@@ -5,8 +5,10 @@
 package io.modelcontextprotocol.spec;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,8 +18,15 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +60,10 @@ public final class McpSchema {
 
 	public static final String METHOD_PING = "ping";
 
+	public static final String METHOD_NOTIFICATION_CANCELLED = "notifications/cancelled";
+
+	public static final String METHOD_NOTIFICATION_PROGRESS = "notifications/progress";
+
 	// Tool Methods
 	public static final String METHOD_TOOLS_LIST = "tools/list";
 
@@ -71,6 +84,8 @@ public final class McpSchema {
 
 	public static final String METHOD_RESOURCES_UNSUBSCRIBE = "resources/unsubscribe";
 
+	public static final String METHOD_NOTIFICATION_RESOURCES_UPDATED = "notifications/resources/updated";
+
 	// Prompt Methods
 	public static final String METHOD_PROMPT_LIST = "prompts/list";
 
@@ -126,6 +141,12 @@ public final class McpSchema {
 		 */
 		public static final int INTERNAL_ERROR = -32603;
 
+		/**
+		 * The server is handling too many requests of the client to accept another. This
+		 * is an implementation-defined server error; the request may be retried later.
+		 */
+		public static final int SERVER_OVERLOADED = -32000;
+
 	}
 
 	public sealed interface Request
@@ -133,49 +154,375 @@ public final class McpSchema {
 
 	}
 
-	private static final TypeReference<HashMap<String, Object>> MAP_TYPE_REF = new TypeReference<>() {
-	};
-
 	/**
 	 * Deserializes a JSON string into a JSONRPCMessage object.
 	 * @param objectMapper The ObjectMapper instance to use for deserialization
 	 * @param jsonText The JSON string to deserialize
 	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
-	 * {@link JSONRPCNotification}, or {@link JSONRPCResponse} classes.
+	 * {@link JSONRPCNotification}, {@link JSONRPCResponse} or {@link JSONRPCBatch}
+	 * classes.
 	 * @throws IOException If there's an error during deserialization
 	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
 	 * message type
 	 */
 	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, String jsonText)
 			throws IOException {
+		return deserializeJsonRpcMessage(objectMapper, jsonText, false);
+	}
+
+	/**
+	 * Deserializes a JSON string into a JSONRPCMessage object, optionally deferring the
+	 * binding of the request params and response result.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param jsonText The JSON string to deserialize
+	 * @param deferPayloads Whether request params and response results are kept as an
+	 * unparsed token buffer, see
+	 * {@link #unmarshalPayload(ObjectMapper, Object, TypeReference)}
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, {@link JSONRPCResponse} or {@link JSONRPCBatch}
+	 * classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, String jsonText,
+			boolean deferPayloads) throws IOException {
 
 		logger.debug("Received JSON message: {}", jsonText);
 
-		var map = objectMapper.readValue(jsonText, MAP_TYPE_REF);
+		try (JsonParser parser = objectMapper.createParser(jsonText)) {
+			return readJsonRpcMessage(objectMapper, parser, deferPayloads);
+		}
+	}
+
+	/**
+	 * Deserializes UTF-8 encoded JSON bytes into a JSONRPCMessage object without an
+	 * intermediate String copy.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param json The JSON bytes to deserialize
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, {@link JSONRPCResponse} or {@link JSONRPCBatch}
+	 * classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 * @see #deserializeJsonRpcMessage(ObjectMapper, String)
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, byte[] json) throws IOException {
+		return deserializeJsonRpcMessage(objectMapper, json, 0, json.length);
+	}
+
+	/**
+	 * Deserializes a slice of UTF-8 encoded JSON bytes into a JSONRPCMessage object.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param json The buffer holding the JSON bytes
+	 * @param offset The offset of the first byte of the message
+	 * @param length The number of bytes of the message
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, {@link JSONRPCResponse} or {@link JSONRPCBatch}
+	 * classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, byte[] json, int offset,
+			int length) throws IOException {
+		return deserializeJsonRpcMessage(objectMapper, json, offset, length, false);
+	}
+
+	/**
+	 * Deserializes a slice of UTF-8 encoded JSON bytes into a JSONRPCMessage object,
+	 * optionally deferring the binding of the request params and response result.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param json The buffer holding the JSON bytes
+	 * @param offset The offset of the first byte of the message
+	 * @param length The number of bytes of the message
+	 * @param deferPayloads Whether request params and response results are kept as an
+	 * unparsed token buffer, see
+	 * {@link #unmarshalPayload(ObjectMapper, Object, TypeReference)}
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, {@link JSONRPCResponse} or {@link JSONRPCBatch}
+	 * classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, byte[] json, int offset,
+			int length, boolean deferPayloads) throws IOException {
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Received JSON message: {}", new String(json, offset, length, StandardCharsets.UTF_8));
+		}
+
+		try (JsonParser parser = objectMapper.createParser(json, offset, length)) {
+			return readJsonRpcMessage(objectMapper, parser, deferPayloads);
+		}
+	}
+
+	/**
+	 * Deserializes the remaining UTF-8 encoded JSON bytes of a buffer into a
+	 * JSONRPCMessage object. The position of the buffer is not modified.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param json The buffer holding the JSON bytes
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, {@link JSONRPCResponse} or {@link JSONRPCBatch}
+	 * classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, ByteBuffer json)
+			throws IOException {
+		if (json.hasArray()) {
+			return deserializeJsonRpcMessage(objectMapper, json.array(), json.arrayOffset() + json.position(),
+					json.remaining());
+		}
+		return deserializeJsonRpcMessage(objectMapper, new ByteBufferBackedInputStream(json.duplicate()));
+	}
+
+	/**
+	 * Deserializes a single JSON-RPC message read from the given stream. The stream is
+	 * not closed.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param json The stream to read the JSON message from
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, {@link JSONRPCResponse} or {@link JSONRPCBatch}
+	 * classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, InputStream json)
+			throws IOException {
+		return deserializeJsonRpcMessage(objectMapper, json, false);
+	}
+
+	/**
+	 * Deserializes a single JSON-RPC message read from the given stream, optionally
+	 * deferring the binding of the request params and response result. The stream is not
+	 * closed.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param json The stream to read the JSON message from
+	 * @param deferPayloads Whether request params and response results are kept as an
+	 * unparsed token buffer, see
+	 * {@link #unmarshalPayload(ObjectMapper, Object, TypeReference)}
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, {@link JSONRPCResponse} or {@link JSONRPCBatch}
+	 * classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, InputStream json,
+			boolean deferPayloads) throws IOException {
+		try (JsonParser parser = objectMapper.createParser(json)) {
+			parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+			JSONRPCMessage message = readJsonRpcMessage(objectMapper, parser, deferPayloads);
+			logger.debug("Received JSON message: {}", message);
+			return message;
+		}
+	}
+
+	/**
+	 * Reads the JSON-RPC envelope in a single pass over the parser tokens. The message
+	 * type is decided from the fields that were seen and the matching record is built
+	 * directly, so the payload is bound only once. When {@code deferPayloads} is set the
+	 * request params and response result are captured as a {@link TokenBuffer} and only
+	 * bound once the handler asks for its target type.
+	 */
+	private static JSONRPCMessage readJsonRpcMessage(ObjectMapper objectMapper, JsonParser parser,
+			boolean deferPayloads) throws IOException {
+
+		JsonToken first = parser.nextToken();
+		if (first == JsonToken.START_ARRAY) {
+			return readJsonRpcBatch(objectMapper, parser, deferPayloads);
+		}
+		if (first != JsonToken.START_OBJECT) {
+			throw new IllegalArgumentException(
+					"Cannot deserialize JSONRPCMessage: expected a JSON object but found " + first);
+		}
+		return readJsonRpcObject(objectMapper, parser, deferPayloads);
+	}
+
+	/**
+	 * Reads the messages of a JSON-RPC batch, with the parser on the opening bracket.
+	 * Batches can not be nested and can not be empty.
+	 */
+	private static JSONRPCBatch readJsonRpcBatch(ObjectMapper objectMapper, JsonParser parser, boolean deferPayloads)
+			throws IOException {
+		List<JSONRPCMessage> messages = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			if (token != JsonToken.START_OBJECT) {
+				throw new IllegalArgumentException(
+						"Cannot deserialize JSONRPCMessage: expected a JSON object in the batch but found " + token);
+			}
+			messages.add(readJsonRpcObject(objectMapper, parser, deferPayloads));
+		}
+		if (messages.isEmpty()) {
+			throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: the batch is empty");
+		}
+		return new JSONRPCBatch(messages);
+	}
+
+	private static JSONRPCMessage readJsonRpcObject(ObjectMapper objectMapper, JsonParser parser, boolean deferPayloads)
+			throws IOException {
+
+		String jsonrpc = null;
+		String method = null;
+		Object id = null;
+		Object params = null;
+		Object result = null;
+		JSONRPCResponse.JSONRPCError error = null;
+
+		boolean hasMethod = false;
+		boolean hasId = false;
+		boolean hasResult = false;
+		boolean hasError = false;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken token = parser.nextToken();
+			switch (field) {
+				case "jsonrpc" -> jsonrpc = readString(objectMapper, parser, token);
+				case "method" -> {
+					hasMethod = true;
+					method = readString(objectMapper, parser, token);
+				}
+				case "id" -> {
+					hasId = true;
+					id = readId(objectMapper, parser, token);
+				}
+				case "params" -> params = readPayload(objectMapper, parser, token, deferPayloads);
+				case "result" -> {
+					hasResult = true;
+					result = readPayload(objectMapper, parser, token, deferPayloads);
+				}
+				case "error" -> {
+					hasError = true;
+					error = (token == JsonToken.VALUE_NULL) ? null
+							: objectMapper.readValue(parser, JSONRPCResponse.JSONRPCError.class);
+				}
+				default -> parser.skipChildren();
+			}
+		}
 
 		// Determine message type based on specific JSON structure
-		if (map.containsKey("method") && map.containsKey("id")) {
-			return objectMapper.convertValue(map, JSONRPCRequest.class);
+		if (hasMethod && hasId) {
+			return new JSONRPCRequest(jsonrpc, method, id, params);
 		}
-		else if (map.containsKey("method") && !map.containsKey("id")) {
-			return objectMapper.convertValue(map, JSONRPCNotification.class);
+		else if (hasMethod) {
+			return new JSONRPCNotification(jsonrpc, method, asParamsMap(objectMapper, params));
 		}
-		else if (map.containsKey("result") || map.containsKey("error")) {
-			return objectMapper.convertValue(map, JSONRPCResponse.class);
+		else if (hasResult || hasError) {
+			return new JSONRPCResponse(jsonrpc, id, result, error);
 		}
 
-		throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: " + jsonText);
+		throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: neither method nor result/error found"
+				+ (hasId ? " for id " + id : ""));
+	}
+
+	private static String readString(ObjectMapper objectMapper, JsonParser parser, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_STRING) {
+			return parser.getText();
+		}
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		return objectMapper.readValue(parser, String.class);
+	}
+
+	private static Object readId(ObjectMapper objectMapper, JsonParser parser, JsonToken token) throws IOException {
+		return switch (token) {
+			case VALUE_STRING -> parser.getText();
+			case VALUE_NUMBER_INT -> parser.getNumberValue();
+			case VALUE_NULL -> null;
+			default -> objectMapper.readValue(parser, Object.class);
+		};
+	}
+
+	private static Object readPayload(ObjectMapper objectMapper, JsonParser parser, JsonToken token,
+			boolean deferPayloads) throws IOException {
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (deferPayloads) {
+			TokenBuffer buffer = new TokenBuffer(parser);
+			buffer.copyCurrentStructure(parser);
+			return buffer;
+		}
+		return objectMapper.readValue(parser, Object.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> asParamsMap(ObjectMapper objectMapper, Object params) throws IOException {
+		if (params instanceof TokenBuffer buffer) {
+			// Notifications expose their params as a map, so they are always bound
+			params = objectMapper.readValue(buffer.asParser(objectMapper), Object.class);
+		}
+		if (params == null || params instanceof Map) {
+			return (Map<String, Object>) params;
+		}
+		throw new IllegalArgumentException("Cannot deserialize JSONRPCNotification: params must be a JSON object");
+	}
+
+	/**
+	 * Binds a request params or response result payload to the given type. Payloads that
+	 * were deferred by the decoder are read straight from their token buffer, all other
+	 * values are converted through the object mapper. A deferred payload may be bound
+	 * more than once.
+	 * @param <T> The target type
+	 * @param objectMapper The ObjectMapper instance to use for binding
+	 * @param data The payload as returned by {@link JSONRPCRequest#params()} or
+	 * {@link JSONRPCResponse#result()}
+	 * @param typeRef The type reference of the target type
+	 * @return The bound payload, or {@code null} if the payload is {@code null}
+	 * @throws IllegalArgumentException If the payload cannot be bound to the target type
+	 */
+	public static <T> T unmarshalPayload(ObjectMapper objectMapper, Object data, TypeReference<T> typeRef) {
+		if (data instanceof TokenBuffer buffer) {
+			try (JsonParser parser = buffer.asParser(objectMapper)) {
+				return objectMapper.readValue(parser, typeRef);
+			}
+			catch (IOException e) {
+				throw new IllegalArgumentException("Cannot bind payload to " + typeRef.getType(), e);
+			}
+		}
+		return objectMapper.convertValue(data, typeRef);
 	}
 
 	// ---------------------------
 	// JSON-RPC Message Types
 	// ---------------------------
-	public sealed interface JSONRPCMessage permits JSONRPCRequest, JSONRPCNotification, JSONRPCResponse {
+	public sealed interface JSONRPCMessage permits JSONRPCRequest, JSONRPCNotification, JSONRPCResponse, JSONRPCBatch {
 
 		String jsonrpc();
 
 	}
 
+	/**
+	 * Several messages sent as a single JSON array, see the
+	 * <a href= "https://www.jsonrpc.org/specification#batch">JSON-RPC batch
+	 * specification</a>. The requests of a batch are handled concurrently and their
+	 * responses are sent back as a single batch, in any order.
+	 *
+	 * @param messages The messages of the batch, which can not be batches themselves
+	 */
+	public record JSONRPCBatch(@JsonValue List<JSONRPCMessage> messages) implements JSONRPCMessage {
+
+		public JSONRPCBatch {
+			Assert.notEmpty(messages, "A batch can not be empty");
+			Assert.isTrue(messages.stream().noneMatch(JSONRPCBatch.class::isInstance), "Batches can not be nested");
+			messages = List.copyOf(messages);
+		}
+
+		@Override
+		public String jsonrpc() {
+			return JSONRPC_VERSION;
+		}
+
+	}
+
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
 	public record JSONRPCRequest( // @formatter:off
@@ -197,7 +544,8 @@ public final class McpSchema {
 	@JsonIgnoreProperties(ignoreUnknown = true)
 	public record JSONRPCResponse( // @formatter:off
 			@JsonProperty("jsonrpc") String jsonrpc,
-			@JsonProperty("id") Object id,
+			// An error about a message whose id could not be read is sent with a null id
+			@JsonProperty("id") @JsonInclude(JsonInclude.Include.ALWAYS) Object id,
 			@JsonProperty("result") Object result,
 			@JsonProperty("error") JSONRPCError error) implements JSONRPCMessage {
 
@@ -529,7 +877,8 @@ public final class McpSchema {
 	@JsonTypeInfo(use = JsonTypeInfo.Id.DEDUCTION, include = As.PROPERTY)
 	@JsonSubTypes({ @JsonSubTypes.Type(value = TextResourceContents.class, name = "text"),
 			@JsonSubTypes.Type(value = BlobResourceContents.class, name = "blob") })
-	public sealed interface ResourceContents permits TextResourceContents, BlobResourceContents {
+	public sealed interface ResourceContents
+			permits TextResourceContents, BlobResourceContents, StreamingBlobResourceContents {
 
 		/**
 		 * The URI of this resource.
@@ -578,6 +927,23 @@ public final class McpSchema {
 		@JsonProperty("blob") String blob) implements ResourceContents {
 	} // @formatter:on
 
+	/**
+	 * Binary contents of a resource that are read from a {@link BlobSource} while the
+	 * message is written. It is serialized exactly like {@link BlobResourceContents}, so
+	 * peers receive a {@link BlobResourceContents}, but the content is base64 encoded in
+	 * a streaming fashion and never held in memory as a string.
+	 *
+	 * @param uri the URI of this resource.
+	 * @param mimeType the MIME type of this resource.
+	 * @param blob the source of the binary data of the resource.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_ABSENT)
+	public record StreamingBlobResourceContents( // @formatter:off
+		@JsonProperty("uri") String uri,
+		@JsonProperty("mimeType") String mimeType,
+		@JsonProperty("blob") BlobSource blob) implements ResourceContents {
+	} // @formatter:on
+
 	// ---------------------------
 	// Prompt Interfaces
 	// ---------------------------
@@ -976,6 +1342,23 @@ public final class McpSchema {
 	public record PaginatedResult(@JsonProperty("nextCursor") String nextCursor) {
 	}
 
+	// ---------------------------
+	// Cancellation
+	// ---------------------------
+	/**
+	 * Sent by either side to indicate that it is cancelling a request it sent earlier.
+	 * The receiver stops processing the request and does not answer it.
+	 *
+	 * @param requestId The id of the request to cancel.
+	 * @param reason An optional description of why the request was cancelled.
+	 */
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	@JsonInclude(JsonInclude.Include.NON_ABSENT)
+	public record CancelledNotification(// @formatter:off
+		@JsonProperty("requestId") Object requestId,
+		@JsonProperty("reason") String reason) {
+	}// @formatter:on
+
 	// ---------------------------
 	// Progress and Logging
 	// ---------------------------
@@ -1054,6 +1437,16 @@ public final class McpSchema {
 
 	} // @formatter:on
 
+	/**
+	 * A request from the client to set the minimum level of the log messages it receives.
+	 *
+	 * @param level the minimum level
+	 */
+	@JsonInclude(JsonInclude.Include.NON_ABSENT)
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record SetLevelRequest(@JsonProperty("level") LoggingLevel level) {
+	}
+
 	// ---------------------------
 	// Autocomplete
 	// ---------------------------
@@ -1095,13 +1488,13 @@ public final class McpSchema {
 	@JsonSubTypes({ @JsonSubTypes.Type(value = TextContent.class, name = "text"),
 			@JsonSubTypes.Type(value = ImageContent.class, name = "image"),
 			@JsonSubTypes.Type(value = EmbeddedResource.class, name = "resource") })
-	public sealed interface Content permits TextContent, ImageContent, EmbeddedResource {
+	public sealed interface Content permits TextContent, ImageContent, StreamingImageContent, EmbeddedResource {
 
 		default String type() {
 			if (this instanceof TextContent) {
 				return "text";
 			}
-			else if (this instanceof ImageContent) {
+			else if (this instanceof ImageContent || this instanceof StreamingImageContent) {
 				return "image";
 			}
 			else if (this instanceof EmbeddedResource) {
@@ -1133,6 +1526,30 @@ public final class McpSchema {
 		@JsonProperty("mimeType") String mimeType) implements Content { // @formatter:on
 	}
 
+	/**
+	 * Image content whose data is read from a {@link BlobSource} while the message is
+	 * written. It is serialized exactly like {@link ImageContent}, so peers receive an
+	 * {@link ImageContent}, but the image is base64 encoded in a streaming fashion and
+	 * never held in memory as a string.
+	 *
+	 * @param audience the intended audience of the content.
+	 * @param priority the priority of the content.
+	 * @param data the source of the image data.
+	 * @param mimeType the MIME type of the image.
+	 */
+	@JsonTypeName("image")
+	@JsonInclude(JsonInclude.Include.NON_ABSENT)
+	public record StreamingImageContent( // @formatter:off
+		@JsonProperty("audience") List<Role> audience,
+		@JsonProperty("priority") Double priority,
+		@JsonProperty("data") BlobSource data,
+		@JsonProperty("mimeType") String mimeType) implements Content { // @formatter:on
+
+		public StreamingImageContent(BlobSource data, String mimeType) {
+			this(null, null, data, mimeType);
+		}
+	}
+
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
 	public record EmbeddedResource( // @formatter:off
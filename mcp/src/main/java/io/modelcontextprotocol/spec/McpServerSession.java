@@ -1,18 +1,20 @@
 package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerSettings;
+import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.Sinks;
 
 /**
@@ -23,11 +25,25 @@ public class McpServerSession implements McpSession {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpServerSession.class);
 
-	private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+	private static final TypeReference<McpSchema.InitializeRequest> INITIALIZE_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.CancelledNotification> CANCELLED_NOTIFICATION_TYPE_REF = new TypeReference<>() {
+	};
+
+	private final PendingRequests pendingRequests = new PendingRequests();
+
+	private final InFlightRequests inFlightRequests = new InFlightRequests();
 
 	private final String id;
 
-	private final AtomicLong requestCounter = new AtomicLong(0);
+	private final RequestTimeouts requestTimeouts;
+
+	private final RequestLimiter requestLimiter;
+
+	private final LoggingLimiter loggingLimiter;
+
+	private volatile McpSchema.LoggingLevel minLoggingLevel = McpSchema.LoggingLevel.DEBUG;
 
 	private final InitRequestHandler initRequestHandler;
 
@@ -41,6 +57,8 @@ public class McpServerSession implements McpSession {
 
 	private final Sinks.One<McpAsyncServerExchange> exchangeSink = Sinks.one();
 
+	private final Sinks.Empty<Void> closed = Sinks.empty();
+
 	private final AtomicReference<McpSchema.ClientCapabilities> clientCapabilities = new AtomicReference<>();
 
 	private final AtomicReference<McpSchema.Implementation> clientInfo = new AtomicReference<>();
@@ -68,7 +86,32 @@ public class McpServerSession implements McpSession {
 	public McpServerSession(String id, McpServerTransport transport, InitRequestHandler initHandler,
 			InitNotificationHandler initNotificationHandler, Map<String, RequestHandler<?>> requestHandlers,
 			Map<String, NotificationHandler> notificationHandlers) {
+		this(id, transport, initHandler, initNotificationHandler, requestHandlers, notificationHandlers,
+				McpServerSettings.DEFAULT);
+	}
+
+	/**
+	 * Creates a new server session with the given parameters and the transport to use.
+	 * @param id session id
+	 * @param transport the transport to use
+	 * @param initHandler called when a
+	 * {@link io.modelcontextprotocol.spec.McpSchema.InitializeRequest} is received by the
+	 * server
+	 * @param initNotificationHandler called when a
+	 * {@link McpSchema.METHOD_NOTIFICATION_INITIALIZED} is received.
+	 * @param requestHandlers map of request handlers to use
+	 * @param notificationHandlers map of notification handlers to use
+	 * @param settings the settings of the session, such as the timeouts of requests sent
+	 * to the client
+	 */
+	public McpServerSession(String id, McpServerTransport transport, InitRequestHandler initHandler,
+			InitNotificationHandler initNotificationHandler, Map<String, RequestHandler<?>> requestHandlers,
+			Map<String, NotificationHandler> notificationHandlers, McpServerSettings settings) {
+		Assert.notNull(settings, "The settings can not be null");
 		this.id = id;
+		this.requestTimeouts = settings.requestTimeouts();
+		this.requestLimiter = new RequestLimiter(settings.requestLimits());
+		this.loggingLimiter = new LoggingLimiter(settings.loggingLimits());
 		this.transport = transport;
 		this.initRequestHandler = initHandler;
 		this.initNotificationHandler = initNotificationHandler;
@@ -99,24 +142,91 @@ public class McpServerSession implements McpSession {
 		this.clientInfo.lazySet(clientInfo);
 	}
 
-	private String generateRequestId() {
-		return this.id + "-" + this.requestCounter.getAndIncrement();
+	/**
+	 * Sets the minimum level of the log messages sent to the client, as requested by the
+	 * client with {@code logging/setLevel}.
+	 * @param minLoggingLevel the minimum level
+	 */
+	public void setMinLoggingLevel(McpSchema.LoggingLevel minLoggingLevel) {
+		Assert.notNull(minLoggingLevel, "The minimum logging level can not be null");
+		this.minLoggingLevel = minLoggingLevel;
+	}
+
+	/**
+	 * Returns the minimum level of the log messages sent to the client.
+	 * @return the minimum level
+	 */
+	public McpSchema.LoggingLevel getMinLoggingLevel() {
+		return this.minLoggingLevel;
+	}
+
+	/**
+	 * Decides whether a log message is sent to the client, given the minimum level the
+	 * client set and the {@link LoggingLimits} of the session. A message that is sent
+	 * counts against the limits.
+	 * @param level the level of the message
+	 * @return {@code true} if the message is to be sent
+	 */
+	public boolean acceptsLogMessage(McpSchema.LoggingLevel level) {
+		return level.level() >= this.minLoggingLevel.level() && this.loggingLimiter.tryAcquire(level);
+	}
+
+	/**
+	 * Returns the requests of this session that are waiting for a response from the
+	 * client, for monitoring.
+	 * @return The pending requests
+	 */
+	public PendingRequests getPendingRequests() {
+		return this.pendingRequests;
+	}
+
+	/**
+	 * Returns a Mono that completes once the session is closed, either by the server or
+	 * because the client disconnected.
+	 * @return A Mono that completes when the session is closed
+	 */
+	public Mono<Void> onClose() {
+		return this.closed.asMono();
+	}
+
+	/**
+	 * Called by the {@link McpServerTransportProvider} when the connection with the
+	 * client was lost without the session being closed. Requests sent to the client fail
+	 * and requests from the client are cancelled.
+	 */
+	public void disconnected() {
+		this.pendingRequests.close(new McpError("Session closed"));
+		this.inFlightRequests.cancelAll();
+		this.closed.tryEmitEmpty();
 	}
 
 	@Override
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
-		String requestId = this.generateRequestId();
-
-		return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
-			this.pendingResponses.put(requestId, sink);
-			McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
-					requestId, requestParams);
-			this.transport.sendMessage(jsonrpcRequest).subscribe(v -> {
-			}, error -> {
-				this.pendingResponses.remove(requestId);
-				sink.error(error);
-			});
-		}).timeout(Duration.ofSeconds(10)).handle((jsonRpcResponse, sink) -> {
+		return sendRequest(method, requestParams, typeRef, this.requestTimeouts.timeoutFor(method));
+	}
+
+	@Override
+	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef, Duration timeout) {
+		return Mono.defer(() -> {
+			long requestId = this.pendingRequests.nextId();
+			return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
+				this.pendingRequests.register(requestId, method, sink, timeout);
+				sink.onCancel(() -> {
+					if (this.pendingRequests.remove(requestId) != null) {
+						sendCancellation(method, requestId, "The request was cancelled by the caller");
+					}
+				});
+				Object params = RequestDeadlines.propagate(method, requestParams, timeout);
+				McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+						method, requestId, params);
+				this.transport.sendMessage(jsonrpcRequest).subscribe(v -> {
+				}, error -> {
+					if (this.pendingRequests.remove(requestId) != null) {
+						sink.error(error);
+					}
+				});
+			}).doOnError(TimeoutException.class, error -> sendCancellation(method, requestId, error.getMessage()));
+		}).handle((jsonRpcResponse, sink) -> {
 			if (jsonRpcResponse.error() != null) {
 				sink.error(new McpError(jsonRpcResponse.error()));
 			}
@@ -131,6 +241,35 @@ public class McpServerSession implements McpSession {
 		});
 	}
 
+	/**
+	 * Tells the client that the response to a request is no longer needed. The
+	 * {@code initialize} request is never cancelled, as the protocol requires.
+	 */
+	private void sendCancellation(String method, long requestId, String reason) {
+		if (McpSchema.METHOD_INITIALIZE.equals(method)) {
+			return;
+		}
+		Map<String, Object> params = new HashMap<>(4);
+		params.put("requestId", requestId);
+		if (reason != null) {
+			params.put("reason", reason);
+		}
+		sendNotification(McpSchema.METHOD_NOTIFICATION_CANCELLED, params).subscribe(null,
+				error -> logger.debug("Failed to cancel request {}: {}", requestId, error.getMessage()));
+	}
+
+	/**
+	 * Stops handling a request the client cancelled. Cancellations of requests that
+	 * already completed are ignored.
+	 */
+	private void cancelIncomingRequest(Object params) {
+		McpSchema.CancelledNotification cancelled = this.transport.unmarshalFrom(params,
+				CANCELLED_NOTIFICATION_TYPE_REF);
+		if (cancelled != null && this.inFlightRequests.cancel(cancelled.requestId(), cancelled.reason())) {
+			logger.debug("Request {} cancelled by the client: {}", cancelled.requestId(), cancelled.reason());
+		}
+	}
+
 	@Override
 	public Mono<Void> sendNotification(String method, Map<String, Object> params) {
 		McpSchema.JSONRPCNotification jsonrpcNotification = new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
@@ -138,6 +277,18 @@ public class McpServerSession implements McpSession {
 		return this.transport.sendMessage(jsonrpcNotification);
 	}
 
+	/**
+	 * Sends a notification that is broadcast to many sessions, encoded once for all of
+	 * them.
+	 * @param notification The pre-encoded notification
+	 * @return A Mono that completes when the notification has been sent
+	 */
+	public Mono<Void> sendNotification(PreEncodedMessage notification) {
+		Assert.isTrue(notification.message() instanceof McpSchema.JSONRPCNotification,
+				"The message must be a notification");
+		return this.transport.sendMessage(notification);
+	}
+
 	/**
 	 * Called by the {@link McpServerTransportProvider} once the session is determined.
 	 * The purpose of this method is to dispatch the message to an appropriate handler as
@@ -149,12 +300,43 @@ public class McpServerSession implements McpSession {
 	 * @return a Mono that completes when the message is processed
 	 */
 	public Mono<Void> handle(McpSchema.JSONRPCMessage message) {
+		return Mono.defer(() -> {
+			if (message instanceof McpSchema.JSONRPCBatch batch) {
+				logger.debug("Received batch of {} messages", batch.messages().size());
+				return handleBatch(batch);
+			}
+			// TODO: Should the error go to SSE or back as POST return?
+			return dispatch(message).flatMap(this.transport::sendMessage);
+		});
+	}
+
+	/**
+	 * Handles the messages of a batch concurrently and sends the responses to its
+	 * requests back as a single batch. Nothing is sent if the batch holds no requests.
+	 * @param batch The incoming batch
+	 * @return A Mono that completes once the responses are sent
+	 */
+	private Mono<Void> handleBatch(McpSchema.JSONRPCBatch batch) {
+		return Flux.fromIterable(batch.messages())
+			.flatMap(message -> dispatch(message).onErrorResume(error -> Mono.empty())).<McpSchema
+					.JSONRPCMessage>cast(McpSchema.JSONRPCMessage.class)
+			.collectList()
+			.flatMap(responses -> responses.isEmpty() ? Mono.empty()
+					: this.transport.sendMessage(new McpSchema.JSONRPCBatch(responses)));
+	}
+
+	/**
+	 * Dispatches a single message to its handler.
+	 * @param message The incoming message, which is not a batch
+	 * @return A Mono emitting the response to send if the message is a request
+	 */
+	private Mono<McpSchema.JSONRPCResponse> dispatch(McpSchema.JSONRPCMessage message) {
 		return Mono.defer(() -> {
 			// TODO handle errors for communication to without initialization happening
 			// first
 			if (message instanceof McpSchema.JSONRPCResponse response) {
 				logger.debug("Received Response: {}", response);
-				var sink = pendingResponses.remove(response.id());
+				var sink = pendingRequests.remove(response.id());
 				if (sink == null) {
 					logger.warn("Unexpected response for unknown id {}", response.id());
 				}
@@ -165,13 +347,11 @@ public class McpServerSession implements McpSession {
 			}
 			else if (message instanceof McpSchema.JSONRPCRequest request) {
 				logger.debug("Received request: {}", request);
-				return handleIncomingRequest(request).onErrorResume(error -> {
-					var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
-							new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-									error.getMessage(), null));
-					// TODO: Should the error go to SSE or back as POST return?
-					return this.transport.sendMessage(errorResponse).then(Mono.empty());
-				}).flatMap(this.transport::sendMessage);
+				return this.inFlightRequests.track(request.id(), handleIncomingRequest(request))
+					.onErrorResume(error -> Mono
+						.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
+								new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
+										error.getMessage(), null))));
 			}
 			else if (message instanceof McpSchema.JSONRPCNotification notification) {
 				// TODO handle errors for communication to without initialization
@@ -179,7 +359,8 @@ public class McpServerSession implements McpSession {
 				logger.debug("Received notification: {}", notification);
 				// TODO: in case of error, should the POST request be signalled?
 				return handleIncomingNotification(notification)
-					.doOnError(error -> logger.error("Error handling notification: {}", error.getMessage()));
+					.doOnError(error -> logger.error("Error handling notification: {}", error.getMessage()))
+					.then(Mono.empty());
 			}
 			else {
 				logger.warn("Received unknown message type: {}", message);
@@ -199,8 +380,7 @@ public class McpServerSession implements McpSession {
 			if (McpSchema.METHOD_INITIALIZE.equals(request.method())) {
 				// TODO handle situation where already initialized!
 				McpSchema.InitializeRequest initializeRequest = transport.unmarshalFrom(request.params(),
-						new TypeReference<McpSchema.InitializeRequest>() {
-						});
+						INITIALIZE_REQUEST_TYPE_REF);
 
 				this.state.lazySet(STATE_INITIALIZING);
 				this.init(initializeRequest.capabilities(), initializeRequest.clientInfo());
@@ -218,13 +398,14 @@ public class McpServerSession implements McpSession {
 				}
 
 				resultMono = this.exchangeSink.asMono().flatMap(exchange -> handler.handle(exchange, request.params()));
+				if (!McpSchema.METHOD_PING.equals(request.method())) {
+					resultMono = this.requestLimiter.limit(resultMono);
+				}
 			}
-			return resultMono
+			return RequestDeadlines.bound(request.method(), request.params(), resultMono, this.pendingRequests)
 				.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null))
 				.onErrorResume(error -> Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
-						null, new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-								error.getMessage(), null)))); // TODO: add error message
-																// through the data field
+						null, toJsonRpcError(error))));
 		});
 	}
 
@@ -240,6 +421,10 @@ public class McpServerSession implements McpSession {
 				exchangeSink.tryEmitValue(new McpAsyncServerExchange(this, clientCapabilities.get(), clientInfo.get()));
 				return this.initNotificationHandler.handle();
 			}
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				cancelIncomingRequest(notification.params());
+				return Mono.empty();
+			}
 
 			var handler = notificationHandlers.get(notification.method());
 			if (handler == null) {
@@ -250,6 +435,20 @@ public class McpServerSession implements McpSession {
 		});
 	}
 
+	/**
+	 * Maps a handler error to a JSON-RPC error. Handlers signal a specific error code,
+	 * such as {@link McpSchema.ErrorCodes#INVALID_PARAMS}, with an {@link McpError} that
+	 * carries a JSON-RPC error; any other error is reported as an internal error.
+	 */
+	private static McpSchema.JSONRPCResponse.JSONRPCError toJsonRpcError(Throwable error) {
+		if (error instanceof McpError mcpError && mcpError.getJsonRpcError() != null) {
+			return mcpError.getJsonRpcError();
+		}
+		// TODO: add error message through the data field
+		return new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR, error.getMessage(),
+				null);
+	}
+
 	record MethodNotFoundError(String method, String message, Object data) {
 	}
 
@@ -265,12 +464,13 @@ public class McpServerSession implements McpSession {
 
 	@Override
 	public Mono<Void> closeGracefully() {
-		return this.transport.closeGracefully();
+		return this.transport.closeGracefully().doFinally(signal -> disconnected());
 	}
 
 	@Override
 	public void close() {
 		this.transport.close();
+		disconnected();
 	}
 
 	/**
@@ -1,5 +1,7 @@
 package io.modelcontextprotocol.spec;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Marker interface for the server-side MCP transport.
  *
@@ -8,4 +10,15 @@ package io.modelcontextprotocol.spec;
  */
 public interface McpServerTransport extends McpTransport {
 
+	/**
+	 * Sends a message that is sent to many sessions at once. Transports that encode
+	 * messages themselves should write the encoded frame of the message, so that it is
+	 * serialized once for all the sessions. By default the message is sent as any other.
+	 * @param message the pre-encoded message to be sent to the client
+	 * @return a {@link Mono<Void>} that completes when the message has been sent
+	 */
+	default Mono<Void> sendMessage(PreEncodedMessage message) {
+		return sendMessage(message.message());
+	}
+
 }
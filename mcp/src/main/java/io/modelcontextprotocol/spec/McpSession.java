@@ -4,6 +4,7 @@
 
 package io.modelcontextprotocol.spec;
 
+import java.time.Duration;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -41,6 +42,27 @@ public interface McpSession {
 	 */
 	<T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef);
 
+	/**
+	 * Sends a request to the model counterparty with a timeout that overrides the one
+	 * configured for the method.
+	 *
+	 * <p>
+	 * The default implementation can only shorten the configured timeout; sessions that
+	 * track timeouts themselves override it.
+	 * </p>
+	 * @param <T> the type of the expected response
+	 * @param method the name of the method to be called on the counterparty
+	 * @param requestParams the parameters to be sent with the request
+	 * @param typeRef the TypeReference describing the expected response type
+	 * @param timeout the duration to wait for the response, or {@code null} to wait
+	 * indefinitely
+	 * @return a Mono that will emit the response when received
+	 */
+	default <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef, Duration timeout) {
+		Mono<T> response = sendRequest(method, requestParams, typeRef);
+		return (timeout != null) ? response.timeout(timeout) : response;
+	}
+
 	/**
 	 * Sends a notification to the model client or server without parameters.
 	 *
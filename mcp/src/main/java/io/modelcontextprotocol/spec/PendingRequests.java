@@ -0,0 +1,403 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The table of requests a session sent and is waiting for a response to.
+ * <p>
+ * Requests are identified by a per-session counter and are kept in an open addressing
+ * table keyed by the primitive id, so no id string or boxed key is created per request.
+ * Timeouts are tracked by a single hashed timer wheel per session instead of a scheduled
+ * task per request. The wheel only ticks while timed requests are in flight. An entry is
+ * removed from the table however its request ends: by a response, an expiry, a
+ * cancellation or a failure to send it. The wheel also runs the session's other timed
+ * tasks, such as the deadlines of the requests it handles.
+ * <p>
+ * The in-flight and expiration counts are exposed for monitoring. Instances are
+ * thread-safe.
+ */
+public final class PendingRequests {
+
+	private static final long DEFAULT_TICK_MILLIS = 10;
+
+	private static final int WHEEL_SIZE = 512;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final AtomicLong idCounter = new AtomicLong();
+
+	private final AtomicLong expiredCount = new AtomicLong();
+
+	private final Scheduler scheduler;
+
+	private final long tickNanos;
+
+	private final long startNanos = System.nanoTime();
+
+	/** Open addressing table, 0 marks a free slot */
+	private long[] keys = new long[INITIAL_CAPACITY];
+
+	private Entry[] entries = new Entry[INITIAL_CAPACITY];
+
+	private int size;
+
+	/** Doubly linked entry lists, one per tick modulo the wheel size */
+	private final Entry[] wheel = new Entry[WHEEL_SIZE];
+
+	private int timedCount;
+
+	private long lastTick;
+
+	private Disposable ticker;
+
+	private boolean closed;
+
+	/**
+	 * Creates a table that checks timeouts every 10 milliseconds on the parallel
+	 * scheduler.
+	 */
+	PendingRequests() {
+		this(Schedulers.parallel(), Duration.ofMillis(DEFAULT_TICK_MILLIS));
+	}
+
+	PendingRequests(Scheduler scheduler, Duration tick) {
+		this.scheduler = scheduler;
+		this.tickNanos = tick.toNanos();
+	}
+
+	/**
+	 * Returns the number of requests that are waiting for a response.
+	 * @return The in-flight request count
+	 */
+	public synchronized int getInFlightCount() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the number of requests that timed out since the session was created.
+	 * @return The expiration count
+	 */
+	public long getExpiredCount() {
+		return this.expiredCount.get();
+	}
+
+	/**
+	 * Returns a new request id.
+	 */
+	long nextId() {
+		return this.idCounter.incrementAndGet();
+	}
+
+	/**
+	 * Adds a request that is waiting for a response. If no response arrives within the
+	 * timeout, the request is removed and the sink fails with a {@link TimeoutException}.
+	 * @param id The request id
+	 * @param method The request method, for the timeout message
+	 * @param sink The sink to complete with the response
+	 * @param timeout The timeout, or {@code null} to wait indefinitely
+	 */
+	void register(long id, String method, MonoSink<McpSchema.JSONRPCResponse> sink, Duration timeout) {
+		synchronized (this) {
+			if (!this.closed) {
+				Entry entry = new Entry(id, method, sink, timeout);
+				put(entry);
+				if (timeout != null) {
+					schedule(entry, timeout);
+				}
+				return;
+			}
+		}
+		sink.error(new McpError("Session closed"));
+	}
+
+	/**
+	 * Removes a request.
+	 * @param id The request id as received in a response
+	 * @return The sink of the request, or {@code null} if the id is unknown or the
+	 * request already ended
+	 */
+	MonoSink<McpSchema.JSONRPCResponse> remove(Object id) {
+		// Numeric ids may come back as any number type, depending on the codec
+		if (id instanceof Number number) {
+			return remove(number.longValue());
+		}
+		return null;
+	}
+
+	/**
+	 * Removes a request.
+	 * @param id The request id
+	 * @return The sink of the request, or {@code null} if the request already ended
+	 */
+	synchronized MonoSink<McpSchema.JSONRPCResponse> remove(long id) {
+		Entry entry = delete(id);
+		if (entry == null) {
+			return null;
+		}
+		unschedule(entry);
+		return entry.sink;
+	}
+
+	/**
+	 * Runs a task on the timer wheel once a delay has passed, unless it is cancelled
+	 * first. The task runs on the thread of the wheel, so it must not block. Tasks are
+	 * dropped when the table is closed.
+	 * @param delay The delay
+	 * @param task The task to run
+	 * @return Cancels the task
+	 */
+	Disposable schedule(Duration delay, Runnable task) {
+		Entry entry = new Entry(task);
+		synchronized (this) {
+			if (this.closed) {
+				return Disposables.disposed();
+			}
+			schedule(entry, delay);
+		}
+		return () -> {
+			synchronized (this) {
+				if (!this.closed) {
+					unschedule(entry);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Fails all pending requests and rejects new ones.
+	 * @param error The error to fail pending requests with
+	 */
+	void close(Throwable error) {
+		List<Entry> pending = new ArrayList<>();
+		synchronized (this) {
+			this.closed = true;
+			for (Entry entry : this.entries) {
+				if (entry != null) {
+					pending.add(entry);
+				}
+			}
+			this.keys = new long[INITIAL_CAPACITY];
+			this.entries = new Entry[INITIAL_CAPACITY];
+			this.size = 0;
+			Arrays.fill(this.wheel, null);
+			this.timedCount = 0;
+			stopTicker();
+		}
+		pending.forEach(entry -> entry.sink.error(error));
+	}
+
+	// ---------------------------------------
+	// Timer wheel
+	// ---------------------------------------
+
+	private long currentTick() {
+		return (System.nanoTime() - this.startNanos) / this.tickNanos;
+	}
+
+	private void schedule(Entry entry, Duration timeout) {
+		long now = currentTick();
+		if (this.ticker == null) {
+			// Nothing was scheduled while the wheel was idle, so no tick is missed
+			this.lastTick = now;
+			this.ticker = this.scheduler.schedulePeriodically(this::tick, this.tickNanos, this.tickNanos,
+					TimeUnit.NANOSECONDS);
+		}
+		// Round up, so an entry never expires early
+		entry.deadlineTick = now + Math.max(1, (timeout.toNanos() + this.tickNanos - 1) / this.tickNanos);
+		int bucket = (int) (entry.deadlineTick & (WHEEL_SIZE - 1));
+		entry.bucket = bucket;
+		entry.next = this.wheel[bucket];
+		if (entry.next != null) {
+			entry.next.prev = entry;
+		}
+		this.wheel[bucket] = entry;
+		this.timedCount++;
+	}
+
+	private void unschedule(Entry entry) {
+		if (entry.bucket < 0) {
+			return;
+		}
+		if (entry.prev != null) {
+			entry.prev.next = entry.next;
+		}
+		else {
+			this.wheel[entry.bucket] = entry.next;
+		}
+		if (entry.next != null) {
+			entry.next.prev = entry.prev;
+		}
+		entry.prev = null;
+		entry.next = null;
+		entry.bucket = -1;
+		this.timedCount--;
+	}
+
+	private void tick() {
+		List<Entry> expired = null;
+		synchronized (this) {
+			long now = currentTick();
+			// After a stall, one pass over the whole wheel visits every entry
+			long from = Math.max(this.lastTick + 1, now - WHEEL_SIZE + 1);
+			for (long tick = from; tick <= now; tick++) {
+				Entry entry = this.wheel[(int) (tick & (WHEEL_SIZE - 1))];
+				while (entry != null) {
+					Entry next = entry.next;
+					if (entry.deadlineTick <= now) {
+						unschedule(entry);
+						if (entry.task == null) {
+							delete(entry.id);
+						}
+						if (expired == null) {
+							expired = new ArrayList<>();
+						}
+						expired.add(entry);
+					}
+					entry = next;
+				}
+			}
+			this.lastTick = now;
+			if (this.timedCount == 0) {
+				stopTicker();
+			}
+		}
+		if (expired != null) {
+			for (Entry entry : expired) {
+				if (entry.task != null) {
+					entry.task.run();
+					continue;
+				}
+				this.expiredCount.incrementAndGet();
+				entry.sink.error(new TimeoutException("Request " + entry.id + " (" + entry.method
+						+ ") did not receive a response within " + entry.timeout.toMillis() + " ms"));
+			}
+		}
+	}
+
+	private void stopTicker() {
+		if (this.ticker != null) {
+			this.ticker.dispose();
+			this.ticker = null;
+		}
+	}
+
+	// ---------------------------------------
+	// Open addressing table
+	// ---------------------------------------
+
+	private static int slot(long key, int mask) {
+		// Fibonacci hashing spreads the sequential ids over the table
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+	}
+
+	private void put(Entry entry) {
+		if ((this.size + 1) * 2 > this.keys.length) {
+			resize(this.keys.length * 2);
+		}
+		int mask = this.keys.length - 1;
+		int i = slot(entry.id, mask);
+		while (this.keys[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		this.keys[i] = entry.id;
+		this.entries[i] = entry;
+		this.size++;
+	}
+
+	private Entry delete(long key) {
+		int mask = this.keys.length - 1;
+		int i = slot(key, mask);
+		while (this.keys[i] != key) {
+			if (this.keys[i] == 0) {
+				return null;
+			}
+			i = (i + 1) & mask;
+		}
+		Entry entry = this.entries[i];
+		// Shift following entries of the probe sequence back into the freed slot
+		int free = i;
+		int j = (i + 1) & mask;
+		while (this.keys[j] != 0) {
+			int home = slot(this.keys[j], mask);
+			if (((j - home) & mask) >= ((j - free) & mask)) {
+				this.keys[free] = this.keys[j];
+				this.entries[free] = this.entries[j];
+				free = j;
+			}
+			j = (j + 1) & mask;
+		}
+		this.keys[free] = 0;
+		this.entries[free] = null;
+		this.size--;
+		return entry;
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = this.keys;
+		Entry[] oldEntries = this.entries;
+		this.keys = new long[capacity];
+		this.entries = new Entry[capacity];
+		this.size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != 0) {
+				put(oldEntries[i]);
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		final long id;
+
+		final String method;
+
+		final MonoSink<McpSchema.JSONRPCResponse> sink;
+
+		final Duration timeout;
+
+		/** The task to run on expiry, for entries that are not requests */
+		final Runnable task;
+
+		long deadlineTick;
+
+		int bucket = -1;
+
+		Entry prev;
+
+		Entry next;
+
+		Entry(long id, String method, MonoSink<McpSchema.JSONRPCResponse> sink, Duration timeout) {
+			this.id = id;
+			this.method = method;
+			this.sink = sink;
+			this.timeout = timeout;
+			this.task = null;
+		}
+
+		Entry(Runnable task) {
+			this.id = 0;
+			this.method = null;
+			this.sink = null;
+			this.timeout = null;
+			this.task = task;
+		}
+
+	}
+
+}
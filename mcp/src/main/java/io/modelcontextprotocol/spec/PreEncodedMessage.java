@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * A JSON-RPC message sent to many sessions, such as a broadcast notification, that is
+ * encoded once and then written as is to every session.
+ * <p>
+ * The message is encoded by the first transport that sends it, with the codec of that
+ * transport, and the encoded frame is kept for the next transports that use the same
+ * codec. Since the codec is shared by a server and its transports, a broadcast to N
+ * sessions serializes the message once instead of N times. A transport with another codec
+ * encodes the message again, so the frame always matches the codec of the transport
+ * writing it.
+ * <p>
+ * Instances are immutable, apart from the cached frame, and thread-safe.
+ */
+public final class PreEncodedMessage {
+
+	private final McpSchema.JSONRPCMessage message;
+
+	private volatile Frame frame;
+
+	private PreEncodedMessage(McpSchema.JSONRPCMessage message) {
+		this.message = message;
+	}
+
+	/**
+	 * Creates a pre-encoded message. The message is encoded on first write.
+	 * @param message The message, which must not be modified afterwards
+	 * @return A new pre-encoded message
+	 */
+	public static PreEncodedMessage of(McpSchema.JSONRPCMessage message) {
+		Assert.notNull(message, "Message must not be null");
+		return new PreEncodedMessage(message);
+	}
+
+	/**
+	 * Returns the message.
+	 * @return The message
+	 */
+	public McpSchema.JSONRPCMessage message() {
+		return this.message;
+	}
+
+	/**
+	 * Writes the encoded message to the given stream. The stream is neither flushed nor
+	 * closed.
+	 * @param jsonCodec The codec of the transport
+	 * @param out The stream to write to
+	 * @throws IOException If the message cannot be serialized or written
+	 */
+	public void writeTo(McpJsonCodec jsonCodec, OutputStream out) throws IOException {
+		out.write(frame(jsonCodec).bytes);
+	}
+
+	/**
+	 * Returns the encoded message as text.
+	 * @param jsonCodec The codec of the transport
+	 * @return The single-line JSON text of the message
+	 * @throws IOException If the message cannot be serialized
+	 */
+	public String encodeToString(McpJsonCodec jsonCodec) throws IOException {
+		return frame(jsonCodec).text();
+	}
+
+	private Frame frame(McpJsonCodec jsonCodec) throws IOException {
+		Frame cached = this.frame;
+		if (cached != null && cached.jsonCodec == jsonCodec) {
+			return cached;
+		}
+		// Concurrent first writes may both encode, which is harmless
+		Frame encoded = new Frame(jsonCodec, jsonCodec.encode(this.message));
+		this.frame = encoded;
+		return encoded;
+	}
+
+	@Override
+	public String toString() {
+		return "PreEncodedMessage[message=" + this.message + "]";
+	}
+
+	private static final class Frame {
+
+		private final McpJsonCodec jsonCodec;
+
+		private final byte[] bytes;
+
+		private volatile String text;
+
+		private Frame(McpJsonCodec jsonCodec, byte[] bytes) {
+			this.jsonCodec = jsonCodec;
+			this.bytes = bytes;
+		}
+
+		private String text() {
+			String cached = this.text;
+			if (cached == null) {
+				cached = new String(this.bytes, StandardCharsets.UTF_8);
+				this.text = cached;
+			}
+			return cached;
+		}
+
+	}
+
+}
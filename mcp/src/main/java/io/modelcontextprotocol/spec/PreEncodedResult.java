@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * An immutable response result together with its encoded JSON form.
+ * <p>
+ * When a message holding this result is written as JSON text, the cached encoding is
+ * copied into the output as is, so the result is serialized once no matter how many
+ * sessions it is sent to. Binary formats, and in-memory conversions, serialize the
+ * {@link #value()} as usual.
+ *
+ * @param <T> The type of the result
+ */
+@JsonSerialize(using = PreEncodedResult.Serializer.class)
+public final class PreEncodedResult<T> {
+
+	private final T value;
+
+	private final long version;
+
+	private final SerializedString json;
+
+	private PreEncodedResult(T value, long version, SerializedString json) {
+		this.value = value;
+		this.version = version;
+		this.json = json;
+	}
+
+	/**
+	 * Encodes the given result with the codec and caches the encoding. If the result
+	 * cannot be encoded, it is serialized each time it is written instead.
+	 * @param <T> The type of the result
+	 * @param value The result, which must not be modified afterwards
+	 * @param version The version of the data the result was built from
+	 * @param jsonCodec The text codec to encode the result with
+	 * @return A new pre-encoded result
+	 */
+	public static <T> PreEncodedResult<T> of(T value, long version, McpJsonCodec jsonCodec) {
+		Assert.notNull(value, "Value must not be null");
+		Assert.notNull(jsonCodec, "The McpJsonCodec can not be null");
+		SerializedString json;
+		try {
+			json = new SerializedString(jsonCodec.encodeToString(value));
+			// Encode to UTF-8 once up front, instead of on the first write
+			json.asUnquotedUTF8();
+		}
+		catch (IOException e) {
+			json = null;
+		}
+		return new PreEncodedResult<>(value, version, json);
+	}
+
+	/**
+	 * Returns the result.
+	 * @return The result
+	 */
+	public T value() {
+		return this.value;
+	}
+
+	/**
+	 * Returns the version of the data the result was built from.
+	 * @return The version
+	 */
+	public long version() {
+		return this.version;
+	}
+
+	/**
+	 * Returns whether the encoded form of the result is cached.
+	 * @return {@code true} if the result is written from its cached encoding
+	 */
+	public boolean isEncoded() {
+		return this.json != null;
+	}
+
+	@Override
+	public String toString() {
+		return "PreEncodedResult[version=" + this.version + ", value=" + this.value + "]";
+	}
+
+	@SuppressWarnings({ "serial", "rawtypes" })
+	static final class Serializer extends StdSerializer<PreEncodedResult> {
+
+		Serializer() {
+			super(PreEncodedResult.class);
+		}
+
+		@Override
+		public void serialize(PreEncodedResult result, JsonGenerator gen, SerializerProvider provider)
+				throws IOException {
+			// Binary generators, including token buffers, can not take raw JSON text
+			if (result.json != null && !gen.canWriteBinaryNatively()) {
+				gen.writeRawValue(result.json);
+			}
+			else {
+				provider.defaultSerializeValue(result.value, gen);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Propagates the deadline of a request to the receiving side.
+ * <p>
+ * The sender adds the time left before its timeout expires, in milliseconds, to the
+ * {@code _meta} object of the request params under {@link #TIMEOUT_META_KEY}. The
+ * receiver turns it into a deadline on its own clock when the request arrives, answers a
+ * request that arrives without time left with an error without running its handler, and
+ * stops the handler once the deadline passes, since the sender no longer waits for the
+ * answer. Peers that do not know the key ignore it.
+ * <p>
+ * Since only a duration crosses the wire, the clocks of the peers need not agree. The
+ * receiver's deadline is later than the sender's by the time the request took to arrive.
+ */
+public final class RequestDeadlines {
+
+	/**
+	 * The key of the time left to handle the request, in milliseconds, in the
+	 * {@code _meta} object of request params.
+	 */
+	public static final String TIMEOUT_META_KEY = "io.modelcontextprotocol/timeout";
+
+	private RequestDeadlines() {
+	}
+
+	/**
+	 * Returns the params of a request that is sent with a timeout, with the timeout
+	 * added. The {@code initialize} request is sent as is, since the peer's protocol
+	 * version is not yet agreed on when it is sent.
+	 * @param method The request method
+	 * @param params The request params, may be {@code null}
+	 * @param timeout The timeout of the request, or {@code null} if it has none
+	 * @return The params to send
+	 */
+	static Object propagate(String method, Object params, Duration timeout) {
+		if (timeout == null || McpSchema.METHOD_INITIALIZE.equals(method)) {
+			return params;
+		}
+		return withTimeout(params, timeout.toMillis());
+	}
+
+	/**
+	 * Returns the request params with the timeout added to their {@code _meta} object.
+	 * Params that are not a JSON object are returned unchanged.
+	 * @param params The request params, may be {@code null}
+	 * @param timeoutMillis The time left to handle the request, in milliseconds
+	 * @return The params with the timeout
+	 */
+	static Object withTimeout(Object params, long timeoutMillis) {
+		return RequestMeta.with(params, TIMEOUT_META_KEY, timeoutMillis);
+	}
+
+	/**
+	 * Returns the timeout carried by request params.
+	 * @param params The request params as decoded by the transport
+	 * @return The time left to handle the request, in milliseconds, or {@code -1} if the
+	 * params carry none
+	 */
+	static long timeoutOf(Object params) {
+		return (RequestMeta.get(params, TIMEOUT_META_KEY) instanceof Number timeout) ? Math.max(0, timeout.longValue())
+				: -1;
+	}
+
+	/**
+	 * Bounds the handling of a request by the timeout its params carry, counted from now.
+	 * A request without time left is not handled at all. The deadline is tracked by the
+	 * timer wheel of the session rather than by a timer task per request.
+	 * @param <T> The type of the result
+	 * @param method The request method, for the error message
+	 * @param params The request params
+	 * @param handling The handling of the request
+	 * @param timer The requests of the session, whose timer wheel tracks the deadline
+	 * @return The handling, failing with a {@link TimeoutException} once the deadline
+	 * passes
+	 */
+	static <T> Mono<T> bound(String method, Object params, Mono<T> handling, PendingRequests timer) {
+		long timeoutMillis = timeoutOf(params);
+		if (timeoutMillis < 0) {
+			return handling;
+		}
+		if (timeoutMillis == 0) {
+			return Mono.error(new TimeoutException("Deadline of request " + method + " passed before it was handled"));
+		}
+		long receivedAt = System.nanoTime();
+		return Mono.defer(() -> {
+			long remaining = Duration.ofMillis(timeoutMillis).toNanos() - (System.nanoTime() - receivedAt);
+			Sinks.One<Boolean> expired = Sinks.one();
+			Disposable expiry = timer.schedule(Duration.ofNanos(Math.max(0, remaining)),
+					() -> expired.tryEmitValue(Boolean.TRUE));
+			return handling
+				.timeout(expired.asMono(), Mono.error(
+						() -> new TimeoutException("Deadline of request " + method + " passed while it was handled")))
+				.doFinally(signal -> expiry.dispose());
+		});
+	}
+
+}
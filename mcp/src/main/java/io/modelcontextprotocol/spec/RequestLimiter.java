@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.ArrayDeque;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Enforces the {@link RequestLimits} of a session: hands out a permit per request being
+ * handled, queues requests while none is free and rejects them once the queue is full.
+ * <p>
+ * A permit is returned when the handling of its request terminates or is cancelled, and
+ * passed on to the oldest queued request. A queued request that is cancelled leaves the
+ * queue without taking a permit.
+ */
+final class RequestLimiter {
+
+	private final int maxConcurrentRequests;
+
+	private final int maxQueuedRequests;
+
+	private final ArrayDeque<Permit> queue = new ArrayDeque<>();
+
+	private int activeRequests;
+
+	RequestLimiter(RequestLimits limits) {
+		this.maxConcurrentRequests = limits.maxConcurrentRequests();
+		this.maxQueuedRequests = limits.maxQueuedRequests();
+	}
+
+	/**
+	 * Delays the handling of a request until a permit is free.
+	 * @param <T> The type of the result
+	 * @param handling The handling of the request
+	 * @return The handling, which fails with a
+	 * {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error if the queue is full
+	 */
+	<T> Mono<T> limit(Mono<T> handling) {
+		return Mono.defer(() -> {
+			Permit permit = new Permit();
+			return Mono.<Void>create(sink -> acquire(permit, sink)).then(handling).doFinally(signal -> release(permit));
+		});
+	}
+
+	/**
+	 * Returns the number of requests being handled.
+	 * @return The number of requests
+	 */
+	synchronized int activeRequests() {
+		return this.activeRequests;
+	}
+
+	/**
+	 * Returns the number of requests waiting for a permit.
+	 * @return The number of requests
+	 */
+	synchronized int queuedRequests() {
+		return this.queue.size();
+	}
+
+	private void acquire(Permit permit, MonoSink<Void> sink) {
+		synchronized (this) {
+			if (this.activeRequests < this.maxConcurrentRequests) {
+				this.activeRequests++;
+				permit.granted = true;
+			}
+			else if (this.queue.size() < this.maxQueuedRequests) {
+				permit.sink = sink;
+				this.queue.add(permit);
+				return;
+			}
+		}
+		if (permit.granted) {
+			sink.success();
+		}
+		else {
+			sink.error(new McpError(new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.SERVER_OVERLOADED,
+					"Server overloaded, too many requests in progress", null)));
+		}
+	}
+
+	private void release(Permit permit) {
+		Permit next;
+		synchronized (this) {
+			if (!permit.granted) {
+				this.queue.remove(permit);
+				return;
+			}
+			permit.granted = false;
+			next = this.queue.poll();
+			if (next == null) {
+				this.activeRequests--;
+				return;
+			}
+			// The permit passes on to the next request without being released
+			next.granted = true;
+		}
+		next.sink.success();
+	}
+
+	private static final class Permit {
+
+		private boolean granted;
+
+		private MonoSink<Void> sink;
+
+	}
+
+}
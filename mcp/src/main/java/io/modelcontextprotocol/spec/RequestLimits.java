@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * The limits a server session applies to the requests it handles concurrently for its
+ * client.
+ * <p>
+ * Requests beyond the concurrency limit wait in a bounded queue, in the order they
+ * arrived, and are handled as earlier requests complete. Requests that arrive while the
+ * queue is full are rejected right away with a
+ * {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error, so a single client can not tie up
+ * the server with an unbounded backlog. The time a request waits in the queue counts
+ * against its deadline. The {@code initialize} and {@code ping} requests are never
+ * limited.
+ *
+ * @param maxConcurrentRequests The number of requests handled at the same time
+ * @param maxQueuedRequests The number of requests waiting to be handled
+ */
+public record RequestLimits(int maxConcurrentRequests, int maxQueuedRequests) {
+
+	/**
+	 * Limits that handle every request as soon as it arrives.
+	 */
+	public static final RequestLimits UNLIMITED = new RequestLimits(Integer.MAX_VALUE, 0);
+
+	public RequestLimits {
+		Assert.isTrue(maxConcurrentRequests > 0, "The maximum of concurrent requests must be positive");
+		Assert.isTrue(maxQueuedRequests >= 0, "The maximum of queued requests can not be negative");
+	}
+
+}
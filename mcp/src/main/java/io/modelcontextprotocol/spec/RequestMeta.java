@@ -0,0 +1,301 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Reads and writes entries of the {@code _meta} object of request params.
+ * <p>
+ * The schema types do not model {@code _meta}, so entries are read from the params as
+ * decoded by the transport: a map, or a token buffer when the payload was deferred, which
+ * is scanned without binding it. Entries are added to the params as they are serialized,
+ * so params records are never converted to add them.
+ */
+public final class RequestMeta {
+
+	/**
+	 * The key of the token the receiver sends progress notifications for the request
+	 * with.
+	 */
+	public static final String PROGRESS_TOKEN = "progressToken";
+
+	private static final String META = "_meta";
+
+	private RequestMeta() {
+	}
+
+	/**
+	 * Returns a scalar entry of the {@code _meta} object of request params.
+	 * @param params The request params as decoded by the transport, may be {@code null}
+	 * @param key The key of the entry
+	 * @return The string or number value of the entry, or {@code null} if the params have
+	 * no such entry
+	 */
+	public static Object get(Object params, String key) {
+		if (params instanceof Map<?, ?> map) {
+			if (map.get(META) instanceof Map<?, ?> meta) {
+				Object value = meta.get(key);
+				return (value instanceof String || value instanceof Number) ? value : null;
+			}
+			return null;
+		}
+		if (params instanceof TokenBuffer buffer) {
+			return get(buffer, key);
+		}
+		if (params instanceof Params wrapped) {
+			Object value = wrapped.entries.get(key);
+			return (value instanceof String || value instanceof Number) ? value : get(wrapped.params, key);
+		}
+		return null;
+	}
+
+	private static Object get(TokenBuffer buffer, String key) {
+		try (JsonParser parser = buffer.asParser()) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken token = parser.nextToken();
+				if (!META.equals(field) || token != JsonToken.START_OBJECT) {
+					parser.skipChildren();
+					continue;
+				}
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String name = parser.currentName();
+					token = parser.nextToken();
+					if (key.equals(name)) {
+						return switch (token) {
+							case VALUE_STRING -> parser.getText();
+							case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+							default -> null;
+						};
+					}
+					parser.skipChildren();
+				}
+				return null;
+			}
+			return null;
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the request params with an entry added to their {@code _meta} object.
+	 * Params that are not a JSON object are returned unchanged. Map params are copied;
+	 * other params are wrapped as they are, and the entry is added while they are
+	 * written, so they are neither converted nor read before they are sent.
+	 * @param params The request params, may be {@code null}
+	 * @param key The key of the entry
+	 * @param value The value of the entry
+	 * @return The params with the entry
+	 */
+	@SuppressWarnings("unchecked")
+	public static Object with(Object params, String key, Object value) {
+		if (params == null || params instanceof Map<?, ?>) {
+			Map<String, Object> map = (params != null) ? new HashMap<>((Map<String, Object>) params) : new HashMap<>(2);
+			Map<String, Object> meta = new HashMap<>(4);
+			if (map.get(META) instanceof Map<?, ?> existing) {
+				meta.putAll((Map<String, Object>) existing);
+			}
+			meta.put(key, value);
+			map.put(META, meta);
+			return map;
+		}
+		if (params instanceof CharSequence || params instanceof Number || params instanceof Boolean
+				|| params instanceof Iterable || params.getClass().isArray()) {
+			return params;
+		}
+		if (params instanceof Params wrapped) {
+			Map<String, Object> entries = new LinkedHashMap<>(wrapped.entries);
+			entries.put(key, value);
+			return new Params(wrapped.params, entries);
+		}
+		Map<String, Object> entries = new LinkedHashMap<>(4);
+		entries.put(key, value);
+		return new Params(params, entries);
+	}
+
+	/**
+	 * Request params together with entries of their {@code _meta} object, which are
+	 * written into the params as they are serialized.
+	 */
+	@JsonSerialize(using = Params.Serializer.class)
+	static final class Params {
+
+		private final Object params;
+
+		private final Map<String, Object> entries;
+
+		Params(Object params, Map<String, Object> entries) {
+			this.params = params;
+			this.entries = entries;
+		}
+
+		Object params() {
+			return this.params;
+		}
+
+		@Override
+		public String toString() {
+			return "Params[params=" + this.params + ", _meta=" + this.entries + "]";
+		}
+
+		@SuppressWarnings("serial")
+		static final class Serializer extends StdSerializer<Params> {
+
+			Serializer() {
+				super(Params.class);
+			}
+
+			@Override
+			public void serialize(Params value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+				provider.defaultSerializeValue(value.params, new MetaWriter(gen, value.entries, provider));
+			}
+
+		}
+
+	}
+
+	/**
+	 * Passes the params through to the generator, adding the entries to the {@code _meta}
+	 * object of the top level object, or adding that object if the params have none. The
+	 * nesting depth is only tracked for the structures the params serializer writes
+	 * through this generator; values it writes with the delegate are balanced.
+	 */
+	private static final class MetaWriter extends JsonGeneratorDelegate {
+
+		private final Map<String, Object> entries;
+
+		private final SerializerProvider provider;
+
+		private int depth;
+
+		private boolean metaField;
+
+		private boolean inMeta;
+
+		private boolean sawMeta;
+
+		MetaWriter(JsonGenerator delegate, Map<String, Object> entries, SerializerProvider provider) {
+			super(delegate, true);
+			this.entries = entries;
+			this.provider = provider;
+		}
+
+		@Override
+		public void writeStartObject() throws IOException {
+			super.writeStartObject();
+			startObject();
+		}
+
+		@Override
+		public void writeStartObject(Object forValue) throws IOException {
+			super.writeStartObject(forValue);
+			startObject();
+		}
+
+		@Override
+		public void writeStartObject(Object forValue, int size) throws IOException {
+			super.writeStartObject(forValue, size);
+			startObject();
+		}
+
+		private void startObject() {
+			this.depth++;
+			if (this.depth == 2 && this.metaField) {
+				this.inMeta = true;
+			}
+			this.metaField = false;
+		}
+
+		@Override
+		public void writeEndObject() throws IOException {
+			if (this.depth == 1 && !this.sawMeta) {
+				this.delegate.writeFieldName(META);
+				this.delegate.writeStartObject();
+				writeEntries();
+				this.delegate.writeEndObject();
+			}
+			else if (this.depth == 2 && this.inMeta) {
+				// Written last, so that they win over entries of the same key
+				writeEntries();
+				this.inMeta = false;
+			}
+			this.depth--;
+			super.writeEndObject();
+		}
+
+		@Override
+		public void writeStartArray() throws IOException {
+			super.writeStartArray();
+			this.depth++;
+			this.metaField = false;
+		}
+
+		@Override
+		public void writeStartArray(Object forValue) throws IOException {
+			super.writeStartArray(forValue);
+			this.depth++;
+			this.metaField = false;
+		}
+
+		@Override
+		public void writeStartArray(Object forValue, int size) throws IOException {
+			super.writeStartArray(forValue, size);
+			this.depth++;
+			this.metaField = false;
+		}
+
+		@Override
+		public void writeEndArray() throws IOException {
+			this.depth--;
+			super.writeEndArray();
+		}
+
+		@Override
+		public void writeFieldName(String name) throws IOException {
+			fieldName(name);
+			super.writeFieldName(name);
+		}
+
+		@Override
+		public void writeFieldName(SerializableString name) throws IOException {
+			fieldName(name.getValue());
+			super.writeFieldName(name);
+		}
+
+		private void fieldName(String name) {
+			if (this.depth == 1) {
+				this.metaField = META.equals(name);
+				this.sawMeta |= this.metaField;
+			}
+		}
+
+		private void writeEntries() throws IOException {
+			for (Map.Entry<String, Object> entry : this.entries.entrySet()) {
+				this.provider.defaultSerializeField(entry.getKey(), entry.getValue(), this.delegate);
+			}
+		}
+
+	}
+
+}
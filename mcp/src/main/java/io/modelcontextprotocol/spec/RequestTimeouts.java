@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * The timeouts a session applies to the requests it sends, by method.
+ * <p>
+ * Methods differ widely in how long an answer may take: a {@code ping} should fail within
+ * milliseconds, while a {@code sampling/createMessage} request may wait minutes for a
+ * human or a model. Methods without a timeout of their own use the default timeout. A
+ * timeout given for a single call takes precedence over both.
+ *
+ * @param defaultTimeout The timeout of methods without a timeout of their own
+ * @param methodTimeouts The timeouts by method name
+ */
+public record RequestTimeouts(Duration defaultTimeout, Map<String, Duration> methodTimeouts) {
+
+	public RequestTimeouts {
+		Assert.notNull(defaultTimeout, "The default timeout can not be null");
+		Assert.notNull(methodTimeouts, "The method timeouts can not be null");
+		methodTimeouts = Map.copyOf(methodTimeouts);
+	}
+
+	/**
+	 * Creates timeouts that apply the same timeout to every method.
+	 * @param defaultTimeout The timeout of all methods
+	 * @return The timeouts
+	 */
+	public static RequestTimeouts of(Duration defaultTimeout) {
+		return new RequestTimeouts(defaultTimeout, Map.of());
+	}
+
+	/**
+	 * Returns a copy of these timeouts with the timeout of a method replaced.
+	 * @param method The method name
+	 * @param timeout The timeout of the method
+	 * @return The new timeouts
+	 */
+	public RequestTimeouts withTimeout(String method, Duration timeout) {
+		Assert.hasText(method, "The method can not be empty");
+		Assert.notNull(timeout, "The timeout can not be null");
+		Map<String, Duration> timeouts = new HashMap<>(this.methodTimeouts);
+		timeouts.put(method, timeout);
+		return new RequestTimeouts(this.defaultTimeout, timeouts);
+	}
+
+	/**
+	 * Returns the timeout of a method.
+	 * @param method The method name
+	 * @return The timeout of the method, or the default timeout
+	 */
+	public Duration timeoutFor(String method) {
+		return this.methodTimeouts.getOrDefault(method, this.defaultTimeout);
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * {@link McpJsonCodec} for the binary Smile data format, used on stdio sessions that
+ * negotiated {@link McpBinaryEncoding#SMILE}.
+ * <p>
+ * The base64 payloads of {@link McpSchema.BlobResourceContents#blob()} and
+ * {@link McpSchema.ImageContent#data()} are written as raw binary values instead of
+ * base64 text. The receiving side binds them back to their base64 string form, so the
+ * schema records are unchanged.
+ * <p>
+ * Requires {@code com.fasterxml.jackson.dataformat:jackson-dataformat-smile} on the
+ * classpath.
+ */
+public class SmileMcpJsonCodec extends JacksonMcpJsonCodec {
+
+	/**
+	 * Creates a Smile codec that binds payloads eagerly.
+	 */
+	public SmileMcpJsonCodec() {
+		this(false);
+	}
+
+	/**
+	 * Creates a Smile codec.
+	 * @param deferPayloads Whether request params and response results are kept unparsed
+	 * until they are bound to their target type
+	 */
+	public SmileMcpJsonCodec(boolean deferPayloads) {
+		super(createObjectMapper(), deferPayloads);
+	}
+
+	/**
+	 * Creates an ObjectMapper for the Smile format that writes base64 content as raw
+	 * binary values.
+	 * @return A new ObjectMapper
+	 */
+	public static ObjectMapper createObjectMapper() {
+		SimpleModule module = new SimpleModule("mcp-smile");
+		module.setSerializerModifier(new BeanSerializerModifier() {
+			@Override
+			public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+					List<BeanPropertyWriter> beanProperties) {
+				String base64Property = base64Property(beanDesc.getBeanClass());
+				if (base64Property != null) {
+					for (BeanPropertyWriter writer : beanProperties) {
+						if (writer.getName().equals(base64Property)) {
+							writer.assignSerializer(Base64AsBinarySerializer.INSTANCE);
+						}
+					}
+				}
+				return beanProperties;
+			}
+		});
+		// Frames are length-delimited, so binary values do not need the 7-bit safe form
+		SmileFactory factory = SmileFactory.builder().disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT).build();
+		return new ObjectMapper(factory).registerModule(module);
+	}
+
+	private static String base64Property(Class<?> type) {
+		if (type == McpSchema.BlobResourceContents.class) {
+			return "blob";
+		}
+		if (type == McpSchema.ImageContent.class) {
+			return "data";
+		}
+		return null;
+	}
+
+	/**
+	 * Writes a base64 string as a native binary value when the generator supports it.
+	 * Strings that are not valid base64 are written unchanged.
+	 */
+	@SuppressWarnings("serial")
+	private static final class Base64AsBinarySerializer extends StdSerializer<Object> {
+
+		static final Base64AsBinarySerializer INSTANCE = new Base64AsBinarySerializer();
+
+		Base64AsBinarySerializer() {
+			super(Object.class);
+		}
+
+		@Override
+		public void serialize(Object object, JsonGenerator gen, SerializerProvider provider) throws IOException {
+			String value = (String) object;
+			if (gen.canWriteBinaryNatively()) {
+				byte[] bytes;
+				try {
+					bytes = Base64.getDecoder().decode(value);
+				}
+				catch (IllegalArgumentException e) {
+					gen.writeString(value);
+					return;
+				}
+				gen.writeBinary(bytes);
+			}
+			else {
+				gen.writeString(value);
+			}
+		}
+
+	}
+
+}
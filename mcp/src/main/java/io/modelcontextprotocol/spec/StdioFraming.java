@@ -0,0 +1,321 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Framing of MCP messages on a stdio byte stream.
+ * <p>
+ * Text messages are newline-delimited UTF-8 JSON as required by the specification. Once a
+ * binary encoding has been negotiated, see {@link McpBinaryEncoding}, messages may also
+ * be sent as binary frames: a {@link #BINARY_FRAME_MARKER} byte followed by the payload
+ * length as a 4-byte big-endian integer and the payload itself. The marker can never
+ * start a JSON text line, so both kinds of frames can be mixed on the same stream and the
+ * reader does not need to know when the peer switched.
+ * <p>
+ * Frames are read in fixed-size chunks and are bounded by a maximum frame size, so a
+ * misbehaving peer cannot make the reader buffer an unbounded line. Frames above the
+ * limit are discarded without being buffered and reported with a
+ * {@link FrameTooLargeException}, after which reading can continue with the next frame.
+ */
+public final class StdioFraming {
+
+	/**
+	 * First byte of a binary frame.
+	 */
+	public static final int BINARY_FRAME_MARKER = 0x00;
+
+	/**
+	 * Default maximum size of a frame in bytes, 64 MiB.
+	 */
+	public static final int DEFAULT_MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+	private static final byte LF = '\n';
+
+	private static final byte CR = '\r';
+
+	private StdioFraming() {
+	}
+
+	/**
+	 * Writes a binary frame holding the given payload. The stream is not flushed.
+	 * @param out The stream to write to
+	 * @param payload The encoded message
+	 * @throws IOException If the frame cannot be written
+	 */
+	public static void writeBinaryFrame(OutputStream out, byte[] payload) throws IOException {
+		int length = payload.length;
+		out.write(new byte[] { (byte) BINARY_FRAME_MARKER, (byte) (length >>> 24), (byte) (length >>> 16),
+				(byte) (length >>> 8), (byte) length });
+		out.write(payload);
+	}
+
+	/**
+	 * Reads text and binary frames from a stream. The frame buffer is reused, so the
+	 * current frame is only valid until the next call to {@link #next()}. A buffer that
+	 * grew above 1 MiB for a large frame is released once the frame is consumed, so a
+	 * single large message does not pin its buffer for the life of the stream. Instances
+	 * are not thread-safe.
+	 */
+	public static final class FrameReader {
+
+		private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+		private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+		private final InputStream in;
+
+		private final int maxFrameSize;
+
+		private final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+
+		private int position;
+
+		private int limit;
+
+		private byte[] frame = new byte[DEFAULT_BUFFER_SIZE];
+
+		private int length;
+
+		private boolean binary;
+
+		/**
+		 * Creates a new frame reader that accepts frames of up to
+		 * {@link #DEFAULT_MAX_FRAME_SIZE} bytes.
+		 * @param in The stream to read frames from
+		 */
+		public FrameReader(InputStream in) {
+			this(in, DEFAULT_MAX_FRAME_SIZE);
+		}
+
+		/**
+		 * Creates a new frame reader.
+		 * @param in The stream to read frames from
+		 * @param maxFrameSize The maximum size of a frame in bytes, excluding its
+		 * delimiter or header
+		 */
+		public FrameReader(InputStream in, int maxFrameSize) {
+			Assert.notNull(in, "The InputStream can not be null");
+			Assert.isTrue(maxFrameSize > 0, "The maximum frame size must be positive");
+			this.in = in;
+			this.maxFrameSize = maxFrameSize;
+		}
+
+		/**
+		 * Reads the next frame. Blank text lines are skipped.
+		 * @return {@code true} if a frame was read, {@code false} at the end of the
+		 * stream
+		 * @throws FrameTooLargeException If the next frame exceeds the maximum frame
+		 * size. The frame has been skipped and the reader can be used to read the
+		 * following frames.
+		 * @throws IOException If the stream cannot be read or ends inside a binary frame
+		 */
+		public boolean next() throws IOException {
+			if (this.frame.length > MAX_RETAINED_BUFFER_SIZE) {
+				this.frame = new byte[DEFAULT_BUFFER_SIZE];
+			}
+			this.length = 0;
+			while (fill()) {
+				if (this.buffer[this.position] == BINARY_FRAME_MARKER) {
+					this.position++;
+					readBinaryFrame();
+					return true;
+				}
+				if (readLine()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns whether the current frame is a binary frame.
+		 * @return {@code true} for a binary frame, {@code false} for a text line
+		 */
+		public boolean isBinary() {
+			return this.binary;
+		}
+
+		/**
+		 * Returns the buffer holding the current frame, starting at offset {@code 0}.
+		 * @return The frame buffer
+		 */
+		public byte[] frame() {
+			return this.frame;
+		}
+
+		/**
+		 * Returns the length of the current frame. For text lines the delimiter is not
+		 * included.
+		 * @return The frame length in bytes
+		 */
+		public int length() {
+			return this.length;
+		}
+
+		private void readBinaryFrame() throws IOException {
+			int size = 0;
+			for (int i = 0; i < 4; i++) {
+				if (!fill()) {
+					throw new EOFException("Stream ended inside a binary frame header");
+				}
+				size = (size << 8) | (this.buffer[this.position++] & 0xFF);
+			}
+			if (size < 0 || size > this.maxFrameSize) {
+				long frameSize = Integer.toUnsignedLong(size);
+				skip(frameSize);
+				throw new FrameTooLargeException(frameSize, this.maxFrameSize);
+			}
+			ensureCapacity(size);
+			int read = Math.min(size, this.limit - this.position);
+			System.arraycopy(this.buffer, this.position, this.frame, 0, read);
+			this.position += read;
+			while (read < size) {
+				int n = this.in.read(this.frame, read, size - read);
+				if (n < 0) {
+					throw new EOFException("Stream ended inside a binary frame");
+				}
+				read += n;
+			}
+			this.length = size;
+			this.binary = true;
+		}
+
+		/**
+		 * Reads up to the next line feed. Returns {@code false} for a blank line.
+		 */
+		private boolean readLine() throws IOException {
+			int size = 0;
+			boolean terminated = false;
+			while (!terminated && fill()) {
+				int end = this.position;
+				while (end < this.limit && this.buffer[end] != LF) {
+					end++;
+				}
+				int chunk = end - this.position;
+				terminated = end < this.limit;
+				// One extra byte is allowed for a CR that is stripped below
+				if ((long) size + chunk > (long) this.maxFrameSize + 1) {
+					this.position = terminated ? end + 1 : end;
+					long skipped = size + chunk + (terminated ? 0 : skipLine());
+					throw new FrameTooLargeException(skipped, this.maxFrameSize);
+				}
+				ensureCapacity(size + chunk);
+				System.arraycopy(this.buffer, this.position, this.frame, size, chunk);
+				size += chunk;
+				this.position = terminated ? end + 1 : end;
+			}
+			if (size > 0 && this.frame[size - 1] == CR) {
+				size--;
+			}
+			if (size > this.maxFrameSize) {
+				throw new FrameTooLargeException(size, this.maxFrameSize);
+			}
+			this.length = size;
+			this.binary = false;
+			return size > 0;
+		}
+
+		/**
+		 * Discards the rest of the current line, including its line feed.
+		 * @return The number of discarded bytes before the line feed
+		 */
+		private long skipLine() throws IOException {
+			long skipped = 0;
+			while (fill()) {
+				int end = this.position;
+				while (end < this.limit && this.buffer[end] != LF) {
+					end++;
+				}
+				skipped += end - this.position;
+				if (end < this.limit) {
+					this.position = end + 1;
+					break;
+				}
+				this.position = end;
+			}
+			return skipped;
+		}
+
+		/**
+		 * Discards the given number of bytes, using the read buffer as scratch space.
+		 */
+		private void skip(long count) throws IOException {
+			long remaining = count;
+			while (remaining > 0) {
+				if (!fill()) {
+					throw new EOFException("Stream ended inside a binary frame");
+				}
+				int n = (int) Math.min(remaining, this.limit - this.position);
+				this.position += n;
+				remaining -= n;
+			}
+		}
+
+		private boolean fill() throws IOException {
+			if (this.position < this.limit) {
+				return true;
+			}
+			int n = this.in.read(this.buffer);
+			if (n <= 0) {
+				return false;
+			}
+			this.position = 0;
+			this.limit = n;
+			return true;
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > this.frame.length) {
+				this.frame = Arrays.copyOf(this.frame, Math.max(capacity, this.frame.length * 2));
+			}
+		}
+
+	}
+
+	/**
+	 * Signals that a frame exceeded the maximum frame size. The frame has been discarded
+	 * and the stream is positioned at the start of the next frame.
+	 */
+	@SuppressWarnings("serial")
+	public static final class FrameTooLargeException extends IOException {
+
+		private final long frameSize;
+
+		private final int maxFrameSize;
+
+		FrameTooLargeException(long frameSize, int maxFrameSize) {
+			super("Discarded a frame of " + frameSize + " bytes, which exceeds the maximum frame size of "
+					+ maxFrameSize + " bytes");
+			this.frameSize = frameSize;
+			this.maxFrameSize = maxFrameSize;
+		}
+
+		/**
+		 * Returns the size of the discarded frame.
+		 * @return The frame size in bytes
+		 */
+		public long getFrameSize() {
+			return this.frameSize;
+		}
+
+		/**
+		 * Returns the maximum frame size that was exceeded.
+		 * @return The maximum frame size in bytes
+		 */
+		public int getMaxFrameSize() {
+			return this.maxFrameSize;
+		}
+
+	}
+
+}
@@ -47,6 +47,20 @@ public final class Assert {
 		}
 	}
 
+	/**
+	 * Assert a boolean expression, throwing an {@code IllegalArgumentException} if the
+	 * expression evaluates to {@code false}.
+	 * <pre class="code">Assert.isTrue(timeout > 0, "The timeout must be positive");</pre>
+	 * @param expression a boolean expression
+	 * @param message the exception message to use if the assertion fails
+	 * @throws IllegalArgumentException if {@code expression} is {@code false}
+	 */
+	public static void isTrue(boolean expression, String message) {
+		if (!expression) {
+			throw new IllegalArgumentException(message);
+		}
+	}
+
 	/**
 	 * Assert that the given String contains valid text content; that is, it must not be
 	 * {@code null} and must contain at least one non-whitespace character.
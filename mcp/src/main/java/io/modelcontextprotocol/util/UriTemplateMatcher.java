@@ -0,0 +1,330 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches URIs against a set of <a href="https://www.rfc-editor.org/rfc/rfc6570">RFC
+ * 6570</a> level 1 URI templates, such as {@code db://{table}/{id}}.
+ * <p>
+ * The templates are compiled into a trie of path segments. Matching a URI walks its
+ * segments once, without backtracking, and extracts the variables on the way: the trie
+ * nodes that match the segments so far are advanced together, one segment at a time. Each
+ * segment costs a lookup for each of these nodes and an attempt for each of their
+ * children with variables, so templates that share a prefix are matched once for it, and
+ * with overlapping templates the cost grows with the number of alternatives at each level
+ * rather than with the number of templates. Since level 1 expansion percent-encodes
+ * reserved characters, a variable matches a non-empty run of unreserved characters and
+ * percent-encoded octets within a segment, and its value is percent-decoded.
+ * <p>
+ * When several templates match a URI, the one with a literal segment at the first
+ * position where they differ wins. Among segments with variables, the one with more
+ * literal characters wins, then the one with fewer variables, then the template added
+ * first. Within a segment, a variable ends at the first occurrence of the literal that
+ * follows it.
+ * <p>
+ * Templates are added while the matcher is set up; once it is published, matching is
+ * thread-safe.
+ *
+ * @param <T> The type of the values the templates are mapped to
+ */
+public final class UriTemplateMatcher<T> {
+
+	private final Node<T> root = new Node<>();
+
+	private int size;
+
+	/**
+	 * Adds a template.
+	 * @param uriTemplate The level 1 URI template
+	 * @param value The value the template is mapped to
+	 * @throws IllegalArgumentException if the template is not a valid level 1 template,
+	 * or a template with the same structure was added before
+	 */
+	public void add(String uriTemplate, T value) {
+		Assert.hasText(uriTemplate, "URI template must not be empty");
+		Assert.notNull(value, "Value must not be null");
+		List<String> names = new ArrayList<>();
+		Node<T> node = this.root;
+		for (String segment : uriTemplate.split("/", -1)) {
+			SegmentPattern pattern = SegmentPattern.parse(segment, uriTemplate);
+			node = (pattern == null) ? node.literalChild(segment) : node.patternChild(pattern);
+			if (pattern != null) {
+				names.addAll(pattern.names);
+			}
+		}
+		if (node.value != null) {
+			throw new IllegalArgumentException(
+					"URI template '" + uriTemplate + "' conflicts with '" + node.template + "'");
+		}
+		if (names.size() != Set.copyOf(names).size()) {
+			throw new IllegalArgumentException("URI template '" + uriTemplate + "' repeats a variable");
+		}
+		node.value = value;
+		node.template = uriTemplate;
+		node.names = List.copyOf(names);
+		this.size++;
+	}
+
+	/**
+	 * Returns the number of templates.
+	 * @return The number of templates
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Matches a URI against the templates.
+	 * @param uri The URI to match
+	 * @return The match with the highest precedence, or {@code null} if no template
+	 * matches the URI
+	 */
+	public Match<T> match(String uri) {
+		if (uri == null) {
+			return null;
+		}
+		// The nodes that match the segments so far, in precedence order: the children of
+		// a node follow each other, the literal child first
+		List<Candidate<T>> candidates = List.of(new Candidate<>(this.root, List.of()));
+		for (String segment : uri.split("/", -1)) {
+			List<Candidate<T>> next = new ArrayList<>();
+			for (Candidate<T> candidate : candidates) {
+				Node<T> literal = candidate.node.literals.get(segment);
+				if (literal != null) {
+					next.add(new Candidate<>(literal, candidate.values));
+				}
+				for (PatternChild<T> child : candidate.node.patterns) {
+					List<String> values = new ArrayList<>(candidate.values);
+					if (child.pattern.match(segment, values)) {
+						next.add(new Candidate<>(child.node, values));
+					}
+				}
+			}
+			if (next.isEmpty()) {
+				return null;
+			}
+			candidates = next;
+		}
+		for (Candidate<T> candidate : candidates) {
+			Node<T> node = candidate.node;
+			if (node.value != null) {
+				Map<String, String> variables = new LinkedHashMap<>(node.names.size() * 2);
+				for (int i = 0; i < node.names.size(); i++) {
+					variables.put(node.names.get(i), candidate.values.get(i));
+				}
+				return new Match<>(node.value, node.template, Collections.unmodifiableMap(variables));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * A match of a URI.
+	 *
+	 * @param <T> The type of the value
+	 * @param value The value the matching template is mapped to
+	 * @param uriTemplate The matching template
+	 * @param variables The percent-decoded values of the variables of the template
+	 */
+	public record Match<T>(T value, String uriTemplate, Map<String, String> variables) {
+	}
+
+	private static final class Node<T> {
+
+		private final Map<String, Node<T>> literals = new HashMap<>();
+
+		private final List<PatternChild<T>> patterns = new ArrayList<>();
+
+		private T value;
+
+		private String template;
+
+		private List<String> names;
+
+		private Node<T> literalChild(String segment) {
+			return this.literals.computeIfAbsent(segment, key -> new Node<>());
+		}
+
+		private Node<T> patternChild(SegmentPattern pattern) {
+			for (PatternChild<T> child : this.patterns) {
+				if (child.pattern.shape.equals(pattern.shape)) {
+					return child.node;
+				}
+			}
+			PatternChild<T> child = new PatternChild<>(pattern, new Node<>(), this.patterns.size());
+			this.patterns.add(child);
+			this.patterns.sort(PatternChild.PRECEDENCE);
+			return child.node;
+		}
+
+	}
+
+	/**
+	 * A node that matches the segments of a URI so far, with the values of the variables
+	 * on its path.
+	 */
+	private record Candidate<T>(Node<T> node, List<String> values) {
+	}
+
+	private record PatternChild<T>(SegmentPattern pattern, Node<T> node, int order) {
+
+		static final Comparator<PatternChild<?>> PRECEDENCE = Comparator
+			.<PatternChild<?>>comparingInt(child -> -child.pattern.literalLength)
+			.thenComparingInt(child -> child.pattern.names.size())
+			.thenComparingInt(PatternChild::order);
+
+	}
+
+	/**
+	 * A segment with variables: the literals around and between the variables.
+	 */
+	private static final class SegmentPattern {
+
+		private final List<String> literals;
+
+		private final List<String> names;
+
+		/**
+		 * The segment with its variables unnamed, which tells segments that match the
+		 * same URIs apart.
+		 */
+		private final String shape;
+
+		private final int literalLength;
+
+		private SegmentPattern(List<String> literals, List<String> names) {
+			this.literals = literals;
+			this.names = names;
+			this.shape = String.join("{}", literals);
+			this.literalLength = this.shape.length() - 2 * names.size();
+		}
+
+		/**
+		 * Parses a segment of a template.
+		 * @return The pattern, or {@code null} if the segment is a literal
+		 */
+		static SegmentPattern parse(String segment, String uriTemplate) {
+			if (segment.indexOf('{') < 0 && segment.indexOf('}') < 0) {
+				return null;
+			}
+			List<String> literals = new ArrayList<>();
+			List<String> names = new ArrayList<>();
+			int position = 0;
+			while (true) {
+				int open = segment.indexOf('{', position);
+				int close = segment.indexOf('}', position);
+				if (open < 0) {
+					if (close >= 0) {
+						throw invalid(uriTemplate, "unbalanced braces");
+					}
+					literals.add(segment.substring(position));
+					break;
+				}
+				if (close < open) {
+					throw invalid(uriTemplate, "unbalanced braces");
+				}
+				String literal = segment.substring(position, open);
+				if (!names.isEmpty() && literal.isEmpty()) {
+					throw invalid(uriTemplate, "adjacent variables can not be told apart");
+				}
+				literals.add(literal);
+				names.add(parseName(segment.substring(open + 1, close), uriTemplate));
+				position = close + 1;
+			}
+			return new SegmentPattern(List.copyOf(literals), List.copyOf(names));
+		}
+
+		private static String parseName(String name, String uriTemplate) {
+			if (name.isEmpty()) {
+				throw invalid(uriTemplate, "empty variable name");
+			}
+			for (int i = 0; i < name.length(); i++) {
+				char c = name.charAt(i);
+				if (!(Character.isLetterOrDigit(c) && c < 128) && c != '_' && c != '.') {
+					throw invalid(uriTemplate, "only level 1 variables such as {name} are supported");
+				}
+			}
+			return name;
+		}
+
+		private static IllegalArgumentException invalid(String uriTemplate, String reason) {
+			return new IllegalArgumentException("Invalid URI template '" + uriTemplate + "': " + reason);
+		}
+
+		/**
+		 * Matches a segment of a URI, adding the values of the variables.
+		 */
+		boolean match(String segment, List<String> values) {
+			String prefix = this.literals.get(0);
+			String suffix = this.literals.get(this.literals.size() - 1);
+			int end = segment.length() - suffix.length();
+			if (end < prefix.length() || !segment.startsWith(prefix) || !segment.endsWith(suffix)) {
+				return false;
+			}
+			int position = prefix.length();
+			int last = this.names.size() - 1;
+			for (int i = 0; i <= last; i++) {
+				int valueEnd;
+				if (i == last) {
+					valueEnd = end;
+				}
+				else {
+					valueEnd = segment.indexOf(this.literals.get(i + 1), position + 1);
+					if (valueEnd < 0 || valueEnd > end) {
+						return false;
+					}
+				}
+				String value = segment.substring(position, Math.max(position, valueEnd));
+				if (!isExpansion(value)) {
+					return false;
+				}
+				values.add(URLDecoder.decode(value, StandardCharsets.UTF_8));
+				position = valueEnd + ((i == last) ? 0 : this.literals.get(i + 1).length());
+			}
+			return true;
+		}
+
+		/**
+		 * Whether a value is a non-empty level 1 expansion: unreserved characters and
+		 * percent-encoded octets.
+		 */
+		private static boolean isExpansion(String value) {
+			if (value.isEmpty()) {
+				return false;
+			}
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c == '%') {
+					if (i + 2 >= value.length() || !isHex(value.charAt(i + 1)) || !isHex(value.charAt(i + 2))) {
+						return false;
+					}
+					i += 2;
+				}
+				else if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-'
+						|| c == '.' || c == '_' || c == '~')) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean isHex(char c) {
+			return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+		}
+
+	}
+
+}
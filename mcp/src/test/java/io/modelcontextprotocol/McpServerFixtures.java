@@ -0,0 +1,32 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol;
+
+import java.util.List;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+/**
+ * Specifications of server features for tests that only need their names.
+ */
+public final class McpServerFixtures {
+
+	private McpServerFixtures() {
+	}
+
+	/**
+	 * Returns a tool that takes an object and returns an empty result.
+	 * @param name The name of the tool
+	 * @return The tool specification
+	 */
+	public static McpServerFeatures.AsyncToolSpecification tool(String name) {
+		return new McpServerFeatures.AsyncToolSpecification(new McpSchema.Tool(name, "Test tool", """
+				{"type":"object"}"""),
+				(exchange, arguments) -> Mono.just(new McpSchema.CallToolResult(List.of(), false)));
+	}
+
+}
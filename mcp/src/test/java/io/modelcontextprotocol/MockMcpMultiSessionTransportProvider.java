@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A transport provider that opens a session for each {@link Client} connected to it, for
+ * tests of what a server sends to each of several clients.
+ */
+public class MockMcpMultiSessionTransportProvider implements McpServerTransportProvider {
+
+	private final List<McpServerSession> sessions = new CopyOnWriteArrayList<>();
+
+	private McpServerSession.Factory sessionFactory;
+
+	@Override
+	public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+		this.sessionFactory = sessionFactory;
+	}
+
+	/**
+	 * Opens a session and initializes it.
+	 * @return The client of the session
+	 */
+	public Client connect() {
+		return new Client(this);
+	}
+
+	public List<McpServerSession> getSessions() {
+		return this.sessions;
+	}
+
+	@Override
+	public Mono<Void> notifyClients(String method, Map<String, Object> params) {
+		return Flux.fromIterable(this.sessions).flatMap(session -> session.sendNotification(method, params)).then();
+	}
+
+	@Override
+	public Mono<Void> closeGracefully() {
+		return Flux.fromIterable(this.sessions).flatMap(McpServerSession::closeGracefully).then();
+	}
+
+	/**
+	 * The client side of a session, which sends messages to the server and records the
+	 * messages the server sends back.
+	 */
+	public static final class Client {
+
+		private final List<McpSchema.JSONRPCMessage> sent = new CopyOnWriteArrayList<>();
+
+		private final McpServerSession session;
+
+		private int nextId;
+
+		private Client(MockMcpMultiSessionTransportProvider transportProvider) {
+			this.session = transportProvider.sessionFactory
+				.create(new MockMcpServerTransport((transport, message) -> this.sent.add(message)));
+			transportProvider.sessions.add(this.session);
+			request(McpSchema.METHOD_INITIALIZE, new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+					null, new McpSchema.Implementation("test-client", "1.0.0")));
+			notify(McpSchema.METHOD_NOTIFICATION_INITIALIZED, null);
+			this.sent.clear();
+		}
+
+		public void request(String method, Object params) {
+			this.session.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method, this.nextId++, params))
+				.block();
+		}
+
+		public void notify(String method, Map<String, Object> params) {
+			this.session.handle(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, params)).block();
+		}
+
+		/**
+		 * Returns the messages the server sent to this client since it was initialized.
+		 * @return The sent messages
+		 */
+		public List<McpSchema.JSONRPCMessage> getSent() {
+			return this.sent;
+		}
+
+		public McpSchema.JSONRPCMessage lastSent() {
+			return this.sent.get(this.sent.size() - 1);
+		}
+
+		public McpServerSession getSession() {
+			return this.session;
+		}
+
+	}
+
+}
@@ -7,6 +7,7 @@ package io.modelcontextprotocol.client;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -18,12 +19,16 @@ import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.ClientCapabilities;
 import io.modelcontextprotocol.spec.McpSchema.InitializeResult;
 import io.modelcontextprotocol.spec.McpSchema.Root;
+import io.modelcontextprotocol.spec.RequestMeta;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Mono;
 
 import static io.modelcontextprotocol.spec.McpSchema.METHOD_INITIALIZE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
 
 class McpAsyncClientResponseHandlerTests {
 
@@ -349,4 +354,191 @@ class McpAsyncClientResponseHandlerTests {
 			.hasMessage("Sampling handler must not be null when client capabilities include sampling");
 	}
 
+	@Test
+	void testCallToolWithProgress() {
+		MockMcpClientTransport transport = initializationEnabledTransport();
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		assertThat(asyncMcpClient.initialize().block()).isNotNull();
+
+		McpAsyncClient.ProgressTracked<McpSchema.CallToolResult> tracked = asyncMcpClient
+			.callToolWithProgress(new McpSchema.CallToolRequest("test-tool", Map.of()));
+		List<McpSchema.ProgressNotification> receivedProgress = new ArrayList<>();
+		tracked.progress().subscribe(receivedProgress::add);
+		AtomicReference<McpSchema.CallToolResult> result = new AtomicReference<>();
+		tracked.result().subscribe(result::set);
+
+		// The request carries the progress token in its _meta
+		McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+		assertThat(request.method()).isEqualTo(McpSchema.METHOD_TOOLS_CALL);
+		Object progressToken = RequestMeta.get(request.params(), RequestMeta.PROGRESS_TOKEN);
+		assertThat(progressToken).isNotNull();
+
+		transport.simulateIncomingMessage(
+				new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_PROGRESS,
+						Map.of("progressToken", progressToken, "progress", 1.0, "total", 2.0)));
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_PROGRESS, Map.of("progressToken", "other", "progress", 5.0)));
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
+				new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("done")), false), null));
+
+		assertThat(receivedProgress).hasSize(1);
+		assertThat(receivedProgress.get(0).progress()).isEqualTo(1.0);
+		assertThat(receivedProgress.get(0).total()).isEqualTo(2.0);
+		assertThat(result.get()).isNotNull();
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	@Test
+	void testBatchIsSentAsSingleMessage() {
+		MockMcpClientTransport transport = initializationEnabledTransport();
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		assertThat(asyncMcpClient.initialize().block()).isNotNull();
+
+		McpAsyncClient.Batch batch = asyncMcpClient.batch();
+		AtomicReference<McpSchema.CallToolResult> first = new AtomicReference<>();
+		AtomicReference<Throwable> second = new AtomicReference<>();
+		batch.callTool(new McpSchema.CallToolRequest("first", Map.of())).subscribe(first::set);
+		batch.readResource(new McpSchema.ReadResourceRequest("file:///missing"))
+			.subscribe(result -> fail("Expected an error"), second::set);
+		batch.send().block();
+
+		McpSchema.JSONRPCMessage sent = transport.getLastSentMessage();
+		assertThat(sent).isInstanceOf(McpSchema.JSONRPCBatch.class);
+		List<McpSchema.JSONRPCMessage> requests = ((McpSchema.JSONRPCBatch) sent).messages();
+		assertThat(requests).hasSize(2);
+		McpSchema.JSONRPCRequest callTool = (McpSchema.JSONRPCRequest) requests.get(0);
+		McpSchema.JSONRPCRequest readResource = (McpSchema.JSONRPCRequest) requests.get(1);
+		assertThat(callTool.method()).isEqualTo(McpSchema.METHOD_TOOLS_CALL);
+		assertThat(readResource.method()).isEqualTo(McpSchema.METHOD_RESOURCES_READ);
+
+		// The server answers in a single batch, in any order
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCBatch(List.of(
+				new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, readResource.id(), null,
+						new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INVALID_PARAMS,
+								"Resource not found", null)),
+				new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, callTool.id(),
+						new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("done")), false), null))));
+
+		assertThat(first.get().content()).containsExactly(new McpSchema.TextContent("done"));
+		assertThat(second.get()).isInstanceOf(McpError.class).hasMessage("Resource not found");
+		assertThatThrownBy(() -> batch.send().block()).isInstanceOf(McpError.class);
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	@Test
+	void testIdenticalRequestsInFlightAreCoalesced() {
+		MockMcpClientTransport transport = initializationEnabledTransport();
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).requestCoalescing(true).build();
+		assertThat(asyncMcpClient.initialize().block()).isNotNull();
+
+		List<McpSchema.ListToolsResult> results = new ArrayList<>();
+		asyncMcpClient.listTools().subscribe(results::add);
+		McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+		asyncMcpClient.listTools().subscribe(results::add);
+		assertThat(transport.getLastSentMessage()).isSameAs(request);
+
+		McpSchema.ListToolsResult toolsResult = new McpSchema.ListToolsResult(List.of(), null);
+		transport.simulateIncomingMessage(
+				new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), toolsResult, null));
+		assertThat(results).hasSize(2);
+		assertThat(results.get(0)).isSameAs(results.get(1));
+
+		// Once answered, the next call sends a new request
+		asyncMcpClient.listTools().subscribe(results::add);
+		assertThat(transport.getLastSentMessageAsRequest().id()).isNotEqualTo(request.id());
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	@Test
+	void testCatalogIsCachedUntilListChanged() {
+		MockMcpClientTransport transport = initializationEnabledTransport();
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		assertThat(asyncMcpClient.initialize().block()).isNotNull();
+		McpClientCatalog.Entry<McpSchema.Tool> tools = asyncMcpClient.getCatalog().tools();
+
+		// Nothing is fetched before the first access
+		assertThat(tools.current().stale()).isTrue();
+
+		List<McpClientCatalog.Snapshot<McpSchema.Tool>> snapshots = new ArrayList<>();
+		tools.get().subscribe(snapshots::add);
+		McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+		assertThat(request.method()).isEqualTo(McpSchema.METHOD_TOOLS_LIST);
+		McpSchema.Tool tool = new McpSchema.Tool("test-tool", "Test Tool", "{\"type\":\"object\"}");
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
+				new McpSchema.ListToolsResult(List.of(tool), null), null));
+		assertThat(snapshots).hasSize(1);
+		assertThat(snapshots.get(0).version()).isEqualTo(1);
+		assertThat(snapshots.get(0).get("test-tool")).isEqualTo(tool);
+
+		// Served from the cache, without a request
+		assertThat(tools.current()).isSameAs(snapshots.get(0));
+		assertThat(tools.get().block()).isSameAs(snapshots.get(0));
+		assertThat(transport.getLastSentMessage()).isSameAs(request);
+
+		// A change marks the catalog stale and fetches it again
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null));
+		assertThat(tools.current().stale()).isTrue();
+		McpSchema.JSONRPCRequest refresh = transport.getLastSentMessageAsRequest();
+		assertThat(refresh.id()).isNotEqualTo(request.id());
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, refresh.id(),
+				new McpSchema.ListToolsResult(List.of(), null), null));
+		assertThat(tools.current().version()).isEqualTo(2);
+		assertThat(tools.current().items()).isEmpty();
+
+		McpClientCatalog.Metrics metrics = asyncMcpClient.getCatalog().metrics();
+		assertThat(metrics.refreshes()).isEqualTo(2);
+		assertThat(metrics.misses()).isEqualTo(3);
+		assertThat(metrics.hits()).isEqualTo(4);
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	@Test
+	void testListAllToolsFetchesPagesOnDemand() {
+		MockMcpClientTransport transport = initializationEnabledTransport();
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		assertThat(asyncMcpClient.initialize().block()).isNotNull();
+
+		List<String> names = new ArrayList<>();
+		AtomicReference<Subscription> subscription = new AtomicReference<>();
+		asyncMcpClient.listAllTools().subscribe(new BaseSubscriber<>() {
+			@Override
+			protected void hookOnSubscribe(Subscription s) {
+				subscription.set(s);
+				s.request(1);
+			}
+
+			@Override
+			protected void hookOnNext(McpSchema.Tool tool) {
+				names.add(tool.name());
+			}
+		});
+
+		McpSchema.JSONRPCRequest first = transport.getLastSentMessageAsRequest();
+		assertThat(first.method()).isEqualTo(McpSchema.METHOD_TOOLS_LIST);
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, first.id(),
+				new McpSchema.ListToolsResult(List.of(tool("a"), tool("b")), "next"), null));
+		assertThat(names).containsExactly("a");
+
+		// The second page is only requested once the first one has been consumed
+		assertThat(transport.getLastSentMessage()).isSameAs(first);
+		subscription.get().request(2);
+		McpSchema.JSONRPCRequest second = transport.getLastSentMessageAsRequest();
+		assertThat(second.id()).isNotEqualTo(first.id());
+		assertThat(second.params().toString()).contains("next");
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, second.id(),
+				new McpSchema.ListToolsResult(List.of(tool("c")), null), null));
+		assertThat(names).containsExactly("a", "b", "c");
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	private static McpSchema.Tool tool(String name) {
+		return new McpSchema.Tool(name, "Test Tool", "{\"type\":\"object\"}");
+	}
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static io.modelcontextprotocol.McpServerFixtures.tool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests that catalog updates are applied together and notified to clients once for each
+ * list that changed.
+ */
+class CatalogUpdateTests {
+
+	private final List<McpSchema.JSONRPCMessage> sent = new CopyOnWriteArrayList<>();
+
+	private McpAsyncServer server;
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void updateIsNotifiedOncePerChangedList() {
+		this.server = start(Duration.ZERO);
+
+		this.server.updateCatalog(update -> {
+			for (int i = 0; i < 100; i++) {
+				update.addTool(tool("tool-" + i));
+			}
+			update.removeTool("tool-0");
+			update.addPrompt(prompt("prompt"));
+		}).block();
+
+		assertThat(notifications(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED)).isEqualTo(1);
+		assertThat(notifications(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED)).isEqualTo(1);
+		assertThat(notifications(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED)).isZero();
+	}
+
+	@Test
+	void invalidUpdateIsNotApplied() {
+		this.server = start(Duration.ZERO);
+
+		assertThatThrownBy(() -> this.server
+			.updateCatalog(update -> update.addTool(tool("new-tool")).removeTool("nonexistent-tool"))
+			.block()).isInstanceOf(McpError.class).hasMessage("Tool with name 'nonexistent-tool' not found");
+		assertThat(this.sent).isEmpty();
+
+		// The tool of the rejected update was not added
+		this.server.addTool(tool("new-tool")).block();
+		assertThat(notifications(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED)).isEqualTo(1);
+	}
+
+	@Test
+	void changesWithinDebounceWindowAreNotifiedOnce() {
+		this.server = start(Duration.ofMillis(200));
+
+		for (int i = 0; i < 10; i++) {
+			this.server.addTool(tool("tool-" + i)).block();
+		}
+		assertThat(this.sent).isEmpty();
+
+		await().atMost(Duration.ofSeconds(5))
+			.until(() -> notifications(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED) == 1);
+	}
+
+	private McpAsyncServer start(Duration listChangedDebounce) {
+		MockMcpServerTransport serverTransport = new MockMcpServerTransport((transport, message) -> sent.add(message));
+		MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(serverTransport);
+		McpAsyncServer server = McpServer.async(transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(
+					McpSchema.ServerCapabilities.builder().tools(true).resources(false, true).prompts(true).build())
+			.listChangedDebounce(listChangedDebounce)
+			.build();
+
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+		this.sent.clear();
+		return server;
+	}
+
+	private long notifications(String method) {
+		return this.sent.stream()
+			.filter(message -> message instanceof McpSchema.JSONRPCNotification notification
+					&& notification.method().equals(method))
+			.count();
+	}
+
+	private static McpServerFeatures.AsyncPromptSpecification prompt(String name) {
+		return new McpServerFeatures.AsyncPromptSpecification(new McpSchema.Prompt(name, "Test prompt", List.of()),
+				(exchange, request) -> Mono.just(new McpSchema.GetPromptResult("Test prompt", List.of())));
+	}
+
+}
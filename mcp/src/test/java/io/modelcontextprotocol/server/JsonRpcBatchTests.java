@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests that a server session answers the requests of a JSON-RPC batch with a single
+ * batch.
+ */
+class JsonRpcBatchTests {
+
+	private static final String EMPTY_SCHEMA = """
+			{"type":"object"}""";
+
+	private final List<McpSchema.JSONRPCMessage> sent = new CopyOnWriteArrayList<>();
+
+	private MockMcpServerTransportProvider transportProvider;
+
+	private McpSyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		MockMcpServerTransport serverTransport = new MockMcpServerTransport((transport, message) -> sent.add(message));
+		this.transportProvider = new MockMcpServerTransportProvider(serverTransport);
+		this.server = McpServer.sync(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.tools(new McpServerFeatures.SyncToolSpecification(new McpSchema.Tool("echo", "Echoes", EMPTY_SCHEMA),
+					(exchange, arguments) -> new McpSchema.CallToolResult(
+							List.of(new McpSchema.TextContent(String.valueOf(arguments.get("text")))), false)))
+			.build();
+
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+		this.sent.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully();
+	}
+
+	@Test
+	void answersBatchWithSingleBatch() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCBatch(List.of(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, 1,
+						new McpSchema.CallToolRequest("echo", Map.of("text", "one"))),
+				new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_CANCELLED,
+						Map.of("requestId", 99)),
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, 2,
+						new McpSchema.CallToolRequest("echo", Map.of("text", "two"))),
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "unknown/method", 3, null))));
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> !this.sent.isEmpty());
+
+		assertThat(this.sent).hasSize(1).first().isInstanceOf(McpSchema.JSONRPCBatch.class);
+		List<McpSchema.JSONRPCMessage> responses = ((McpSchema.JSONRPCBatch) this.sent.get(0)).messages();
+		assertThat(responses).hasSize(3).allMatch(McpSchema.JSONRPCResponse.class::isInstance);
+		Map<Object, McpSchema.JSONRPCResponse> byId = responses.stream()
+			.map(McpSchema.JSONRPCResponse.class::cast)
+			.collect(Collectors.toMap(McpSchema.JSONRPCResponse::id, r -> r));
+		assertThat(((McpSchema.CallToolResult) byId.get(1).result()).content())
+			.containsExactly(new McpSchema.TextContent("one"));
+		assertThat(((McpSchema.CallToolResult) byId.get(2).result()).content())
+			.containsExactly(new McpSchema.TextContent("two"));
+		assertThat(byId.get(3).error().code()).isEqualTo(McpSchema.ErrorCodes.METHOD_NOT_FOUND);
+	}
+
+	@Test
+	void sendsNothingForBatchOfNotifications() {
+		this.transportProvider.simulateIncomingMessage(
+				new McpSchema.JSONRPCBatch(List.of(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+						McpSchema.METHOD_NOTIFICATION_CANCELLED, Map.of("requestId", 99)))));
+
+		assertThat(this.sent).isEmpty();
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link JsonSchemaValidator}.
+ */
+class JsonSchemaValidatorTests {
+
+	private static final String SEARCH_SCHEMA = """
+			{
+				"type": "object",
+				"properties": {
+					"query": {"type": "string", "minLength": 1, "maxLength": 20},
+					"limit": {"type": "integer", "minimum": 1, "maximum": 100},
+					"sort": {"enum": ["asc", "desc"]},
+					"tags": {"type": "array", "items": {"type": "string", "pattern": "^[a-z]+$"}, "maxItems": 2},
+					"filter": {
+						"type": "object",
+						"properties": {"score": {"type": "number", "exclusiveMinimum": 0}},
+						"additionalProperties": false
+					}
+				},
+				"required": ["query"],
+				"additionalProperties": false
+			}""";
+
+	private final JsonSchemaValidator validator = JsonSchemaValidator
+		.compile(new McpSchema.Tool("search", "Search", SEARCH_SCHEMA).inputSchema());
+
+	@Test
+	void acceptsValidArguments() {
+		assertThat(this.validator.validate(Map.of("query", "mcp"))).isNull();
+		assertThat(this.validator.validate(Map.of("query", "mcp", "limit", 10, "sort", "asc", "tags",
+				List.of("java", "sdk"), "filter", Map.of("score", 0.5))))
+			.isNull();
+		// An integral number is an integer
+		assertThat(this.validator.validate(Map.of("query", "mcp", "limit", 10.0))).isNull();
+	}
+
+	@Test
+	void reportsTheFirstViolationWithItsPath() {
+		assertThat(this.validator.validate(Map.of())).isEqualTo("$: missing required property 'query'");
+		assertThat(this.validator.validate(null)).isEqualTo("$: missing required property 'query'");
+		assertThat(this.validator.validate(Map.of("query", 42))).isEqualTo("$.query: expected string but was integer");
+		assertThat(this.validator.validate(Map.of("query", ""))).startsWith("$.query: expected at least 1 characters");
+		assertThat(this.validator.validate(Map.of("query", "mcp", "limit", 0)))
+			.isEqualTo("$.limit: must be at least 1.0");
+		assertThat(this.validator.validate(Map.of("query", "mcp", "limit", 1.5)))
+			.isEqualTo("$.limit: expected integer but was number");
+		assertThat(this.validator.validate(Map.of("query", "mcp", "sort", "up")))
+			.isEqualTo("$.sort: value is not one of the allowed values");
+		assertThat(this.validator.validate(Map.of("query", "mcp", "tags", List.of("ok", "Bad"))))
+			.isEqualTo("$.tags[1]: does not match pattern '^[a-z]+$'");
+		assertThat(this.validator.validate(Map.of("query", "mcp", "filter", Map.of("score", 0))))
+			.isEqualTo("$.filter.score: must be greater than 0.0");
+		assertThat(this.validator.validate(Map.of("query", "mcp", "page", 2)))
+			.isEqualTo("$: unexpected property 'page'");
+	}
+
+	@Test
+	void acceptsNullValuesOnlyWhereAllowed() {
+		Map<String, Object> arguments = new HashMap<>();
+		arguments.put("query", null);
+		assertThat(this.validator.validate(arguments)).isEqualTo("$.query: expected string but was null");
+
+		JsonSchemaValidator nullable = JsonSchemaValidator.compile(new McpSchema.JsonSchema("object",
+				Map.of("query", Map.of("type", List.of("string", "null"))), null, null));
+		assertThat(nullable.validate(arguments)).isNull();
+	}
+
+	@Test
+	void acceptsAnythingWithoutSchema() {
+		assertThat(JsonSchemaValidator.compile(null).validate(Map.of("any", "thing"))).isNull();
+	}
+
+	@Test
+	void rejectsMalformedSchemas() {
+		assertThatThrownBy(() -> JsonSchemaValidator
+			.compile(new McpSchema.JsonSchema("object", Map.of("id", Map.of("type", "uuid")), null, null)))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Unknown type at $.properties.id");
+		assertThatThrownBy(() -> JsonSchemaValidator
+			.compile(new McpSchema.JsonSchema("object", Map.of("id", Map.of("pattern", "[")), null, null)))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Invalid pattern");
+	}
+
+}
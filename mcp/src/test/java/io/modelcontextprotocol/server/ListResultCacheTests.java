@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.PreEncodedResult;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ListResultCache}.
+ */
+class ListResultCacheTests {
+
+	private final CopyOnWriteArrayList<McpSchema.Prompt> prompts = new CopyOnWriteArrayList<>();
+
+	private final AtomicInteger builds = new AtomicInteger();
+
+	private final ListResultCache<McpSchema.ListPromptsResult> cache = new ListResultCache<>(
+			new JacksonMcpJsonCodec(new ObjectMapper()), () -> {
+				this.builds.incrementAndGet();
+				return new McpSchema.ListPromptsResult(List.copyOf(this.prompts), null);
+			});
+
+	@Test
+	void reusesSnapshotUntilInvalidated() {
+		this.prompts.add(new McpSchema.Prompt("greeting", "A greeting", List.of()));
+
+		PreEncodedResult<McpSchema.ListPromptsResult> first = this.cache.get();
+		assertThat(this.cache.get()).isSameAs(first);
+		assertThat(this.builds).hasValue(1);
+
+		this.prompts.add(new McpSchema.Prompt("farewell", "A farewell", List.of()));
+		this.cache.invalidate();
+		this.cache.invalidate();
+
+		PreEncodedResult<McpSchema.ListPromptsResult> second = this.cache.get();
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.version()).isEqualTo(2).isEqualTo(this.cache.version());
+		assertThat(second.value().prompts()).hasSize(2);
+		assertThat(this.cache.get()).isSameAs(second);
+		assertThat(this.builds).hasValue(2);
+	}
+
+	@Test
+	void keepsTheSnapshotRetainedForAVersion() {
+		this.prompts.add(new McpSchema.Prompt("greeting", "A greeting", List.of()));
+		this.prompts.add(new McpSchema.Prompt("farewell", "A farewell", List.of()));
+		AtomicReference<ListResultCache<McpSchema.ListPromptsResult>> racing = new AtomicReference<>();
+		AtomicReference<PreEncodedResult<McpSchema.ListPromptsResult>> retained = new AtomicReference<>();
+		racing.set(new ListResultCache<>(new JacksonMcpJsonCodec(new ObjectMapper()), () -> {
+			if (this.builds.getAndIncrement() == 0) {
+				// Another request builds the snapshot of the same version first, then the
+				// registry changes before it is invalidated
+				retained.set(racing.get().get());
+				this.prompts.add(new McpSchema.Prompt("question", "A question", List.of()));
+			}
+			return new McpSchema.ListPromptsResult(List.copyOf(this.prompts), null);
+		}, 1, ListResultCache.Pages.of(McpSchema.ListPromptsResult::prompts, McpSchema.ListPromptsResult::new)));
+
+		PreEncodedResult<McpSchema.ListPromptsResult> first = racing.get().get();
+
+		assertThat(first).isSameAs(retained.get());
+		assertThat(racing.get().get(first.value().nextCursor()).value().nextCursor()).isNull();
+	}
+
+}
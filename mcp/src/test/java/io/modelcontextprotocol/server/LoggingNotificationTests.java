@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+
+import io.modelcontextprotocol.MockMcpMultiSessionTransportProvider;
+import io.modelcontextprotocol.MockMcpMultiSessionTransportProvider.Client;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that log messages are filtered and limited for each session separately.
+ */
+class LoggingNotificationTests {
+
+	private final MockMcpMultiSessionTransportProvider transportProvider = new MockMcpMultiSessionTransportProvider();
+
+	private McpAsyncServer server;
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void appliesTheLevelSetByEachClientToItsSessionOnly() {
+		this.server = McpServer.async(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().logging().build())
+			.build();
+		Client quiet = this.transportProvider.connect();
+		Client verbose = this.transportProvider.connect();
+
+		quiet.request(McpSchema.METHOD_LOGGING_SET_LEVEL, Map.of("level", "warning"));
+		assertThat(((McpSchema.JSONRPCResponse) quiet.getSent().get(0)).error()).isNull();
+		quiet.getSent().clear();
+
+		// Clients of this SDK send the level as a notification
+		verbose.notify(McpSchema.METHOD_LOGGING_SET_LEVEL, Map.of("level", "debug"));
+
+		log(LoggingLevel.DEBUG, "debug");
+		log(LoggingLevel.ERROR, "error");
+
+		assertThat(loggedData(quiet)).containsExactly("error");
+		assertThat(loggedData(verbose)).containsExactly("debug", "error");
+	}
+
+	@Test
+	void limitsTheRateOfEachSessionSeparately() {
+		this.server = McpServer.async(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().logging().build())
+			.loggingRateLimit(1, 2)
+			.build();
+		Client first = this.transportProvider.connect();
+		Client second = this.transportProvider.connect();
+
+		for (int i = 0; i < 10; i++) {
+			log(LoggingLevel.INFO, "info-" + i);
+		}
+		log(LoggingLevel.ERROR, "error");
+
+		assertThat(loggedData(first)).containsExactly("info-0", "info-1", "error");
+		assertThat(loggedData(second)).containsExactly("info-0", "info-1", "error");
+	}
+
+	private void log(LoggingLevel level, String data) {
+		this.server.loggingNotification(new McpSchema.LoggingMessageNotification(level, "test", data)).block();
+	}
+
+	private static List<Object> loggedData(Client client) {
+		return client.getSent()
+			.stream()
+			.map(McpSchema.JSONRPCNotification.class::cast)
+			.filter(notification -> McpSchema.METHOD_NOTIFICATION_MESSAGE.equals(notification.method()))
+			.map(notification -> notification.params().get("data"))
+			.toList();
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.PreEncodedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.modelcontextprotocol.McpServerFixtures.tool;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that list results are split into pages with snapshot-consistent cursors.
+ */
+class PaginationTests {
+
+	private final List<McpSchema.JSONRPCMessage> sent = new CopyOnWriteArrayList<>();
+
+	private MockMcpServerTransportProvider transportProvider;
+
+	private McpAsyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		MockMcpServerTransport serverTransport = new MockMcpServerTransport((transport, message) -> sent.add(message));
+		this.transportProvider = new MockMcpServerTransportProvider(serverTransport);
+		this.server = McpServer.async(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.pageSize(2)
+			.tools(tool("a"), tool("b"), tool("c"), tool("d"), tool("e"))
+			.build();
+
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+		this.sent.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void followsCursorsThroughTheSnapshotTheListStartedWith() {
+		McpSchema.ListToolsResult first = listTools(1, null);
+		assertThat(names(first)).containsExactly("a", "b");
+
+		// Changes made while paging are not seen through the cursor
+		this.server.removeTool("c").block();
+		this.server.addTool(tool("f")).block();
+
+		McpSchema.ListToolsResult second = listTools(2, first.nextCursor());
+		assertThat(names(second)).containsExactly("c", "d");
+		McpSchema.ListToolsResult third = listTools(3, second.nextCursor());
+		assertThat(names(third)).containsExactly("e");
+		assertThat(third.nextCursor()).isNull();
+
+		// A new listing starts from the current tools
+		McpSchema.ListToolsResult current = listTools(4, null);
+		assertThat(names(current)).containsExactly("a", "b");
+		assertThat(names(listTools(6, listTools(5, current.nextCursor()).nextCursor()))).containsExactly("f");
+	}
+
+	@Test
+	void rejectsInvalidCursor() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_LIST, 1, new McpSchema.PaginatedRequest("not-a-cursor")));
+
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.sent.get(this.sent.size() - 1);
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_PARAMS);
+		assertThat(response.error().message()).isEqualTo("Invalid cursor: not-a-cursor");
+	}
+
+	@SuppressWarnings("unchecked")
+	private McpSchema.ListToolsResult listTools(Object id, String cursor) {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_LIST, id, new McpSchema.PaginatedRequest(cursor)));
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.sent.get(this.sent.size() - 1);
+		assertThat(response.error()).isNull();
+		return ((PreEncodedResult<McpSchema.ListToolsResult>) response.result()).value();
+	}
+
+	private static List<String> names(McpSchema.ListToolsResult result) {
+		return result.tools().stream().map(McpSchema.Tool::name).toList();
+	}
+
+}
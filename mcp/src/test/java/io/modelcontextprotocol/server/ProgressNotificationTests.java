@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests that the progress a tool reports is coalesced into notifications sent before the
+ * response.
+ */
+class ProgressNotificationTests {
+
+	private static final String EMPTY_SCHEMA = """
+			{"type":"object"}""";
+
+	private static final int REPORTS = 1000;
+
+	private final List<McpSchema.JSONRPCMessage> sent = new CopyOnWriteArrayList<>();
+
+	private MockMcpServerTransportProvider transportProvider;
+
+	private McpSyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		MockMcpServerTransport serverTransport = new MockMcpServerTransport((transport, message) -> sent.add(message));
+		this.transportProvider = new MockMcpServerTransportProvider(serverTransport);
+		this.server = McpServer.sync(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.progressNotificationRate(1)
+			.tools(new McpServerFeatures.SyncToolSpecification(new McpSchema.Tool("count", "Counts", EMPTY_SCHEMA),
+					(exchange, arguments) -> {
+						for (int i = 1; i <= REPORTS; i++) {
+							exchange.progress(i, (double) REPORTS);
+						}
+						return new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("done")), false);
+					}))
+			.build();
+
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+		this.sent.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully();
+	}
+
+	@Test
+	void coalescesProgressAndSendsTheLatestBeforeTheResponse() {
+		this.transportProvider.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, 1,
+						Map.of("name", "count", "arguments", Map.of(), "_meta", Map.of("progressToken", "token-1"))));
+
+		await().atMost(Duration.ofSeconds(5))
+			.until(() -> this.sent.stream().anyMatch(McpSchema.JSONRPCResponse.class::isInstance));
+
+		List<McpSchema.JSONRPCNotification> progress = this.sent.stream()
+			.filter(McpSchema.JSONRPCNotification.class::isInstance)
+			.map(McpSchema.JSONRPCNotification.class::cast)
+			.toList();
+		assertThat(progress).hasSizeBetween(1, 2);
+		assertThat(progress).allMatch(n -> n.method().equals(McpSchema.METHOD_NOTIFICATION_PROGRESS));
+
+		Map<?, ?> last = (Map<?, ?>) progress.get(progress.size() - 1).params();
+		assertThat(last.get("progressToken")).isEqualTo("token-1");
+		assertThat(last.get("progress")).isEqualTo((double) REPORTS);
+		assertThat(last.get("total")).isEqualTo((double) REPORTS);
+		assertThat(this.sent.get(this.sent.size() - 1)).isInstanceOf(McpSchema.JSONRPCResponse.class);
+	}
+
+	@Test
+	void sendsNoProgressWithoutToken() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, 2, new McpSchema.CallToolRequest("count", Map.of())));
+
+		await().atMost(Duration.ofSeconds(5))
+			.until(() -> this.sent.stream().anyMatch(McpSchema.JSONRPCResponse.class::isInstance));
+
+		assertThat(this.sent).hasSize(1);
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that a request the client cancels stops its handler and is not answered.
+ */
+class RequestCancellationTests {
+
+	private static final String EMPTY_SCHEMA = """
+			{"type":"object"}""";
+
+	private final AtomicBoolean asyncToolCancelled = new AtomicBoolean();
+
+	private final CountDownLatch syncToolStarted = new CountDownLatch(1);
+
+	private final CountDownLatch syncToolInterrupted = new CountDownLatch(1);
+
+	private MockMcpServerTransport serverTransport;
+
+	private MockMcpServerTransportProvider transportProvider;
+
+	private McpSyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		this.serverTransport = new MockMcpServerTransport();
+		this.transportProvider = new MockMcpServerTransportProvider(this.serverTransport);
+		this.server = McpServer.sync(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.tools(new McpServerFeatures.SyncToolSpecification(new McpSchema.Tool("sleep", "Sleeps", EMPTY_SCHEMA),
+					(exchange, arguments) -> {
+						this.syncToolStarted.countDown();
+						try {
+							Thread.sleep(10_000);
+						}
+						catch (InterruptedException e) {
+							this.syncToolInterrupted.countDown();
+						}
+						return new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("done")), false);
+					}))
+			.build();
+		this.server.getAsyncServer()
+			.addTool(new McpServerFeatures.AsyncToolSpecification(new McpSchema.Tool("never", "Never", EMPTY_SCHEMA),
+					(exchange, arguments) -> Mono.<McpSchema.CallToolResult>never()
+						.doOnCancel(() -> this.asyncToolCancelled.set(true))))
+			.block();
+
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully();
+	}
+
+	@Test
+	void cancelsAsyncHandlerWithoutResponse() {
+		McpSchema.JSONRPCMessage lastMessage = this.serverTransport.getLastSentMessage();
+		callTool("never", 1);
+
+		cancel(1);
+
+		assertThat(this.asyncToolCancelled).isTrue();
+		assertThat(this.serverTransport.getLastSentMessage()).isSameAs(lastMessage);
+	}
+
+	@Test
+	void interruptsSyncHandler() throws InterruptedException {
+		callTool("sleep", 2);
+		assertThat(this.syncToolStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		cancel(2);
+
+		assertThat(this.syncToolInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private void callTool(String name, int id) {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, id, new McpSchema.CallToolRequest(name, Map.of())));
+	}
+
+	private void cancel(int id) {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_CANCELLED, Map.of("requestId", id, "reason", "No longer needed")));
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests that a session handles a bounded number of requests of its client at a time and
+ * rejects requests beyond its queue.
+ */
+class RequestLimitsTests {
+
+	private static final String EMPTY_SCHEMA = """
+			{"type":"object"}""";
+
+	private final List<McpSchema.JSONRPCMessage> sent = new CopyOnWriteArrayList<>();
+
+	private final List<Sinks.One<McpSchema.CallToolResult>> started = new CopyOnWriteArrayList<>();
+
+	private MockMcpServerTransportProvider transportProvider;
+
+	private McpAsyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		MockMcpServerTransport serverTransport = new MockMcpServerTransport((transport, message) -> sent.add(message));
+		this.transportProvider = new MockMcpServerTransportProvider(serverTransport);
+		this.server = McpServer.async(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.requestLimits(1, 1)
+			.tools(new McpServerFeatures.AsyncToolSpecification(new McpSchema.Tool("wait", "Waits", EMPTY_SCHEMA),
+					(exchange, arguments) -> {
+						Sinks.One<McpSchema.CallToolResult> result = Sinks.one();
+						this.started.add(result);
+						return result.asMono();
+					}))
+			.build();
+
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+		this.sent.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void queuesRequestsBeyondTheLimitAndRejectsThemOnceTheQueueIsFull() {
+		callTool(1);
+		callTool(2);
+		callTool(3);
+
+		assertThat(this.started).hasSize(1);
+		McpSchema.JSONRPCResponse rejected = response(3);
+		assertThat(rejected.error().code()).isEqualTo(McpSchema.ErrorCodes.SERVER_OVERLOADED);
+
+		// Pings are answered even while the session is saturated
+		this.transportProvider.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_PING, 4, null));
+		assertThat(response(4).error()).isNull();
+
+		complete(0);
+		assertThat(response(1).error()).isNull();
+		await().atMost(Duration.ofSeconds(5)).until(() -> this.started.size() == 2);
+
+		complete(1);
+		assertThat(response(2).error()).isNull();
+	}
+
+	@Test
+	void cancelledQueuedRequestDoesNotTakeAPermit() {
+		callTool(1);
+		callTool(2);
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_CANCELLED, Map.of("requestId", 2)));
+
+		complete(0);
+		assertThat(response(1).error()).isNull();
+		assertThat(this.started).hasSize(1);
+
+		callTool(3);
+		await().atMost(Duration.ofSeconds(5)).until(() -> this.started.size() == 2);
+	}
+
+	private void callTool(int id) {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, id, new McpSchema.CallToolRequest("wait", Map.of())));
+	}
+
+	private void complete(int index) {
+		this.started.get(index)
+			.tryEmitValue(new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("done")), false));
+	}
+
+	private McpSchema.JSONRPCResponse response(Object id) {
+		await().atMost(Duration.ofSeconds(5))
+			.until(() -> this.sent.stream()
+				.anyMatch(m -> m instanceof McpSchema.JSONRPCResponse r && id.equals(r.id())));
+		return this.sent.stream()
+			.filter(m -> m instanceof McpSchema.JSONRPCResponse r && id.equals(r.id()))
+			.map(McpSchema.JSONRPCResponse.class::cast)
+			.findFirst()
+			.orElseThrow();
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.Map;
+
+import io.modelcontextprotocol.MockMcpMultiSessionTransportProvider;
+import io.modelcontextprotocol.MockMcpMultiSessionTransportProvider.Client;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that resource updates are only sent to the sessions subscribed to the resource.
+ */
+class ResourceSubscriptionTests {
+
+	private static final String URI = "file:///notes.txt";
+
+	private final MockMcpMultiSessionTransportProvider transportProvider = new MockMcpMultiSessionTransportProvider();
+
+	private McpAsyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		this.server = McpServer.async(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().resources(true, false).build())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void notifiesOnlySubscribedSessions() {
+		Client subscriber = this.transportProvider.connect();
+		Client other = this.transportProvider.connect();
+
+		subscriber.request(McpSchema.METHOD_RESOURCES_SUBSCRIBE, new McpSchema.SubscribeRequest(URI));
+		assertThat(((McpSchema.JSONRPCResponse) subscriber.lastSent()).error()).isNull();
+
+		this.server.notifyResourceUpdated(URI).block();
+		this.server.notifyResourceUpdated("file:///other.txt").block();
+
+		McpSchema.JSONRPCNotification notification = (McpSchema.JSONRPCNotification) subscriber.lastSent();
+		assertThat(notification.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED);
+		assertThat(notification.params()).isEqualTo(Map.of("uri", URI));
+		assertThat(subscriber.getSent()).hasSize(2);
+		assertThat(other.getSent()).isEmpty();
+
+		subscriber.request(McpSchema.METHOD_RESOURCES_UNSUBSCRIBE, new McpSchema.UnsubscribeRequest(URI));
+		this.server.notifyResourceUpdated(URI).block();
+		assertThat(subscriber.getSent()).hasSize(3);
+		assertThat(subscriber.lastSent()).isInstanceOf(McpSchema.JSONRPCResponse.class);
+	}
+
+	@Test
+	void forgetsSubscriptionsOfDisconnectedSessions() {
+		Client subscriber = this.transportProvider.connect();
+		subscriber.request(McpSchema.METHOD_RESOURCES_SUBSCRIBE, new McpSchema.SubscribeRequest(URI));
+		subscriber.request(McpSchema.METHOD_RESOURCES_SUBSCRIBE, new McpSchema.SubscribeRequest("file:///b.txt"));
+
+		ResourceSubscriptions subscriptions = new ResourceSubscriptions();
+		McpServerSession session = this.transportProvider.getSessions().get(0);
+		subscriptions.subscribe(session, URI);
+		assertThat(subscriptions.size()).isEqualTo(1);
+
+		session.disconnected();
+		assertThat(subscriptions.size()).isZero();
+		assertThat(subscriptions.subscribers(URI)).isEmpty();
+
+		// A session that is already closed is removed right away
+		subscriptions.subscribe(session, URI);
+		assertThat(subscriptions.size()).isZero();
+
+		subscriber.getSent().clear();
+		this.server.notifyResourceUpdated(URI).block();
+		assertThat(subscriber.getSent()).isEmpty();
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that reads of URIs matching a resource template are answered by its handler.
+ */
+class ResourceTemplateTests {
+
+	private final List<McpSchema.JSONRPCMessage> sent = new CopyOnWriteArrayList<>();
+
+	private MockMcpServerTransportProvider transportProvider;
+
+	private McpAsyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		MockMcpServerTransport serverTransport = new MockMcpServerTransport((transport, message) -> sent.add(message));
+		this.transportProvider = new MockMcpServerTransportProvider(serverTransport);
+		this.server = McpServer.async(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.resourceTemplateHandlers(new McpServerFeatures.AsyncResourceTemplateSpecification(
+					new McpSchema.ResourceTemplate("db://{table}/{id}", "record", "A database record", "text/plain",
+							null),
+					(exchange, request) -> Mono.just(readRecord(request))))
+			.build();
+
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+		this.sent.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void readsMatchingUriThroughTemplateHandler() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_READ, 1, new McpSchema.ReadResourceRequest("db://users/42")));
+
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.sent.get(this.sent.size() - 1);
+		assertThat(response.error()).isNull();
+		assertThat(response.result().toString()).contains("users#42");
+	}
+
+	@Test
+	void listsTemplateAndRejectsUnmatchedUri() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_TEMPLATES_LIST, 1, null));
+		McpSchema.JSONRPCResponse list = (McpSchema.JSONRPCResponse) this.sent.get(this.sent.size() - 1);
+		assertThat(list.error()).isNull();
+
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_READ, 2, new McpSchema.ReadResourceRequest("db://users")));
+		McpSchema.JSONRPCResponse read = (McpSchema.JSONRPCResponse) this.sent.get(this.sent.size() - 1);
+		assertThat(read.error().message()).isEqualTo("Resource not found: db://users");
+	}
+
+	private static McpSchema.ReadResourceResult readRecord(McpServerFeatures.ResourceTemplateRequest request) {
+		String text = request.variables().get("table") + "#" + request.variables().get("id");
+		return new McpSchema.ReadResourceResult(
+				List.of(new McpSchema.TextResourceContents(request.uri(), "text/plain", text)));
+	}
+
+}
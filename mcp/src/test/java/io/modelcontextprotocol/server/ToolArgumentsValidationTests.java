@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that tool arguments are validated against the tool's input schema before the tool
+ * is called.
+ */
+class ToolArgumentsValidationTests {
+
+	private static final String ECHO_SCHEMA = """
+			{"type":"object","properties":{"text":{"type":"string"}},"required":["text"]}""";
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private MockMcpServerTransport serverTransport;
+
+	private MockMcpServerTransportProvider transportProvider;
+
+	private McpAsyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		this.serverTransport = new MockMcpServerTransport();
+		this.transportProvider = new MockMcpServerTransportProvider(this.serverTransport);
+		this.server = McpServer.async(this.transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.tools(new McpServerFeatures.AsyncToolSpecification(new McpSchema.Tool("echo", "Echo", ECHO_SCHEMA),
+					(exchange, arguments) -> {
+						this.calls.incrementAndGet();
+						return Mono.just(new McpSchema.CallToolResult(
+								List.of(new McpSchema.TextContent((String) arguments.get("text"))), false));
+					}))
+			.build();
+
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void rejectsInvalidArgumentsWithoutCallingTheTool() {
+		McpSchema.JSONRPCResponse response = callTool(Map.of("text", 42));
+
+		assertThat(response.result()).isNull();
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_PARAMS);
+		assertThat(response.error().message())
+			.isEqualTo("Invalid arguments for tool 'echo': $.text: expected string but was integer");
+		assertThat(this.calls).hasValue(0);
+	}
+
+	@Test
+	void callsTheToolWithValidArguments() {
+		McpSchema.JSONRPCResponse response = callTool(Map.of("text", "hello"));
+
+		assertThat(response.error()).isNull();
+		assertThat(this.calls).hasValue(1);
+	}
+
+	@Test
+	void rejectsToolsWithMalformedSchemas() {
+		McpSchema.Tool tool = new McpSchema.Tool("broken", "Broken",
+				new McpSchema.JsonSchema("object", Map.of("id", Map.of("type", "uuid")), null, null));
+
+		StepVerifier
+			.create(this.server
+				.addTool(new McpServerFeatures.AsyncToolSpecification(tool, (exchange, arguments) -> Mono.empty())))
+			.verifyErrorSatisfies(error -> assertThat(error).isInstanceOf(McpError.class)
+				.hasMessageContaining("Invalid input schema for tool 'broken'"));
+	}
+
+	@Test
+	void buildsWithMalformedSchemasWithoutValidatingTheirArguments() {
+		MockMcpServerTransport legacyTransport = new MockMcpServerTransport();
+		MockMcpServerTransportProvider legacyProvider = new MockMcpServerTransportProvider(legacyTransport);
+		McpSchema.Tool tool = new McpSchema.Tool("legacy", "Legacy",
+				new McpSchema.JsonSchema("object", Map.of("id", Map.of("type", "uuid")), null, null));
+		McpAsyncServer legacyServer = McpServer.async(legacyProvider)
+			.serverInfo("legacy-server", "1.0.0")
+			.tools(new McpServerFeatures.AsyncToolSpecification(tool, (exchange, arguments) -> {
+				this.calls.incrementAndGet();
+				return Mono.just(new McpSchema.CallToolResult(List.of(), false));
+			}))
+			.build();
+		legacyProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		legacyProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+
+		legacyProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, "call", new McpSchema.CallToolRequest("legacy", Map.of("id", 42))));
+
+		assertThat(((McpSchema.JSONRPCResponse) legacyTransport.getLastSentMessage()).error()).isNull();
+		assertThat(this.calls).hasValue(1);
+		legacyServer.closeGracefully().block();
+	}
+
+	private McpSchema.JSONRPCResponse callTool(Map<String, Object> arguments) {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, "call", new McpSchema.CallToolRequest("echo", arguments)));
+		return (McpSchema.JSONRPCResponse) this.serverTransport.getLastSentMessage();
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static io.modelcontextprotocol.McpServerFixtures.tool;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ToolRegistry}.
+ */
+class ToolRegistryTests {
+
+	@Test
+	void looksUpToolsByNameAndListsThemInRegistrationOrder() {
+		ToolRegistry registry = new ToolRegistry();
+		for (int i = 0; i < 50_000; i++) {
+			registry.put(tool("tool-" + i));
+		}
+
+		assertThat(registry.size()).isEqualTo(50_000);
+		assertThat(registry.get("tool-49999").tool().name()).isEqualTo("tool-49999");
+		assertThat(registry.get("missing")).isNull();
+		assertThat(registry.list()).hasSize(50_000);
+		assertThat(registry.list().get(0).tool().name()).isEqualTo("tool-0");
+	}
+
+	@Test
+	void listingIsSnapshotUntilNextChange() {
+		ToolRegistry registry = new ToolRegistry();
+		registry.put(tool("a"));
+		registry.put(tool("b"));
+
+		List<McpServerFeatures.AsyncToolSpecification> snapshot = registry.list();
+		assertThat(registry.list()).isSameAs(snapshot);
+
+		assertThat(registry.remove("a")).isTrue();
+		assertThat(registry.remove("a")).isFalse();
+		registry.put(tool("a"));
+
+		assertThat(snapshot).extracting(specification -> specification.tool().name()).containsExactly("a", "b");
+		assertThat(registry.list()).extracting(specification -> specification.tool().name()).containsExactly("b", "a");
+	}
+
+}
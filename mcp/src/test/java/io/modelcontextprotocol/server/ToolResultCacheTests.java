@@ -0,0 +1,264 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.server.McpServerFeatures.ToolResultCaching;
+import io.modelcontextprotocol.spec.BlobSource;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ToolResultCache}.
+ */
+class ToolResultCacheTests {
+
+	private final AtomicLong nanoTime = new AtomicLong();
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Test
+	void answersRepeatedCallsFromTheCache() {
+		ToolResultCache cache = cache(ToolResultCaching.of(Duration.ofMinutes(1), 10));
+
+		CallToolResult first = cache.get(Map.of("q", "a"), () -> call("a")).block();
+		CallToolResult second = cache.get(Map.of("q", "a"), () -> call("a")).block();
+		cache.get(Map.of("q", "b"), () -> call("b")).block();
+
+		assertThat(second).isSameAs(first);
+		assertThat(this.calls).hasValue(2);
+		assertThat(cache.hits()).isEqualTo(1);
+		assertThat(cache.misses()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void keysOnTheCanonicalFormOfTheArguments() {
+		Map<String, Object> ab = new LinkedHashMap<>();
+		ab.put("a", 1);
+		ab.put("b", List.of(Map.of("x", true, "y", "z")));
+		Map<String, Object> ba = new LinkedHashMap<>();
+		ba.put("b", List.of(Map.of("y", "z", "x", true)));
+		ba.put("a", 1);
+
+		assertThat(ToolResultCache.key(ab)).isEqualTo(ToolResultCache.key(ba))
+			.isEqualTo("{\"a\":1,\"b\":[{\"x\":true,\"y\":\"z\"}]}");
+		assertThat(ToolResultCache.key(Map.of("a", "1"))).isNotEqualTo(ToolResultCache.key(Map.of("a", 1)));
+		assertThat(ToolResultCache.key(Map.of("a", "\",\"b\":\"")))
+			.isNotEqualTo(ToolResultCache.key(Map.of("a", "", "b", "")));
+	}
+
+	@Test
+	void expiresResultsAfterTheirTimeToLive() {
+		ToolResultCache cache = cache(ToolResultCaching.of(Duration.ofSeconds(10), 10));
+
+		cache.get(Map.of(), () -> call("a")).block();
+		this.nanoTime.addAndGet(Duration.ofSeconds(9).toNanos());
+		cache.get(Map.of(), () -> call("a")).block();
+		assertThat(this.calls).hasValue(1);
+
+		this.nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+		cache.get(Map.of(), () -> call("a")).block();
+		assertThat(this.calls).hasValue(2);
+		assertThat(cache.evictions()).isEqualTo(1);
+	}
+
+	@Test
+	void dropsExpiredResultsWhenAddingResults() {
+		ToolResultCache cache = cache(ToolResultCaching.of(Duration.ofSeconds(10), 10));
+
+		cache.get(Map.of("q", 1), () -> call("a")).block();
+		cache.get(Map.of("q", 2), () -> call("b")).block();
+		this.nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+		cache.get(Map.of("q", 3), () -> call("c")).block();
+		assertThat(cache.size()).isEqualTo(3);
+
+		// The first two results expired and are never looked up again
+		this.nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+		cache.get(Map.of("q", 4), () -> call("d")).block();
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.weight()).isEqualTo(2);
+		assertThat(cache.evictions()).isEqualTo(2);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedResultsBeyondTheMaximumWeight() {
+		ToolResultCache cache = cache(ToolResultCaching.of(Duration.ofMinutes(1), 10)
+			.withWeigher(result -> ((McpSchema.TextContent) result.content().get(0)).text().length()));
+
+		cache.get(Map.of("q", 1), () -> call("aaaa")).block();
+		cache.get(Map.of("q", 2), () -> call("bbbb")).block();
+		// Makes the second result the least recently used
+		cache.get(Map.of("q", 1), () -> call("aaaa")).block();
+		cache.get(Map.of("q", 3), () -> call("cccc")).block();
+
+		assertThat(cache.weight()).isEqualTo(8);
+		assertThat(cache.evictions()).isEqualTo(1);
+		cache.get(Map.of("q", 1), () -> call("aaaa")).block();
+		cache.get(Map.of("q", 2), () -> call("bbbb")).block();
+		assertThat(this.calls).hasValue(4);
+
+		// A result heavier than the maximum is not cached
+		cache.get(Map.of("q", 4), () -> call("x".repeat(11))).block();
+		assertThat(cache.weight()).isLessThanOrEqualTo(10);
+	}
+
+	@Test
+	void runsConcurrentCallsWithTheSameArgumentsOnce() {
+		ToolResultCache cache = cache(ToolResultCaching.of(Duration.ofMinutes(1), 10));
+		Sinks.One<CallToolResult> running = Sinks.one();
+
+		Mono<CallToolResult> first = cache.get(Map.of("q", "a"), () -> {
+			this.calls.incrementAndGet();
+			return running.asMono();
+		});
+		AtomicInteger completed = new AtomicInteger();
+		first.subscribe(result -> completed.incrementAndGet());
+		for (int i = 0; i < 10; i++) {
+			cache.get(Map.of("q", "a"), () -> call("a")).subscribe(result -> completed.incrementAndGet());
+		}
+		assertThat(completed).hasValue(0);
+
+		running.tryEmitValue(result("a"));
+
+		assertThat(completed).hasValue(11);
+		assertThat(this.calls).hasValue(1);
+		assertThat(cache.hits()).isEqualTo(10);
+	}
+
+	@Test
+	void runsTheToolAgainWhenTheRunningCallIsCancelled() {
+		ToolResultCache cache = cache(ToolResultCaching.of(Duration.ofMinutes(1), 10));
+
+		Disposable first = cache.get(Map.of(), Mono::never).subscribe();
+		AtomicInteger completed = new AtomicInteger();
+		cache.get(Map.of(), () -> call("a")).subscribe(result -> completed.incrementAndGet());
+		first.dispose();
+
+		assertThat(completed).hasValue(1);
+		assertThat(this.calls).hasValue(1);
+		assertThat(cache.hits()).isZero();
+		assertThat(cache.misses()).isEqualTo(2);
+	}
+
+	@Test
+	void doesNotCacheErrors() {
+		ToolResultCache cache = cache(ToolResultCaching.of(Duration.ofMinutes(1), 10));
+
+		for (int i = 0; i < 2; i++) {
+			cache.get(Map.of(), () -> {
+				this.calls.incrementAndGet();
+				return Mono.just(new CallToolResult(List.of(new McpSchema.TextContent("failed")), true));
+			}).block();
+			cache.get(Map.of("q", 1), () -> {
+				this.calls.incrementAndGet();
+				return Mono.error(new IllegalStateException("failed"));
+			}).onErrorResume(error -> Mono.empty()).block();
+		}
+
+		assertThat(this.calls).hasValue(4);
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void doesNotCacheResultsThatCanOnlyBeWrittenOnce() {
+		ToolResultCache cache = cache(ToolResultCaching.of(Duration.ofMinutes(1), 10));
+
+		for (int i = 0; i < 2; i++) {
+			cache.get(Map.of(), () -> {
+				this.calls.incrementAndGet();
+				return Mono.just(new CallToolResult(
+						List.of(new McpSchema.StreamingImageContent(
+								BlobSource.of(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), 3), "image/png")),
+						false));
+			}).block();
+		}
+		cache.get(Map.of("q", 1), () -> {
+			this.calls.incrementAndGet();
+			return Mono.just(new CallToolResult(
+					List.of(new McpSchema.StreamingImageContent(BlobSource.of(new byte[] { 1, 2, 3 }), "image/png")),
+					false));
+		}).block();
+
+		assertThat(this.calls).hasValue(3);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void dropsTheCacheWhenTheToolIsRemoved() throws InterruptedException {
+		// The initialize response and the three call responses
+		CountDownLatch responses = new CountDownLatch(4);
+		MockMcpServerTransport serverTransport = new MockMcpServerTransport((transport, message) -> {
+			if (message instanceof McpSchema.JSONRPCResponse) {
+				responses.countDown();
+			}
+		});
+		MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(serverTransport);
+		McpSyncServer server = McpServer.sync(transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.tools(new McpServerFeatures.SyncToolSpecification(new McpSchema.Tool("lookup", "Lookup", "{}"),
+					(exchange, arguments) -> {
+						this.calls.incrementAndGet();
+						return result("schema");
+					})
+				.withResultCaching(ToolResultCaching.of(Duration.ofMinutes(1), 10)))
+			.build();
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, "init", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						null, new McpSchema.Implementation("test-client", "1.0.0"))));
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+
+		ToolResultCache cache = server.getToolResultCache("lookup");
+		for (int i = 0; i < 3; i++) {
+			transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_TOOLS_CALL, i, new McpSchema.CallToolRequest("lookup", Map.of("id", 7))));
+		}
+		assertThat(responses.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(this.calls).hasValue(1);
+		assertThat(cache.hits()).isEqualTo(2);
+		assertThat(cache.misses()).isEqualTo(1);
+
+		server.removeTool("lookup");
+		assertThat(server.getToolResultCache("lookup")).isNull();
+		assertThat(cache.size()).isZero();
+		server.closeGracefully();
+	}
+
+	private ToolResultCache cache(ToolResultCaching caching) {
+		return new ToolResultCache(caching, this.nanoTime::get);
+	}
+
+	private Mono<CallToolResult> call(String text) {
+		return Mono.fromSupplier(() -> {
+			this.calls.incrementAndGet();
+			return result(text);
+		});
+	}
+
+	private static CallToolResult result(String text) {
+		return new CallToolResult(List.of(new McpSchema.TextContent(text)), false);
+	}
+
+}
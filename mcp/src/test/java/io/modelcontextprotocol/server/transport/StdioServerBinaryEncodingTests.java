@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
+import io.modelcontextprotocol.spec.McpBinaryEncoding;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.SmileMcpJsonCodec;
+import io.modelcontextprotocol.spec.StdioFraming;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the binary encoding negotiation of {@link StdioServerTransportProvider}.
+ */
+@Timeout(10)
+class StdioServerBinaryEncodingTests {
+
+	private final JacksonMcpJsonCodec json = new JacksonMcpJsonCodec();
+
+	private final SmileMcpJsonCodec smile = new SmileMcpJsonCodec();
+
+	private PipedOutputStream clientOut;
+
+	private StdioFraming.FrameReader clientIn;
+
+	private McpSyncServer server;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		PipedInputStream serverIn = new PipedInputStream(64 * 1024);
+		this.clientOut = new PipedOutputStream(serverIn);
+		PipedInputStream clientInput = new PipedInputStream(64 * 1024);
+		PipedOutputStream serverOut = new PipedOutputStream(clientInput);
+		this.clientIn = new StdioFraming.FrameReader(clientInput);
+
+		var transportProvider = new StdioServerTransportProvider(this.json, this.smile, serverIn, serverOut);
+		this.server = McpServer.sync(transportProvider).serverInfo("binary-server", "1.0.0").build();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		this.clientOut.close();
+		this.server.close();
+	}
+
+	@Test
+	void switchesToBinaryFramesAfterAcceptingTheOffer() throws Exception {
+		sendText(initializeRequest(true));
+
+		McpSchema.JSONRPCResponse initializeResponse = (McpSchema.JSONRPCResponse) receive(false);
+		McpSchema.InitializeResult result = this.json.convertValue(initializeResponse.result(),
+				McpSchema.InitializeResult.class);
+		assertThat(McpBinaryEncoding.isAccepted(result)).isTrue();
+		assertThat(result.serverInfo().name()).isEqualTo("binary-server");
+
+		sendText(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_INITIALIZED,
+				null));
+		sendBinary(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_PING, "ping-1", null));
+
+		McpSchema.JSONRPCResponse pingResponse = (McpSchema.JSONRPCResponse) receive(true);
+		assertThat(pingResponse.id()).isEqualTo("ping-1");
+		assertThat(pingResponse.error()).isNull();
+	}
+
+	@Test
+	void staysOnTextWithoutOffer() throws Exception {
+		sendText(initializeRequest(false));
+
+		McpSchema.JSONRPCResponse initializeResponse = (McpSchema.JSONRPCResponse) receive(false);
+		assertThat(McpBinaryEncoding
+			.isAccepted(this.json.convertValue(initializeResponse.result(), McpSchema.InitializeResult.class)))
+			.isFalse();
+
+		sendText(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_INITIALIZED,
+				null));
+		sendText(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_PING, "ping-1", null));
+
+		assertThat(((McpSchema.JSONRPCResponse) receive(false)).id()).isEqualTo("ping-1");
+	}
+
+	private McpSchema.JSONRPCRequest initializeRequest(boolean offerBinary) {
+		McpSchema.InitializeRequest request = new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+				new McpSchema.ClientCapabilities(Map.of(), null, null),
+				new McpSchema.Implementation("client", "1.0.0"));
+		return new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_INITIALIZE, "init-1",
+				offerBinary ? McpBinaryEncoding.withOffer(request) : request);
+	}
+
+	private void sendText(McpSchema.JSONRPCMessage message) throws IOException {
+		this.clientOut.write(this.json.encodeToString(message).getBytes(StandardCharsets.UTF_8));
+		this.clientOut.write('\n');
+		this.clientOut.flush();
+	}
+
+	private void sendBinary(McpSchema.JSONRPCMessage message) throws IOException {
+		StdioFraming.writeBinaryFrame(this.clientOut, this.smile.encode(message));
+		this.clientOut.flush();
+	}
+
+	private McpSchema.JSONRPCMessage receive(boolean binary) throws IOException {
+		assertThat(this.clientIn.next()).isTrue();
+		assertThat(this.clientIn.isBinary()).isEqualTo(binary);
+		return (binary ? this.smile : this.json).decode(this.clientIn.frame(), 0, this.clientIn.length());
+	}
+
+}
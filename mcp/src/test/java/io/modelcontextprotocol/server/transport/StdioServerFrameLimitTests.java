@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.JacksonMcpJsonCodec;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.StdioFraming;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the handling of inbound frames above the maximum frame size by
+ * {@link StdioServerTransportProvider}.
+ */
+@Timeout(10)
+class StdioServerFrameLimitTests {
+
+	private final JacksonMcpJsonCodec json = new JacksonMcpJsonCodec();
+
+	private PipedOutputStream clientOut;
+
+	private StdioFraming.FrameReader clientIn;
+
+	private McpSyncServer server;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		PipedInputStream serverIn = new PipedInputStream(64 * 1024);
+		this.clientOut = new PipedOutputStream(serverIn);
+		PipedInputStream clientInput = new PipedInputStream(64 * 1024);
+		PipedOutputStream serverOut = new PipedOutputStream(clientInput);
+		this.clientIn = new StdioFraming.FrameReader(clientInput);
+
+		var transportProvider = StdioServerTransportProvider.builder()
+			.jsonCodec(this.json)
+			.inputStream(serverIn)
+			.outputStream(serverOut)
+			.maxFrameSize(1024)
+			.build();
+		this.server = McpServer.sync(transportProvider).serverInfo("limited-server", "1.0.0").build();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		this.clientOut.close();
+		this.server.close();
+	}
+
+	@Test
+	void answersOversizedFrameWithErrorWithoutId() throws Exception {
+		send("{\"jsonrpc\":\"2.0\",\"method\":\"ping\",\"id\":\"big\",\"params\":{\"data\":\"" + "x".repeat(2048)
+				+ "\"}}");
+
+		assertThat(this.clientIn.next()).isTrue();
+		String line = new String(this.clientIn.frame(), 0, this.clientIn.length(), StandardCharsets.UTF_8);
+		assertThat(line).contains("\"id\":null");
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.json.decode(this.clientIn.frame(), 0,
+				this.clientIn.length());
+		assertThat(response.id()).isNull();
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_REQUEST);
+		assertThat(response.error().message()).contains("maximum frame size of 1024 bytes");
+
+		// The session stays open
+		send(this.json
+			.encodeToString(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_INITIALIZE,
+					"init-1", new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null,
+							new McpSchema.Implementation("client", "1.0.0")))));
+		assertThat(this.clientIn.next()).isTrue();
+		assertThat(
+				((McpSchema.JSONRPCResponse) this.json.decode(this.clientIn.frame(), 0, this.clientIn.length())).id())
+			.isEqualTo("init-1");
+	}
+
+	private void send(String line) throws IOException {
+		this.clientOut.write(line.getBytes(StandardCharsets.UTF_8));
+		this.clientOut.write('\n');
+		this.clientOut.flush();
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link BlobSource} and the streaming content types.
+ */
+class BlobSourceTests {
+
+	private static final TypeReference<McpSchema.ReadResourceResult> READ_RESOURCE_RESULT_TYPE_REF = new TypeReference<>() {
+	};
+
+	private final JacksonMcpJsonCodec codec = new JacksonMcpJsonCodec();
+
+	private final byte[] content = new byte[100_003];
+
+	{
+		for (int i = 0; i < this.content.length; i++) {
+			this.content[i] = (byte) (i * 7);
+		}
+	}
+
+	@Test
+	void streamsFileAsBlobResourceContents(@TempDir Path dir) throws Exception {
+		Path file = Files.write(dir.resolve("data.bin"), this.content);
+		McpSchema.ReadResourceResult result = new McpSchema.ReadResourceResult(
+				List.of(new McpSchema.StreamingBlobResourceContents("file:///data.bin", "application/octet-stream",
+						BlobSource.of(file))));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.codec.encode(result, out);
+
+		McpSchema.ReadResourceResult received = this.codec.getObjectMapper()
+			.readValue(out.toByteArray(), READ_RESOURCE_RESULT_TYPE_REF);
+		assertThat(received.contents()).singleElement()
+			.isEqualTo(new McpSchema.BlobResourceContents("file:///data.bin", "application/octet-stream",
+					Base64.getEncoder().encodeToString(this.content)));
+	}
+
+	@Test
+	void streamsImageContent() throws Exception {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(this.content.length + 10).position(5);
+		buffer.put(this.content).flip().position(5);
+		McpSchema.CallToolResult result = new McpSchema.CallToolResult(
+				List.of(new McpSchema.StreamingImageContent(BlobSource.of(buffer), "image/png")), false);
+
+		String json = this.codec.encodeToString(result);
+
+		assertThat(json).contains("\"type\":\"image\"");
+		McpSchema.CallToolResult received = this.codec.getObjectMapper()
+			.readValue(json, McpSchema.CallToolResult.class);
+		assertThat(received.content()).singleElement()
+			.isEqualTo(new McpSchema.ImageContent(null, null, Base64.getEncoder().encodeToString(this.content),
+					"image/png"));
+		// Buffer backed sources can be written again
+		assertThat(this.codec.encodeToString(result)).isEqualTo(json);
+		assertThat(buffer.position()).isEqualTo(5);
+	}
+
+	@Test
+	void inputStreamSourceIsSingleUse() throws Exception {
+		McpSchema.StreamingBlobResourceContents contents = new McpSchema.StreamingBlobResourceContents("file:///s",
+				null, BlobSource.of(new ByteArrayInputStream(this.content), -1));
+
+		McpSchema.BlobResourceContents received = this.codec.getObjectMapper()
+			.readValue(this.codec.encode(contents), McpSchema.BlobResourceContents.class);
+
+		assertThat(Base64.getDecoder().decode(received.blob())).isEqualTo(this.content);
+		assertThatThrownBy(() -> this.codec.encode(contents)).isInstanceOf(JsonMappingException.class)
+			.hasRootCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void binaryCodecWritesRawBytes() throws Exception {
+		SmileMcpJsonCodec smile = new SmileMcpJsonCodec();
+		McpSchema.StreamingBlobResourceContents contents = new McpSchema.StreamingBlobResourceContents("file:///b",
+				null, BlobSource.of(this.content));
+
+		byte[] encoded = smile.encode(contents);
+
+		assertThat(encoded.length).isLessThan(this.content.length + 64);
+		McpSchema.BlobResourceContents received = smile.getObjectMapper()
+			.readValue(encoded, McpSchema.BlobResourceContents.class);
+		assertThat(Base64.getDecoder().decode(received.blob())).isEqualTo(this.content);
+	}
+
+}
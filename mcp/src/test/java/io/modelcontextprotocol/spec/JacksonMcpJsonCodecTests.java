@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link JacksonMcpJsonCodec}.
+ */
+class JacksonMcpJsonCodecTests {
+
+	private static final TypeReference<McpSchema.CallToolRequest> CALL_TOOL_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void roundTripsMessages() throws Exception {
+		JacksonMcpJsonCodec codec = new JacksonMcpJsonCodec(mapper);
+		McpSchema.JSONRPCRequest request = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, "req-1", Map.of("name", "echo", "arguments", Map.of("text", "hi")));
+
+		byte[] bytes = codec.encode(request);
+		String text = codec.encodeToString(request);
+
+		assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(text);
+		assertThat(codec.decode(text)).isEqualTo(request);
+		assertThat(codec.decode(bytes, 0, bytes.length)).isEqualTo(request);
+	}
+
+	@Test
+	void convertsEagerAndDeferredPayloadsAlike() throws Exception {
+		String json = """
+				{"jsonrpc":"2.0","method":"tools/call","id":"1","params":{"name":"echo","arguments":{"text":"hi"}}}""";
+
+		JacksonMcpJsonCodec eager = new JacksonMcpJsonCodec(mapper);
+		JacksonMcpJsonCodec deferred = new JacksonMcpJsonCodec(mapper, true);
+
+		Object eagerParams = ((McpSchema.JSONRPCRequest) eager.decode(json)).params();
+		Object deferredParams = ((McpSchema.JSONRPCRequest) deferred.decode(json)).params();
+		assertThat(eagerParams).isInstanceOf(Map.class);
+		assertThat(deferredParams).isInstanceOf(TokenBuffer.class);
+
+		McpSchema.CallToolRequest expected = new McpSchema.CallToolRequest("echo", Map.of("text", "hi"));
+		assertThat(eager.convertValue(eagerParams, CALL_TOOL_REQUEST_TYPE_REF)).isEqualTo(expected);
+		assertThat(deferred.convertValue(deferredParams, CALL_TOOL_REQUEST_TYPE_REF)).isEqualTo(expected);
+		// Deferred payloads can be bound more than once
+		assertThat(deferred.convertValue(deferredParams, McpSchema.CallToolRequest.class)).isEqualTo(expected);
+		// Values that already have the target type are not converted
+		assertThat(eager.convertValue(expected, McpSchema.CallToolRequest.class)).isSameAs(expected);
+		// Other values are bound from their tokens, like deferred payloads
+		assertThat(eager.convertValue(RequestMeta.with(expected, "key", 1), McpSchema.CallToolRequest.class))
+			.isEqualTo(expected);
+	}
+
+	@Test
+	void convertValueOfNullIsNull() {
+		JacksonMcpJsonCodec codec = new JacksonMcpJsonCodec(mapper);
+
+		assertThat(codec.convertValue(null, CALL_TOOL_REQUEST_TYPE_REF)).isNull();
+		assertThat(codec.convertValue(null, String.class)).isNull();
+	}
+
+	@Test
+	void rejectsNullObjectMapper() {
+		assertThatThrownBy(() -> new JacksonMcpJsonCodec(null)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("ObjectMapper");
+	}
+
+}
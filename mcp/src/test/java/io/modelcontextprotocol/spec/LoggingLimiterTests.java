@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link LoggingLimiter}.
+ */
+class LoggingLimiterTests {
+
+	private final AtomicLong nanoTime = new AtomicLong();
+
+	@Test
+	void sendsEverythingWhenUnlimited() {
+		LoggingLimiter limiter = new LoggingLimiter(LoggingLimits.UNLIMITED, this.nanoTime::get);
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(limiter.tryAcquire(LoggingLevel.DEBUG)).isTrue();
+		}
+	}
+
+	@Test
+	void sendsBurstThenRefillsOverTime() {
+		LoggingLimiter limiter = new LoggingLimiter(LoggingLimits.UNLIMITED.withRateLimit(10, 3), this.nanoTime::get);
+
+		assertThat(limiter.tryAcquire(LoggingLevel.INFO)).isTrue();
+		assertThat(limiter.tryAcquire(LoggingLevel.INFO)).isTrue();
+		assertThat(limiter.tryAcquire(LoggingLevel.INFO)).isTrue();
+		assertThat(limiter.tryAcquire(LoggingLevel.INFO)).isFalse();
+
+		// One token every 100 ms
+		this.nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+		assertThat(limiter.tryAcquire(LoggingLevel.INFO)).isTrue();
+		assertThat(limiter.tryAcquire(LoggingLevel.INFO)).isFalse();
+
+		// The bucket never holds more than the burst
+		this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		int sent = 0;
+		while (limiter.tryAcquire(LoggingLevel.INFO)) {
+			sent++;
+		}
+		assertThat(sent).isEqualTo(3);
+	}
+
+	@Test
+	void neverDropsErrors() {
+		LoggingLimiter limiter = new LoggingLimiter(
+				LoggingLimits.UNLIMITED.withRateLimit(1, 1).withSampling(LoggingLevel.EMERGENCY, 100),
+				this.nanoTime::get);
+
+		assertThat(limiter.tryAcquire(LoggingLevel.WARNING)).isTrue();
+		assertThat(limiter.tryAcquire(LoggingLevel.WARNING)).isFalse();
+		for (int i = 0; i < 100; i++) {
+			assertThat(limiter.tryAcquire(LoggingLevel.ERROR)).isTrue();
+			assertThat(limiter.tryAcquire(LoggingLevel.CRITICAL)).isTrue();
+		}
+	}
+
+	@Test
+	void samplesMessagesAtOrBelowTheSampledLevel() {
+		LoggingLimiter limiter = new LoggingLimiter(LoggingLimits.UNLIMITED.withSampling(LoggingLevel.DEBUG, 4),
+				this.nanoTime::get);
+
+		int debug = 0;
+		int info = 0;
+		for (int i = 0; i < 100; i++) {
+			debug += limiter.tryAcquire(LoggingLevel.DEBUG) ? 1 : 0;
+			info += limiter.tryAcquire(LoggingLevel.INFO) ? 1 : 0;
+		}
+
+		assertThat(debug).isEqualTo(25);
+		assertThat(info).isEqualTo(100);
+	}
+
+	@Test
+	void rejectsInvalidLimits() {
+		assertThatIllegalArgumentException().isThrownBy(() -> LoggingLimits.UNLIMITED.withRateLimit(0, 1));
+		assertThatIllegalArgumentException().isThrownBy(() -> LoggingLimits.UNLIMITED.withRateLimit(1, 0));
+		assertThatIllegalArgumentException().isThrownBy(() -> LoggingLimits.UNLIMITED.withSampling(null, 2));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> LoggingLimits.UNLIMITED.withSampling(LoggingLevel.DEBUG, 0));
+	}
+
+}
@@ -6,6 +6,7 @@ package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.MockMcpClientTransport;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
@@ -119,6 +121,47 @@ class McpClientSessionTests {
 			.verify(TIMEOUT.plusSeconds(1));
 	}
 
+	@Test
+	void testCancelledRequestIsRemoved() {
+		Mono<String> responseMono = session.sendRequest(TEST_METHOD, "test", responseType);
+
+		StepVerifier.create(responseMono)
+			.then(() -> assertThat(session.getPendingRequests().getInFlightCount()).isEqualTo(1))
+			.thenCancel()
+			.verify();
+
+		assertThat(session.getPendingRequests().getInFlightCount()).isZero();
+	}
+
+	@Test
+	void testCancellationIsSentToServer() {
+		Disposable subscription = session.sendRequest(TEST_METHOD, "test", responseType).subscribe();
+		Object requestId = transport.getLastSentMessageAsRequest().id();
+
+		subscription.dispose();
+
+		McpSchema.JSONRPCNotification notification = transport.getLastSentMessageAsNotification();
+		assertThat(notification.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_CANCELLED);
+		assertThat(notification.params()).containsEntry("requestId", requestId);
+	}
+
+	@Test
+	void testCancelledIncomingRequestIsNotAnswered() {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		session.close();
+		transport = new MockMcpClientTransport();
+		session = new McpClientSession(TIMEOUT, transport,
+				Map.of(ECHO_METHOD, params -> Mono.never().doOnCancel(() -> cancelled.set(true))), Map.of());
+
+		transport
+			.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, ECHO_METHOD, 7, Map.of()));
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_CANCELLED, Map.of("requestId", 7L, "reason", "No longer needed")));
+
+		assertThat(cancelled).isTrue();
+		assertThat(transport.getLastSentMessage()).isNull();
+	}
+
 	@Test
 	void testSendNotification() {
 		Map<String, Object> params = Map.of("key", "value");
@@ -190,6 +233,50 @@ class McpClientSessionTests {
 		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.METHOD_NOT_FOUND);
 	}
 
+	@Test
+	void testPerMethodTimeout() {
+		session.close();
+		transport = new MockMcpClientTransport();
+		session = new McpClientSession(transport,
+				RequestTimeouts.of(TIMEOUT).withTimeout(TEST_METHOD, Duration.ofMillis(100)), Map.of(), Map.of());
+
+		StepVerifier.create(session.sendRequest(TEST_METHOD, "test", responseType))
+			.expectError(java.util.concurrent.TimeoutException.class)
+			.verify(Duration.ofSeconds(1));
+
+		McpSchema.JSONRPCNotification cancellation = transport.getLastSentMessageAsNotification();
+		assertThat(cancellation.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_CANCELLED);
+	}
+
+	@Test
+	void testDeadlineIsSentWithRequest() {
+		session.sendRequest(TEST_METHOD, Map.of("key", "value"), responseType, Duration.ofSeconds(30)).subscribe();
+
+		McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+		assertThat(request.params()).isInstanceOf(Map.class);
+		Map<?, ?> params = (Map<?, ?>) request.params();
+		assertThat(params.get("key")).isEqualTo("value");
+		assertThat(RequestDeadlines.timeoutOf(params)).isEqualTo(30_000);
+	}
+
+	@Test
+	void testRequestPastItsDeadlineIsNotHandled() {
+		AtomicBoolean handled = new AtomicBoolean();
+		session.close();
+		transport = new MockMcpClientTransport();
+		session = new McpClientSession(TIMEOUT, transport,
+				Map.of(ECHO_METHOD, params -> Mono.fromRunnable(() -> handled.set(true))), Map.of());
+
+		Map<String, Object> params = Map.of("_meta", Map.of(RequestDeadlines.TIMEOUT_META_KEY, 0));
+		transport.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, ECHO_METHOD, "echo-id", params));
+
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) transport.getLastSentMessage();
+		assertThat(response.id()).isEqualTo("echo-id");
+		assertThat(response.error()).isNotNull();
+		assertThat(handled).isFalse();
+	}
+
 	@Test
 	void testGracefulShutdown() {
 		StepVerifier.create(session.closeGracefully()).verifyComplete();
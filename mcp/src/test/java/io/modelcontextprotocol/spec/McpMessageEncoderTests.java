@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link McpMessageEncoder}.
+ */
+class McpMessageEncoderTests {
+
+	private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private final McpMessageEncoder encoder = new McpMessageEncoder(mapper);
+
+	private final McpSchema.JSONRPCRequest request = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+			McpSchema.METHOD_TOOLS_CALL, "req-1",
+			Map.of("name", "echo", "arguments", Map.of("text", "line one\nline two\r\nünïcödé ✓")));
+
+	@Test
+	void encodeLineWritesSingleLineJson() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		encoder.encodeLine(request, out);
+
+		String line = out.toString(StandardCharsets.UTF_8);
+		assertThat(line).endsWith("\n");
+		assertThat(line.substring(0, line.length() - 1)).doesNotContain("\n").doesNotContain("\r");
+
+		McpSchema.JSONRPCMessage decoded = McpSchema.deserializeJsonRpcMessage(mapper, line.trim());
+		assertThat(decoded).isEqualTo(request);
+	}
+
+	@Test
+	void encodeToBytesMatchesStreamAndString() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		encoder.encode(request, out);
+
+		byte[] bytes = encoder.encode(request);
+
+		assertThat(bytes).isEqualTo(out.toByteArray());
+		assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(encoder.encodeToString(request));
+		assertThat(bytes).doesNotContain((byte) '\n', (byte) '\r');
+	}
+
+	@Test
+	void encodeDoesNotFlushOrCloseTarget() throws Exception {
+		boolean[] flushedOrClosed = new boolean[1];
+		ByteArrayOutputStream out = new ByteArrayOutputStream() {
+			@Override
+			public void flush() {
+				flushedOrClosed[0] = true;
+			}
+
+			@Override
+			public void close() {
+				flushedOrClosed[0] = true;
+			}
+		};
+
+		encoder.encode(request, out);
+
+		assertThat(out.size()).isPositive();
+		assertThat(flushedOrClosed[0]).isFalse();
+	}
+
+}
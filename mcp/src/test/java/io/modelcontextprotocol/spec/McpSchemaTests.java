@@ -3,11 +3,16 @@
 */
 package io.modelcontextprotocol.spec;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
 import io.modelcontextprotocol.spec.McpSchema.TextResourceContents;
@@ -207,6 +212,150 @@ public class McpSchemaTests {
 					{"jsonrpc":"2.0","id":1,"error":{"code":-32600,"message":"Invalid request"}}"""));
 	}
 
+	@Test
+	void testDeserializeJsonRpcRequest() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","method":"tools/call","id":"abc-1","params":{"name":"echo","arguments":{"x":1}}}""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCRequest.class);
+		McpSchema.JSONRPCRequest request = (McpSchema.JSONRPCRequest) message;
+		assertThat(request.jsonrpc()).isEqualTo(McpSchema.JSONRPC_VERSION);
+		assertThat(request.method()).isEqualTo("tools/call");
+		assertThat(request.id()).isEqualTo("abc-1");
+		assertThat(request.params()).isEqualTo(Map.of("name", "echo", "arguments", Map.of("x", 1)));
+	}
+
+	@Test
+	void testDeserializeJsonRpcNotificationFromBytes() throws Exception {
+		byte[] json = """
+				{"method":"notifications/initialized","jsonrpc":"2.0","unknown":[1,{"a":2}]}"""
+			.getBytes(StandardCharsets.UTF_8);
+
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, json);
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCNotification.class);
+		McpSchema.JSONRPCNotification notification = (McpSchema.JSONRPCNotification) message;
+		assertThat(notification.method()).isEqualTo("notifications/initialized");
+		assertThat(notification.params()).isNull();
+	}
+
+	@Test
+	void testDeserializeJsonRpcResponseFromByteBuffer() throws Exception {
+		byte[] json = """
+				{"jsonrpc":"2.0","id":7,"result":{"tools":[]}}""".getBytes(StandardCharsets.UTF_8);
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(json.length).put(json).flip();
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, direct);
+
+		assertThat(direct.position()).isZero();
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCResponse.class);
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) message;
+		assertThat(response.id()).isEqualTo(7);
+		assertThat(response.result()).isEqualTo(Map.of("tools", List.of()));
+		assertThat(response.error()).isNull();
+	}
+
+	@Test
+	void testDeserializeJsonRpcErrorResponseFromInputStream() throws Exception {
+		byte[] json = """
+				{"jsonrpc":"2.0","id":"r-1","error":{"code":-32601,"message":"Method not found"}}"""
+			.getBytes(StandardCharsets.UTF_8);
+
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, new ByteArrayInputStream(json));
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCResponse.class);
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) message;
+		assertThat(response.result()).isNull();
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.METHOD_NOT_FOUND);
+		assertThat(response.error().message()).isEqualTo("Method not found");
+	}
+
+	@Test
+	void testDeserializeJsonRpcBatch() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				[{"jsonrpc":"2.0","method":"tools/call","id":1,"params":{"name":"echo"}},
+				 {"jsonrpc":"2.0","method":"notifications/initialized"},
+				 {"jsonrpc":"2.0","id":2,"result":{}}]""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCBatch.class);
+		List<McpSchema.JSONRPCMessage> messages = ((McpSchema.JSONRPCBatch) message).messages();
+		assertThat(messages).hasSize(3);
+		assertThat(messages.get(0)).isInstanceOf(McpSchema.JSONRPCRequest.class);
+		assertThat(messages.get(1)).isInstanceOf(McpSchema.JSONRPCNotification.class);
+		assertThat(messages.get(2)).isInstanceOf(McpSchema.JSONRPCResponse.class);
+
+		assertThatThrownBy(() -> McpSchema.deserializeJsonRpcMessage(mapper, """
+				[[{"jsonrpc":"2.0","method":"ping","id":1}]]""")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Cannot deserialize JSONRPCMessage");
+	}
+
+	@Test
+	void testSerializeJsonRpcBatch() throws Exception {
+		McpSchema.JSONRPCBatch batch = new McpSchema.JSONRPCBatch(List.of(
+				new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 1, Map.of(), null),
+				new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, "notifications/initialized", null)));
+
+		String value = mapper.writeValueAsString(batch);
+
+		assertThatJson(value).isEqualTo(json("""
+				[{"jsonrpc":"2.0","id":1,"result":{}},{"jsonrpc":"2.0","method":"notifications/initialized"}]"""));
+		assertThat(McpSchema.deserializeJsonRpcMessage(mapper, value)).isEqualTo(batch);
+	}
+
+	@Test
+	void testDeserializeInvalidJsonRpcMessage() {
+		assertThatThrownBy(() -> McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","id":1}""")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Cannot deserialize JSONRPCMessage");
+
+		assertThatThrownBy(() -> McpSchema.deserializeJsonRpcMessage(mapper, "[]"))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Cannot deserialize JSONRPCMessage");
+	}
+
+	@Test
+	void testDeserializeJsonRpcRequestWithDeferredParams() throws Exception {
+		byte[] json = """
+				{"jsonrpc":"2.0","method":"tools/call","id":"req-1","params":{"name":"echo","arguments":{"text":"hi","count":2}}}"""
+			.getBytes(StandardCharsets.UTF_8);
+
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, json, 0, json.length, true);
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCRequest.class);
+		McpSchema.JSONRPCRequest request = (McpSchema.JSONRPCRequest) message;
+		assertThat(request.params()).isNotInstanceOf(Map.class);
+
+		McpSchema.CallToolRequest callToolRequest = McpSchema.unmarshalPayload(mapper, request.params(),
+				new TypeReference<McpSchema.CallToolRequest>() {
+				});
+		assertThat(callToolRequest.name()).isEqualTo("echo");
+		assertThat(callToolRequest.arguments()).containsEntry("text", "hi").containsEntry("count", 2);
+
+		// A deferred payload can be bound again
+		Map<String, Object> params = McpSchema.unmarshalPayload(mapper, request.params(),
+				new TypeReference<Map<String, Object>>() {
+				});
+		assertThat(params).containsEntry("name", "echo");
+	}
+
+	@Test
+	void testDeserializeJsonRpcNotificationWithDeferredParams() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","method":"notifications/message","params":{"level":"info","data":"hello"}}""", true);
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCNotification.class);
+		assertThat(((McpSchema.JSONRPCNotification) message).params()).containsEntry("level", "info")
+			.containsEntry("data", "hello");
+	}
+
+	@Test
+	void testUnmarshalEagerPayload() {
+		McpSchema.ReadResourceRequest request = McpSchema.unmarshalPayload(mapper, Map.of("uri", "file:///a.txt"),
+				new TypeReference<McpSchema.ReadResourceRequest>() {
+				});
+		assertThat(request.uri()).isEqualTo("file:///a.txt");
+	}
+
 	// Initialization Tests
 
 	@Test
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PendingRequests}.
+ */
+class PendingRequestsTests {
+
+	private final PendingRequests pending = new PendingRequests(Schedulers.parallel(), Duration.ofMillis(5));
+
+	@AfterEach
+	void tearDown() {
+		this.pending.close(new McpError("closed"));
+	}
+
+	@Test
+	void completesRequestsByNumericId() {
+		List<MonoSink<McpSchema.JSONRPCResponse>> sinks = new ArrayList<>();
+		List<Disposable> subscriptions = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			long id = this.pending.nextId();
+			subscriptions.add(Mono.<McpSchema.JSONRPCResponse>create(sink -> {
+				sinks.add(sink);
+				this.pending.register(id, "test", sink, Duration.ofMinutes(1));
+			}).subscribe());
+		}
+		assertThat(this.pending.getInFlightCount()).isEqualTo(1000);
+
+		// Ids come back as whatever number type the codec produced
+		for (int id = 1000; id >= 1; id -= 2) {
+			assertThat(this.pending.remove((Object) id)).isSameAs(sinks.get(id - 1));
+		}
+		assertThat(this.pending.remove((Object) 1000L)).isNull();
+		assertThat(this.pending.remove("1")).isNull();
+		assertThat(this.pending.getInFlightCount()).isEqualTo(500);
+
+		for (int id = 1; id < 1000; id += 2) {
+			assertThat(this.pending.remove(id)).isSameAs(sinks.get(id - 1));
+		}
+		assertThat(this.pending.getInFlightCount()).isZero();
+		subscriptions.forEach(Disposable::dispose);
+	}
+
+	@Test
+	void expiresRequestsAndRemovesThem() {
+		long shortId = this.pending.nextId();
+		long longId = this.pending.nextId();
+		Mono<McpSchema.JSONRPCResponse> shortRequest = Mono
+			.create(sink -> this.pending.register(shortId, "ping", sink, Duration.ofMillis(20)));
+		Disposable longRequest = Mono.<McpSchema.JSONRPCResponse>create(
+				sink -> this.pending.register(longId, "sampling/createMessage", sink, Duration.ofSeconds(30)))
+			.subscribe();
+
+		StepVerifier.create(shortRequest)
+			.expectErrorSatisfies(error -> assertThat(error).isInstanceOf(TimeoutException.class)
+				.hasMessageContaining("(ping)")
+				.hasMessageContaining("20 ms"))
+			.verify(Duration.ofSeconds(5));
+
+		assertThat(this.pending.getExpiredCount()).isEqualTo(1);
+		assertThat(this.pending.getInFlightCount()).isEqualTo(1);
+		assertThat(this.pending.remove(shortId)).isNull();
+		assertThat(this.pending.remove(longId)).isNotNull();
+		longRequest.dispose();
+	}
+
+	@Test
+	void runsScheduledTasksUnlessCancelled() throws InterruptedException {
+		CountDownLatch ran = new CountDownLatch(1);
+		AtomicBoolean cancelledRan = new AtomicBoolean();
+		this.pending.schedule(Duration.ofMillis(20), ran::countDown);
+		this.pending.schedule(Duration.ofMillis(10), () -> cancelledRan.set(true)).dispose();
+
+		assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(cancelledRan).isFalse();
+		// Tasks are not requests
+		assertThat(this.pending.getExpiredCount()).isZero();
+		assertThat(this.pending.getInFlightCount()).isZero();
+	}
+
+	@Test
+	void closeFailsPendingAndNewRequests() {
+		long id = this.pending.nextId();
+		Mono<McpSchema.JSONRPCResponse> request = Mono
+			.create(sink -> this.pending.register(id, "test", sink, Duration.ofSeconds(30)));
+
+		StepVerifier.create(request)
+			.then(() -> this.pending.close(new McpError("Session closed")))
+			.expectErrorMessage("Session closed")
+			.verify(Duration.ofSeconds(5));
+		assertThat(this.pending.getInFlightCount()).isZero();
+
+		StepVerifier
+			.create(Mono.<McpSchema.JSONRPCResponse>create(
+					sink -> this.pending.register(this.pending.nextId(), "test", sink, null)))
+			.expectErrorMessage("Session closed")
+			.verify(Duration.ofSeconds(5));
+	}
+
+}
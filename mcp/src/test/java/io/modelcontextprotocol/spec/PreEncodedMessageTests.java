@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PreEncodedMessage}.
+ */
+class PreEncodedMessageTests {
+
+	private final CountingCodec codec = new CountingCodec();
+
+	private final McpSchema.JSONRPCNotification notification = new McpSchema.JSONRPCNotification(
+			McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_MESSAGE,
+			Map.of("level", "info", "data", "line one\nline two"));
+
+	@Test
+	void encodesOnceForAllWrites() throws Exception {
+		PreEncodedMessage message = PreEncodedMessage.of(this.notification);
+		String expected = this.codec.encodeToString(this.notification);
+		this.codec.encodings.set(0);
+
+		for (int i = 0; i < 1000; i++) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			message.writeTo(this.codec, out);
+			assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+			assertThat(message.encodeToString(this.codec)).isEqualTo(expected).doesNotContain("\n");
+		}
+
+		assertThat(this.codec.encodings).hasValue(1);
+	}
+
+	@Test
+	void encodesAgainForAnotherCodec() throws Exception {
+		PreEncodedMessage message = PreEncodedMessage.of(this.notification);
+		CountingCodec other = new CountingCodec();
+
+		message.encodeToString(this.codec);
+		message.encodeToString(other);
+
+		assertThat(this.codec.encodings).hasValue(1);
+		assertThat(other.encodings).hasValue(1);
+		assertThat(message.message()).isSameAs(this.notification);
+	}
+
+	@Test
+	void transportsSendTheMessageByDefault() {
+		AtomicInteger sent = new AtomicInteger();
+		McpServerTransport transport = new McpServerTransport() {
+
+			@Override
+			public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+				assertThat(message).isSameAs(PreEncodedMessageTests.this.notification);
+				sent.incrementAndGet();
+				return Mono.empty();
+			}
+
+			@Override
+			public Mono<Void> closeGracefully() {
+				return Mono.empty();
+			}
+
+			@Override
+			public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+				return null;
+			}
+
+		};
+
+		transport.sendMessage(PreEncodedMessage.of(this.notification)).block();
+
+		assertThat(sent).hasValue(1);
+	}
+
+	private static final class CountingCodec extends JacksonMcpJsonCodec {
+
+		private final AtomicInteger encodings = new AtomicInteger();
+
+		private CountingCodec() {
+			super(new ObjectMapper());
+		}
+
+		@Override
+		public byte[] encode(Object value) throws IOException {
+			this.encodings.incrementAndGet();
+			return super.encode(value);
+		}
+
+	}
+
+}
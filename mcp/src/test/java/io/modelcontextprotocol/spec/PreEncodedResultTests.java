@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PreEncodedResult}.
+ */
+class PreEncodedResultTests {
+
+	private static final String ECHO_SCHEMA = """
+			{"type":"object","properties":{"text":{"type":"string"}}}""";
+
+	private final JacksonMcpJsonCodec codec = new JacksonMcpJsonCodec(new ObjectMapper());
+
+	private final McpSchema.ListToolsResult tools = new McpSchema.ListToolsResult(
+			List.of(new McpSchema.Tool("echo", "Echoes the text", ECHO_SCHEMA)), null);
+
+	@Test
+	void writesTheSameJsonAsTheResult() throws Exception {
+		PreEncodedResult<McpSchema.ListToolsResult> result = PreEncodedResult.of(this.tools, 3, this.codec);
+
+		McpSchema.JSONRPCResponse cached = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "1", result, null);
+		McpSchema.JSONRPCResponse plain = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "1", this.tools,
+				null);
+
+		assertThat(result.isEncoded()).isTrue();
+		assertThat(result.version()).isEqualTo(3);
+		assertThat(this.codec.encode(cached)).isEqualTo(this.codec.encode(plain));
+		assertThat(this.codec.encodeToString(cached)).isEqualTo(this.codec.encodeToString(plain));
+	}
+
+	@Test
+	void convertsTheResultValue() {
+		PreEncodedResult<McpSchema.ListToolsResult> result = PreEncodedResult.of(this.tools, 0, this.codec);
+
+		assertThat(this.codec.convertValue(result, McpSchema.ListToolsResult.class)).isEqualTo(this.tools);
+		assertThat(this.codec.convertValue(result, Map.class)).containsKey("tools");
+	}
+
+	@Test
+	void binaryFormatsSerializeTheResultValue() throws Exception {
+		SmileMcpJsonCodec smile = new SmileMcpJsonCodec();
+		PreEncodedResult<McpSchema.ListToolsResult> result = PreEncodedResult.of(this.tools, 0, this.codec);
+
+		McpSchema.JSONRPCResponse response = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "1", result,
+				null);
+		byte[] bytes = smile.encode(response);
+		McpSchema.JSONRPCResponse decoded = (McpSchema.JSONRPCResponse) smile.decode(bytes, 0, bytes.length);
+
+		assertThat(smile.convertValue(decoded.result(), McpSchema.ListToolsResult.class)).isEqualTo(this.tools);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestDeadlinesTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void addsTimeoutToExistingMeta() {
+		McpSchema.CallToolRequest request = new McpSchema.CallToolRequest("echo", Map.of("text", "hello"));
+
+		Object params = RequestDeadlines.withTimeout(Map.of("_meta", Map.of("progressToken", "t1"), "name", "echo"),
+				42L);
+		assertThat(params).isEqualTo(
+				Map.of("name", "echo", "_meta", Map.of("progressToken", "t1", RequestDeadlines.TIMEOUT_META_KEY, 42L)));
+
+		Object wrapped = RequestDeadlines.withTimeout(request, 42L);
+		assertThat(RequestDeadlines.timeoutOf(wrapped)).isEqualTo(42L);
+		assertThat(objectMapper.convertValue(wrapped, McpSchema.CallToolRequest.class)).isEqualTo(request);
+
+		assertThat(RequestDeadlines.withTimeout("text", 42L)).isEqualTo("text");
+		assertThat(RequestDeadlines.propagate(McpSchema.METHOD_INITIALIZE, request, Duration.ofSeconds(1)))
+			.isSameAs(request);
+	}
+
+	@Test
+	void writesMetaEntriesWithoutConvertingParams() throws Exception {
+		McpSchema.CallToolRequest request = new McpSchema.CallToolRequest("echo", Map.of("_meta", Map.of("nested", 1)));
+
+		Object params = RequestMeta.with(RequestMeta.with(request, RequestMeta.PROGRESS_TOKEN, "t1"),
+				RequestDeadlines.TIMEOUT_META_KEY, 42L);
+		assertThat(params).isInstanceOf(RequestMeta.Params.class);
+		assertThat(((RequestMeta.Params) params).params()).isSameAs(request);
+
+		Map<?, ?> written = objectMapper.readValue(objectMapper.writeValueAsString(params), Map.class);
+		assertThat(written.get("name")).isEqualTo("echo");
+		assertThat(written.get("arguments")).isEqualTo(Map.of("_meta", Map.of("nested", 1)));
+		assertThat(written.get("_meta"))
+			.isEqualTo(Map.of("progressToken", "t1", RequestDeadlines.TIMEOUT_META_KEY, 42));
+
+		// Entries are added to a _meta object the params already write
+		Object withMeta = RequestMeta.with(new ParamsWithMeta("echo", Map.of("existing", "yes")),
+				RequestMeta.PROGRESS_TOKEN, "t2");
+		assertThat(objectMapper.readValue(objectMapper.writeValueAsString(withMeta), Map.class))
+			.isEqualTo(Map.of("name", "echo", "_meta", Map.of("existing", "yes", "progressToken", "t2")));
+	}
+
+	record ParamsWithMeta(@JsonProperty("name") String name, @JsonProperty("_meta") Map<String, Object> meta) {
+	}
+
+	@Test
+	void readsTimeoutFromDeferredParams() throws Exception {
+		String json = """
+				{"name":"echo","arguments":{"_meta":{"%1$s":1}},"_meta":{"other":[1,2],"%1$s":1234}}
+				""".formatted(RequestDeadlines.TIMEOUT_META_KEY);
+		JsonParser parser = objectMapper.createParser(json);
+		parser.nextToken();
+		TokenBuffer buffer = new TokenBuffer(parser);
+		buffer.copyCurrentStructure(parser);
+
+		assertThat(RequestDeadlines.timeoutOf(buffer)).isEqualTo(1234L);
+		assertThat(RequestDeadlines.timeoutOf(Map.of("name", "echo"))).isEqualTo(-1);
+		assertThat(RequestDeadlines.timeoutOf(null)).isEqualTo(-1);
+	}
+
+	@Test
+	void boundsHandlingByDeadline() {
+		PendingRequests timer = new PendingRequests();
+
+		Map<String, Object> expired = Map.of("_meta", Map.of(RequestDeadlines.TIMEOUT_META_KEY, 0));
+		StepVerifier.create(RequestDeadlines.bound("test", expired, Mono.just("result"), timer))
+			.expectError(TimeoutException.class)
+			.verify();
+
+		Map<String, Object> soon = Map.of("_meta", Map.of(RequestDeadlines.TIMEOUT_META_KEY, 100));
+		StepVerifier.create(RequestDeadlines.bound("test", soon, Mono.never(), timer))
+			.expectError(TimeoutException.class)
+			.verify(Duration.ofSeconds(1));
+
+		// The deadline is dropped from the wheel once the handling ends
+		Map<String, Object> later = Map.of("_meta", Map.of(RequestDeadlines.TIMEOUT_META_KEY, 60_000));
+		StepVerifier.create(RequestDeadlines.bound("test", later, Mono.just("result"), timer))
+			.expectNext("result")
+			.verifyComplete();
+
+		StepVerifier.create(RequestDeadlines.bound("test", Map.of(), Mono.just("result"), timer))
+			.expectNext("result")
+			.verifyComplete();
+		timer.close(new McpError("closed"));
+	}
+
+}
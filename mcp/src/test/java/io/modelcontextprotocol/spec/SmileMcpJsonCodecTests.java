@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SmileMcpJsonCodec} and {@link McpBinaryEncoding}.
+ */
+class SmileMcpJsonCodecTests {
+
+	private static final TypeReference<McpSchema.ReadResourceResult> READ_RESOURCE_RESULT_TYPE_REF = new TypeReference<>() {
+	};
+
+	private final byte[] blobBytes = new byte[64 * 1024];
+
+	{
+		for (int i = 0; i < this.blobBytes.length; i++) {
+			this.blobBytes[i] = (byte) (i * 31);
+		}
+	}
+
+	@Test
+	void carriesBlobsAsRawBinary() throws Exception {
+		String base64 = Base64.getEncoder().encodeToString(this.blobBytes);
+		McpSchema.ReadResourceResult result = new McpSchema.ReadResourceResult(
+				List.of(new McpSchema.BlobResourceContents("file:///blob", "application/octet-stream", base64)));
+		McpSchema.JSONRPCResponse response = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "1", result,
+				null);
+
+		SmileMcpJsonCodec smile = new SmileMcpJsonCodec();
+		byte[] binary = smile.encode(response);
+		byte[] text = new JacksonMcpJsonCodec().encode(response);
+
+		// Raw bytes plus a small envelope, instead of the 4/3 base64 expansion
+		assertThat(binary.length).isLessThan(this.blobBytes.length + 256);
+		assertThat(text.length).isGreaterThan(base64.length());
+
+		for (boolean defer : new boolean[] { false, true }) {
+			McpSchema.JSONRPCResponse decoded = (McpSchema.JSONRPCResponse) new SmileMcpJsonCodec(defer).decode(binary,
+					0, binary.length);
+			// Payloads decoded from Smile can be bound by a text codec as well
+			McpSchema.ReadResourceResult bound = new JacksonMcpJsonCodec().convertValue(decoded.result(),
+					READ_RESOURCE_RESULT_TYPE_REF);
+			assertThat(bound).isEqualTo(result);
+		}
+	}
+
+	@Test
+	void carriesImageDataAsRawBinary() throws Exception {
+		String base64 = Base64.getEncoder().encodeToString(this.blobBytes);
+		McpSchema.CallToolResult result = new McpSchema.CallToolResult(
+				List.of(new McpSchema.ImageContent(null, null, base64, "image/png")), false);
+
+		SmileMcpJsonCodec smile = new SmileMcpJsonCodec();
+		byte[] binary = smile.encode(result);
+
+		assertThat(binary.length).isLessThan(this.blobBytes.length + 256);
+		assertThat(smile.getObjectMapper().readValue(binary, McpSchema.CallToolResult.class)).isEqualTo(result);
+	}
+
+	@Test
+	void leavesInvalidBase64Unchanged() throws Exception {
+		McpSchema.BlobResourceContents contents = new McpSchema.BlobResourceContents("file:///blob", null,
+				"not base64!");
+
+		SmileMcpJsonCodec smile = new SmileMcpJsonCodec();
+		byte[] binary = smile.encode(contents);
+
+		assertThat(smile.getObjectMapper().readValue(binary, McpSchema.BlobResourceContents.class)).isEqualTo(contents);
+	}
+
+	@Test
+	void negotiatesThroughExperimentalCapabilities() throws Exception {
+		JacksonMcpJsonCodec json = new JacksonMcpJsonCodec();
+		McpSchema.InitializeRequest request = new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+				new McpSchema.ClientCapabilities(Map.of("other", Map.of()), null, null),
+				new McpSchema.Implementation("client", "1.0.0"));
+
+		assertThat(McpBinaryEncoding.isOffered(request)).isFalse();
+
+		// The offer survives a round trip through text JSON
+		byte[] offer = json.encode(McpBinaryEncoding.withOffer(request));
+		McpSchema.InitializeRequest received = json.getObjectMapper()
+			.readValue(offer, McpSchema.InitializeRequest.class);
+		assertThat(McpBinaryEncoding.isOffered(received)).isTrue();
+		assertThat(received.capabilities().experimental()).containsKey("other");
+
+		McpSchema.InitializeResult result = new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+				McpSchema.ServerCapabilities.builder().tools(true).build(),
+				new McpSchema.Implementation("server", "1.0.0"), null);
+		assertThat(McpBinaryEncoding.isAccepted(result)).isFalse();
+
+		String answer = json.encodeToString(McpBinaryEncoding.withAcceptance(result));
+		McpSchema.InitializeResult accepted = json.getObjectMapper()
+			.readValue(answer.getBytes(StandardCharsets.UTF_8), McpSchema.InitializeResult.class);
+		assertThat(McpBinaryEncoding.isAccepted(accepted)).isTrue();
+		assertThat(accepted.capabilities().tools()).isEqualTo(result.capabilities().tools());
+	}
+
+}
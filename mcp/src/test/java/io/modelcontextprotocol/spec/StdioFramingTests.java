@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link StdioFraming}.
+ */
+class StdioFramingTests {
+
+	@Test
+	void readsTextLinesAndSkipsBlankLines() throws Exception {
+		StdioFraming.FrameReader reader = reader(
+				"{\"a\":1}\r\n\n{\"b\":2}\n{\"c\":3}".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(nextText(reader)).isEqualTo("{\"a\":1}");
+		assertThat(nextText(reader)).isEqualTo("{\"b\":2}");
+		// A last line without a delimiter is still returned
+		assertThat(nextText(reader)).isEqualTo("{\"c\":3}");
+		assertThat(reader.next()).isFalse();
+	}
+
+	@Test
+	void readsBinaryFramesMixedWithTextLines() throws Exception {
+		byte[] payload = new byte[20_000];
+		for (int i = 0; i < payload.length; i++) {
+			// Include line feeds and markers inside the payload
+			payload[i] = (byte) (i % 11 == 0 ? '\n' : i);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write("{\"text\":true}\n".getBytes(StandardCharsets.UTF_8));
+		StdioFraming.writeBinaryFrame(out, payload);
+		StdioFraming.writeBinaryFrame(out, new byte[0]);
+		out.write("{\"text\":false}\n".getBytes(StandardCharsets.UTF_8));
+
+		StdioFraming.FrameReader reader = reader(out.toByteArray());
+
+		assertThat(nextText(reader)).isEqualTo("{\"text\":true}");
+		assertThat(reader.next()).isTrue();
+		assertThat(reader.isBinary()).isTrue();
+		assertThat(Arrays.copyOf(reader.frame(), reader.length())).isEqualTo(payload);
+		assertThat(reader.next()).isTrue();
+		assertThat(reader.isBinary()).isTrue();
+		assertThat(reader.length()).isZero();
+		assertThat(nextText(reader)).isEqualTo("{\"text\":false}");
+		assertThat(reader.next()).isFalse();
+	}
+
+	@Test
+	void releasesLargeFrameBufferOnceTheFrameIsConsumed() throws Exception {
+		byte[] payload = new byte[2 * 1024 * 1024];
+		Arrays.fill(payload, (byte) 'x');
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		StdioFraming.writeBinaryFrame(out, payload);
+		out.write("{\"a\":1}\n".getBytes(StandardCharsets.UTF_8));
+
+		StdioFraming.FrameReader reader = new StdioFraming.FrameReader(new ByteArrayInputStream(out.toByteArray()));
+
+		assertThat(reader.next()).isTrue();
+		assertThat(reader.length()).isEqualTo(payload.length);
+		assertThat(nextText(reader)).isEqualTo("{\"a\":1}");
+		assertThat(reader.frame().length).isLessThan(payload.length);
+	}
+
+	@Test
+	void truncatedBinaryFrameFails() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		StdioFraming.writeBinaryFrame(out, new byte[100]);
+		byte[] truncated = Arrays.copyOf(out.toByteArray(), 50);
+
+		StdioFraming.FrameReader reader = reader(truncated);
+
+		assertThatThrownBy(reader::next).isInstanceOf(EOFException.class);
+	}
+
+	@Test
+	void skipsFramesAboveTheMaximumSize() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write("{\"a\":1}\n".getBytes(StandardCharsets.UTF_8));
+		out.write(("{\"big\":\"" + "x".repeat(100) + "\"}\n").getBytes(StandardCharsets.UTF_8));
+		// Exactly at the limit, with a CR that does not count
+		out.write("{\"b\":\"0123456789\"}\r\n".getBytes(StandardCharsets.UTF_8));
+		StdioFraming.writeBinaryFrame(out, new byte[50]);
+		StdioFraming.writeBinaryFrame(out, new byte[20]);
+		out.write("{\"tail\":\"".getBytes(StandardCharsets.UTF_8));
+		out.write("y".repeat(40).getBytes(StandardCharsets.UTF_8));
+
+		StdioFraming.FrameReader reader = reader(out.toByteArray(), 20);
+
+		assertThat(nextText(reader)).isEqualTo("{\"a\":1}");
+		assertThatThrownBy(reader::next).isInstanceOf(StdioFraming.FrameTooLargeException.class)
+			.hasMessageContaining("110 bytes")
+			.hasMessageContaining("maximum frame size of 20 bytes");
+		assertThat(nextText(reader)).isEqualTo("{\"b\":\"0123456789\"}");
+		assertThatThrownBy(reader::next).isInstanceOfSatisfying(StdioFraming.FrameTooLargeException.class,
+				e -> assertThat(e.getFrameSize()).isEqualTo(50));
+		assertThat(reader.next()).isTrue();
+		assertThat(reader.isBinary()).isTrue();
+		assertThat(reader.length()).isEqualTo(20);
+		// An unterminated oversized line is skipped up to the end of the stream
+		assertThatThrownBy(reader::next).isInstanceOf(StdioFraming.FrameTooLargeException.class);
+		assertThat(reader.next()).isFalse();
+	}
+
+	private static StdioFraming.FrameReader reader(byte[] bytes) {
+		return reader(bytes, StdioFraming.DEFAULT_MAX_FRAME_SIZE);
+	}
+
+	private static StdioFraming.FrameReader reader(byte[] bytes, int maxFrameSize) {
+		// Deliver a few bytes per read to exercise frames spanning buffer refills
+		InputStream in = new ByteArrayInputStream(bytes) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, 7));
+			}
+		};
+		return new StdioFraming.FrameReader(in, maxFrameSize);
+	}
+
+	private static String nextText(StdioFraming.FrameReader reader) throws Exception {
+		assertThat(reader.next()).isTrue();
+		assertThat(reader.isBinary()).isFalse();
+		return new String(reader.frame(), 0, reader.length(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UriTemplateMatcherTests {
+
+	@Test
+	void testExtractsDecodedVariables() {
+		UriTemplateMatcher<String> matcher = new UriTemplateMatcher<>();
+		matcher.add("db://{table}/{id}", "record");
+		matcher.add("file:///docs/{name}.{ext}", "document");
+
+		UriTemplateMatcher.Match<String> record = matcher.match("db://users/42");
+		assertThat(record.value()).isEqualTo("record");
+		assertThat(record.variables()).isEqualTo(Map.of("table", "users", "id", "42"));
+
+		UriTemplateMatcher.Match<String> document = matcher.match("file:///docs/read%20me.tar.gz");
+		assertThat(document.variables()).isEqualTo(Map.of("name", "read me", "ext", "tar.gz"));
+
+		assertThat(matcher.match("db://users")).isNull();
+		assertThat(matcher.match("db://users/42/extra")).isNull();
+		assertThat(matcher.match("db://users/a?b")).isNull();
+		assertThat(matcher.match("db://users/")).isNull();
+	}
+
+	@Test
+	void testPrecedence() {
+		UriTemplateMatcher<String> matcher = new UriTemplateMatcher<>();
+		matcher.add("db://{table}/{id}", "any");
+		matcher.add("db://{table}/{id}.json", "json");
+		matcher.add("db://users/{id}", "users");
+		matcher.add("db://users/admin", "admin");
+
+		assertThat(matcher.match("db://users/admin").value()).isEqualTo("admin");
+		assertThat(matcher.match("db://users/7").value()).isEqualTo("users");
+		assertThat(matcher.match("db://orders/7.json").value()).isEqualTo("json");
+		assertThat(matcher.match("db://orders/7").value()).isEqualTo("any");
+	}
+
+	@Test
+	void testFallsBackToLessSpecificTemplate() {
+		UriTemplateMatcher<String> matcher = new UriTemplateMatcher<>();
+		matcher.add("api://users/{id}/profile", "profile");
+		matcher.add("api://{collection}/{id}/items", "items");
+
+		assertThat(matcher.match("api://users/1/items").variables())
+			.isEqualTo(Map.of("collection", "users", "id", "1"));
+	}
+
+	@Test
+	void testKeepsTheVariablesOfOverlappingTemplatesApart() {
+		UriTemplateMatcher<String> matcher = new UriTemplateMatcher<>();
+		matcher.add("api://{owner}.{repo}/{id}/issues", "issues");
+		matcher.add("api://{org}/{id}/pulls", "pulls");
+
+		assertThat(matcher.match("api://acme.web/7/issues").variables())
+			.isEqualTo(Map.of("owner", "acme", "repo", "web", "id", "7"));
+		assertThat(matcher.match("api://acme.web/7/pulls").variables()).isEqualTo(Map.of("org", "acme.web", "id", "7"));
+		assertThat(matcher.match("api://acme.web/7/commits")).isNull();
+	}
+
+	@Test
+	void testRejectsInvalidTemplates() {
+		UriTemplateMatcher<String> matcher = new UriTemplateMatcher<>();
+		matcher.add("db://{table}/{id}", "record");
+
+		assertThatThrownBy(() -> matcher.add("db://{a}/{b}", "other")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("conflicts with");
+		assertThatThrownBy(() -> matcher.add("db://{+path}", "reserved")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("level 1");
+		assertThatThrownBy(() -> matcher.add("db://{a}{b}", "adjacent")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> matcher.add("db://{a", "unbalanced")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> matcher.add("db://{a}/{a}", "repeated")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testManyTemplates() {
+		UriTemplateMatcher<Integer> matcher = new UriTemplateMatcher<>();
+		for (int i = 0; i < 10_000; i++) {
+			matcher.add("app://tenant-" + i + "/{collection}/{id}", i);
+		}
+
+		assertThat(matcher.size()).isEqualTo(10_000);
+		UriTemplateMatcher.Match<Integer> match = matcher.match("app://tenant-9999/orders/5");
+		assertThat(match.value()).isEqualTo(9999);
+		assertThat(match.variables()).isEqualTo(Map.of("collection", "orders", "id", "5"));
+		assertThat(matcher.match("app://tenant-10000/orders/5")).isNull();
+	}
+
+}